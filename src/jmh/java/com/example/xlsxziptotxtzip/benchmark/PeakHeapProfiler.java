@@ -0,0 +1,54 @@
+package com.example.xlsxziptotxtzip.benchmark;
+
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.infra.IterationParams;
+import org.openjdk.jmh.profile.InternalProfiler;
+import org.openjdk.jmh.results.AggregationPolicy;
+import org.openjdk.jmh.results.IterationResult;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.ScalarResult;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * JMH profiler reporting the peak heap usage of each iteration, as {@code peak.heap} in MB.
+ * <p>
+ * The peak usage of every heap memory pool is reset before an iteration and summed after it.
+ * Pools can peak at different moments, so the value is an upper bound of the real peak; it is
+ * meant to compare pipeline variants against each other, not as an exact footprint.
+ * </p>
+ * Enable with {@code -prof com.example.xlsxziptotxtzip.benchmark.PeakHeapProfiler}.
+ */
+public class PeakHeapProfiler implements InternalProfiler {
+
+    private static final double BYTES_PER_MB = 1024.0 * 1024.0;
+
+    private final List<MemoryPoolMXBean> heapPools = ManagementFactory.getMemoryPoolMXBeans().stream()
+            .filter(pool -> pool.getType() == MemoryType.HEAP)
+            .toList();
+
+    @Override
+    public String getDescription() {
+        return "Peak heap usage per iteration";
+    }
+
+    @Override
+    public void beforeIteration(BenchmarkParams benchmarkParams, IterationParams iterationParams) {
+        heapPools.forEach(MemoryPoolMXBean::resetPeakUsage);
+    }
+
+    @Override
+    public Collection<? extends Result> afterIteration(BenchmarkParams benchmarkParams,
+                                                       IterationParams iterationParams,
+                                                       IterationResult result) {
+        long peakBytes = heapPools.stream()
+                .mapToLong(pool -> pool.getPeakUsage().getUsed())
+                .sum();
+        return List.of(new ScalarResult("peak.heap", peakBytes / BYTES_PER_MB, "MB", AggregationPolicy.MAX));
+    }
+
+}
@@ -0,0 +1,76 @@
+package com.example.xlsxziptotxtzip.benchmark;
+
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.SplittableRandom;
+
+/**
+ * Generates XLSX workbooks of a given shape for benchmarks.
+ * <p>
+ * Workbooks are written with {@link SXSSFWorkbook}, so only a small window of rows is kept in
+ * memory and large sheets can be generated quickly. The first row holds the column names, the
+ * following rows mix numeric and text cells according to {@code numericPercent}. The same
+ * arguments always produce the same cell values.
+ * </p>
+ */
+public final class SyntheticWorkbookGenerator {
+
+    private static final int ROW_ACCESS_WINDOW = 100;
+    private static final long SEED = 42L;
+    private static final char[] ALPHABET =
+            "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789 -_".toCharArray();
+
+    private SyntheticWorkbookGenerator() {
+    }
+
+    /**
+     * Generates a single-sheet workbook.
+     *
+     * @param rows           the number of data rows, excluding the header row
+     * @param columns        the number of columns
+     * @param stringLength   the length of each text cell
+     * @param numericPercent the share of numeric cells, from {@code 0} to {@code 100}
+     * @return the XLSX file content
+     * @throws IOException if the workbook cannot be written
+     */
+    public static byte[] generate(int rows, int columns, int stringLength, int numericPercent) throws IOException {
+        SplittableRandom random = new SplittableRandom(SEED);
+        char[] text = new char[stringLength];
+
+        try (SXSSFWorkbook workbook = new SXSSFWorkbook(ROW_ACCESS_WINDOW)) {
+            Sheet sheet = workbook.createSheet("Sheet1");
+
+            Row header = sheet.createRow(0);
+            for (int column = 0; column < columns; column++) {
+                header.createCell(column).setCellValue("column_" + column);
+            }
+
+            for (int rowIndex = 1; rowIndex <= rows; rowIndex++) {
+                Row row = sheet.createRow(rowIndex);
+                for (int column = 0; column < columns; column++) {
+                    if (random.nextInt(100) < numericPercent) {
+                        // Mix integers and two-decimal values, as in typical exported data
+                        double value = random.nextBoolean()
+                                ? random.nextInt(1_000_000)
+                                : random.nextInt(10_000_000) / 100.0;
+                        row.createCell(column).setCellValue(value);
+                    } else {
+                        for (int i = 0; i < stringLength; i++) {
+                            text[i] = ALPHABET[random.nextInt(ALPHABET.length)];
+                        }
+                        row.createCell(column).setCellValue(new String(text));
+                    }
+                }
+            }
+
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            workbook.write(outputStream);
+            return outputStream.toByteArray();
+        }
+    }
+
+}
@@ -0,0 +1,197 @@
+package com.example.xlsxziptotxtzip.convert.controller;
+
+import com.example.xlsxziptotxtzip.benchmark.SyntheticWorkbookGenerator;
+import com.example.xlsxziptotxtzip.convert.cache.ConversionCache;
+import com.example.xlsxziptotxtzip.convert.config.ConversionProperties;
+import com.example.xlsxziptotxtzip.convert.model.enums.ConversionEngine;
+import com.example.xlsxziptotxtzip.convert.model.enums.ZipInputMode;
+import com.example.xlsxziptotxtzip.convert.model.enums.ZipProcessingMode;
+import com.example.xlsxziptotxtzip.convert.service.ConversionAdmission;
+import com.example.xlsxziptotxtzip.convert.service.ConversionExecutor;
+import com.example.xlsxziptotxtzip.convert.service.ConversionMetrics;
+import com.example.xlsxziptotxtzip.convert.service.StructuredConversionExecutor;
+import com.example.xlsxziptotxtzip.convert.service.ZipProcessingService;
+import com.example.xlsxziptotxtzip.convert.utils.ZipXlsxUtil;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * End-to-end benchmark of the upload pipeline: {@link ZipProcessingService#processZip} plus the
+ * output ZIP assembly of {@link XlsxZipToTxtZipController}, called directly without the servlet stack.
+ * <p>
+ * Corpora of 1, 10 and 100 entries are built either from the workbooks in {@code files/example.zip}
+ * (cycled to reach the entry count) or from large {@link SyntheticWorkbookGenerator} workbooks.
+ * Each corpus runs through every pipeline variant:
+ * <ul>
+ *     <li>{@code BUFFERED} + {@code SEQUENTIAL}: the original pipeline, used as the baseline.</li>
+ *     <li>{@code BUFFERED} + {@code PARALLEL}: {@code /api/upload-zip} with parallel conversion.</li>
+ *     <li>{@code STREAMING}: {@code /api/upload-zip/stream}, with either processing mode.</li>
+ * </ul>
+ * Throughput and sample-time percentiles (p50, p99) are reported by JMH; peak heap per iteration is
+ * reported by {@link com.example.xlsxziptotxtzip.benchmark.PeakHeapProfiler}. The engine and input
+ * mode default to {@code STREAMING} and {@code RANDOM_ACCESS} and can be changed with {@code -p}.
+ * The conversion cache is disabled, so every invocation converts every entry.
+ * </p>
+ * Run from the project root, since {@code files/example.zip} is resolved against the working directory.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"--enable-preview", "-Xmx2g"})
+public class ZipPipelineBenchmark {
+
+    private static final Path EXAMPLE_ZIP = Path.of("files", "example.zip");
+
+    private static final int GENERATED_ROWS = 5_000;
+    private static final int GENERATED_COLUMNS = 12;
+    private static final int GENERATED_STRING_LENGTH = 16;
+    private static final int GENERATED_NUMERIC_PERCENT = 40;
+
+    @Param({"example", "generated"})
+    public String corpus;
+
+    @Param({"1", "10", "100"})
+    public int entries;
+
+    @Param({"BUFFERED", "STREAMING"})
+    public String response;
+
+    @Param({"SEQUENTIAL", "PARALLEL", "STRUCTURED"})
+    public ZipProcessingMode mode;
+
+    @Param({"STREAMING"})
+    public ConversionEngine engine;
+
+    @Param({"RANDOM_ACCESS"})
+    public ZipInputMode input;
+
+    private MockMultipartFile upload;
+    private ConversionExecutor conversionExecutor;
+    private XlsxZipToTxtZipController controller;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        List<byte[]> workbooks = "example".equals(corpus)
+                ? readExampleWorkbooks()
+                : List.of(SyntheticWorkbookGenerator.generate(
+                        GENERATED_ROWS, GENERATED_COLUMNS, GENERATED_STRING_LENGTH, GENERATED_NUMERIC_PERCENT));
+        upload = new MockMultipartFile("file", "upload.zip", "application/zip", buildZip(workbooks, entries));
+
+        ConversionProperties properties = new ConversionProperties();
+        properties.setEngine(engine);
+        properties.setInput(input);
+        properties.setMode(mode);
+        properties.getCache().setEnabled(false);
+
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        conversionExecutor = new ConversionExecutor(properties);
+        ConversionMetrics conversionMetrics = new ConversionMetrics(properties, meterRegistry);
+        ZipProcessingService zipProcessingService = new ZipProcessingService(
+                properties,
+                conversionExecutor,
+                new StructuredConversionExecutor(properties),
+                new ConversionCache(properties, meterRegistry),
+                conversionMetrics
+        );
+        controller = new XlsxZipToTxtZipController(
+                zipProcessingService, conversionMetrics, properties, new ConversionAdmission(properties, meterRegistry));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        conversionExecutor.destroy();
+    }
+
+    @Benchmark
+    public long pipeline() throws IOException {
+        if ("STREAMING".equals(response)) {
+            ResponseEntity<StreamingResponseBody> responseEntity = controller.uploadZipStreaming(upload, new MockHttpServletRequest());
+            CountingOutputStream outputStream = new CountingOutputStream();
+            responseEntity.getBody().writeTo(outputStream);
+            return outputStream.count;
+        }
+
+        ResponseEntity<Resource> responseEntity = controller.uploadZip(upload);
+        return responseEntity.getBody().contentLength();
+    }
+
+    private static List<byte[]> readExampleWorkbooks() throws IOException {
+        if (!Files.exists(EXAMPLE_ZIP)) {
+            throw new IllegalStateException(EXAMPLE_ZIP.toAbsolutePath() + " not found; run the benchmark from the project root");
+        }
+
+        List<byte[]> workbooks = new ArrayList<>();
+        try (ZipInputStream zis = new ZipInputStream(Files.newInputStream(EXAMPLE_ZIP))) {
+            ZipEntry entry;
+            while ((entry = zis.getNextEntry()) != null) {
+                if (ZipXlsxUtil.isXlsxFile(entry)) {
+                    workbooks.add(ZipXlsxUtil.readEntryBytes(zis));
+                }
+            }
+        }
+        return workbooks;
+    }
+
+    private static byte[] buildZip(List<byte[]> workbooks, int entryCount) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (ZipOutputStream zos = new ZipOutputStream(outputStream)) {
+            for (int i = 0; i < entryCount; i++) {
+                zos.putNextEntry(new ZipEntry("workbook-" + i + ".xlsx"));
+                zos.write(workbooks.get(i % workbooks.size()));
+                zos.closeEntry();
+            }
+        }
+        return outputStream.toByteArray();
+    }
+
+    /**
+     * Discards the response while counting its bytes, so the response size cannot be optimized away.
+     */
+    private static final class CountingOutputStream extends OutputStream {
+
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+
+    }
+
+}
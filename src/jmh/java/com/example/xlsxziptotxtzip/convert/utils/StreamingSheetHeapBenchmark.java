@@ -0,0 +1,76 @@
+package com.example.xlsxziptotxtzip.convert.utils;
+
+import com.example.xlsxziptotxtzip.benchmark.SyntheticWorkbookGenerator;
+import com.example.xlsxziptotxtzip.convert.model.enums.ConversionEngine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Checks that the peak heap of {@link ConversionEngine#TWO_PASS_STREAMING} does not grow with the row count.
+ * <p>
+ * Each invocation converts one workbook of 10k, 100k or 1M rows, read from a file, to
+ * {@link OutputStream#nullOutputStream()}. With {@link com.example.xlsxziptotxtzip.benchmark.PeakHeapProfiler},
+ * {@code peak.heap} should stay about the same for every row count, well below the size of the sheet XML,
+ * while the time grows linearly. {@link ConversionEngine#STREAMING} is included for comparison: it keeps
+ * the whole sheet in a {@code SheetContent}, so its peak heap grows with the rows.
+ * </p>
+ * Run with {@code mvn -Pbenchmark test-compile exec:exec
+ * -Djmh.args="StreamingSheetHeapBenchmark -prof com.example.xlsxziptotxtzip.benchmark.PeakHeapProfiler"}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = {"--enable-preview", "-Xmx2g"})
+public class StreamingSheetHeapBenchmark {
+
+    private static final int COLUMNS = 8;
+    private static final int STRING_LENGTH = 16;
+    private static final int NUMERIC_PERCENT = 50;
+
+    @Param({"10000", "100000", "1000000"})
+    public int rows;
+
+    @Param({"TWO_PASS_STREAMING", "STREAMING"})
+    public ConversionEngine engine;
+
+    private Path xlsxFile;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        xlsxFile = Files.createTempFile("heap-benchmark-", ".xlsx");
+        Files.write(xlsxFile, SyntheticWorkbookGenerator.generate(rows, COLUMNS, STRING_LENGTH, NUMERIC_PERCENT));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(xlsxFile);
+    }
+
+    @Benchmark
+    public void convert() throws IOException {
+        try (InputStream inputStream = Files.newInputStream(xlsxFile)) {
+            XlsxToTextUtil.convertXlsxToAlignedText(inputStream, OutputStream.nullOutputStream(), engine);
+        }
+    }
+
+}
@@ -0,0 +1,152 @@
+package com.example.xlsxziptotxtzip.convert.utils;
+
+import com.example.xlsxziptotxtzip.benchmark.SyntheticWorkbookGenerator;
+import com.example.xlsxziptotxtzip.convert.model.dto.SheetContent;
+import com.example.xlsxziptotxtzip.convert.model.enums.ConversionEngine;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link XlsxToTextUtil#convertXlsxToAlignedText(java.io.InputStream, OutputStream, ConversionEngine)}
+ * end to end and stage by stage, on synthetic workbooks from {@link SyntheticWorkbookGenerator}.
+ * <p>
+ * The stage benchmarks mirror the stages recorded by {@code ConversionMetrics}:
+ * workbook open, sheet extraction, width computation and render. Each one starts from the output
+ * of the previous stage, prepared once per trial. Rendered text goes to
+ * {@link OutputStream#nullOutputStream()}, so only the converter's own work and allocations are measured.
+ * </p>
+ * Run with {@code mvn -Pbenchmark test-compile exec:exec}; allocation rates are reported by {@code -prof gc}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+public class XlsxToTextUtilBenchmark {
+
+    @Param({"1000", "20000"})
+    public int rows;
+
+    @Param({"8", "32"})
+    public int columns;
+
+    @Param({"8", "48"})
+    public int stringLength;
+
+    @Param({"0", "50", "100"})
+    public int numericPercent;
+
+    private byte[] xlsxBytes;
+    private Workbook workbook;
+    private XlsxStreamingSheetReader streamingReader;
+    private SheetContent sheetContent;
+    private int[] columnWidths;
+    private boolean[] forceRightAlignColumn;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        xlsxBytes = SyntheticWorkbookGenerator.generate(rows, columns, stringLength, numericPercent);
+        workbook = new XSSFWorkbook(new ByteArrayInputStream(xlsxBytes));
+        streamingReader = XlsxStreamingSheetReader.open(new ByteArrayInputStream(xlsxBytes));
+        sheetContent = XlsxToTextUtil.extractSheetContent(workbook.getSheetAt(0), new DataFormatter());
+        columnWidths = XlsxToTextUtil.computeColumnWidths(sheetContent);
+        forceRightAlignColumn = XlsxToTextUtil.detectRightAlignedColumns(sheetContent);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        streamingReader.close();
+        workbook.close();
+    }
+
+    // --- End to end -----------------------------------------------------------------------
+
+    @Benchmark
+    public void convertDom() {
+        convert(ConversionEngine.DOM);
+    }
+
+    @Benchmark
+    public void convertStreaming() {
+        convert(ConversionEngine.STREAMING);
+    }
+
+    @Benchmark
+    public void convertTwoPassStreaming() {
+        convert(ConversionEngine.TWO_PASS_STREAMING);
+    }
+
+    // --- Stages ---------------------------------------------------------------------------
+
+    @Benchmark
+    public void openWorkbookDom(Blackhole blackhole) throws IOException {
+        try (Workbook opened = new XSSFWorkbook(new ByteArrayInputStream(xlsxBytes))) {
+            blackhole.consume(opened.getSheetAt(0));
+        }
+    }
+
+    @Benchmark
+    public void openWorkbookStreaming(Blackhole blackhole) throws Exception {
+        try (XlsxStreamingSheetReader reader = XlsxStreamingSheetReader.open(new ByteArrayInputStream(xlsxBytes))) {
+            blackhole.consume(reader);
+        }
+    }
+
+    @Benchmark
+    public SheetContent extractSheetDom() throws IOException {
+        return XlsxToTextUtil.extractSheetContent(workbook.getSheetAt(0), new DataFormatter());
+    }
+
+    @Benchmark
+    public SheetContent extractSheetStreaming() throws Exception {
+        SheetContent content = new SheetContent();
+        streamingReader.readFirstSheet(new DataFormatter(), content::addRow);
+        return content;
+    }
+
+    @Benchmark
+    public void computeWidths(Blackhole blackhole) {
+        blackhole.consume(XlsxToTextUtil.computeColumnWidths(sheetContent));
+        blackhole.consume(XlsxToTextUtil.detectRightAlignedColumns(sheetContent));
+    }
+
+    @Benchmark
+    public long render() throws IOException {
+        AlignedTextRenderer renderer = new AlignedTextRenderer(
+                OutputStream.nullOutputStream(), sheetContent.maxColumns(), columnWidths, forceRightAlignColumn
+        );
+        for (int rowIndex = 0; rowIndex < sheetContent.rowCount(); rowIndex++) {
+            renderer.writeRow(sheetContent, rowIndex, rowIndex == 0);
+        }
+        renderer.flush();
+        return renderer.bytesWritten();
+    }
+
+    private void convert(ConversionEngine engine) {
+        XlsxToTextUtil.convertXlsxToAlignedText(
+                new ByteArrayInputStream(xlsxBytes), OutputStream.nullOutputStream(), engine
+        );
+    }
+
+}
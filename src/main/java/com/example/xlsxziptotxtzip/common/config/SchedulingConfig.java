@@ -0,0 +1,13 @@
+package com.example.xlsxziptotxtzip.common.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables {@link org.springframework.scheduling.annotation.Scheduled} jobs, such as the log retention purge.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+
+}
@@ -2,6 +2,7 @@ package com.example.xlsxziptotxtzip.common.exception;
 
 import com.example.xlsxziptotxtzip.common.exception.error.CustomError;
 import lombok.Getter;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 
 /**
@@ -26,5 +27,14 @@ public abstract class ApiException extends RuntimeException {
 
     public abstract CustomError.Header getHeader();
 
+    /**
+     * Returns additional HTTP headers for the error response, such as {@code Retry-After}.
+     *
+     * @return the headers; none by default
+     */
+    public HttpHeaders getHttpHeaders() {
+        return HttpHeaders.EMPTY;
+    }
+
 }
 
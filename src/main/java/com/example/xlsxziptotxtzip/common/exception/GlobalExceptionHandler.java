@@ -227,7 +227,8 @@ public class GlobalExceptionHandler {
     /**
      * Handles all custom {@link ApiException} subclasses.
      * Uses {@link ApiException#getStatus()} and {@link ApiException#getHeader()}
-     * to build a corresponding {@link CustomError} response.
+     * to build a corresponding {@link CustomError} response, sent with the
+     * headers of {@link ApiException#getHttpHeaders()}.
      *
      * @param ex the thrown {@link ApiException}
      * @return a {@link ResponseEntity} containing a {@link CustomError}
@@ -242,7 +243,7 @@ public class GlobalExceptionHandler {
                 .message(ex.getMessage())
                 .build();
 
-        return new ResponseEntity<>(customError, ex.getStatus());
+        return new ResponseEntity<>(customError, ex.getHttpHeaders(), ex.getStatus());
     }
 
 }
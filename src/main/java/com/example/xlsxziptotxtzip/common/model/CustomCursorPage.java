@@ -0,0 +1,38 @@
+package com.example.xlsxziptotxtzip.common.model;
+
+import com.example.xlsxziptotxtzip.common.model.enums.CountMode;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * A page of a keyset (cursor) paged listing.
+ * <p>
+ * {@code nextCursor} is {@code null} on the last page. {@code totalElementCount} is only set
+ * when requested through {@link CountMode}, and may be an estimate.
+ * </p>
+ *
+ * @param <T> the type of content in the page
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class CustomCursorPage<T> {
+
+    private List<T> content;
+
+    private Integer pageSize;
+
+    private String nextCursor;
+
+    private Boolean hasNext;
+
+    private Long totalElementCount;
+
+    private CountMode countMode;
+
+}
@@ -0,0 +1,37 @@
+package com.example.xlsxziptotxtzip.common.model.dto.request;
+
+import com.example.xlsxziptotxtzip.common.model.enums.CountMode;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.SuperBuilder;
+
+/**
+ * Represents a keyset (cursor) paging request.
+ * <p>
+ * Instead of a page number, the client passes back the {@code nextCursor} returned with the
+ * previous page, so the database seeks directly to the next row instead of skipping an offset.
+ * The first page is requested without a cursor.
+ * </p>
+ */
+@Getter
+@Setter
+@SuperBuilder
+@NoArgsConstructor
+public class CustomCursorPagingRequest {
+
+    @NotNull
+    @Min(value = 1, message = "Page size must be bigger than 0")
+    @Max(value = 1000, message = "Page size must not be bigger than 1000")
+    private Integer pageSize;
+
+    private String cursor; // Optional, null for the first page
+
+    @Builder.Default
+    private CountMode countMode = CountMode.NONE;
+
+}
@@ -0,0 +1,32 @@
+package com.example.xlsxziptotxtzip.common.model.dto.response;
+
+import com.example.xlsxziptotxtzip.common.model.enums.CountMode;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Generic response structure for keyset (cursor) paged data.
+ *
+ * @param <T> the type of content returned in the page
+ */
+@Getter
+@Builder
+public class CustomCursorPagingResponse<T> {
+
+    private List<T> content;
+
+    private Integer pageSize;
+
+    private String nextCursor;
+
+    private Boolean hasNext;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long totalElementCount;
+
+    private CountMode countMode;
+
+}
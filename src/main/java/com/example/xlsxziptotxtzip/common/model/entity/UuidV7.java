@@ -0,0 +1,22 @@
+package com.example.xlsxziptotxtzip.common.model.entity;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a {@link java.util.UUID} identifier that is generated by {@link UuidV7Generator}.
+ * <p>
+ * UUIDv7 values start with a millisecond timestamp, so new rows are appended at the end of the
+ * clustered primary key instead of being inserted at random positions.
+ * </p>
+ */
+@IdGeneratorType(UuidV7Generator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface UuidV7 {
+
+}
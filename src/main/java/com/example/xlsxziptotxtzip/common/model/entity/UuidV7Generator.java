@@ -0,0 +1,71 @@
+package com.example.xlsxziptotxtzip.common.model.entity;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.generator.EventTypeSets;
+import org.hibernate.id.factory.spi.CustomIdGeneratorCreationContext;
+
+import java.lang.reflect.Member;
+import java.security.SecureRandom;
+import java.util.EnumSet;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hibernate generator creating time-ordered UUIDv7 identifiers (RFC 9562).
+ * <p>
+ * Layout: 48-bit Unix timestamp in milliseconds, version {@code 7}, a 12-bit counter, the
+ * RFC variant and 62 random bits. The counter restarts on every new millisecond and is incremented
+ * for identifiers created within the same one, so identifiers created by this JVM are strictly
+ * increasing, also when the clock steps back. Stored as {@code BINARY(16)}, they sort in creation
+ * order byte by byte.
+ * </p>
+ */
+public class UuidV7Generator implements BeforeExecutionGenerator {
+
+    private static final int COUNTER_BITS = 12;
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    /**
+     * Timestamp and counter of the last identifier: {@code (millis << 12) | counter}.
+     */
+    private static final AtomicLong LAST_STATE = new AtomicLong();
+
+    public UuidV7Generator(UuidV7 config, Member idMember, CustomIdGeneratorCreationContext creationContext) {
+        // No configuration
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session,
+                           Object owner,
+                           Object currentValue,
+                           EventType eventType) {
+        return next();
+    }
+
+    @Override
+    public EnumSet<EventType> getEventTypes() {
+        return EventTypeSets.INSERT_ONLY;
+    }
+
+    /**
+     * Creates a new UUIDv7, greater than all identifiers created before by this JVM.
+     *
+     * @return the new identifier
+     */
+    public static UUID next() {
+        long now = System.currentTimeMillis() << COUNTER_BITS;
+        // A counter overflow carries into the timestamp, which keeps the order
+        long state = LAST_STATE.updateAndGet(last -> Math.max(now, last + 1));
+
+        long timestamp = state >>> COUNTER_BITS;
+        long counter = state & ((1L << COUNTER_BITS) - 1);
+
+        long mostSignificantBits = (timestamp << 16) | 0x7000L | counter;
+        long leastSignificantBits = (RANDOM.nextLong() & 0x3FFF_FFFF_FFFF_FFFFL) | 0x8000_0000_0000_0000L;
+        return new UUID(mostSignificantBits, leastSignificantBits);
+    }
+
+}
@@ -0,0 +1,23 @@
+package com.example.xlsxziptotxtzip.common.model.enums;
+
+/**
+ * Defines how the total number of elements is reported for a cursor-paged listing.
+ */
+public enum CountMode {
+
+    /**
+     * No total is computed; the cheapest option for paging through large tables.
+     */
+    NONE,
+
+    /**
+     * Exact total from a {@code count(*)} over the whole table.
+     */
+    EXACT,
+
+    /**
+     * Approximate total taken from the table statistics of the database, without scanning the table.
+     */
+    ESTIMATE
+
+}
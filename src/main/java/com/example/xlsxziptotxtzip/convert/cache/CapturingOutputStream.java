@@ -0,0 +1,70 @@
+package com.example.xlsxziptotxtzip.convert.cache;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Passes everything through to the target stream while keeping a copy of up to {@code limit} bytes,
+ * so that a conversion can be streamed out and cached at the same time.
+ * Once more than {@code limit} bytes have been written, the copy is dropped.
+ */
+public final class CapturingOutputStream extends FilterOutputStream {
+
+    private final long limit;
+    private ByteArrayOutputStream copy = new ByteArrayOutputStream();
+
+    /**
+     * Creates a capturing stream.
+     *
+     * @param target the stream receiving all bytes; it is not closed by this stream
+     * @param limit  the max number of bytes to keep a copy of
+     */
+    public CapturingOutputStream(OutputStream target, long limit) {
+        super(target);
+        this.limit = limit;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        out.write(b);
+        if (copy != null) {
+            if (copy.size() + 1L > limit) {
+                copy = null;
+            } else {
+                copy.write(b);
+            }
+        }
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        out.write(b, off, len);
+        if (copy != null) {
+            if (copy.size() + (long) len > limit) {
+                copy = null;
+            } else {
+                copy.write(b, off, len);
+            }
+        }
+    }
+
+    /**
+     * Flushes the target stream but does not close it.
+     */
+    @Override
+    public void close() throws IOException {
+        flush();
+    }
+
+    /**
+     * Returns the captured bytes.
+     *
+     * @return the copy of everything written, or {@code null} if more than {@code limit} bytes were written
+     */
+    public byte[] captured() {
+        return (copy != null) ? copy.toByteArray() : null;
+    }
+
+}
@@ -0,0 +1,201 @@
+package com.example.xlsxziptotxtzip.convert.cache;
+
+import com.example.xlsxziptotxtzip.convert.config.ConversionProperties;
+import com.example.xlsxziptotxtzip.convert.model.enums.ConversionEngine;
+import com.example.xlsxziptotxtzip.convert.utils.XlsxToTextUtil;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Content-addressed cache of converted texts, so that re-uploaded workbooks skip POI parsing.
+ * <p>
+ * Entries are keyed by the SHA-256 of the XLSX bytes, the {@link XlsxToTextUtil#OUTPUT_VERSION}
+ * and the {@link ConversionEngine}, so any change to the input, the layout or the engine yields a
+ * new key. Values are the rendered UTF-8 text.
+ * </p>
+ * <p>
+ * Two tiers are used:
+ * <ul>
+ *     <li>A size-bounded in-memory tier (Caffeine, W-TinyLFU eviction).</li>
+ *     <li>A size-bounded on-disk tier ({@link DiskCacheTier}, LRU eviction) that survives restarts.
+ *         Entries are written through to disk, so memory evictions fall back to the disk copy,
+ *         and disk hits are promoted back into memory.</li>
+ * </ul>
+ * Lookups and evictions are published as {@code conversion.cache.gets} (tagged {@code tier} and
+ * {@code result}), {@code conversion.cache.evictions} and {@code conversion.cache.size} (tagged {@code tier}).
+ * </p>
+ */
+@Component
+public class ConversionCache {
+
+    private static final String METRIC_GETS = "conversion.cache.gets";
+    private static final String METRIC_EVICTIONS = "conversion.cache.evictions";
+    private static final String METRIC_SIZE = "conversion.cache.size";
+    private static final String TIER_MEMORY = "memory";
+    private static final String TIER_DISK = "disk";
+
+    private final boolean enabled;
+    private final long maxEntryBytes;
+
+    private final Cache<String, byte[]> memoryTier;
+    private final DiskCacheTier diskTier;
+    private final AtomicLong memoryEvictions = new AtomicLong();
+
+    private final Counter memoryHits;
+    private final Counter diskHits;
+    private final Counter misses;
+
+    public ConversionCache(ConversionProperties conversionProperties, MeterRegistry meterRegistry) {
+        ConversionProperties.Cache properties = conversionProperties.getCache();
+
+        this.enabled = properties.isEnabled();
+        this.maxEntryBytes = properties.getMaxEntryBytes();
+
+        this.memoryTier = Caffeine.newBuilder()
+                .maximumWeight(properties.getMemoryMaxBytes())
+                .weigher((String key, byte[] value) -> value.length)
+                .evictionListener((key, value, cause) -> memoryEvictions.incrementAndGet())
+                .build();
+
+        this.diskTier = (enabled && properties.getDiskMaxBytes() > 0)
+                ? new DiskCacheTier(Path.of(properties.getDirectory()), properties.getDiskMaxBytes())
+                : null;
+
+        this.memoryHits = Counter.builder(METRIC_GETS)
+                .tag("tier", TIER_MEMORY).tag("result", "hit")
+                .description("Conversion cache lookups")
+                .register(meterRegistry);
+        this.diskHits = Counter.builder(METRIC_GETS)
+                .tag("tier", TIER_DISK).tag("result", "hit")
+                .description("Conversion cache lookups")
+                .register(meterRegistry);
+        this.misses = Counter.builder(METRIC_GETS)
+                .tag("tier", "none").tag("result", "miss")
+                .description("Conversion cache lookups")
+                .register(meterRegistry);
+
+        FunctionCounter.builder(METRIC_EVICTIONS, memoryEvictions, AtomicLong::get)
+                .tag("tier", TIER_MEMORY)
+                .description("Entries evicted from the conversion cache")
+                .register(meterRegistry);
+        Gauge.builder(METRIC_SIZE, memoryTier, cache -> cache.policy().eviction()
+                        .map(eviction -> eviction.weightedSize().orElse(0L))
+                        .orElse(0L))
+                .tag("tier", TIER_MEMORY)
+                .baseUnit("bytes")
+                .description("Total size of the cached texts")
+                .register(meterRegistry);
+
+        if (diskTier != null) {
+            FunctionCounter.builder(METRIC_EVICTIONS, diskTier, DiskCacheTier::evictionCount)
+                    .tag("tier", TIER_DISK)
+                    .description("Entries evicted from the conversion cache")
+                    .register(meterRegistry);
+            Gauge.builder(METRIC_SIZE, diskTier, DiskCacheTier::totalBytes)
+                    .tag("tier", TIER_DISK)
+                    .baseUnit("bytes")
+                    .description("Total size of the cached texts")
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * Returns whether caching is enabled.
+     *
+     * @return {@code true} if conversions should go through the cache
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Returns the max size of a text that is stored in the cache.
+     *
+     * @return the limit in bytes
+     */
+    public long maxEntryBytes() {
+        return maxEntryBytes;
+    }
+
+    /**
+     * Computes the cache key of a workbook converted with the given engine.
+     *
+     * @param xlsxBytes the XLSX content
+     * @param engine    the engine the workbook is converted with
+     * @return the hex-encoded SHA-256 key
+     */
+    public String key(byte[] xlsxBytes, ConversionEngine engine) {
+        MessageDigest digest = sha256();
+        digest.update(XlsxToTextUtil.OUTPUT_VERSION.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+        digest.update(engine.name().getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+        digest.update(xlsxBytes);
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * Looks up a converted text, first in memory and then on disk. Disk hits are promoted into memory.
+     *
+     * @param key the key from {@link #key(byte[], ConversionEngine)}
+     * @return the cached UTF-8 text, or {@code null} on a miss
+     */
+    public byte[] get(String key) {
+        byte[] value = memoryTier.getIfPresent(key);
+        if (value != null) {
+            memoryHits.increment();
+            return value;
+        }
+
+        if (diskTier != null) {
+            value = diskTier.get(key);
+            if (value != null) {
+                diskHits.increment();
+                memoryTier.put(key, value);
+                return value;
+            }
+        }
+
+        misses.increment();
+        return null;
+    }
+
+    /**
+     * Stores a converted text in both tiers. Texts larger than {@link #maxEntryBytes()} are ignored.
+     *
+     * @param key   the key from {@link #key(byte[], ConversionEngine)}
+     * @param value the rendered UTF-8 text
+     */
+    public void put(String key, byte[] value) {
+        if (value.length > maxEntryBytes) {
+            return;
+        }
+
+        memoryTier.put(key, value);
+        if (diskTier != null) {
+            diskTier.put(key, value);
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform is required to support SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+}
@@ -0,0 +1,221 @@
+package com.example.xlsxziptotxtzip.convert.cache;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+/**
+ * Size-bounded, least-recently-used cache tier storing one file per key in a directory.
+ * <p>
+ * Files are written to a temp file first and moved into place, so readers never see a partial
+ * entry. The last access time of an entry is kept in its file modification time, so the LRU order
+ * and the total size are rebuilt from the directory when the application restarts.
+ * </p>
+ * Reads are lock-free; writes and evictions are serialized.
+ */
+@Slf4j
+final class DiskCacheTier {
+
+    private static final String ENTRY_SUFFIX = ".txt";
+    private static final String TEMP_SUFFIX = ".tmp";
+    private static final Pattern ENTRY_NAME = Pattern.compile("[0-9a-f]{64}\\.txt");
+
+    private final Path directory;
+    private final long maxBytes;
+
+    private final Map<String, DiskEntry> entries = new ConcurrentHashMap<>();
+    private final AtomicLong totalBytes = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final Object writeLock = new Object();
+
+    /**
+     * Opens the tier, creating the directory if needed and indexing the entries left by a previous run.
+     *
+     * @param directory the directory holding the entries
+     * @param maxBytes  the max total size of all entries, in bytes
+     */
+    DiskCacheTier(Path directory, long maxBytes) {
+        this.directory = directory;
+        this.maxBytes = maxBytes;
+
+        try {
+            Files.createDirectories(directory);
+            loadIndex();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open conversion cache directory " + directory, e);
+        }
+    }
+
+    /**
+     * Returns the cached bytes for a key and marks the entry as recently used.
+     *
+     * @param key the hex-encoded cache key
+     * @return the cached bytes, or {@code null} if the key is not cached
+     */
+    byte[] get(String key) {
+        DiskEntry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+
+        try {
+            byte[] bytes = Files.readAllBytes(entryPath(key));
+            long now = System.currentTimeMillis();
+            entry.lastAccess = now;
+            Files.setLastModifiedTime(entryPath(key), FileTime.fromMillis(now));
+            return bytes;
+        } catch (NoSuchFileException e) {
+            // Evicted concurrently
+            return null;
+        } catch (IOException e) {
+            log.warn("Could not read conversion cache entry {}", key, e);
+            return null;
+        }
+    }
+
+    /**
+     * Stores bytes for a key, evicting least recently used entries when the tier is over its budget.
+     * Values larger than the whole budget are not stored.
+     *
+     * @param key   the hex-encoded cache key
+     * @param value the bytes to store
+     */
+    void put(String key, byte[] value) {
+        if (value.length > maxBytes) {
+            return;
+        }
+
+        synchronized (writeLock) {
+            if (entries.containsKey(key)) {
+                return;
+            }
+
+            Path temp = directory.resolve(key + TEMP_SUFFIX);
+            try {
+                Files.write(temp, value);
+                moveIntoPlace(temp, entryPath(key));
+            } catch (IOException e) {
+                log.warn("Could not write conversion cache entry {}", key, e);
+                deleteQuietly(temp);
+                return;
+            }
+
+            entries.put(key, new DiskEntry(value.length, System.currentTimeMillis()));
+            totalBytes.addAndGet(value.length);
+            evictIfNeeded();
+        }
+    }
+
+    /**
+     * Returns the total size of all entries.
+     *
+     * @return the size in bytes
+     */
+    long totalBytes() {
+        return totalBytes.get();
+    }
+
+    /**
+     * Returns the number of entries evicted since the tier was opened.
+     *
+     * @return the eviction count
+     */
+    long evictionCount() {
+        return evictions.get();
+    }
+
+    private void loadIndex() throws IOException {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            for (Path file : files) {
+                String fileName = file.getFileName().toString();
+                if (fileName.endsWith(TEMP_SUFFIX)) {
+                    // Left over by a write interrupted by a crash
+                    deleteQuietly(file);
+                } else if (ENTRY_NAME.matcher(fileName).matches()) {
+                    long size = Files.size(file);
+                    long lastAccess = Files.getLastModifiedTime(file).toMillis();
+                    entries.put(fileName.substring(0, fileName.length() - ENTRY_SUFFIX.length()),
+                            new DiskEntry(size, lastAccess));
+                    totalBytes.addAndGet(size);
+                }
+            }
+        }
+
+        synchronized (writeLock) {
+            evictIfNeeded();
+        }
+    }
+
+    /**
+     * Removes least recently used entries until the tier fits its budget. Called with the write lock held.
+     */
+    private void evictIfNeeded() {
+        if (totalBytes.get() <= maxBytes) {
+            return;
+        }
+
+        List<Map.Entry<String, DiskEntry>> candidates = new ArrayList<>(entries.entrySet());
+        candidates.sort(Comparator.comparingLong(candidate -> candidate.getValue().lastAccess));
+
+        for (Map.Entry<String, DiskEntry> candidate : candidates) {
+            if (totalBytes.get() <= maxBytes) {
+                break;
+            }
+            entries.remove(candidate.getKey());
+            totalBytes.addAndGet(-candidate.getValue().size);
+            evictions.incrementAndGet();
+            deleteQuietly(entryPath(candidate.getKey()));
+        }
+    }
+
+    private Path entryPath(String key) {
+        return directory.resolve(key + ENTRY_SUFFIX);
+    }
+
+    private static void moveIntoPlace(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete conversion cache file {}", file, e);
+        }
+    }
+
+    /**
+     * Index entry of a cached file.
+     */
+    private static final class DiskEntry {
+
+        private final long size;
+        private volatile long lastAccess;
+
+        private DiskEntry(long size, long lastAccess) {
+            this.size = size;
+            this.lastAccess = lastAccess;
+        }
+
+    }
+
+}
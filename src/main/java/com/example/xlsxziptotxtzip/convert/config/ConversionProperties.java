@@ -0,0 +1,197 @@
+package com.example.xlsxziptotxtzip.convert.config;
+
+import com.example.xlsxziptotxtzip.convert.model.enums.ConversionEngine;
+import com.example.xlsxziptotxtzip.convert.model.enums.ZipInputMode;
+import com.example.xlsxziptotxtzip.convert.model.enums.ZipProcessingMode;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the XLSX → TXT conversion pipeline,
+ * bound from the {@code conversion.*} namespace.
+ */
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "conversion")
+public class ConversionProperties {
+
+    /**
+     * Engine used to read each XLSX workbook.
+     */
+    private ConversionEngine engine = ConversionEngine.DOM;
+
+    /**
+     * How the uploaded ZIP archive is read.
+     */
+    private ZipInputMode input = ZipInputMode.STREAM;
+
+    /**
+     * How the XLSX entries of a ZIP archive are scheduled.
+     */
+    private ZipProcessingMode mode = ZipProcessingMode.SEQUENTIAL;
+
+    /**
+     * Max number of entries converted at the same time in {@link ZipProcessingMode#PARALLEL} and
+     * {@link ZipProcessingMode#STRUCTURED} mode, shared by all requests. {@code 0} or less means one per available processor.
+     */
+    private int parallelism = 0;
+
+    /**
+     * Max size of a ZIP uploaded as a raw {@code application/zip} request body, in bytes.
+     * Multipart uploads are limited by {@code spring.servlet.multipart.max-file-size} instead.
+     */
+    private long maxRawUploadBytes = 100L * 1024 * 1024;
+
+    /**
+     * Settings of the conversion result cache.
+     */
+    private Cache cache = new Cache();
+
+    /**
+     * Settings of the asynchronous conversion jobs.
+     */
+    private Jobs jobs = new Jobs();
+
+    /**
+     * Settings of the admission control in front of synchronous conversions.
+     */
+    private Admission admission = new Admission();
+
+    /**
+     * Settings of the heap-pressure watchdog.
+     */
+    private HeapWatchdog heapWatchdog = new HeapWatchdog();
+
+    /**
+     * Resolves {@link #parallelism} to an actual thread count.
+     *
+     * @return the configured parallelism, or the number of available processors if not set
+     */
+    public int resolveParallelism() {
+        return (parallelism > 0) ? parallelism : Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * Settings of the content-addressed conversion cache, bound from {@code conversion.cache.*}.
+     */
+    @Getter
+    @Setter
+    public static class Cache {
+
+        /**
+         * Whether converted texts are cached.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Max total size of the texts kept in memory, in bytes.
+         */
+        private long memoryMaxBytes = 64L * 1024 * 1024;
+
+        /**
+         * Max total size of the texts kept on disk, in bytes. {@code 0} disables the disk tier.
+         */
+        private long diskMaxBytes = 1024L * 1024 * 1024;
+
+        /**
+         * Directory of the disk tier. Must be on a persistent volume for the cache to survive restarts.
+         */
+        private String directory = System.getProperty("java.io.tmpdir") + "/xlsxziptotxtzip-cache";
+
+        /**
+         * Texts larger than this are converted but not cached, in bytes.
+         */
+        private long maxEntryBytes = 16L * 1024 * 1024;
+
+    }
+
+    /**
+     * Settings of the asynchronous conversion jobs, bound from {@code conversion.jobs.*}.
+     */
+    @Getter
+    @Setter
+    public static class Jobs {
+
+        /**
+         * Number of jobs converted at the same time. Further jobs wait in the queue.
+         */
+        private int workers = 2;
+
+        /**
+         * Directory holding the uploads of pending jobs and the results of finished ones.
+         * Job files left in it are deleted on startup, since jobs are not kept across restarts.
+         */
+        private String directory = System.getProperty("java.io.tmpdir") + "/xlsxziptotxtzip-jobs";
+
+        /**
+         * How long the result of a finished job can be downloaded.
+         */
+        private Duration resultTtl = Duration.ofHours(1);
+
+        /**
+         * How often finished jobs are checked for expiry. Read by {@code @Scheduled}.
+         */
+        private Duration evictionInterval = Duration.ofMinutes(1);
+
+        /**
+         * Max total size of the uploads and results kept in {@link #directory}, in bytes.
+         */
+        private long maxDiskBytes = 2L * 1024 * 1024 * 1024;
+
+    }
+
+    /**
+     * Settings of the admission control of synchronous conversions, bound from {@code conversion.admission.*}.
+     */
+    @Getter
+    @Setter
+    public static class Admission {
+
+        /**
+         * Whether requests are admitted against {@link #maxInFlightBytes}. If disabled, every request is converted at once.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Max estimated uncompressed size of the XLSX entries being converted at the same time, in bytes.
+         * A single larger upload is still admitted, once nothing else is in flight.
+         */
+        private long maxInFlightBytes = 256L * 1024 * 1024;
+
+        /**
+         * Max number of requests waiting for admission. Further requests are rejected at once.
+         */
+        private int maxQueued = 16;
+
+        /**
+         * How long a request waits for admission before it is rejected.
+         */
+        private Duration maxQueueWait = Duration.ofSeconds(10);
+
+    }
+
+    /**
+     * Settings of the heap-pressure watchdog, bound from {@code conversion.heap-watchdog.*}.
+     */
+    @Getter
+    @Setter
+    public static class HeapWatchdog {
+
+        /**
+         * Whether the largest conversion in flight is cancelled when the old generation is nearly full.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Usage of the old generation, as a fraction of its max size, above which a conversion is cancelled.
+         */
+        private double criticalUsage = 0.9;
+
+    }
+
+}
@@ -0,0 +1,133 @@
+package com.example.xlsxziptotxtzip.convert.controller;
+
+import com.example.xlsxziptotxtzip.common.model.dto.response.CustomResponse;
+import com.example.xlsxziptotxtzip.convert.exception.ConversionJobNotFinishedException;
+import com.example.xlsxziptotxtzip.convert.exception.ConversionJobNotFoundException;
+import com.example.xlsxziptotxtzip.convert.exception.ConversionJobQuotaExceededException;
+import com.example.xlsxziptotxtzip.convert.exception.InvalidZipContentException;
+import com.example.xlsxziptotxtzip.convert.model.ConversionJob;
+import com.example.xlsxziptotxtzip.convert.model.dto.response.ConversionJobResponse;
+import com.example.xlsxziptotxtzip.convert.model.mapper.ConversionJobToConversionJobResponseMapper;
+import com.example.xlsxziptotxtzip.convert.service.ConversionJobService;
+import com.example.xlsxziptotxtzip.convert.utils.FileNameUtil;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestPart;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.net.URI;
+
+/**
+ * REST controller that converts uploads as asynchronous jobs.
+ * <p>
+ * Clients submit a ZIP via {@link #submitJob(MultipartFile)} and get a job id back at once,
+ * poll {@link #getJob(String)} for its progress, and download the ZIP of TXT files with
+ * {@link #getJobResult(String)} once the job has succeeded. Finished jobs are kept for
+ * {@code conversion.jobs.result-ttl}.
+ * </p>
+ */
+@RestController
+@RequestMapping("/api/jobs")
+@RequiredArgsConstructor
+@Tag(name = "Conversion jobs", description = "Convert a ZIP of XLSX files in the background and download the result later")
+public class ConversionJobController {
+
+    private final ConversionJobService conversionJobService;
+
+    private final ConversionJobToConversionJobResponseMapper conversionJobMapper =
+            ConversionJobToConversionJobResponseMapper.initialize();
+
+    /**
+     * Submits a ZIP containing one or more XLSX files for conversion.
+     *
+     * @param file the uploaded ZIP file containing one or more {@code .xlsx} files
+     * @return a {@link ResponseEntity} with status 202, the {@code Location} of the job and the queued job
+     * @throws InvalidZipContentException          if the file is empty
+     * @throws ConversionJobQuotaExceededException if the upload does not fit the disk quota
+     */
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @Operation(
+            summary = "Submit a conversion job",
+            description = "Stores a ZIP that contains one or more .xlsx files and converts it in the background." +
+                    " Poll the returned job until it has succeeded, then download its result."
+    )
+    public ResponseEntity<CustomResponse<ConversionJobResponse>> submitJob(
+            @Parameter(description = "ZIP file containing one or more .xlsx files", required = true)
+            @RequestPart("file") MultipartFile file
+    ) {
+
+        ConversionJob job = conversionJobService.submit(file);
+
+        CustomResponse<ConversionJobResponse> body = CustomResponse.<ConversionJobResponse>builder()
+                .httpStatus(HttpStatus.ACCEPTED)
+                .isSuccess(true)
+                .response(conversionJobMapper.map(job))
+                .build();
+
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/jobs/" + job.getId()))
+                .body(body);
+
+    }
+
+    /**
+     * Returns the status and progress of a job.
+     *
+     * @param id the job id
+     * @return a {@link ResponseEntity} wrapping a {@link CustomResponse} that contains the job
+     * @throws ConversionJobNotFoundException if there is no such job
+     */
+    @GetMapping("/{id}")
+    @Operation(summary = "Get the status and progress of a conversion job")
+    public ResponseEntity<CustomResponse<ConversionJobResponse>> getJob(@PathVariable String id) {
+
+        ConversionJob job = conversionJobService.getJob(id);
+
+        return ResponseEntity.ok(CustomResponse.successOf(conversionJobMapper.map(job)));
+
+    }
+
+    /**
+     * Downloads the ZIP of TXT files produced by a succeeded job, straight from the result directory.
+     * The result is opened under a read lease, which is released once the response has been written,
+     * so an eviction during the download does not delete the file from under it.
+     *
+     * @param id the job id
+     * @return a {@link ResponseEntity} with a {@link Resource} body holding the generated ZIP of TXT files
+     * @throws ConversionJobNotFoundException    if there is no such job
+     * @throws ConversionJobNotFinishedException if the job is still queued or running, or has failed
+     */
+    @GetMapping(value = "/{id}/result", produces = "application/zip")
+    @Operation(summary = "Download the result of a succeeded conversion job")
+    public ResponseEntity<Resource> getJobResult(@PathVariable String id) {
+
+        ConversionJobService.ResultDownload result = conversionJobService.openResult(id);
+        InputStreamResource resource = new InputStreamResource(result);
+        String fileName = FileNameUtil.buildConvertedTxtZipFileName();
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/zip"))
+                .contentLength(result.size())
+                .header(
+                        HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(fileName).build().toString()
+                )
+                .body(resource);
+
+    }
+
+}
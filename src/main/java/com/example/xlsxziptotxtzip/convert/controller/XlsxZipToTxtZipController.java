@@ -1,13 +1,22 @@
 package com.example.xlsxziptotxtzip.convert.controller;
 
+import com.example.xlsxziptotxtzip.convert.config.ConversionProperties;
+import com.example.xlsxziptotxtzip.convert.exception.ConversionCancelledException;
+import com.example.xlsxziptotxtzip.convert.exception.ConversionOverloadedException;
 import com.example.xlsxziptotxtzip.convert.exception.InvalidZipContentException;
 import com.example.xlsxziptotxtzip.convert.exception.ZipProcessingException;
 import com.example.xlsxziptotxtzip.convert.model.dto.ConvertedFile;
+import com.example.xlsxziptotxtzip.convert.model.enums.ConversionStage;
+import com.example.xlsxziptotxtzip.convert.service.ConversionAdmission;
+import com.example.xlsxziptotxtzip.convert.service.ConversionMetrics;
+import com.example.xlsxziptotxtzip.convert.service.TxtZipWriter;
 import com.example.xlsxziptotxtzip.convert.service.ZipProcessingService;
+import com.example.xlsxziptotxtzip.convert.utils.BoundedInputStream;
 import com.example.xlsxziptotxtzip.convert.utils.FileNameUtil;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import org.springframework.core.io.ByteArrayResource;
 import org.springframework.core.io.Resource;
@@ -19,11 +28,17 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestPart;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.io.ByteArrayOutputStream;
 import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.concurrent.Callable;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipOutputStream;
 
@@ -38,6 +53,13 @@ import java.util.zip.ZipOutputStream;
  *     <li>The controller repackages all generated TXT contents into a new ZIP and
  *         returns it as {@code application/zip}.</li>
  * </ol>
+ * {@link #uploadZipStreaming(MultipartFile, HttpServletRequest)} does the same but streams each TXT entry into the
+ * response as soon as it is converted, and {@link #uploadZipRaw(HttpServletRequest)} additionally
+ * takes the ZIP as the raw request body and converts it while it is still being uploaded.
+ * Every conversion is admitted by the {@link ConversionAdmission} first, so that concurrent large uploads
+ * wait or get a {@code 429} instead of exhausting the heap. A conversion cancelled by the
+ * {@link com.example.xlsxziptotxtzip.convert.service.HeapPressureWatchdog} fails with a
+ * {@link ConversionCancelledException}.
  * If the uploaded ZIP is empty or contains no XLSX files,
  * an {@link InvalidZipContentException} is thrown. Errors during ZIP creation
  * are wrapped in a {@link ZipProcessingException}.
@@ -48,8 +70,16 @@ import java.util.zip.ZipOutputStream;
 @Tag(name = "XLSX ZIP to TXT ZIP", description = "Upload a ZIP of Mockaroo XLSX files and download aligned TXT files")
 public class XlsxZipToTxtZipController {
 
+    private static final String PERMIT_INTERCEPTOR_KEY = XlsxZipToTxtZipController.class.getName() + ".permit";
+
     private final ZipProcessingService zipProcessingService;
 
+    private final ConversionMetrics conversionMetrics;
+
+    private final ConversionProperties conversionProperties;
+
+    private final ConversionAdmission conversionAdmission;
+
     /**
      * Upload a ZIP containing one or more XLSX files, convert each XLSX to an aligned TXT file,
      * and return a new ZIP with the TXT files.
@@ -57,8 +87,10 @@ public class XlsxZipToTxtZipController {
      * @param file the uploaded ZIP file containing one or more {@code .xlsx} files
      * @return an {@link org.springframework.http.ResponseEntity} with
      * {@link Resource} body holding the generated ZIP of TXT files
-     * @throws InvalidZipContentException if the file is empty or has no XLSX entries
-     * @throws ZipProcessingException     if an error occurs while creating the output ZIP
+     * @throws InvalidZipContentException    if the file is empty or has no XLSX entries
+     * @throws ConversionOverloadedException if the conversion is not admitted in time
+     * @throws ConversionCancelledException  if the conversion was cancelled because the heap ran low
+     * @throws ZipProcessingException        if an error occurs while creating the output ZIP
      */
     @PostMapping(
             value = "/upload-zip",
@@ -79,23 +111,32 @@ public class XlsxZipToTxtZipController {
             throw new InvalidZipContentException("Uploaded file is empty.");
         }
 
-        List<ConvertedFile> convertedFiles = zipProcessingService.processZip(file);
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        ConversionAdmission.Permit permit = conversionAdmission.admit(file);
+        try (permit) {
+            List<ConvertedFile> convertedFiles = zipProcessingService.processZip(file);
 
-        if (convertedFiles.isEmpty()) {
-            throw new InvalidZipContentException("No XLSX files were found in the uploaded ZIP.");
-        }
+            if (convertedFiles.isEmpty()) {
+                throw new InvalidZipContentException("No XLSX files were found in the uploaded ZIP.");
+            }
 
-        // Build output ZIP of TXT files
-        ByteArrayOutputStream baos = new ByteArrayOutputStream();
-        try (ZipOutputStream zos = new ZipOutputStream(baos, StandardCharsets.UTF_8)) {
-            for (ConvertedFile convertedFile : convertedFiles) {
-                ZipEntry zipEntry = new ZipEntry(convertedFile.getTxtFileName());
-                zos.putNextEntry(zipEntry);
-                zos.write(convertedFile.getContent().getBytes(StandardCharsets.UTF_8));
-                zos.closeEntry();
+            // Build output ZIP of TXT files
+            try (ZipOutputStream zos = new ZipOutputStream(baos, StandardCharsets.UTF_8)) {
+                for (ConvertedFile convertedFile : convertedFiles) {
+                    // Only the ZIP work is timed, as in TxtZipWriter, not encoding the text
+                    byte[] content = convertedFile.getContent().getBytes(StandardCharsets.UTF_8);
+                    long start = System.nanoTime();
+                    ZipEntry zipEntry = new ZipEntry(convertedFile.getTxtFileName());
+                    zos.putNextEntry(zipEntry);
+                    zos.write(content);
+                    zos.closeEntry();
+                    conversionMetrics.recordStage(ConversionStage.OUTPUT_ZIP_WRITE, System.nanoTime() - start);
+                }
+            } catch (Exception e) {
+                throw new ZipProcessingException("Error while creating TXT ZIP response", e);
             }
-        } catch (Exception e) {
-            throw new ZipProcessingException("Error while creating TXT ZIP response", e);
+        } catch (RuntimeException e) {
+            throw permit.failure(e);
         }
 
         byte[] zipBytes = baos.toByteArray();
@@ -113,4 +154,166 @@ public class XlsxZipToTxtZipController {
                 .body(resource);
     }
 
+    /**
+     * Upload a ZIP containing one or more XLSX files and stream back a ZIP with the TXT files.
+     * <p>
+     * Unlike {@link #uploadZip(MultipartFile)}, nothing is collected in memory: each TXT entry is
+     * written into a {@link ZipOutputStream} on the response as soon as it is converted, so the first
+     * bytes are sent after the first workbook is done. The response has no {@code Content-Length}.
+     * </p>
+     * <p>
+     * The ZIP is opened lazily on the first converted entry. If the upload contains no XLSX
+     * files, nothing has been written yet and an {@link InvalidZipContentException} is returned as
+     * usual. A failure after the first entry can no longer change the status and aborts the
+     * response, leaving the client with a truncated archive.
+     * </p>
+     * <p>
+     * The conversion is admitted before the response is started, and holds its admission until the
+     * response body is complete, or until the async request ends if the body never runs.
+     * </p>
+     *
+     * @param file    the uploaded ZIP file containing one or more {@code .xlsx} files
+     * @param request the request, whose async processing releases the admission once it has ended
+     * @return an {@link org.springframework.http.ResponseEntity} with a
+     * {@link StreamingResponseBody} writing the ZIP of TXT files
+     * @throws InvalidZipContentException    if the file is empty or has no XLSX entries
+     * @throws ConversionOverloadedException if the conversion is not admitted in time
+     * @throws ConversionCancelledException  if the conversion was cancelled because the heap ran low
+     * @throws ZipProcessingException        if an error occurs while reading the upload or writing the ZIP
+     */
+    @PostMapping(
+            value = "/upload-zip/stream",
+            consumes = MediaType.MULTIPART_FORM_DATA_VALUE,
+            produces = "application/zip"
+    )
+    @Operation(
+            summary = "Upload ZIP of XLSX files (streamed response)",
+            description = "Same as /upload-zip, but each converted .txt file is streamed into the" +
+                    " response ZIP as soon as it is ready instead of buffering the whole result."
+    )
+    public ResponseEntity<StreamingResponseBody> uploadZipStreaming(
+            @Parameter(description = "ZIP file containing one or more .xlsx files", required = true)
+            @RequestPart("file") MultipartFile file,
+            HttpServletRequest request
+    ) {
+
+        if (file.isEmpty()) {
+            throw new InvalidZipContentException("Uploaded file is empty.");
+        }
+
+        ConversionAdmission.Permit permit = conversionAdmission.admitDeferred(file);
+        releaseOnCompletion(request, permit);
+
+        StreamingResponseBody body = outputStream -> {
+            try (permit) {
+                permit.attach();
+                TxtZipWriter writer = new TxtZipWriter(outputStream, conversionMetrics);
+                zipProcessingService.processZip(file, writer);
+                writer.finish();
+            } catch (RuntimeException e) {
+                throw permit.failure(e);
+            }
+        };
+
+        String fileName = FileNameUtil.buildConvertedTxtZipFileName();
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/zip"))
+                .header(
+                        HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(fileName).build().toString()
+                )
+                .body(body);
+    }
+
+    /**
+     * Convert a ZIP sent as the raw {@code application/zip} request body and stream back a ZIP with the TXT files.
+     * <p>
+     * Unlike {@link #uploadZipStreaming(MultipartFile, HttpServletRequest)}, the upload is not parsed as multipart and stored first:
+     * the request body is read with a {@link java.util.zip.ZipInputStream} directly, so each workbook is
+     * converted as soon as it has arrived while the next ones are still being uploaded. Errors are reported
+     * as for {@link #uploadZipStreaming(MultipartFile, HttpServletRequest)}.
+     * </p>
+     * <p>
+     * The body is limited to {@link ConversionProperties#getMaxRawUploadBytes()}. A larger
+     * {@code Content-Length} is rejected before anything is read; a chunked body fails once the limit
+     * is exceeded, which also aborts the response if entries were written already.
+     * </p>
+     * <p>
+     * The entry sizes are not known before the body has arrived, so the conversion is admitted with the
+     * {@code Content-Length} as its cost, or with the limit for a chunked body. That is the compressed size
+     * of the upload rather than the uncompressed size of its XLSX entries that other conversions are costed
+     * by. XLSX files are already compressed, so the two are usually close. An archive that deflates its
+     * workbooks further is under-admitted by that ratio, which the heap-pressure watchdog is left to cover.
+     * </p>
+     *
+     * @param request the request whose body is the ZIP containing one or more {@code .xlsx} files
+     * @return an {@link org.springframework.http.ResponseEntity} with a
+     * {@link StreamingResponseBody} writing the ZIP of TXT files
+     * @throws InvalidZipContentException     if the body has no XLSX entries
+     * @throws MaxUploadSizeExceededException if the body is larger than the configured limit
+     * @throws ConversionOverloadedException  if the conversion is not admitted in time
+     * @throws ConversionCancelledException   if the conversion was cancelled because the heap ran low
+     * @throws ZipProcessingException         if an error occurs while reading the upload or writing the ZIP
+     */
+    @PostMapping(
+            value = "/upload-zip/raw",
+            consumes = "application/zip",
+            produces = "application/zip"
+    )
+    @Operation(
+            summary = "Upload ZIP of XLSX files as the request body (converted while uploading)",
+            description = "Same as /upload-zip/stream, but takes the ZIP as the raw application/zip body." +
+                    " Each .xlsx file is converted as soon as it has been received."
+    )
+    public ResponseEntity<StreamingResponseBody> uploadZipRaw(HttpServletRequest request) {
+
+        long maxBytes = conversionProperties.getMaxRawUploadBytes();
+        long contentLength = request.getContentLengthLong();
+        if (contentLength > maxBytes) {
+            throw new MaxUploadSizeExceededException(maxBytes);
+        }
+
+        ConversionAdmission.Permit permit = conversionAdmission.admitDeferred(contentLength >= 0 ? contentLength : maxBytes);
+        releaseOnCompletion(request, permit);
+
+        StreamingResponseBody body = outputStream -> {
+            try (permit) {
+                permit.attach();
+                TxtZipWriter writer = new TxtZipWriter(outputStream, conversionMetrics);
+                zipProcessingService.processZip(new BoundedInputStream(request.getInputStream(), maxBytes), writer);
+                writer.finish();
+            } catch (RuntimeException e) {
+                throw permit.failure(e);
+            }
+        };
+
+        String fileName = FileNameUtil.buildConvertedTxtZipFileName();
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/zip"))
+                .header(
+                        HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(fileName).build().toString()
+                )
+                .body(body);
+    }
+
+    /**
+     * Releases the admission of a streamed conversion once its async request has ended, whether it completed,
+     * timed out or failed. The response body closes the permit itself when it is done, but it may never run,
+     * e.g. if the async executor rejects it or the request times out first.
+     */
+    private static void releaseOnCompletion(HttpServletRequest request, ConversionAdmission.Permit permit) {
+        WebAsyncUtils.getAsyncManager(request).registerCallableInterceptor(
+                PERMIT_INTERCEPTOR_KEY,
+                new CallableProcessingInterceptor() {
+                    @Override
+                    public <T> void afterCompletion(NativeWebRequest webRequest, Callable<T> task) {
+                        permit.close();
+                    }
+                }
+        );
+    }
+
 }
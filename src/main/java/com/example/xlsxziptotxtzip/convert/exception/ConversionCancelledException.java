@@ -0,0 +1,29 @@
+package com.example.xlsxziptotxtzip.convert.exception;
+
+import com.example.xlsxziptotxtzip.common.exception.ApiException;
+import com.example.xlsxziptotxtzip.common.exception.error.CustomError;
+import org.springframework.http.HttpStatus;
+
+/**
+ * Exception thrown when a conversion was cancelled to keep the server from running out of memory
+ */
+public class ConversionCancelledException extends ApiException {
+
+    public static final HttpStatus STATUS = HttpStatus.SERVICE_UNAVAILABLE;
+    public static final CustomError.Header HEADER = CustomError.Header.PROCESS_ERROR;
+
+    public ConversionCancelledException(Throwable cause) {
+        super("Failed to process ZIP: conversion cancelled because the server is low on memory; retry later.");
+        initCause(cause);
+    }
+
+    @Override
+    public HttpStatus getStatus() {
+        return STATUS;
+    }
+
+    @Override
+    public CustomError.Header getHeader() {
+        return HEADER;
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.xlsxziptotxtzip.convert.exception;
+
+import com.example.xlsxziptotxtzip.common.exception.ApiException;
+import com.example.xlsxziptotxtzip.common.exception.error.CustomError;
+import org.springframework.http.HttpStatus;
+
+/**
+ * Exception thrown when the result of a conversion job is requested before the job has succeeded
+ */
+public class ConversionJobNotFinishedException extends ApiException {
+
+    public static final HttpStatus STATUS = HttpStatus.CONFLICT;
+    public static final CustomError.Header HEADER = CustomError.Header.API_ERROR;
+
+    public ConversionJobNotFinishedException(String message) {
+        super(message);
+    }
+
+    @Override
+    public HttpStatus getStatus() {
+        return STATUS;
+    }
+
+    @Override
+    public CustomError.Header getHeader() {
+        return HEADER;
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.xlsxziptotxtzip.convert.exception;
+
+import com.example.xlsxziptotxtzip.common.exception.ApiException;
+import com.example.xlsxziptotxtzip.common.exception.error.CustomError;
+import org.springframework.http.HttpStatus;
+
+/**
+ * Exception thrown when no conversion job exists with the requested id, or it has expired
+ */
+public class ConversionJobNotFoundException extends ApiException {
+
+    public static final HttpStatus STATUS = HttpStatus.NOT_FOUND;
+    public static final CustomError.Header HEADER = CustomError.Header.API_ERROR;
+
+    public ConversionJobNotFoundException(String id) {
+        super("Conversion job not found: " + id);
+    }
+
+    @Override
+    public HttpStatus getStatus() {
+        return STATUS;
+    }
+
+    @Override
+    public CustomError.Header getHeader() {
+        return HEADER;
+    }
+}
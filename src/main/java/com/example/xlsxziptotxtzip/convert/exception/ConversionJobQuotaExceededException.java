@@ -0,0 +1,28 @@
+package com.example.xlsxziptotxtzip.convert.exception;
+
+import com.example.xlsxziptotxtzip.common.exception.ApiException;
+import com.example.xlsxziptotxtzip.common.exception.error.CustomError;
+import org.springframework.http.HttpStatus;
+
+/**
+ * Exception thrown when a conversion job cannot be stored within the disk quota of the job directory
+ */
+public class ConversionJobQuotaExceededException extends ApiException {
+
+    public static final HttpStatus STATUS = HttpStatus.INSUFFICIENT_STORAGE;
+    public static final CustomError.Header HEADER = CustomError.Header.PROCESS_ERROR;
+
+    public ConversionJobQuotaExceededException(String message) {
+        super(message);
+    }
+
+    @Override
+    public HttpStatus getStatus() {
+        return STATUS;
+    }
+
+    @Override
+    public CustomError.Header getHeader() {
+        return HEADER;
+    }
+}
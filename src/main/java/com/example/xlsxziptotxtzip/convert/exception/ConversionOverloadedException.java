@@ -0,0 +1,46 @@
+package com.example.xlsxziptotxtzip.convert.exception;
+
+import com.example.xlsxziptotxtzip.common.exception.ApiException;
+import com.example.xlsxziptotxtzip.common.exception.error.CustomError;
+import lombok.Getter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+
+import java.time.Duration;
+
+/**
+ * Exception thrown when a conversion is not admitted because the server is already converting as much as it can
+ */
+@Getter
+public class ConversionOverloadedException extends ApiException {
+
+    public static final HttpStatus STATUS = HttpStatus.TOO_MANY_REQUESTS;
+    public static final CustomError.Header HEADER = CustomError.Header.API_ERROR;
+
+    /**
+     * How long the client should wait before retrying, sent as {@code Retry-After}.
+     */
+    private final Duration retryAfter;
+
+    public ConversionOverloadedException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    @Override
+    public HttpStatus getStatus() {
+        return STATUS;
+    }
+
+    @Override
+    public CustomError.Header getHeader() {
+        return HEADER;
+    }
+
+    @Override
+    public HttpHeaders getHttpHeaders() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter.toSeconds()));
+        return headers;
+    }
+}
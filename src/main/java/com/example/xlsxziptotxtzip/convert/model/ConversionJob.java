@@ -0,0 +1,189 @@
+package com.example.xlsxziptotxtzip.convert.model;
+
+import com.example.xlsxziptotxtzip.convert.model.enums.ConversionJobStatus;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * State and progress of an asynchronous conversion job.
+ * <p>
+ * The job is updated by the worker converting it and read concurrently by status requests,
+ * so every field is either final, volatile or atomic. The status is written last on each
+ * transition, so a reader that sees {@link ConversionJobStatus#SUCCEEDED} also sees the result size.
+ * The read leases on the result are the exception: their count and the eviction flag change together,
+ * so they are guarded by the job's monitor.
+ * </p>
+ */
+@Getter
+public class ConversionJob {
+
+    private final UUID id;
+
+    private final LocalDateTime createdAt;
+
+    /**
+     * Size of the uploaded ZIP, in bytes.
+     */
+    private final long bytesTotal;
+
+    private volatile ConversionJobStatus status = ConversionJobStatus.QUEUED;
+
+    /**
+     * Number of XLSX entries in the upload, or {@code null} until the worker has listed them.
+     */
+    private volatile Integer entriesTotal;
+
+    private volatile Long resultBytes;
+
+    private volatile String error;
+
+    private volatile LocalDateTime finishedAt;
+
+    private volatile LocalDateTime expiresAt;
+
+    @Getter(AccessLevel.NONE)
+    private final AtomicInteger entriesDone = new AtomicInteger();
+
+    @Getter(AccessLevel.NONE)
+    private final AtomicLong bytesRead = new AtomicLong();
+
+    @Getter(AccessLevel.NONE)
+    private int resultReaders;
+
+    @Getter(AccessLevel.NONE)
+    private boolean evicted;
+
+    public ConversionJob(UUID id, long bytesTotal, LocalDateTime createdAt) {
+        this.id = id;
+        this.bytesTotal = bytesTotal;
+        this.createdAt = createdAt;
+    }
+
+    /**
+     * Returns the number of entries converted so far.
+     *
+     * @return the converted entry count
+     */
+    public int getEntriesDone() {
+        return entriesDone.get();
+    }
+
+    /**
+     * Returns the number of upload bytes read by the conversion so far.
+     *
+     * @return the byte count
+     */
+    public long getBytesRead() {
+        return bytesRead.get();
+    }
+
+    /**
+     * Marks the job as picked up by a worker.
+     */
+    public void start() {
+        status = ConversionJobStatus.RUNNING;
+    }
+
+    /**
+     * Records the number of XLSX entries found in the upload.
+     *
+     * @param entriesTotal the entry count
+     */
+    public void setEntriesTotal(int entriesTotal) {
+        this.entriesTotal = entriesTotal;
+    }
+
+    /**
+     * Records that one more entry has been converted.
+     */
+    public void entryDone() {
+        entriesDone.incrementAndGet();
+    }
+
+    /**
+     * Records that more of the upload has been read.
+     *
+     * @param bytes the number of bytes just read
+     */
+    public void addBytesRead(long bytes) {
+        bytesRead.addAndGet(bytes);
+    }
+
+    /**
+     * Marks the job as succeeded.
+     *
+     * @param resultBytes the size of the result ZIP
+     * @param finishedAt  when the job finished
+     * @param expiresAt   until when the result can be downloaded
+     */
+    public void succeed(long resultBytes, LocalDateTime finishedAt, LocalDateTime expiresAt) {
+        this.resultBytes = resultBytes;
+        this.finishedAt = finishedAt;
+        this.expiresAt = expiresAt;
+        this.status = ConversionJobStatus.SUCCEEDED;
+    }
+
+    /**
+     * Marks the job as failed.
+     *
+     * @param error      the reason, as reported to clients
+     * @param finishedAt when the job finished
+     * @param expiresAt  until when the failure is reported
+     */
+    public void fail(String error, LocalDateTime finishedAt, LocalDateTime expiresAt) {
+        this.error = error;
+        this.finishedAt = finishedAt;
+        this.expiresAt = expiresAt;
+        this.status = ConversionJobStatus.FAILED;
+    }
+
+    /**
+     * Returns whether the job has finished and its retention has ended.
+     *
+     * @param now the current time
+     * @return {@code true} if the job can be evicted
+     */
+    public boolean isExpired(LocalDateTime now) {
+        LocalDateTime expiry = expiresAt;
+        return expiry != null && !expiry.isAfter(now);
+    }
+
+    /**
+     * Takes a read lease on the result, which keeps it on disk until the lease is released.
+     *
+     * @return {@code true} if the lease was taken, {@code false} if the job has already been evicted
+     */
+    public synchronized boolean acquireResult() {
+        if (evicted) {
+            return false;
+        }
+        resultReaders++;
+        return true;
+    }
+
+    /**
+     * Releases a read lease taken with {@link #acquireResult()}.
+     *
+     * @return {@code true} if the job has been evicted and this was the last lease, so the result can be deleted
+     */
+    public synchronized boolean releaseResult() {
+        resultReaders--;
+        return evicted && resultReaders == 0;
+    }
+
+    /**
+     * Marks the job as evicted, so no further read lease is granted.
+     *
+     * @return {@code true} if no lease is held, so the result can be deleted now
+     */
+    public synchronized boolean evict() {
+        evicted = true;
+        return resultReaders == 0;
+    }
+
+}
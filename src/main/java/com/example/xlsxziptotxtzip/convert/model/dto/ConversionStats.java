@@ -0,0 +1,82 @@
+package com.example.xlsxziptotxtzip.convert.model.dto;
+
+import com.example.xlsxziptotxtzip.convert.model.enums.ConversionStage;
+
+import java.util.Arrays;
+
+/**
+ * Timings and sizes collected while converting a single workbook.
+ * <p>
+ * Filled by {@link com.example.xlsxziptotxtzip.convert.utils.XlsxToTextUtil} and published by
+ * {@link com.example.xlsxziptotxtzip.convert.service.ConversionMetrics}, so the conversion itself
+ * does not depend on the metrics registry. Stages that did not run keep a duration of {@code -1}.
+ * </p>
+ * Instances are not thread-safe and are meant to describe a single conversion.
+ */
+public final class ConversionStats {
+
+    private static final ConversionStage[] STAGES = ConversionStage.values();
+
+    private final long[] stageNanos = new long[STAGES.length];
+    private long rows;
+    private long cells;
+    private long outputBytes;
+
+    public ConversionStats() {
+        Arrays.fill(stageNanos, -1L);
+    }
+
+    /**
+     * Records the duration of a stage, adding to any duration recorded before.
+     *
+     * @param stage the stage
+     * @param nanos the duration in nanoseconds
+     */
+    public void addStageNanos(ConversionStage stage, long nanos) {
+        int index = stage.ordinal();
+        stageNanos[index] = Math.max(stageNanos[index], 0L) + nanos;
+    }
+
+    /**
+     * Returns the duration of a stage.
+     *
+     * @param stage the stage
+     * @return the duration in nanoseconds, or {@code -1} if the stage did not run
+     */
+    public long stageNanos(ConversionStage stage) {
+        return stageNanos[stage.ordinal()];
+    }
+
+    /**
+     * Records the size of the converted sheet.
+     *
+     * @param rows  the number of rows
+     * @param cells the number of cells
+     */
+    public void setSheetSize(long rows, long cells) {
+        this.rows = rows;
+        this.cells = cells;
+    }
+
+    public long rows() {
+        return rows;
+    }
+
+    public long cells() {
+        return cells;
+    }
+
+    /**
+     * Records the size of the rendered text.
+     *
+     * @param outputBytes the number of UTF-8 bytes written
+     */
+    public void setOutputBytes(long outputBytes) {
+        this.outputBytes = outputBytes;
+    }
+
+    public long outputBytes() {
+        return outputBytes;
+    }
+
+}
@@ -1,8 +1,287 @@
 package com.example.xlsxziptotxtzip.convert.model.dto;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.List;
 
 /**
- * Simple container for preprocessed sheet data used during XLSX → TXT conversion.
+ * Compact container for preprocessed sheet data used during XLSX → TXT conversion.
+ * <p>
+ * All cell text lives in a single growable {@code char[]} arena. Each cell is described by
+ * an offset and a length into that arena, and each row by the index of its first cell and its
+ * cell count. The length of a cell is its rendered width, and the maximum width of every column
+ * is cached while cells are appended, so computing column widths never re-scans the cells.
+ * </p>
+ * <p>
+ * Compared to a {@code List<List<String>>}, a cell costs two {@code int}s instead of a
+ * {@link String}, its backing array and an {@link ArrayList} slot.
+ * </p>
+ * Rows are appended with {@link #startRow()}, {@link #addCell(String)} and {@link #endRow()},
+ * or in one call with {@link #addRow(List)}. Cells whose raw type is already known to be numeric
+ * can be flagged with {@link #addCell(String, boolean)}, so renderers can skip inspecting their text.
  */
-public record SheetContent(List<List<String>> rows, int maxColumns) {}
+public final class SheetContent {
+
+    private static final int INITIAL_CHARS = 4096;
+    private static final int INITIAL_CELLS = 256;
+    private static final int INITIAL_ROWS = 64;
+    private static final int INITIAL_COLUMNS = 16;
+
+    private char[] chars = new char[INITIAL_CHARS];
+    private int charCount;
+
+    private int[] cellOffsets = new int[INITIAL_CELLS];
+    private int[] cellLengths = new int[INITIAL_CELLS];
+    private final BitSet numericCells = new BitSet(INITIAL_CELLS);
+    private int cellCount;
+
+    private int[] rowFirstCells = new int[INITIAL_ROWS];
+    private int[] rowCellCounts = new int[INITIAL_ROWS];
+    private int rowCount;
+
+    private int[] columnWidths = new int[INITIAL_COLUMNS];
+    private int maxColumns;
+
+    private boolean rowOpen;
+
+    /**
+     * Starts a new row; subsequent {@link #addCell(String)} calls append to it.
+     */
+    public void startRow() {
+        if (rowOpen) {
+            throw new IllegalStateException("Previous row has not been ended");
+        }
+        if (rowCount == rowFirstCells.length) {
+            rowFirstCells = Arrays.copyOf(rowFirstCells, rowCount * 2);
+            rowCellCounts = Arrays.copyOf(rowCellCounts, rowCount * 2);
+        }
+        rowFirstCells[rowCount] = cellCount;
+        rowCellCounts[rowCount] = 0;
+        rowOpen = true;
+    }
+
+    /**
+     * Appends a cell to the current row.
+     *
+     * @param value the formatted cell value; {@code null} is stored as an empty cell
+     */
+    public void addCell(String value) {
+        addCell(value, false);
+    }
+
+    /**
+     * Appends a cell to the current row, recording whether its raw value is known to be numeric.
+     *
+     * @param value   the formatted cell value; {@code null} is stored as an empty cell
+     * @param numeric {@code true} if the formatted value is known to be a plain number
+     */
+    public void addCell(String value, boolean numeric) {
+        if (!rowOpen) {
+            throw new IllegalStateException("No row has been started");
+        }
+
+        int length = (value != null) ? value.length() : 0;
+
+        if (cellCount == cellOffsets.length) {
+            cellOffsets = Arrays.copyOf(cellOffsets, cellCount * 2);
+            cellLengths = Arrays.copyOf(cellLengths, cellCount * 2);
+        }
+        ensureCharCapacity(charCount + length);
+
+        if (length > 0) {
+            value.getChars(0, length, chars, charCount);
+        }
+        cellOffsets[cellCount] = charCount;
+        cellLengths[cellCount] = length;
+        numericCells.set(cellCount, numeric);
+        charCount += length;
+        cellCount++;
+
+        int column = rowCellCounts[rowCount]++;
+        if (column == columnWidths.length) {
+            columnWidths = Arrays.copyOf(columnWidths, column * 2);
+        }
+        columnWidths[column] = Math.max(columnWidths[column], length);
+    }
+
+    /**
+     * Ends the current row.
+     */
+    public void endRow() {
+        if (!rowOpen) {
+            throw new IllegalStateException("No row has been started");
+        }
+        maxColumns = Math.max(maxColumns, rowCellCounts[rowCount]);
+        rowCount++;
+        rowOpen = false;
+    }
+
+    /**
+     * Appends a complete row. None of its cells is flagged as numeric; this is how the streaming
+     * engines append rows, since POI's event model does not report cell types.
+     *
+     * @param cells the formatted cell values of the row
+     */
+    public void addRow(List<String> cells) {
+        startRow();
+        for (String cell : cells) {
+            addCell(cell);
+        }
+        endRow();
+    }
+
+    /**
+     * Removes all rows while keeping the allocated arrays for reuse.
+     */
+    public void clear() {
+        charCount = 0;
+        cellCount = 0;
+        rowCount = 0;
+        maxColumns = 0;
+        rowOpen = false;
+        numericCells.clear();
+        Arrays.fill(columnWidths, 0);
+    }
+
+    /**
+     * Returns the number of completed rows.
+     *
+     * @return the row count
+     */
+    public int rowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Returns the maximum number of cells found in any row.
+     *
+     * @return the max column count
+     */
+    public int maxColumns() {
+        return maxColumns;
+    }
+
+    /**
+     * Returns the number of cells stored across all rows.
+     *
+     * @return the total cell count
+     */
+    public int totalCellCount() {
+        return cellCount;
+    }
+
+    /**
+     * Returns the number of cells stored for a row.
+     *
+     * @param row the zero-based row index
+     * @return the cell count of the row
+     */
+    public int cellCount(int row) {
+        return rowCellCounts[checkRow(row)];
+    }
+
+    /**
+     * Returns the cached length of a cell, which is also its width in characters.
+     *
+     * @param row    the zero-based row index
+     * @param column the zero-based column index
+     * @return the cell length, or {@code 0} if the row has no such cell
+     */
+    public int cellLength(int row, int column) {
+        int cell = cellIndex(row, column);
+        return (cell < 0) ? 0 : cellLengths[cell];
+    }
+
+    /**
+     * Returns the position of a cell's text in {@link #chars()}.
+     *
+     * @param row    the zero-based row index
+     * @param column the zero-based column index
+     * @return the cell offset, or {@code 0} if the row has no such cell
+     */
+    public int cellOffset(int row, int column) {
+        int cell = cellIndex(row, column);
+        return (cell < 0) ? 0 : cellOffsets[cell];
+    }
+
+    /**
+     * Returns whether a cell was flagged as numeric from its raw type when it was appended.
+     * A {@code false} result only means the type was not known; the text may still look numeric.
+     *
+     * @param row    the zero-based row index
+     * @param column the zero-based column index
+     * @return {@code true} if the cell was flagged as numeric
+     */
+    public boolean isNumericCell(int row, int column) {
+        int cell = cellIndex(row, column);
+        return cell >= 0 && numericCells.get(cell);
+    }
+
+    /**
+     * Returns the backing character arena. Cell text is found at
+     * {@link #cellOffset(int, int)} with length {@link #cellLength(int, int)}.
+     * The array is only valid until the next append.
+     *
+     * @return the backing character arena
+     */
+    public char[] chars() {
+        return chars;
+    }
+
+    /**
+     * Materializes a single cell as a {@link String}.
+     *
+     * @param row    the zero-based row index
+     * @param column the zero-based column index
+     * @return the cell value, or an empty string if the row has no such cell
+     */
+    public String cellValue(int row, int column) {
+        int cell = cellIndex(row, column);
+        return (cell < 0) ? "" : new String(chars, cellOffsets[cell], cellLengths[cell]);
+    }
+
+    /**
+     * Materializes a whole row as a list of {@link String} values.
+     *
+     * @param row the zero-based row index
+     * @return the cell values of the row
+     */
+    public List<String> rowValues(int row) {
+        int count = cellCount(row);
+        List<String> values = new ArrayList<>(count);
+        for (int column = 0; column < count; column++) {
+            values.add(cellValue(row, column));
+        }
+        return values;
+    }
+
+    /**
+     * Returns the cached maximum cell width of a column.
+     *
+     * @param column the zero-based column index
+     * @return the column width (not clamped)
+     */
+    public int columnWidth(int column) {
+        return (column < maxColumns) ? columnWidths[column] : 0;
+    }
+
+    private int cellIndex(int row, int column) {
+        checkRow(row);
+        return (column < rowCellCounts[row]) ? rowFirstCells[row] + column : -1;
+    }
+
+    private int checkRow(int row) {
+        if (row < 0 || row >= rowCount) {
+            throw new IndexOutOfBoundsException("Row " + row + " out of bounds for " + rowCount + " rows");
+        }
+        return row;
+    }
+
+    private void ensureCharCapacity(int required) {
+        if (required > chars.length) {
+            chars = Arrays.copyOf(chars, Math.max(required, chars.length * 2));
+        }
+    }
+
+}
@@ -0,0 +1,38 @@
+package com.example.xlsxziptotxtzip.convert.model.dto.response;
+
+import com.example.xlsxziptotxtzip.convert.model.enums.ConversionJobStatus;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * API response DTO describing the state and progress of an asynchronous conversion job.
+ */
+@Getter
+@Builder
+public class ConversionJobResponse {
+
+    private String id;
+
+    private ConversionJobStatus status;
+
+    private int entriesDone;
+
+    private Integer entriesTotal;
+
+    private long bytesRead;
+
+    private long bytesTotal;
+
+    private Long resultBytes;
+
+    private String error;
+
+    private LocalDateTime createdAt;
+
+    private LocalDateTime finishedAt;
+
+    private LocalDateTime expiresAt;
+
+}
@@ -0,0 +1,28 @@
+package com.example.xlsxziptotxtzip.convert.model.enums;
+
+/**
+ * Available engines for reading an XLSX workbook during XLSX → TXT conversion.
+ */
+public enum ConversionEngine {
+
+    /**
+     * Loads the workbook with {@link org.apache.poi.xssf.usermodel.XSSFWorkbook},
+     * building the full object model for all sheets, styles and shared strings.
+     */
+    DOM,
+
+    /**
+     * Reads the first sheet with POI's event model ({@code XSSFReader} + SAX),
+     * without materializing the workbook object model. Rows are still collected in memory
+     * before widths are computed.
+     */
+    STREAMING,
+
+    /**
+     * Streams the first sheet twice: pass one only computes column widths and right-align
+     * flags, pass two renders each row straight to the output. Memory depends on the
+     * column count, not on the row count.
+     */
+    TWO_PASS_STREAMING
+
+}
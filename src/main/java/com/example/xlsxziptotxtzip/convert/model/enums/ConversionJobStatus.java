@@ -0,0 +1,28 @@
+package com.example.xlsxziptotxtzip.convert.model.enums;
+
+/**
+ * Lifecycle states of an asynchronous conversion job.
+ */
+public enum ConversionJobStatus {
+
+    /**
+     * Submitted and waiting for a free worker.
+     */
+    QUEUED,
+
+    /**
+     * Being converted; the progress counters are updated as entries are done.
+     */
+    RUNNING,
+
+    /**
+     * Converted; the result can be downloaded until the job expires.
+     */
+    SUCCEEDED,
+
+    /**
+     * Failed; the job carries the error message and has no result.
+     */
+    FAILED
+
+}
@@ -0,0 +1,42 @@
+package com.example.xlsxziptotxtzip.convert.model.enums;
+
+/**
+ * Stages of the XLSX ZIP → TXT ZIP pipeline that are timed separately.
+ */
+public enum ConversionStage {
+
+    /**
+     * Inflating an XLSX entry from the uploaded ZIP.
+     */
+    ZIP_READ,
+
+    /**
+     * Opening the workbook package: the object model with {@link ConversionEngine#DOM},
+     * the shared strings and styles with the streaming engines.
+     */
+    WORKBOOK_OPEN,
+
+    /**
+     * Reading the cells of the first sheet; the first pass with {@link ConversionEngine#TWO_PASS_STREAMING}.
+     */
+    SHEET_EXTRACTION,
+
+    /**
+     * Computing column widths and right-aligned columns.
+     */
+    WIDTH_COMPUTATION,
+
+    /**
+     * Rendering the aligned text; with {@link ConversionEngine#TWO_PASS_STREAMING} this includes
+     * parsing the sheet a second time.
+     */
+    RENDER,
+
+    /**
+     * Writing a converted entry into the response ZIP, including compression. Only the ZIP work is
+     * timed: when the text is rendered while it is written, as with {@link ZipProcessingMode#SEQUENTIAL},
+     * the rendering is recorded under its own stages only.
+     */
+    OUTPUT_ZIP_WRITE
+
+}
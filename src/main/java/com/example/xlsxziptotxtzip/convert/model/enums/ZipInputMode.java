@@ -0,0 +1,21 @@
+package com.example.xlsxziptotxtzip.convert.model.enums;
+
+/**
+ * Ways of reading the uploaded ZIP archive.
+ */
+public enum ZipInputMode {
+
+    /**
+     * Reads the upload sequentially with {@link java.util.zip.ZipInputStream}; every entry,
+     * including skipped ones, is inflated while scanning.
+     */
+    STREAM,
+
+    /**
+     * Spools the upload to a temp file and opens it with {@link java.util.zip.ZipFile}. Entries are
+     * listed from the central directory, so skipped entries are never inflated, entry buffers are
+     * sized from the known uncompressed size, and entries can be read concurrently.
+     */
+    RANDOM_ACCESS
+
+}
@@ -0,0 +1,27 @@
+package com.example.xlsxziptotxtzip.convert.model.enums;
+
+/**
+ * Strategies for converting the XLSX entries of an uploaded ZIP archive.
+ */
+public enum ZipProcessingMode {
+
+    /**
+     * Converts entries one by one on the request thread, while the ZIP is being read.
+     */
+    SEQUENTIAL,
+
+    /**
+     * Reads all XLSX entries first, then converts them concurrently on the bounded
+     * {@code ConversionExecutor} pool, largest entries first. Results keep the entry order.
+     */
+    PARALLEL,
+
+    /**
+     * Like {@link #PARALLEL}, but the entries of each upload are converted as subtasks of a
+     * {@code StructuredTaskScope} on virtual threads, so a failing entry or a client that went away
+     * cancels the other conversions of the upload at once. The {@code StructuredConversionExecutor}
+     * bounds the conversions running at the same time across all requests.
+     */
+    STRUCTURED
+
+}
@@ -0,0 +1,24 @@
+package com.example.xlsxziptotxtzip.convert.model.mapper;
+
+import com.example.xlsxziptotxtzip.common.model.mapper.BaseMapper;
+import com.example.xlsxziptotxtzip.convert.model.ConversionJob;
+import com.example.xlsxziptotxtzip.convert.model.dto.response.ConversionJobResponse;
+import org.mapstruct.Mapper;
+import org.mapstruct.factory.Mappers;
+
+/**
+ * Mapper for converting {@link ConversionJob} to {@link ConversionJobResponse}.
+ */
+@Mapper
+public interface ConversionJobToConversionJobResponseMapper extends BaseMapper<ConversionJob, ConversionJobResponse> {
+
+    /**
+     * Get singleton instance of the mapper.
+     *
+     * @return mapper instance
+     */
+    static ConversionJobToConversionJobResponseMapper initialize() {
+        return Mappers.getMapper(ConversionJobToConversionJobResponseMapper.class);
+    }
+
+}
@@ -3,6 +3,7 @@ package com.example.xlsxziptotxtzip.convert.model.mapper;
 import com.example.xlsxziptotxtzip.common.model.mapper.BaseMapper;
 import com.example.xlsxziptotxtzip.convert.model.dto.ConvertedFile;
 import com.example.xlsxziptotxtzip.convert.model.dto.ConvertedFileSource;
+import com.example.xlsxziptotxtzip.convert.utils.FileNameUtil;
 import org.mapstruct.Mapper;
 import org.mapstruct.Named;
 import org.mapstruct.factory.Mappers;
@@ -26,9 +27,7 @@ public interface ConvertedFileSourceToConvertedFileMapper extends BaseMapper<Con
         }
 
         String originalName = source.originalFileName();
-        String txtFileName = originalName != null
-                ? originalName.replaceAll("(?i)\\.xlsx$", ".txt")
-                : "unknown.txt";
+        String txtFileName = FileNameUtil.buildTxtFileName(originalName);
 
         return ConvertedFile.builder()
                 .originalFileName(originalName)
@@ -0,0 +1,390 @@
+package com.example.xlsxziptotxtzip.convert.service;
+
+import com.example.xlsxziptotxtzip.convert.config.ConversionProperties;
+import com.example.xlsxziptotxtzip.convert.exception.ConversionCancelledException;
+import com.example.xlsxziptotxtzip.convert.exception.ConversionOverloadedException;
+import com.example.xlsxziptotxtzip.convert.utils.ZipXlsxUtil;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Admission control in front of the synchronous conversions, so that a burst of large uploads slows the
+ * service down instead of running it out of memory.
+ * <p>
+ * Each request declares its cost as the estimated uncompressed size of its XLSX entries. Requests are admitted
+ * while the total cost in flight stays within {@link ConversionProperties.Admission#getMaxInFlightBytes()};
+ * others wait, in arrival order, for up to {@link ConversionProperties.Admission#getMaxQueueWait()}. A request
+ * is rejected with a {@link ConversionOverloadedException} (429) if it is still waiting by then, or if
+ * {@link ConversionProperties.Admission#getMaxQueued()} requests are already waiting.
+ * </p>
+ * <p>
+ * The {@code Retry-After} of a rejection is the time the requests in flight and in the queue need to free
+ * enough budget for the rejected one, at the throughput recently observed.
+ * </p>
+ * <p>
+ * Admitted requests are tracked with their cost until they finish, even if admission is disabled, so that
+ * {@link #cancelLargest()} can stop the most expensive one when the heap runs low.
+ * </p>
+ * <p>
+ * Published metrics: {@code conversion.admission.requests} (tagged {@code outcome}: {@code admitted} at once,
+ * {@code queued} before being admitted, or {@code rejected}), {@code conversion.admission.in.flight.bytes}
+ * and {@code conversion.admission.queue.size}.
+ * </p>
+ */
+@Slf4j
+@Component
+public class ConversionAdmission {
+
+    private static final String METRIC_REQUESTS = "conversion.admission.requests";
+
+    /**
+     * The budget is tracked by a {@link Semaphore}, one permit per KiB, so that it can exceed {@code int} bytes.
+     */
+    private static final int BYTES_PER_PERMIT = 1024;
+
+    private static final long MIN_RETRY_AFTER_SECONDS = 1;
+    private static final long MAX_RETRY_AFTER_SECONDS = 60;
+
+    /**
+     * Weight of the latest request in the throughput average.
+     */
+    private static final double THROUGHPUT_SMOOTHING = 0.2;
+
+    private final boolean enabled;
+    private final long maxInFlightBytes;
+    private final int maxQueued;
+    private final Duration maxQueueWait;
+
+    private final Semaphore permits;
+    private final int totalPermits;
+
+    private final AtomicLong inFlightBytes = new AtomicLong();
+    private final AtomicInteger inFlightRequests = new AtomicInteger();
+    private final AtomicLong queuedBytes = new AtomicLong();
+    private final AtomicInteger queuedRequests = new AtomicInteger();
+
+    private final Set<Permit> active = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Smoothed conversion throughput of a single request, in bytes per second; {@code 0} until a request completed.
+     */
+    private double bytesPerSecond;
+
+    private final Counter admitted;
+    private final Counter queued;
+    private final Counter rejected;
+
+    public ConversionAdmission(ConversionProperties conversionProperties, MeterRegistry meterRegistry) {
+        ConversionProperties.Admission properties = conversionProperties.getAdmission();
+        this.enabled = properties.isEnabled();
+        this.maxInFlightBytes = properties.getMaxInFlightBytes();
+        this.maxQueued = properties.getMaxQueued();
+        this.maxQueueWait = properties.getMaxQueueWait();
+
+        this.totalPermits = Math.clamp(maxInFlightBytes / BYTES_PER_PERMIT, 1, Integer.MAX_VALUE);
+        this.permits = new Semaphore(totalPermits, true);
+
+        this.admitted = Counter.builder(METRIC_REQUESTS)
+                .tag("outcome", "admitted")
+                .description("Conversion requests by admission outcome")
+                .register(meterRegistry);
+        this.queued = Counter.builder(METRIC_REQUESTS)
+                .tag("outcome", "queued")
+                .description("Conversion requests by admission outcome")
+                .register(meterRegistry);
+        this.rejected = Counter.builder(METRIC_REQUESTS)
+                .tag("outcome", "rejected")
+                .description("Conversion requests by admission outcome")
+                .register(meterRegistry);
+
+        Gauge.builder("conversion.admission.in.flight.bytes", inFlightBytes, AtomicLong::get)
+                .baseUnit("bytes")
+                .description("Estimated uncompressed size of the conversions in flight")
+                .register(meterRegistry);
+        Gauge.builder("conversion.admission.queue.size", queuedRequests, AtomicInteger::get)
+                .description("Conversion requests waiting for admission")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Admits the conversion of an uploaded ZIP, costed by the uncompressed sizes of its XLSX entries as recorded
+     * in its central directory. If they cannot be read, the upload size is used instead: XLSX files are already
+     * compressed, so the ZIP is about as large as its entries.
+     *
+     * @param zipFile the uploaded ZIP file
+     * @return the permit, to be closed once the conversion has finished
+     * @throws ConversionOverloadedException if the request cannot be admitted in time
+     * @see ZipXlsxUtil#sumXlsxEntrySizes(MultipartFile)
+     */
+    public Permit admit(MultipartFile zipFile) {
+        return admit(estimate(zipFile));
+    }
+
+    /**
+     * Admits a request of the given cost, waiting for budget if needed. The request is converted on the
+     * calling thread.
+     *
+     * @param estimatedBytes the estimated uncompressed size of the XLSX entries of the request
+     * @return the permit, to be closed once the conversion has finished
+     * @throws ConversionOverloadedException if the request cannot be admitted in time
+     */
+    public Permit admit(long estimatedBytes) {
+        return admit(estimatedBytes, Thread.currentThread());
+    }
+
+    /**
+     * Admits the conversion of an uploaded ZIP as {@link #admit(MultipartFile)} does, for a conversion that
+     * runs later on another thread, which takes the permit over with {@link Permit#attach()}.
+     *
+     * @param zipFile the uploaded ZIP file
+     * @return the permit, to be attached by the converting thread and closed once the conversion has finished
+     * @throws ConversionOverloadedException if the request cannot be admitted in time
+     */
+    public Permit admitDeferred(MultipartFile zipFile) {
+        return admitDeferred(estimate(zipFile));
+    }
+
+    /**
+     * Admits a request of the given cost as {@link #admit(long)} does, for a conversion that runs later on
+     * another thread, which takes the permit over with {@link Permit#attach()}. Until then, a cancellation
+     * interrupts no thread.
+     *
+     * @param estimatedBytes the estimated uncompressed size of the XLSX entries of the request
+     * @return the permit, to be attached by the converting thread and closed once the conversion has finished
+     * @throws ConversionOverloadedException if the request cannot be admitted in time
+     */
+    public Permit admitDeferred(long estimatedBytes) {
+        return admit(estimatedBytes, null);
+    }
+
+    private long estimate(MultipartFile zipFile) {
+        long estimatedBytes;
+        try {
+            estimatedBytes = ZipXlsxUtil.sumXlsxEntrySizes(zipFile);
+        } catch (IOException e) {
+            log.debug("Could not read the central directory of upload {}", zipFile.getOriginalFilename(), e);
+            estimatedBytes = -1;
+        }
+        return estimatedBytes >= 0 ? estimatedBytes : zipFile.getSize();
+    }
+
+    private Permit admit(long estimatedBytes, Thread owner) {
+        long bytes = Math.max(estimatedBytes, 0);
+        if (!enabled) {
+            return track(new Permit(bytes, 0, owner));
+        }
+
+        // A request larger than the whole budget takes all of it, so it runs alone instead of never
+        int requestPermits = Math.clamp(Math.ceilDiv(bytes, BYTES_PER_PERMIT), 1, totalPermits);
+
+        // Honours the queue: a request arriving while others wait does not overtake them
+        if (tryAcquire(requestPermits, 0)) {
+            admitted.increment();
+            return enter(bytes, requestPermits, owner);
+        }
+
+        if (queuedRequests.incrementAndGet() > maxQueued) {
+            queuedRequests.decrementAndGet();
+            throw reject(bytes);
+        }
+
+        queuedBytes.addAndGet(bytes);
+        boolean acquired;
+        try {
+            acquired = tryAcquire(requestPermits, maxQueueWait.toNanos());
+        } finally {
+            queuedBytes.addAndGet(-bytes);
+            queuedRequests.decrementAndGet();
+        }
+
+        if (!acquired) {
+            throw reject(bytes);
+        }
+        queued.increment();
+        return enter(bytes, requestPermits, owner);
+    }
+
+    private boolean tryAcquire(int requestPermits, long timeoutNanos) {
+        try {
+            return permits.tryAcquire(requestPermits, timeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private Permit enter(long bytes, int requestPermits, Thread owner) {
+        inFlightBytes.addAndGet(bytes);
+        inFlightRequests.incrementAndGet();
+        return track(new Permit(bytes, requestPermits, owner));
+    }
+
+    private Permit track(Permit permit) {
+        active.add(permit);
+        return permit;
+    }
+
+    /**
+     * Cancels the admitted request with the highest cost by interrupting the thread converting it, unless a
+     * request cancelled before is still unwinding: its memory is about to be released, and cancelling one more
+     * request for the same shortage would be needless.
+     *
+     * @return the cost of the cancelled request, or empty if none was cancelled
+     */
+    public OptionalLong cancelLargest() {
+        if (active.stream().anyMatch(Permit::isCancelled)) {
+            return OptionalLong.empty();
+        }
+        return active.stream()
+                .sorted(Comparator.comparingLong((Permit permit) -> permit.bytes).reversed())
+                .filter(Permit::cancel)
+                .mapToLong(permit -> permit.bytes)
+                .findFirst();
+    }
+
+    private ConversionOverloadedException reject(long bytes) {
+        rejected.increment();
+        return new ConversionOverloadedException(
+                "Too many conversions in progress; retry later.", retryAfter(bytes));
+    }
+
+    /**
+     * Estimates how long the work ahead of a request takes to free enough budget for it.
+     */
+    private Duration retryAfter(long bytes) {
+        long excessBytes = inFlightBytes.get() + queuedBytes.get() + Math.min(bytes, maxInFlightBytes) - maxInFlightBytes;
+        double perRequest;
+        synchronized (this) {
+            perRequest = bytesPerSecond;
+        }
+
+        long seconds;
+        if (perRequest <= 0) {
+            seconds = maxQueueWait.toSeconds();
+        } else {
+            double drainRate = perRequest * Math.max(inFlightRequests.get(), 1);
+            seconds = (long) Math.ceil(Math.max(excessBytes, 0) / drainRate);
+        }
+        return Duration.ofSeconds(Math.clamp(seconds, MIN_RETRY_AFTER_SECONDS, MAX_RETRY_AFTER_SECONDS));
+    }
+
+    private synchronized void recordThroughput(long bytes, long nanos) {
+        if (bytes <= 0 || nanos <= 0) {
+            return;
+        }
+        double sample = bytes * 1e9 / nanos;
+        bytesPerSecond = bytesPerSecond <= 0
+                ? sample
+                : bytesPerSecond + THROUGHPUT_SMOOTHING * (sample - bytesPerSecond);
+    }
+
+    /**
+     * Budget held by an admitted request; closing it releases the budget, once, so it may be closed both by
+     * the conversion and by a hook that runs when the request ends.
+     * <p>
+     * The request is converted on the thread that admitted it, or, if admitted deferred, on the thread that
+     * calls {@link #attach()}; that thread is interrupted if the request is cancelled. A deferred permit has no
+     * thread before it is attached, so a cancellation only marks it, and {@link #attach()} interrupts the
+     * attaching thread instead. Closing the permit on that thread clears the interrupt
+     * again, so that a pooled request thread is not handed back interrupted.
+     * </p>
+     */
+    public final class Permit implements AutoCloseable {
+
+        private final long bytes;
+        private final int requestPermits;
+        private final long admittedAt = System.nanoTime();
+
+        private Thread owner;
+        private boolean closed;
+        private volatile boolean cancelled;
+
+        private Permit(long bytes, int requestPermits, Thread owner) {
+            this.bytes = bytes;
+            this.requestPermits = requestPermits;
+            this.owner = owner;
+        }
+
+        /**
+         * Moves the conversion to the calling thread, e.g. the thread writing a streamed response.
+         */
+        public synchronized void attach() {
+            owner = Thread.currentThread();
+            if (cancelled) {
+                owner.interrupt();
+            }
+        }
+
+        /**
+         * Returns whether the request was cancelled to relieve heap pressure.
+         *
+         * @return {@code true} if cancelled
+         */
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        /**
+         * Returns the exception to report for a failed conversion: a {@link ConversionCancelledException}
+         * if it failed because it was cancelled, the failure itself otherwise.
+         *
+         * @param failure the failure of the conversion
+         * @return the exception to throw
+         */
+        public RuntimeException failure(RuntimeException failure) {
+            return cancelled ? new ConversionCancelledException(failure) : failure;
+        }
+
+        private synchronized boolean cancel() {
+            if (closed || cancelled) {
+                return false;
+            }
+            cancelled = true;
+            if (owner != null) {
+                owner.interrupt();
+            }
+            return true;
+        }
+
+        @Override
+        public void close() {
+            synchronized (this) {
+                if (cancelled && owner == Thread.currentThread()) {
+                    // Clears the interrupt of the cancellation, even if another thread closed the permit first
+                    Thread.interrupted();
+                }
+                if (closed) {
+                    return;
+                }
+                closed = true;
+            }
+            active.remove(this);
+
+            if (requestPermits > 0) {
+                if (!cancelled) {
+                    recordThroughput(bytes, System.nanoTime() - admittedAt);
+                }
+                inFlightRequests.decrementAndGet();
+                inFlightBytes.addAndGet(-bytes);
+                permits.release(requestPermits);
+            }
+        }
+
+    }
+
+}
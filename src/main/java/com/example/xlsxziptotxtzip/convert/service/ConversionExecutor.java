@@ -0,0 +1,161 @@
+package com.example.xlsxziptotxtzip.convert.service;
+
+import com.example.xlsxziptotxtzip.convert.config.ConversionProperties;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Bounded thread pool running XLSX → TXT conversions.
+ * <p>
+ * The pool size is taken from {@link ConversionProperties#resolveParallelism()} and is shared by
+ * all requests, so the number of workbooks converted at the same time never exceeds it.
+ * Conversions are CPU-bound, so platform threads are used and extra tasks wait in the queue.
+ * </p>
+ */
+@Component
+public class ConversionExecutor implements DisposableBean {
+
+    private final ExecutorService executorService;
+
+    public ConversionExecutor(ConversionProperties conversionProperties) {
+        this.executorService = Executors.newFixedThreadPool(
+                conversionProperties.resolveParallelism(),
+                Thread.ofPlatform().name("xlsx-convert-", 0).daemon(true).factory()
+        );
+    }
+
+    /**
+     * Runs the given tasks on the pool and waits for all of them.
+     *
+     * @param tasks   the tasks to run
+     * @param weights the weight of each task, by index; higher weights are scheduled first
+     * @param <T>     the result type
+     * @return the results, in the order of {@code tasks}
+     * @throws ExecutionException   if a task threw an exception; the first failure in task order is reported
+     * @throws InterruptedException if the calling thread was interrupted while waiting
+     * @see #forEachLargestFirst(List, long[], ResultHandler)
+     */
+    public <T> List<T> invokeAllLargestFirst(List<? extends Callable<T>> tasks, long[] weights)
+            throws ExecutionException, InterruptedException {
+
+        List<T> results = new ArrayList<>(tasks.size());
+        try {
+            forEachLargestFirst(tasks, weights, results::add);
+        } catch (IOException e) {
+            // Not reachable: adding to a list does not perform I/O
+            throw new UncheckedIOException(e);
+        }
+        return results;
+    }
+
+    /**
+     * Runs the given tasks on the pool and hands each result to the handler, in task order,
+     * as soon as it and all results before it are available.
+     * <p>
+     * Tasks are submitted in descending order of their weight (e.g. the entry size), so the largest
+     * tasks start first and the batch is not held up by a big task picked up last. The handler runs
+     * on the calling thread. If a task or the handler fails, or the caller is interrupted,
+     * all tasks that have not completed yet are cancelled.
+     * </p>
+     *
+     * @param tasks   the tasks to run
+     * @param weights the weight of each task, by index; higher weights are scheduled first
+     * @param handler receives each result in task order
+     * @param <T>     the result type
+     * @throws ExecutionException   if a task threw an exception; the first failure in task order is reported
+     * @throws InterruptedException if the calling thread was interrupted while waiting
+     * @throws IOException          if the handler failed
+     */
+    public <T> void forEachLargestFirst(List<? extends Callable<T>> tasks,
+                                        long[] weights,
+                                        ResultHandler<? super T> handler)
+            throws ExecutionException, InterruptedException, IOException {
+
+        if (tasks.size() != weights.length) {
+            throw new IllegalArgumentException("Expected one weight per task");
+        }
+
+        Integer[] submissionOrder = new Integer[tasks.size()];
+        Arrays.setAll(submissionOrder, i -> i);
+        Arrays.sort(submissionOrder, Comparator.comparingLong((Integer i) -> weights[i]).reversed());
+
+        List<Future<T>> futures = new ArrayList<>(tasks.size());
+        for (int i = 0; i < tasks.size(); i++) {
+            futures.add(null);
+        }
+
+        try {
+            for (int index : submissionOrder) {
+                futures.set(index, executorService.submit(tasks.get(index)));
+            }
+
+            for (int i = 0; i < futures.size(); i++) {
+                handler.handle(futures.get(i).get());
+                // Drop the reference so the result can be collected once handled
+                futures.set(i, null);
+            }
+        } finally {
+            // No-op for completed tasks; stops the rest of the batch on failure.
+            // Queued tasks are cancelled before running ones are interrupted, so a freed worker
+            // never picks up another task of this batch.
+            for (int i = submissionOrder.length - 1; i >= 0; i--) {
+                Future<T> future = futures.get(submissionOrder[i]);
+                if (future != null) {
+                    future.cancel(true);
+                }
+            }
+        }
+    }
+
+    /**
+     * Submits a single task to the pool, for callers that only learn about their tasks one at a time
+     * (e.g. while a ZIP is still being uploaded) and hand over the results themselves.
+     * The caller is responsible for cancelling the returned future if it stops waiting for it.
+     *
+     * @param task the task to run
+     * @param <T>  the result type
+     * @return the future of the task
+     */
+    public <T> Future<T> submit(Callable<T> task) {
+        return executorService.submit(task);
+    }
+
+    /**
+     * Stops accepting tasks and interrupts running conversions on shutdown.
+     */
+    @Override
+    public void destroy() {
+        executorService.shutdownNow();
+    }
+
+    /**
+     * Receives task results in task order.
+     *
+     * @param <T> the result type
+     */
+    @FunctionalInterface
+    public interface ResultHandler<T> {
+
+        /**
+         * Handles a single result.
+         *
+         * @param result the task result
+         * @throws IOException if handling the result fails
+         */
+        void handle(T result) throws IOException;
+
+    }
+
+}
@@ -0,0 +1,419 @@
+package com.example.xlsxziptotxtzip.convert.service;
+
+import com.example.xlsxziptotxtzip.common.exception.ApiException;
+import com.example.xlsxziptotxtzip.convert.config.ConversionProperties;
+import com.example.xlsxziptotxtzip.convert.exception.ConversionJobNotFinishedException;
+import com.example.xlsxziptotxtzip.convert.exception.ConversionJobNotFoundException;
+import com.example.xlsxziptotxtzip.convert.exception.ConversionJobQuotaExceededException;
+import com.example.xlsxziptotxtzip.convert.exception.ConversionOverloadedException;
+import com.example.xlsxziptotxtzip.convert.exception.InvalidZipContentException;
+import com.example.xlsxziptotxtzip.convert.exception.ZipProcessingException;
+import com.example.xlsxziptotxtzip.convert.model.ConversionJob;
+import com.example.xlsxziptotxtzip.convert.model.enums.ConversionJobStatus;
+import com.example.xlsxziptotxtzip.convert.utils.ZipXlsxUtil;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.BufferedInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.ZipException;
+import java.util.zip.ZipFile;
+
+/**
+ * Runs conversions as asynchronous jobs, for archives that take longer than clients or proxies are
+ * willing to wait for a response.
+ * <p>
+ * A submitted upload is stored in the {@link ConversionJobStore} and queued on a fixed pool of
+ * {@link ConversionProperties.Jobs#getWorkers()} worker threads. A worker counts the XLSX entries,
+ * converts the upload with {@link ZipProcessingService#processZip(InputStream, ConvertedEntryHandler)}
+ * into a result ZIP on disk, and updates the progress of the {@link ConversionJob} as it goes.
+ * Each conversion is admitted by the {@link ConversionAdmission} like a synchronous request, costed by the
+ * XLSX entry sizes of the upload, so that jobs share the in-flight budget and can be cancelled when the heap
+ * runs low. A worker waits until its job is admitted instead of failing it.
+ * The upload is deleted once the job has finished.
+ * </p>
+ * <p>
+ * Finished jobs, and the result of a succeeded one, are kept for {@link ConversionProperties.Jobs#getResultTtl()}
+ * and then evicted by {@link #evictExpiredJobs()}. Jobs live in memory only and do not survive a restart.
+ * A result is downloaded through {@link #openResult(String)} under a read lease, so a download that is
+ * still running when its job is evicted completes, and the result is deleted once it has been closed.
+ * </p>
+ * <p>
+ * Published metrics: {@code conversion.jobs.finished} (tagged {@code result}: {@code succeeded} or {@code failed}).
+ * </p>
+ */
+@Slf4j
+@Service
+public class ConversionJobService implements DisposableBean {
+
+    private static final String METRIC_FINISHED = "conversion.jobs.finished";
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+
+    private final ZipProcessingService zipProcessingService;
+    private final ConversionJobStore conversionJobStore;
+    private final ConversionMetrics conversionMetrics;
+    private final ConversionAdmission conversionAdmission;
+    private final Duration resultTtl;
+    private final ExecutorService workers;
+
+    private final Map<UUID, ConversionJob> jobs = new ConcurrentHashMap<>();
+
+    private final Counter succeeded;
+    private final Counter failed;
+
+    public ConversionJobService(ZipProcessingService zipProcessingService,
+                                ConversionJobStore conversionJobStore,
+                                ConversionMetrics conversionMetrics,
+                                ConversionAdmission conversionAdmission,
+                                ConversionProperties conversionProperties,
+                                MeterRegistry meterRegistry) {
+        this.zipProcessingService = zipProcessingService;
+        this.conversionJobStore = conversionJobStore;
+        this.conversionMetrics = conversionMetrics;
+        this.conversionAdmission = conversionAdmission;
+        this.resultTtl = conversionProperties.getJobs().getResultTtl();
+        this.workers = Executors.newFixedThreadPool(
+                conversionProperties.getJobs().getWorkers(),
+                Thread.ofPlatform().name("conversion-job-", 0).daemon(true).factory()
+        );
+
+        this.succeeded = Counter.builder(METRIC_FINISHED)
+                .tag("result", "succeeded")
+                .description("Conversion jobs finished")
+                .register(meterRegistry);
+        this.failed = Counter.builder(METRIC_FINISHED)
+                .tag("result", "failed")
+                .description("Conversion jobs finished")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Stores the upload and queues its conversion.
+     *
+     * @param file the uploaded ZIP file containing one or more XLSX files
+     * @return the queued job
+     * @throws InvalidZipContentException          if the file is empty
+     * @throws ConversionJobQuotaExceededException if the upload does not fit the disk quota
+     * @throws ZipProcessingException              if the upload cannot be stored
+     */
+    public ConversionJob submit(MultipartFile file) {
+        if (file.isEmpty()) {
+            throw new InvalidZipContentException("Uploaded file is empty.");
+        }
+
+        long size = file.getSize();
+        if (!conversionJobStore.reserve(size)) {
+            throw new ConversionJobQuotaExceededException(
+                    "Not enough space to store the upload; retry once running jobs have finished.");
+        }
+
+        ConversionJob job = new ConversionJob(UUID.randomUUID(), size, LocalDateTime.now());
+        Path upload = conversionJobStore.uploadPath(job.getId());
+        try {
+            file.transferTo(upload);
+        } catch (IOException e) {
+            conversionJobStore.delete(upload, size);
+            throw new ZipProcessingException("I/O error while storing uploaded ZIP", e);
+        }
+
+        jobs.put(job.getId(), job);
+        workers.execute(() -> run(job));
+        return job;
+    }
+
+    /**
+     * Returns a job that has not expired yet.
+     *
+     * @param id the job id
+     * @return the job
+     * @throws ConversionJobNotFoundException if there is no such job
+     */
+    public ConversionJob getJob(String id) {
+        final UUID jobId;
+        try {
+            jobId = UUID.fromString(id);
+        } catch (IllegalArgumentException e) {
+            throw new ConversionJobNotFoundException(id);
+        }
+
+        ConversionJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new ConversionJobNotFoundException(id);
+        }
+        return job;
+    }
+
+    /**
+     * Opens the result ZIP of a succeeded job for download.
+     * <p>
+     * The returned stream holds a read lease on the result: if the job is evicted before the stream
+     * is closed, the result is only deleted once it has been closed.
+     * </p>
+     *
+     * @param id the job id
+     * @return the result, which the caller must close
+     * @throws ConversionJobNotFoundException    if there is no such job
+     * @throws ConversionJobNotFinishedException if the job has not succeeded
+     * @throws ZipProcessingException            if the result cannot be opened
+     */
+    public ResultDownload openResult(String id) {
+        ConversionJob job = getJob(id);
+
+        switch (job.getStatus()) {
+            case SUCCEEDED -> {
+                // Evicted between the lookup and the lease
+                if (!job.acquireResult()) {
+                    throw new ConversionJobNotFoundException(id);
+                }
+            }
+            case FAILED -> throw new ConversionJobNotFinishedException("Conversion job failed: " + job.getError());
+            case QUEUED, RUNNING -> throw new ConversionJobNotFinishedException(
+                    "Conversion job is " + job.getStatus().name().toLowerCase(Locale.ROOT) + "; retry once it has succeeded.");
+        }
+
+        try {
+            InputStream inputStream = Files.newInputStream(conversionJobStore.resultPath(job.getId()));
+            return new ResultDownload(inputStream, job.getResultBytes(), () -> releaseResult(job));
+        } catch (IOException e) {
+            releaseResult(job);
+            throw new ZipProcessingException("I/O error while opening the job result", e);
+        }
+    }
+
+    /**
+     * Evicts the jobs whose retention has ended, deleting their results, on a fixed delay.
+     */
+    @Scheduled(fixedDelayString = "${conversion.jobs.eviction-interval:PT1M}")
+    public void evictExpiredJobs() {
+        evictExpiredJobs(LocalDateTime.now());
+    }
+
+    /**
+     * Evicts the jobs whose retention has ended at the given time. The result of an evicted job that
+     * is still being downloaded is deleted when the last download closes it.
+     *
+     * @param now the current time
+     */
+    void evictExpiredJobs(LocalDateTime now) {
+        jobs.values().removeIf(job -> {
+            if (!job.isExpired(now)) {
+                return false;
+            }
+            if (job.evict() && job.getStatus() == ConversionJobStatus.SUCCEEDED) {
+                deleteResult(job);
+            }
+            return true;
+        });
+    }
+
+    /**
+     * Stops the workers on shutdown, interrupting running conversions.
+     */
+    @Override
+    public void destroy() {
+        workers.shutdownNow();
+    }
+
+    private void releaseResult(ConversionJob job) {
+        if (job.releaseResult()) {
+            deleteResult(job);
+        }
+    }
+
+    private void deleteResult(ConversionJob job) {
+        conversionJobStore.delete(conversionJobStore.resultPath(job.getId()), job.getResultBytes());
+    }
+
+    private void run(ConversionJob job) {
+        job.start();
+        Path upload = conversionJobStore.uploadPath(job.getId());
+        ConversionJobStore.ResultOutputStream result = null;
+
+        try {
+            long estimatedBytes = inspectUpload(upload, job);
+
+            result = conversionJobStore.openResult(job.getId());
+            ConversionAdmission.Permit permit = admit(estimatedBytes);
+            try (permit) {
+                convert(upload, result, job);
+            } catch (RuntimeException e) {
+                throw permit.failure(e);
+            }
+            result.close();
+
+            conversionJobStore.commitResult(job.getId());
+            LocalDateTime now = LocalDateTime.now();
+            job.succeed(result.bytesWritten(), now, now.plus(resultTtl));
+            succeeded.increment();
+        } catch (IOException | RuntimeException e) {
+            log.warn("Conversion job {} failed", job.getId(), e);
+            if (result != null) {
+                closeQuietly(result);
+                conversionJobStore.delete(conversionJobStore.tempResultPath(job.getId()), result.bytesWritten());
+            }
+            LocalDateTime now = LocalDateTime.now();
+            job.fail(failureMessage(e), now, now.plus(resultTtl));
+            failed.increment();
+        } finally {
+            conversionJobStore.delete(upload, job.getBytesTotal());
+        }
+    }
+
+    /**
+     * Lists the XLSX entries of the stored upload from its central directory, without inflating them.
+     * Records their count on the job and returns the cost to admit the conversion with: their total size,
+     * or the upload size if it is not recorded.
+     */
+    private static long inspectUpload(Path upload, ConversionJob job) throws IOException {
+        try (ZipFile zipFile = new ZipFile(upload.toFile())) {
+            job.setEntriesTotal((int) zipFile.stream().filter(ZipXlsxUtil::isXlsxFile).count());
+            long estimatedBytes = ZipXlsxUtil.sumXlsxEntrySizes(zipFile);
+            return estimatedBytes >= 0 ? estimatedBytes : job.getBytesTotal();
+        } catch (ZipException e) {
+            throw new InvalidZipContentException("Uploaded file is not a valid ZIP archive.");
+        }
+    }
+
+    /**
+     * Admits the conversion on the worker thread, so that a cancellation interrupts the worker. A rejection
+     * only means that the budget is taken for now, so the worker waits as long as the rejection suggests and
+     * tries again instead of failing the job.
+     */
+    private ConversionAdmission.Permit admit(long estimatedBytes) {
+        while (true) {
+            try {
+                return conversionAdmission.admit(estimatedBytes);
+            } catch (ConversionOverloadedException e) {
+                try {
+                    Thread.sleep(e.getRetryAfter());
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    throw new ZipProcessingException("Interrupted while waiting for admission", interrupted);
+                }
+            }
+        }
+    }
+
+    private void convert(Path upload, ConversionJobStore.ResultOutputStream result, ConversionJob job) throws IOException {
+        TxtZipWriter writer = new TxtZipWriter(result, conversionMetrics);
+        try (InputStream inputStream = new ProgressInputStream(
+                new BufferedInputStream(Files.newInputStream(upload), READ_BUFFER_SIZE), job)) {
+            zipProcessingService.processZip(inputStream, (originalFileName, content) -> {
+                writer.handleEntry(originalFileName, content);
+                job.entryDone();
+            });
+        }
+        writer.finish();
+    }
+
+    /**
+     * Returns the message reported to clients; details of unexpected failures are only logged.
+     */
+    private static String failureMessage(Exception e) {
+        if (e instanceof ApiException) {
+            return e.getMessage();
+        }
+        if (e instanceof IOException) {
+            return "I/O error while converting the upload: " + e.getMessage();
+        }
+        return "Conversion failed";
+    }
+
+    private static void closeQuietly(ConversionJobStore.ResultOutputStream result) {
+        try {
+            result.close();
+        } catch (IOException e) {
+            // The partial result is deleted anyway
+        }
+    }
+
+    /**
+     * Records the bytes read from the stored upload as the progress of the job.
+     */
+    private static final class ProgressInputStream extends FilterInputStream {
+
+        private final ConversionJob job;
+
+        private ProgressInputStream(InputStream inputStream, ConversionJob job) {
+            super(inputStream);
+            this.job = job;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b != -1) {
+                job.addBytesRead(1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int n = super.read(buffer, offset, length);
+            if (n > 0) {
+                job.addBytesRead(n);
+            }
+            return n;
+        }
+
+    }
+
+    /**
+     * The result ZIP of a succeeded job, opened by {@link #openResult(String)}. Closing it releases
+     * its read lease; closing it again has no effect.
+     */
+    public static final class ResultDownload extends FilterInputStream {
+
+        private final long size;
+        private final Runnable onClose;
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        public ResultDownload(InputStream inputStream, long size, Runnable onClose) {
+            super(inputStream);
+            this.size = size;
+            this.onClose = onClose;
+        }
+
+        /**
+         * Returns the size of the result ZIP.
+         *
+         * @return the size in bytes
+         */
+        public long size() {
+            return size;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (!closed.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                super.close();
+            } finally {
+                onClose.run();
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,245 @@
+package com.example.xlsxziptotxtzip.convert.service;
+
+import com.example.xlsxziptotxtzip.convert.config.ConversionProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Local directory holding the uploads of pending conversion jobs and the results of finished ones,
+ * within a disk quota.
+ * <p>
+ * Every byte stored is reserved against {@link ConversionProperties.Jobs#getMaxDiskBytes()} first:
+ * an upload as a whole before it is written, a result while it is written. Space is released when
+ * the files are deleted. Results are written to a temp file and moved into place, so a download
+ * never sees a partial result. Jobs are not kept across restarts, so job files left by a previous run
+ * are deleted on startup.
+ * </p>
+ * <p>
+ * Published metrics: {@code conversion.jobs.disk.usage} (bytes reserved in the directory).
+ * </p>
+ */
+@Slf4j
+@Component
+public class ConversionJobStore {
+
+    private static final String UPLOAD_SUFFIX = ".upload.zip";
+    private static final String RESULT_SUFFIX = ".zip";
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private final Path directory;
+    private final long maxBytes;
+    private final AtomicLong usedBytes = new AtomicLong();
+
+    public ConversionJobStore(ConversionProperties conversionProperties, MeterRegistry meterRegistry) {
+        ConversionProperties.Jobs properties = conversionProperties.getJobs();
+        this.directory = Path.of(properties.getDirectory());
+        this.maxBytes = properties.getMaxDiskBytes();
+
+        try {
+            Files.createDirectories(directory);
+            deleteLeftovers();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open conversion job directory " + directory, e);
+        }
+
+        Gauge.builder("conversion.jobs.disk.usage", usedBytes, AtomicLong::get)
+                .baseUnit("bytes")
+                .description("Disk space used by conversion job uploads and results")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Reserves space for the given number of bytes, if it fits the quota.
+     *
+     * @param bytes the number of bytes about to be written
+     * @return {@code true} if the space was reserved, {@code false} if the quota would be exceeded
+     */
+    public boolean reserve(long bytes) {
+        long used;
+        do {
+            used = usedBytes.get();
+            if (used + bytes > maxBytes) {
+                return false;
+            }
+        } while (!usedBytes.compareAndSet(used, used + bytes));
+        return true;
+    }
+
+    /**
+     * Releases space reserved with {@link #reserve(long)}.
+     *
+     * @param bytes the number of bytes no longer stored
+     */
+    public void release(long bytes) {
+        usedBytes.addAndGet(-bytes);
+    }
+
+    /**
+     * Returns the path the upload of a job is stored at. Its space must have been reserved.
+     *
+     * @param jobId the job id
+     * @return the upload path
+     */
+    public Path uploadPath(UUID jobId) {
+        return directory.resolve(jobId + UPLOAD_SUFFIX);
+    }
+
+    /**
+     * Returns the path the result of a job is stored at, once it has been committed.
+     *
+     * @param jobId the job id
+     * @return the result path
+     */
+    public Path resultPath(UUID jobId) {
+        return directory.resolve(jobId + RESULT_SUFFIX);
+    }
+
+    /**
+     * Opens a temp file for the result of a job. Each write reserves its space first and fails with an
+     * {@link IOException} once the quota is exhausted; the space stays reserved until the result is deleted.
+     *
+     * @param jobId the job id
+     * @return a stream writing the result; closing it does not commit the result
+     * @throws IOException if the file cannot be created
+     */
+    public ResultOutputStream openResult(UUID jobId) throws IOException {
+        return new ResultOutputStream(new BufferedOutputStream(Files.newOutputStream(tempResultPath(jobId))));
+    }
+
+    /**
+     * Moves a fully written result into place, so that it can be downloaded.
+     *
+     * @param jobId the job id
+     * @throws IOException if the file cannot be moved
+     */
+    public void commitResult(UUID jobId) throws IOException {
+        try {
+            Files.move(tempResultPath(jobId), resultPath(jobId), StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(tempResultPath(jobId), resultPath(jobId));
+        }
+    }
+
+    /**
+     * Deletes a file of the job directory and releases its space.
+     *
+     * @param file  the upload, result or temp result of a job
+     * @param bytes the space reserved for it
+     */
+    public void delete(Path file, long bytes) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete conversion job file {}", file, e);
+        }
+        release(bytes);
+    }
+
+    /**
+     * Returns the path a result is written to before it is committed.
+     *
+     * @param jobId the job id
+     * @return the temp result path
+     */
+    public Path tempResultPath(UUID jobId) {
+        return directory.resolve(jobId + RESULT_SUFFIX + TEMP_SUFFIX);
+    }
+
+    /**
+     * Returns the space currently reserved in the directory.
+     *
+     * @return the reserved bytes
+     */
+    public long usedBytes() {
+        return usedBytes.get();
+    }
+
+    /**
+     * Deletes the files left by jobs of a previous run. Only job files are touched, in case the
+     * directory is shared: names made of a job id and one of the job file suffixes.
+     */
+    private void deleteLeftovers() throws IOException {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            for (Path file : files) {
+                if (isJobFile(file.getFileName().toString())) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        }
+    }
+
+    private static boolean isJobFile(String fileName) {
+        for (String suffix : new String[]{UPLOAD_SUFFIX, RESULT_SUFFIX + TEMP_SUFFIX, RESULT_SUFFIX}) {
+            if (fileName.endsWith(suffix)) {
+                return isJobId(fileName.substring(0, fileName.length() - suffix.length()));
+            }
+        }
+        return false;
+    }
+
+    private static boolean isJobId(String prefix) {
+        try {
+            // UUID.fromString also accepts shortened groups, so the round trip must match
+            return UUID.fromString(prefix).toString().equalsIgnoreCase(prefix);
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Output stream of a result that reserves the space of each write against the quota.
+     */
+    public final class ResultOutputStream extends FilterOutputStream {
+
+        private long bytesWritten;
+
+        private ResultOutputStream(OutputStream outputStream) {
+            super(outputStream);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            reserveForWrite(1);
+            out.write(b);
+        }
+
+        @Override
+        public void write(byte[] buffer, int offset, int length) throws IOException {
+            reserveForWrite(length);
+            out.write(buffer, offset, length);
+        }
+
+        /**
+         * Returns the number of bytes written, which is also the space reserved for them.
+         *
+         * @return the byte count
+         */
+        public long bytesWritten() {
+            return bytesWritten;
+        }
+
+        private void reserveForWrite(int length) throws IOException {
+            if (!reserve(length)) {
+                throw new IOException("Disk quota for conversion jobs exceeded");
+            }
+            bytesWritten += length;
+        }
+
+    }
+
+}
@@ -0,0 +1,127 @@
+package com.example.xlsxziptotxtzip.convert.service;
+
+import com.example.xlsxziptotxtzip.convert.config.ConversionProperties;
+import com.example.xlsxziptotxtzip.convert.model.dto.ConversionStats;
+import com.example.xlsxziptotxtzip.convert.model.enums.ConversionStage;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishes per-stage timings and sizes of the conversion pipeline to Micrometer.
+ * <p>
+ * Every {@link ConversionStage} is recorded per entry into the {@code conversion.stage} timer,
+ * tagged with {@code stage} and {@code engine}, so the stage dominating a given percentile can be
+ * read from a single metric. Sizes are recorded as distribution summaries:
+ * <ul>
+ *     <li>{@code conversion.upload.entries}: XLSX entries per upload.</li>
+ *     <li>{@code conversion.sheet.rows} and {@code conversion.sheet.cells}: size of each converted sheet.</li>
+ *     <li>{@code conversion.entry.input.size} and {@code conversion.entry.output.size}:
+ *         XLSX and TXT bytes per entry.</li>
+ * </ul>
+ * All meters publish percentile histograms, so percentiles can be aggregated across instances.
+ * </p>
+ */
+@Component
+public class ConversionMetrics {
+
+    private static final String METRIC_STAGE = "conversion.stage";
+
+    private final Map<ConversionStage, Timer> stageTimers = new EnumMap<>(ConversionStage.class);
+    private final DistributionSummary entriesPerUpload;
+    private final DistributionSummary sheetRows;
+    private final DistributionSummary sheetCells;
+    private final DistributionSummary inputBytes;
+    private final DistributionSummary outputBytes;
+
+    public ConversionMetrics(ConversionProperties conversionProperties, MeterRegistry meterRegistry) {
+        String engine = conversionProperties.getEngine().name().toLowerCase(Locale.ROOT);
+
+        for (ConversionStage stage : ConversionStage.values()) {
+            stageTimers.put(stage, Timer.builder(METRIC_STAGE)
+                    .tag("stage", stage.name().toLowerCase(Locale.ROOT))
+                    .tag("engine", engine)
+                    .description("Duration of a conversion pipeline stage, per entry")
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+        }
+
+        this.entriesPerUpload = DistributionSummary.builder("conversion.upload.entries")
+                .description("XLSX entries per uploaded ZIP")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.sheetRows = DistributionSummary.builder("conversion.sheet.rows")
+                .tag("engine", engine)
+                .description("Rows per converted sheet")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.sheetCells = DistributionSummary.builder("conversion.sheet.cells")
+                .tag("engine", engine)
+                .description("Cells per converted sheet")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.inputBytes = DistributionSummary.builder("conversion.entry.input.size")
+                .baseUnit("bytes")
+                .description("Uncompressed XLSX size per entry")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.outputBytes = DistributionSummary.builder("conversion.entry.output.size")
+                .baseUnit("bytes")
+                .description("Rendered TXT size per entry")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    /**
+     * Records the duration of a single stage.
+     *
+     * @param stage the stage
+     * @param nanos the duration in nanoseconds
+     */
+    public void recordStage(ConversionStage stage, long nanos) {
+        stageTimers.get(stage).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Records the stages that ran during a conversion, and the size of the converted sheet.
+     *
+     * @param stats the stats collected while converting one workbook
+     */
+    public void recordConversion(ConversionStats stats) {
+        for (ConversionStage stage : ConversionStage.values()) {
+            long nanos = stats.stageNanos(stage);
+            if (nanos >= 0) {
+                recordStage(stage, nanos);
+            }
+        }
+        sheetRows.record(stats.rows());
+        sheetCells.record(stats.cells());
+    }
+
+    /**
+     * Records the input and output size of a converted entry.
+     *
+     * @param xlsxBytes the XLSX size in bytes
+     * @param txtBytes  the rendered text size in bytes
+     */
+    public void recordEntrySize(long xlsxBytes, long txtBytes) {
+        inputBytes.record(xlsxBytes);
+        outputBytes.record(txtBytes);
+    }
+
+    /**
+     * Records the number of XLSX entries found in an upload.
+     *
+     * @param entries the entry count
+     */
+    public void recordEntriesPerUpload(int entries) {
+        entriesPerUpload.record(entries);
+    }
+
+}
@@ -0,0 +1,39 @@
+package com.example.xlsxziptotxtzip.convert.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Callback receiving each converted XLSX entry of a ZIP archive, in entry order,
+ * as soon as it is ready (see {@link ZipProcessingService#processZip(org.springframework.web.multipart.MultipartFile, ConvertedEntryHandler)}).
+ */
+@FunctionalInterface
+public interface ConvertedEntryHandler {
+
+    /**
+     * Handles a single converted entry.
+     *
+     * @param originalFileName the name of the XLSX entry in the uploaded ZIP
+     * @param content          writes the aligned text of the entry as UTF-8; only valid during this call
+     * @throws IOException if writing the entry downstream fails
+     */
+    void handleEntry(String originalFileName, ConvertedContent content) throws IOException;
+
+    /**
+     * Aligned text of a converted entry, written on demand so that it can go straight
+     * to its destination without being materialized as a {@link String}.
+     */
+    @FunctionalInterface
+    interface ConvertedContent {
+
+        /**
+         * Writes the aligned text as UTF-8. The stream is not closed.
+         *
+         * @param outputStream the target stream
+         * @throws IOException if the target stream fails
+         */
+        void writeTo(OutputStream outputStream) throws IOException;
+
+    }
+
+}
@@ -0,0 +1,142 @@
+package com.example.xlsxziptotxtzip.convert.service;
+
+import com.example.xlsxziptotxtzip.convert.config.ConversionProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+
+import javax.management.ListenerNotFoundException;
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationFilterSupport;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryNotificationInfo;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.util.List;
+import java.util.OptionalLong;
+
+/**
+ * Cancels the most expensive conversion in flight when the old generation is nearly full, so that a workbook
+ * that needs far more memory than its admission estimate fails on its own instead of taking the JVM down.
+ * <p>
+ * The usage threshold of each heap pool that supports one, which is the old (tenured) generation of the
+ * usual collectors, is set to {@link ConversionProperties.HeapWatchdog#getCriticalUsage()} of its max size.
+ * When the {@link java.lang.management.MemoryMXBean} reports that a pool crossed it, the request with the
+ * highest estimated cost is cancelled through {@link ConversionAdmission#cancelLargest()}; it fails with a
+ * {@link com.example.xlsxziptotxtzip.convert.exception.ConversionCancelledException} (503).
+ * </p>
+ * <p>
+ * A usage threshold is only reported again once usage has dropped below it, so the collection usage threshold
+ * is set as well: it is reported after every garbage collection that leaves the pool above the threshold,
+ * and keeps cancelling conversions for as long as the pressure lasts.
+ * </p>
+ * <p>
+ * Published metrics: {@code conversion.heap.watchdog.cancellations}.
+ * </p>
+ */
+@Slf4j
+@Component
+public class HeapPressureWatchdog implements NotificationListener, DisposableBean {
+
+    private final ConversionAdmission conversionAdmission;
+    private final List<MemoryPoolMXBean> pools;
+    private final NotificationEmitter emitter;
+
+    private final Counter cancellations;
+
+    public HeapPressureWatchdog(ConversionProperties conversionProperties,
+                                ConversionAdmission conversionAdmission,
+                                MeterRegistry meterRegistry) {
+        this.conversionAdmission = conversionAdmission;
+        this.cancellations = Counter.builder("conversion.heap.watchdog.cancellations")
+                .description("Conversions cancelled because the old generation was nearly full")
+                .register(meterRegistry);
+
+        ConversionProperties.HeapWatchdog properties = conversionProperties.getHeapWatchdog();
+        if (!properties.isEnabled()) {
+            this.pools = List.of();
+            this.emitter = null;
+            return;
+        }
+
+        this.pools = ManagementFactory.getMemoryPoolMXBeans().stream()
+                .filter(pool -> pool.getType() == MemoryType.HEAP)
+                .filter(MemoryPoolMXBean::isUsageThresholdSupported)
+                .filter(pool -> pool.getUsage().getMax() > 0)
+                .toList();
+
+        for (MemoryPoolMXBean pool : pools) {
+            long threshold = (long) (pool.getUsage().getMax() * properties.getCriticalUsage());
+            pool.setUsageThreshold(threshold);
+            if (pool.isCollectionUsageThresholdSupported()) {
+                pool.setCollectionUsageThreshold(threshold);
+            }
+            log.info("Watching heap pool '{}' above {} bytes", pool.getName(), threshold);
+        }
+
+        NotificationFilterSupport filter = new NotificationFilterSupport();
+        filter.enableType(MemoryNotificationInfo.MEMORY_THRESHOLD_EXCEEDED);
+        filter.enableType(MemoryNotificationInfo.MEMORY_COLLECTION_THRESHOLD_EXCEEDED);
+        this.emitter = (NotificationEmitter) ManagementFactory.getMemoryMXBean();
+        emitter.addNotificationListener(this, filter, null);
+    }
+
+    /**
+     * Receives the threshold notifications of the memory pools.
+     *
+     * @param notification the notification
+     * @param handback     not used
+     */
+    @Override
+    public void handleNotification(Notification notification, Object handback) {
+        MemoryNotificationInfo info = MemoryNotificationInfo.from((CompositeData) notification.getUserData());
+        onHeapPressure(info.getPoolName(), info.getUsage());
+    }
+
+    /**
+     * Cancels the most expensive conversion in flight, if any.
+     *
+     * @param poolName the pool above its threshold
+     * @param usage    the usage of the pool
+     */
+    void onHeapPressure(String poolName, MemoryUsage usage) {
+        OptionalLong cancelled = conversionAdmission.cancelLargest();
+        if (cancelled.isEmpty()) {
+            log.warn("Heap pool '{}' is above its threshold ({} of {} bytes used); no conversion to cancel",
+                    poolName, usage.getUsed(), usage.getMax());
+            return;
+        }
+
+        cancellations.increment();
+        log.warn("Heap pool '{}' is above its threshold ({} of {} bytes used); cancelled the largest conversion"
+                + " in flight, estimated at {} bytes", poolName, usage.getUsed(), usage.getMax(), cancelled.getAsLong());
+    }
+
+    /**
+     * Stops listening and clears the thresholds on shutdown.
+     */
+    @Override
+    public void destroy() {
+        if (emitter == null) {
+            return;
+        }
+        try {
+            emitter.removeNotificationListener(this);
+        } catch (ListenerNotFoundException e) {
+            // Not registered, nothing to remove
+        }
+        for (MemoryPoolMXBean pool : pools) {
+            pool.setUsageThreshold(0);
+            if (pool.isCollectionUsageThresholdSupported()) {
+                pool.setCollectionUsageThreshold(0);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,202 @@
+package com.example.xlsxziptotxtzip.convert.service;
+
+import com.example.xlsxziptotxtzip.convert.config.ConversionProperties;
+import com.example.xlsxziptotxtzip.convert.model.enums.ZipProcessingMode;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.StructuredTaskScope;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs the conversions of one upload as subtasks of a {@link StructuredTaskScope}, one virtual thread per entry,
+ * for {@link ZipProcessingMode#STRUCTURED}.
+ * <p>
+ * The scope ties the subtasks to the request: the first failing entry cancels the scope, and so does the caller
+ * leaving it early (e.g. because the client went away and the handler failed). Cancelling interrupts the
+ * sibling conversions at once instead of letting them run to completion.
+ * </p>
+ * <p>
+ * Virtual threads are cheap to park, but the conversions themselves are CPU-bound, so a fair {@link Semaphore}
+ * with {@link ConversionProperties#resolveParallelism()} permits, shared by all requests, still bounds how many
+ * workbooks are converted at the same time. Entries waiting for a permit hold no platform thread.
+ * </p>
+ */
+@Component
+public class StructuredConversionExecutor {
+
+    private final Semaphore permits;
+    private final ThreadFactory threadFactory = Thread.ofVirtual().name("xlsx-convert-vt-", 0).factory();
+
+    public StructuredConversionExecutor(ConversionProperties conversionProperties) {
+        this.permits = new Semaphore(conversionProperties.resolveParallelism(), true);
+    }
+
+    /**
+     * Runs the given tasks in a new scope and hands each result to the handler, in task order,
+     * as soon as it and all results before it are available.
+     * <p>
+     * Tasks are forked in descending order of their weight, and the fair semaphore grants permits roughly in
+     * that order, so the largest tasks start first like in {@link ConversionExecutor#forEachLargestFirst}.
+     * The handler runs on the calling thread. The scope is closed before this method returns, so no task
+     * of the batch is still running afterwards, whatever the outcome.
+     * </p>
+     *
+     * @param tasks   the tasks to run
+     * @param weights the weight of each task, by index; higher weights are scheduled first
+     * @param handler receives each result in task order
+     * @param <T>     the result type
+     * @throws ExecutionException   if a task threw an exception; the failure that cancelled the scope is reported
+     * @throws InterruptedException if the calling thread was interrupted while waiting
+     * @throws IOException          if the handler failed
+     */
+    public <T> void forEachLargestFirst(List<? extends Callable<T>> tasks,
+                                        long[] weights,
+                                        ConversionExecutor.ResultHandler<? super T> handler)
+            throws ExecutionException, InterruptedException, IOException {
+
+        if (tasks.size() != weights.length) {
+            throw new IllegalArgumentException("Expected one weight per task");
+        }
+
+        Integer[] forkOrder = new Integer[tasks.size()];
+        Arrays.setAll(forkOrder, i -> i);
+        Arrays.sort(forkOrder, Comparator.comparingLong((Integer i) -> weights[i]).reversed());
+
+        List<Future<T>> results = new ArrayList<>(Collections.nCopies(tasks.size(), null));
+        try (Batch<T> batch = openBatch()) {
+            for (int index : forkOrder) {
+                results.set(index, batch.submit(tasks.get(index)));
+            }
+
+            for (int i = 0; i < results.size(); i++) {
+                T result = results.get(i).get();
+                // Drop the reference so the result can be collected once handled
+                results.set(i, null);
+                handler.handle(result);
+            }
+        }
+    }
+
+    /**
+     * Opens a scope to which the calling thread submits tasks one by one, e.g. while it is still reading them.
+     * <p>
+     * The batch must be used and closed by the thread that opened it. Closing it waits until no task of the
+     * batch is running; tasks whose results were not all taken are cancelled first.
+     * </p>
+     *
+     * @param <T> the result type
+     * @return the new batch
+     */
+    public <T> Batch<T> openBatch() {
+        return new Batch<>(StructuredTaskScope.open(
+                StructuredTaskScope.Joiner.<T>awaitAllSuccessfulOrThrow(),
+                configuration -> configuration.withName("xlsx-convert").withThreadFactory(threadFactory)));
+    }
+
+    /**
+     * Tasks forked into one {@link StructuredTaskScope}, see {@link #openBatch()}.
+     * <p>
+     * The first failing task cancels the scope and becomes the failure of every result not yet completed,
+     * so the caller sees the cause rather than the interrupts it led to. Tasks submitted after that
+     * fail with it at once, without being forked.
+     * </p>
+     *
+     * @param <T> the result type
+     */
+    public final class Batch<T> implements AutoCloseable {
+
+        private final StructuredTaskScope<T, Void> scope;
+        private final CompletableFuture<Void> firstFailure = new CompletableFuture<>();
+        private final AtomicInteger unfinished = new AtomicInteger();
+
+        private Batch(StructuredTaskScope<T, Void> scope) {
+            this.scope = scope;
+        }
+
+        /**
+         * Forks a task into the scope. It starts once a conversion permit is free.
+         *
+         * @param task the task to run
+         * @return the future of its result; {@link Future#cancel(boolean)} has no effect, close the batch instead
+         */
+        public Future<T> submit(Callable<T> task) {
+            if (firstFailure.isCompletedExceptionally()) {
+                return CompletableFuture.failedFuture(firstFailure.exceptionNow());
+            }
+
+            CompletableFuture<T> result = new CompletableFuture<>();
+            unfinished.incrementAndGet();
+            scope.fork(() -> runWithPermit(task, result));
+
+            // A task forked once the scope is cancelled never runs; the scope is only cancelled after the failure is recorded
+            if (firstFailure.isCompletedExceptionally()) {
+                result.completeExceptionally(firstFailure.exceptionNow());
+            }
+            return result;
+        }
+
+        /**
+         * Cancels the tasks still running if the caller left before taking all results, then joins and closes the scope.
+         */
+        @Override
+        public void close() {
+            try {
+                if (unfinished.get() > 0 && !firstFailure.isDone()) {
+                    cancel();
+                }
+                scope.join();
+            } catch (StructuredTaskScope.FailedException e) {
+                // Already reported through the results
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                scope.close();
+            }
+        }
+
+        private T runWithPermit(Callable<T> task, CompletableFuture<T> result) throws Exception {
+            try {
+                permits.acquire();
+                try {
+                    T value = task.call();
+                    result.complete(value);
+                    return value;
+                } finally {
+                    permits.release();
+                }
+            } catch (Throwable e) {
+                firstFailure.completeExceptionally(e);
+                result.completeExceptionally(firstFailure.exceptionNow());
+                throw e;
+            } finally {
+                unfinished.decrementAndGet();
+            }
+        }
+
+        /**
+         * Cancels the scope by forking a task that fails, since the joiner cancels the scope on the first failure.
+         * Joining is still required before closing, so this never has to wait for the siblings to complete.
+         */
+        private void cancel() {
+            Callable<T> cancellation = () -> {
+                throw new CancellationException("Conversion batch abandoned");
+            };
+            scope.fork(cancellation);
+        }
+
+    }
+
+}
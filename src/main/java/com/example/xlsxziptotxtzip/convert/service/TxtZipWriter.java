@@ -0,0 +1,110 @@
+package com.example.xlsxziptotxtzip.convert.service;
+
+import com.example.xlsxziptotxtzip.convert.exception.InvalidZipContentException;
+import com.example.xlsxziptotxtzip.convert.model.enums.ConversionStage;
+import com.example.xlsxziptotxtzip.convert.utils.FileNameUtil;
+import org.springframework.util.StreamUtils;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Writes converted entries into a ZIP of TXT files on the given stream, opening the archive lazily
+ * so that nothing is written before the first entry is ready.
+ * <p>
+ * The ZIP work per entry is recorded as {@link ConversionStage#OUTPUT_ZIP_WRITE}: opening, closing and
+ * flushing the entry, and the writes into the archive, which deflate the text. The content may render
+ * the text while it is written, so the time between its writes belongs to the conversion stages and
+ * is left out.
+ * </p>
+ */
+public final class TxtZipWriter implements ConvertedEntryHandler {
+
+    private final OutputStream outputStream;
+    private final ConversionMetrics conversionMetrics;
+    private ZipOutputStream zos;
+
+    public TxtZipWriter(OutputStream outputStream, ConversionMetrics conversionMetrics) {
+        this.outputStream = outputStream;
+        this.conversionMetrics = conversionMetrics;
+    }
+
+    @Override
+    public void handleEntry(String originalFileName, ConvertedContent content) throws IOException {
+        long start = System.nanoTime();
+        if (zos == null) {
+            zos = new ZipOutputStream(StreamUtils.nonClosing(outputStream), StandardCharsets.UTF_8);
+        }
+        zos.putNextEntry(new ZipEntry(FileNameUtil.buildTxtFileName(originalFileName)));
+        long zipNanos = System.nanoTime() - start;
+
+        TimedOutputStream entry = new TimedOutputStream(zos);
+        content.writeTo(entry);
+
+        start = System.nanoTime();
+        zos.closeEntry();
+
+        // Push the finished entry to the client instead of waiting for the buffer to fill up
+        zos.flush();
+        zipNanos += System.nanoTime() - start;
+        conversionMetrics.recordStage(ConversionStage.OUTPUT_ZIP_WRITE, zipNanos + entry.nanos);
+    }
+
+    /**
+     * Writes the ZIP central directory and releases the archive; the target stream itself
+     * is left open for its owner.
+     *
+     * @throws InvalidZipContentException if no entry was written
+     * @throws IOException                if the target stream fails
+     */
+    public void finish() throws IOException {
+        if (zos == null) {
+            throw new InvalidZipContentException("No XLSX files were found in the uploaded ZIP.");
+        }
+        zos.close();
+    }
+
+    /**
+     * Adds up the time spent in the writes to the archive, without the time the content spends between them.
+     */
+    private static final class TimedOutputStream extends FilterOutputStream {
+
+        private long nanos;
+
+        private TimedOutputStream(OutputStream outputStream) {
+            super(outputStream);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            long start = System.nanoTime();
+            out.write(b);
+            nanos += System.nanoTime() - start;
+        }
+
+        @Override
+        public void write(byte[] buffer, int offset, int length) throws IOException {
+            long start = System.nanoTime();
+            out.write(buffer, offset, length);
+            nanos += System.nanoTime() - start;
+        }
+
+        @Override
+        public void flush() throws IOException {
+            long start = System.nanoTime();
+            out.flush();
+            nanos += System.nanoTime() - start;
+        }
+
+        @Override
+        public void close() {
+            // The archive is closed by finish()
+        }
+
+    }
+
+}
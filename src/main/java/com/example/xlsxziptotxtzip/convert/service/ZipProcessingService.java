@@ -1,20 +1,45 @@
 package com.example.xlsxziptotxtzip.convert.service;
 
+import com.example.xlsxziptotxtzip.convert.cache.CapturingOutputStream;
+import com.example.xlsxziptotxtzip.convert.cache.ConversionCache;
+import com.example.xlsxziptotxtzip.convert.config.ConversionProperties;
+import com.example.xlsxziptotxtzip.convert.exception.InvalidZipContentException;
 import com.example.xlsxziptotxtzip.convert.exception.ZipProcessingException;
 import com.example.xlsxziptotxtzip.convert.model.dto.ConvertedFile;
+import com.example.xlsxziptotxtzip.convert.model.dto.ConversionStats;
 import com.example.xlsxziptotxtzip.convert.model.dto.ConvertedFileSource;
+import com.example.xlsxziptotxtzip.convert.model.enums.ConversionEngine;
+import com.example.xlsxziptotxtzip.convert.model.enums.ConversionStage;
+import com.example.xlsxziptotxtzip.convert.model.enums.ZipInputMode;
+import com.example.xlsxziptotxtzip.convert.model.enums.ZipProcessingMode;
 import com.example.xlsxziptotxtzip.convert.model.mapper.ConvertedFileSourceToConvertedFileMapper;
 import com.example.xlsxziptotxtzip.convert.utils.XlsxToTextUtil;
 import com.example.xlsxziptotxtzip.convert.utils.ZipXlsxUtil;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.util.StreamUtils;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+import java.util.zip.ZipFile;
 import java.util.zip.ZipInputStream;
 
 /**
@@ -23,20 +48,41 @@ import java.util.zip.ZipInputStream;
  * The typical flow is:
  * <ol>
  *     <li>Read the uploaded ZIP from a {@link MultipartFile}.</li>
- *     <li>Iterate over its entries using {@link ZipInputStream}.</li>
+ *     <li>Iterate over its entries using {@link ZipInputStream}, or with {@link ZipFile} on a spooled
+ *         temp file, depending on the {@link ZipInputMode}.</li>
  *     <li>Filter out non-XLSX entries via {@link ZipXlsxUtil#isXlsxFile(ZipEntry)}.</li>
  *     <li>Convert each XLSX file to aligned text using
- *         {@link XlsxToTextUtil#convertXlsxToAlignedText(java.io.InputStream)}.</li>
+ *         {@link XlsxToTextUtil#convertXlsxToAlignedText(java.io.InputStream, ConversionEngine)}
+ *         with the engine configured in {@link ConversionProperties}.</li>
  *     <li>Map each result to a {@link ConvertedFile} using
  *         {@link ConvertedFileSourceToConvertedFileMapper}.</li>
  * </ol>
+ * Entries are converted one by one or concurrently, depending on the {@link ZipProcessingMode}
+ * configured in {@link ConversionProperties}. Results are either collected into a list or handed
+ * to a {@link ConvertedEntryHandler} one by one, so callers can stream them out.
+ * {@link #processZip(InputStream, ConvertedEntryHandler)} reads a ZIP that is still arriving
+ * (e.g. a raw request body) and converts each entry while the next ones are uploaded.
  * Any low-level I/O error is wrapped in a {@link ZipProcessingException}.
  * </p>
  */
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class ZipProcessingService {
 
+    private static final String SPOOL_FILE_PREFIX = "xlsxzip-upload-";
+    private static final String SPOOL_FILE_SUFFIX = ".zip";
+
+    private final ConversionProperties conversionProperties;
+
+    private final ConversionExecutor conversionExecutor;
+
+    private final StructuredConversionExecutor structuredConversionExecutor;
+
+    private final ConversionCache conversionCache;
+
+    private final ConversionMetrics conversionMetrics;
+
     private final ConvertedFileSourceToConvertedFileMapper mapper =
             ConvertedFileSourceToConvertedFileMapper.initialize();
 
@@ -49,9 +95,11 @@ public class ZipProcessingService {
      *     <li>Non-XLSX entries are skipped (see {@link ZipXlsxUtil#isXlsxFile(ZipEntry)}).</li>
      *     <li>The XLSX bytes are read with {@link ZipXlsxUtil#readEntryBytes(ZipInputStream)}.</li>
      *     <li>The content is converted to aligned text using
-     *         {@link XlsxToTextUtil#convertXlsxToAlignedText(java.io.InputStream)}.</li>
+     *         {@link XlsxToTextUtil#convertXlsxToAlignedText(java.io.InputStream, ConversionEngine)}.</li>
      *     <li>A {@link ConvertedFileSource} is created and mapped to {@link ConvertedFile}.</li>
      * </ul>
+     * The whole result is held in memory; use {@link #processZip(MultipartFile, ConvertedEntryHandler)}
+     * to hand each entry over as soon as it is converted.
      * In case of an {@link IOException} while reading the ZIP stream, a
      * {@link ZipProcessingException} is thrown.
      * </p>
@@ -63,6 +111,141 @@ public class ZipProcessingService {
     public List<ConvertedFile> processZip(MultipartFile zipFile) {
         List<ConvertedFile> result = new ArrayList<>();
 
+        processZip(zipFile, (originalFileName, content) -> {
+            ByteArrayOutputStream txtContent = new ByteArrayOutputStream();
+            content.writeTo(txtContent);
+
+            // Build domain objects
+            ConvertedFileSource source = new ConvertedFileSource(originalFileName, txtContent.toString(StandardCharsets.UTF_8));
+            result.add(mapper.mapFromSource(source));
+        });
+
+        return result;
+    }
+
+    /**
+     * Processes the given ZIP file and hands each converted {@code .xlsx} entry to the handler,
+     * in entry order, as soon as it is ready.
+     * <p>
+     * The upload is read according to the configured {@link ZipInputMode}:
+     * <ul>
+     *     <li>{@link ZipInputMode#STREAM}: sequentially, through a {@link ZipInputStream}.</li>
+     *     <li>{@link ZipInputMode#RANDOM_ACCESS}: the upload is spooled to a temp file and opened as a
+     *         {@link ZipFile}; non-XLSX entries are skipped without being inflated.</li>
+     * </ul>
+     * With {@link ZipProcessingMode#SEQUENTIAL}, each entry is converted on the calling thread,
+     * and its text is rendered straight into the stream given to
+     * {@link ConvertedEntryHandler.ConvertedContent#writeTo(OutputStream)}.
+     * With {@link ZipProcessingMode#PARALLEL}, entries are converted on the {@link ConversionExecutor},
+     * largest first; each entry is handed over once it and all entries before it are done.
+     * {@link ZipProcessingMode#STRUCTURED} does the same on the {@link StructuredConversionExecutor}, where
+     * a failing entry or handler cancels the conversions of the other entries at once.
+     * Reading, conversion stages and sizes are recorded through {@link ConversionMetrics}.
+     * </p>
+     *
+     * @param zipFile the uploaded ZIP file containing one or more XLSX files
+     * @param handler receives each converted entry, on the calling thread
+     * @throws ZipProcessingException     if an I/O error occurs while reading the ZIP or in the handler
+     * @throws InvalidZipContentException if the upload is not a ZIP archive ({@link ZipInputMode#RANDOM_ACCESS} only)
+     */
+    public void processZip(MultipartFile zipFile, ConvertedEntryHandler handler) {
+        switch (conversionProperties.getInput()) {
+            case STREAM -> processZipStream(zipFile, handler);
+            case RANDOM_ACCESS -> processZipFile(zipFile, handler);
+        }
+    }
+
+    /**
+     * Processes a ZIP read sequentially from the given stream, converting each {@code .xlsx} entry
+     * as soon as it has been read, and hands each converted entry to the handler in entry order.
+     * <p>
+     * Unlike {@link #processZip(MultipartFile, ConvertedEntryHandler)}, nothing has to be buffered before
+     * the first entry is read, so for a request body the conversion of an entry overlaps with the upload
+     * of the entries after it. The {@link ZipInputMode} does not apply, since the stream can only be read once.
+     * <ul>
+     *     <li>{@link ZipProcessingMode#SEQUENTIAL}: each entry is converted on the calling thread before
+     *         the next one is read.</li>
+     *     <li>{@link ZipProcessingMode#PARALLEL} and {@link ZipProcessingMode#STRUCTURED}: each entry is
+     *         submitted once read, and handed over as soon as it and all entries before it are done. At most
+     *         twice the parallelism of entries are in flight; reading waits for the oldest one beyond that.
+     *         The entry sizes are not known up front, so entries start in upload order rather than largest
+     *         first. Pending conversions are cancelled on failure.</li>
+     * </ul>
+     * Entries are submitted to the {@link ConversionExecutor} in {@link ZipProcessingMode#PARALLEL} mode, and
+     * forked into one {@link StructuredConversionExecutor.Batch} per upload in {@link ZipProcessingMode#STRUCTURED}
+     * mode, so that cancellation behaves the same as for a {@link MultipartFile} upload.
+     * </p>
+     *
+     * @param zipStream the ZIP content; read to the end of the archive but not closed
+     * @param handler   receives each converted entry, on the calling thread
+     * @throws ZipProcessingException if an I/O error occurs while reading the ZIP or in the handler
+     */
+    public void processZip(InputStream zipStream, ConvertedEntryHandler handler) {
+        boolean parallel = conversionProperties.getMode() != ZipProcessingMode.SEQUENTIAL;
+        boolean structured = conversionProperties.getMode() == ZipProcessingMode.STRUCTURED;
+        int maxInFlight = 2 * conversionProperties.resolveParallelism();
+        Deque<InFlightEntry> inFlight = new ArrayDeque<>();
+        int xlsxEntries = 0;
+
+        try (StructuredConversionExecutor.Batch<byte[]> batch = structured ? structuredConversionExecutor.openBatch() : null;
+             ZipInputStream zis = new ZipInputStream(StreamUtils.nonClosing(zipStream))) {
+            ZipEntry entry;
+
+            while ((entry = zis.getNextEntry()) != null) {
+
+                // Skip non-xlsx entries
+                if (!ZipXlsxUtil.isXlsxFile(entry)) {
+                    zis.closeEntry();
+                    continue;
+                }
+
+                // Read XLSX file content while the rest of the upload is still arriving
+                byte[] xlsxBytes = readTimed(() -> ZipXlsxUtil.readEntryBytes(zis));
+                xlsxEntries++;
+
+                if (parallel) {
+                    Callable<byte[]> task = () -> {
+                        ByteArrayOutputStream txtContent = new ByteArrayOutputStream();
+                        convert(xlsxBytes, txtContent);
+                        return txtContent.toByteArray();
+                    };
+                    inFlight.add(new InFlightEntry(entry.getName(),
+                            structured ? batch.submit(task) : conversionExecutor.submit(task)));
+
+                    // Hand over what is already done, and wait for the oldest entry only if too many are pending
+                    while (!inFlight.isEmpty()
+                            && (inFlight.peek().txtBytes().isDone() || inFlight.size() > maxInFlight)) {
+                        handOver(inFlight.poll(), handler);
+                    }
+                } else {
+                    handleEntry(handler, entry.getName(), outputStream -> convert(xlsxBytes, outputStream));
+                }
+
+                zis.closeEntry();
+            }
+
+            while (!inFlight.isEmpty()) {
+                handOver(inFlight.poll(), handler);
+            }
+        } catch (IOException e) {
+            throw new ZipProcessingException("I/O error while reading uploaded ZIP", e);
+        } finally {
+            // No-op once all entries are handed over; stops the pending conversions on failure (the batch is closed already)
+            inFlight.forEach(pending -> pending.txtBytes().cancel(true));
+        }
+
+        conversionMetrics.recordEntriesPerUpload(xlsxEntries);
+    }
+
+    /**
+     * Reads the upload sequentially with a {@link ZipInputStream}. In parallel mode all XLSX entries
+     * are read into memory first, since the stream cannot be shared between threads.
+     */
+    private void processZipStream(MultipartFile zipFile, ConvertedEntryHandler handler) {
+        boolean parallel = conversionProperties.getMode() != ZipProcessingMode.SEQUENTIAL;
+        List<PendingEntry> pendingEntries = new ArrayList<>();
+        int xlsxEntries = 0;
+
         try (ZipInputStream zis = new ZipInputStream(zipFile.getInputStream())) {
             ZipEntry entry;
 
@@ -75,18 +258,15 @@ public class ZipProcessingService {
                 }
 
                 // Read XLSX file content
-                byte[] xlsxBytes = ZipXlsxUtil.readEntryBytes(zis);
-
-                // Convert XLSX to aligned TXT
-                String txtContent = XlsxToTextUtil.convertXlsxToAlignedText(
-                        new ByteArrayInputStream(xlsxBytes)
-                );
+                byte[] xlsxBytes = readTimed(() -> ZipXlsxUtil.readEntryBytes(zis));
+                xlsxEntries++;
 
-                // Build domain objects
-                String entryName = entry.getName();
-                ConvertedFileSource source = new ConvertedFileSource(entryName, txtContent);
-                ConvertedFile convertedFile = mapper.mapFromSource(source);
-                result.add(convertedFile);
+                if (parallel) {
+                    pendingEntries.add(new PendingEntry(entry.getName(), xlsxBytes.length, () -> xlsxBytes));
+                } else {
+                    // Convert XLSX to aligned TXT directly into the handler's stream
+                    handleEntry(handler, entry.getName(), outputStream -> convert(xlsxBytes, outputStream));
+                }
 
                 zis.closeEntry();
             }
@@ -94,7 +274,237 @@ public class ZipProcessingService {
             throw new ZipProcessingException("I/O error while reading uploaded ZIP", e);
         }
 
-        return result;
+        conversionMetrics.recordEntriesPerUpload(xlsxEntries);
+
+        if (parallel) {
+            convertInParallel(pendingEntries, handler);
+        }
+    }
+
+    /**
+     * Spools the upload to a temp file and reads it as a {@link ZipFile}. XLSX entries are listed
+     * from the central directory; each entry is only inflated when it is converted, so in parallel
+     * mode entries are also read concurrently and never all held in memory at once.
+     */
+    private void processZipFile(MultipartFile zipFile, ConvertedEntryHandler handler) {
+        Path spoolFile = null;
+
+        try {
+            spoolFile = Files.createTempFile(SPOOL_FILE_PREFIX, SPOOL_FILE_SUFFIX);
+            // Lets the container move its own temp file instead of copying when possible
+            zipFile.transferTo(spoolFile);
+
+            try (ZipFile zip = openZipFile(spoolFile)) {
+                List<PendingEntry> pendingEntries = zip.stream()
+                        .filter(ZipXlsxUtil::isXlsxFile)
+                        .map(entry -> new PendingEntry(
+                                entry.getName(),
+                                entry.getSize(),
+                                () -> readTimed(() -> ZipXlsxUtil.readEntryBytes(zip, entry))
+                        ))
+                        .toList();
+
+                conversionMetrics.recordEntriesPerUpload(pendingEntries.size());
+
+                switch (conversionProperties.getMode()) {
+                    case SEQUENTIAL -> {
+                        for (PendingEntry pendingEntry : pendingEntries) {
+                            byte[] xlsxBytes = pendingEntry.content().read();
+                            handleEntry(handler, pendingEntry.name(), outputStream -> convert(xlsxBytes, outputStream));
+                        }
+                    }
+                    case PARALLEL, STRUCTURED -> convertInParallel(pendingEntries, handler);
+                }
+            }
+        } catch (IOException e) {
+            throw new ZipProcessingException("I/O error while reading uploaded ZIP", e);
+        } finally {
+            deleteSpoolFile(spoolFile);
+        }
+    }
+
+    /**
+     * Converts the entries concurrently, reading each entry inside its task: on the {@link StructuredConversionExecutor}
+     * in {@link ZipProcessingMode#STRUCTURED} mode, on the {@link ConversionExecutor} otherwise.
+     * The entry size is used as the scheduling weight, so the largest workbooks start first.
+     */
+    private void convertInParallel(List<PendingEntry> pendingEntries, ConvertedEntryHandler handler) {
+        List<Callable<byte[]>> tasks = new ArrayList<>(pendingEntries.size());
+        long[] weights = new long[pendingEntries.size()];
+
+        for (int i = 0; i < pendingEntries.size(); i++) {
+            PendingEntry pendingEntry = pendingEntries.get(i);
+            tasks.add(() -> {
+                ByteArrayOutputStream txtContent = new ByteArrayOutputStream();
+                convert(pendingEntry.content().read(), txtContent);
+                return txtContent.toByteArray();
+            });
+            weights[i] = pendingEntry.size();
+        }
+
+        try {
+            Iterator<PendingEntry> entries = pendingEntries.iterator();
+            ConversionExecutor.ResultHandler<byte[]> resultHandler = txtBytes ->
+                    handleEntry(handler, entries.next().name(), outputStream -> outputStream.write(txtBytes));
+
+            if (conversionProperties.getMode() == ZipProcessingMode.STRUCTURED) {
+                structuredConversionExecutor.forEachLargestFirst(tasks, weights, resultHandler);
+            } else {
+                conversionExecutor.forEachLargestFirst(tasks, weights, resultHandler);
+            }
+        } catch (ExecutionException e) {
+            throw conversionFailure(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ZipProcessingException("interrupted while converting entries", e);
+        } catch (IOException e) {
+            // Not reachable: handleEntry wraps I/O failures of the handler
+            throw new ZipProcessingException("I/O error while writing converted entry", e);
+        }
+    }
+
+    /**
+     * Waits for an entry submitted by {@link #processZip(InputStream, ConvertedEntryHandler)} and passes it to the handler.
+     */
+    private static void handOver(InFlightEntry pending, ConvertedEntryHandler handler) {
+        byte[] txtBytes;
+        try {
+            txtBytes = pending.txtBytes().get();
+        } catch (ExecutionException e) {
+            throw conversionFailure(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ZipProcessingException("interrupted while converting entries", e);
+        }
+        handleEntry(handler, pending.name(), outputStream -> outputStream.write(txtBytes));
+    }
+
+    /**
+     * Unwraps the failure of a conversion task; conversion errors are rethrown as they are.
+     */
+    private static RuntimeException conversionFailure(ExecutionException e) {
+        if (e.getCause() instanceof RuntimeException runtimeException) {
+            return runtimeException;
+        }
+        if (e.getCause() instanceof IOException ioException) {
+            return new ZipProcessingException("I/O error while reading uploaded ZIP", ioException);
+        }
+        return new ZipProcessingException("conversion task failed", e.getCause());
+    }
+
+    /**
+     * Opens the spooled upload, reporting content that is not a ZIP archive as a client error.
+     */
+    private static ZipFile openZipFile(Path spoolFile) throws IOException {
+        try {
+            return new ZipFile(spoolFile.toFile());
+        } catch (ZipException e) {
+            throw new InvalidZipContentException("Uploaded file is not a valid ZIP archive.");
+        }
+    }
+
+    private static void deleteSpoolFile(Path spoolFile) {
+        if (spoolFile == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(spoolFile);
+        } catch (IOException e) {
+            log.warn("Could not delete spooled upload {}", spoolFile, e);
+        }
+    }
+
+    /**
+     * Passes a converted entry to the handler, wrapping its I/O failures so that they are not
+     * reported as failures to read the uploaded ZIP.
+     */
+    private static void handleEntry(ConvertedEntryHandler handler,
+                                    String originalFileName,
+                                    ConvertedEntryHandler.ConvertedContent content) {
+        try {
+            handler.handleEntry(originalFileName, content);
+        } catch (IOException e) {
+            throw new ZipProcessingException("I/O error while writing converted entry", e);
+        }
+    }
+
+    /**
+     * Reads an entry and records the time spent inflating it as {@link ConversionStage#ZIP_READ}.
+     */
+    private byte[] readTimed(EntryContent content) throws IOException {
+        long start = System.nanoTime();
+        byte[] xlsxBytes = content.read();
+        conversionMetrics.recordStage(ConversionStage.ZIP_READ, System.nanoTime() - start);
+        return xlsxBytes;
+    }
+
+    /**
+     * Converts a single XLSX entry to aligned TXT, going through the {@link ConversionCache} when it is enabled.
+     * On a miss the text is streamed to the output while a copy is kept for the cache,
+     * unless it grows beyond {@link ConversionCache#maxEntryBytes()}.
+     */
+    private void convert(byte[] xlsxBytes, OutputStream outputStream) throws IOException {
+        ConversionEngine engine = conversionProperties.getEngine();
+        if (!conversionCache.isEnabled()) {
+            convertAndRecord(xlsxBytes, outputStream, engine);
+            return;
+        }
+
+        String key = conversionCache.key(xlsxBytes, engine);
+        byte[] cached = conversionCache.get(key);
+        if (cached != null) {
+            outputStream.write(cached);
+            conversionMetrics.recordEntrySize(xlsxBytes.length, cached.length);
+            return;
+        }
+
+        CapturingOutputStream capturingStream =
+                new CapturingOutputStream(outputStream, conversionCache.maxEntryBytes());
+        convertAndRecord(xlsxBytes, capturingStream, engine);
+
+        byte[] captured = capturingStream.captured();
+        if (captured != null) {
+            conversionCache.put(key, captured);
+        }
+    }
+
+    /**
+     * Runs the conversion and publishes its stage timings and sizes.
+     */
+    private void convertAndRecord(byte[] xlsxBytes, OutputStream outputStream, ConversionEngine engine) {
+        ConversionStats stats = new ConversionStats();
+        XlsxToTextUtil.convertXlsxToAlignedText(new ByteArrayInputStream(xlsxBytes), outputStream, engine, stats);
+        conversionMetrics.recordConversion(stats);
+        conversionMetrics.recordEntrySize(xlsxBytes.length, stats.outputBytes());
+    }
+
+    /**
+     * An XLSX entry waiting to be converted.
+     *
+     * @param name    the entry name in the uploaded ZIP
+     * @param size    the uncompressed size, used as scheduling weight
+     * @param content reads the XLSX bytes of the entry
+     */
+    private record PendingEntry(String name, long size, EntryContent content) {
+    }
+
+    /**
+     * An XLSX entry being converted on the {@link ConversionExecutor} or in a {@link StructuredConversionExecutor.Batch}.
+     *
+     * @param name     the entry name in the uploaded ZIP
+     * @param txtBytes the future of the converted text
+     */
+    private record InFlightEntry(String name, Future<byte[]> txtBytes) {
+    }
+
+    /**
+     * Reads the bytes of an entry, possibly from another thread.
+     */
+    @FunctionalInterface
+    private interface EntryContent {
+
+        byte[] read() throws IOException;
+
     }
 
-}
\ No newline at end of file
+}
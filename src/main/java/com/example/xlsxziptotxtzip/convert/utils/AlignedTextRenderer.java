@@ -0,0 +1,265 @@
+package com.example.xlsxziptotxtzip.convert.utils;
+
+import com.example.xlsxziptotxtzip.convert.model.dto.SheetContent;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Byte-oriented renderer that writes aligned text rows straight into an {@link OutputStream}.
+ * <p>
+ * Cell characters are read from the {@link SheetContent} arena and UTF-8 encoded into a reusable
+ * byte buffer (with an ASCII fast path), while padding, column gaps and header dashes are copied
+ * from arrays preallocated for the widest column. No {@link String} is built per cell or per line;
+ * the buffer is flushed to the target stream whenever it cannot hold the next cell.
+ * </p>
+ * <p>
+ * The output is identical to {@code String.getBytes(UTF_8)} of the text table:
+ * <ul>
+ *     <li>Cells longer than their column are cut to {@code width - 1} characters plus {@code …}.</li>
+ *     <li>Columns of width {@code 0} or {@code 1} keep at most the first character.</li>
+ *     <li>Header cells are left-aligned; data cells are right-aligned when the column is forced
+ *         or the (untruncated) value is numeric, either by its raw cell type
+ *         ({@link SheetContent#isNumericCell(int, int)}) or by {@link XlsxToTextUtil#isNumeric(char[], int, int)}.</li>
+ *     <li>Unpaired surrogates are written as {@code ?}.</li>
+ * </ul>
+ * </p>
+ * Instances are not thread-safe and are meant to render a single sheet.
+ */
+public final class AlignedTextRenderer {
+
+    private static final int BUFFER_SIZE = 8192;
+    private static final int PADDING = 2;
+    private static final int MAX_BYTES_PER_CHAR = 3;
+
+    private static final byte SPACE = ' ';
+    private static final byte DASH = '-';
+    private static final byte REPLACEMENT = '?';
+    private static final byte[] ELLIPSIS = "…".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] LINE_SEPARATOR = System.lineSeparator().getBytes(StandardCharsets.UTF_8);
+
+    private final OutputStream out;
+    private final int maxColumns;
+    private final int[] columnWidths;
+    private final boolean[] forceRightAlignColumn;
+
+    private final byte[] spaces;
+    private final byte[] dashes;
+    private final byte[] buffer;
+    private int position;
+    private long drainedBytes;
+
+    /**
+     * Creates a renderer for a sheet layout.
+     *
+     * @param out                   the target stream; it is flushed into but never closed
+     * @param maxColumns            max column count across all rows
+     * @param columnWidths          per-column width constraints
+     * @param forceRightAlignColumn flags for each column indicating forced right alignment
+     */
+    public AlignedTextRenderer(OutputStream out,
+                               int maxColumns,
+                               int[] columnWidths,
+                               boolean[] forceRightAlignColumn) {
+
+        this.out = out;
+        this.maxColumns = maxColumns;
+        this.columnWidths = columnWidths;
+        this.forceRightAlignColumn = forceRightAlignColumn;
+
+        int widest = PADDING;
+        for (int i = 0; i < maxColumns; i++) {
+            widest = Math.max(widest, columnWidths[i]);
+        }
+
+        this.spaces = new byte[widest];
+        this.dashes = new byte[widest];
+        Arrays.fill(spaces, SPACE);
+        Arrays.fill(dashes, DASH);
+
+        this.buffer = new byte[Math.max(BUFFER_SIZE, widest * MAX_BYTES_PER_CHAR + PADDING)];
+    }
+
+    /**
+     * Writes a row followed by a line separator and, after the header row,
+     * the header separator line.
+     *
+     * @param sheetContent the content holding the row
+     * @param rowIndex     the index of the row in {@code sheetContent}
+     * @param headerRow    whether this row is the header row
+     * @throws IOException if the target stream fails
+     */
+    public void writeRow(SheetContent sheetContent, int rowIndex, boolean headerRow) throws IOException {
+        char[] chars = sheetContent.chars();
+
+        for (int i = 0; i < maxColumns; i++) {
+            writeCell(
+                    chars,
+                    sheetContent.cellOffset(rowIndex, i),
+                    sheetContent.cellLength(rowIndex, i),
+                    sheetContent.isNumericCell(rowIndex, i),
+                    columnWidths[i],
+                    headerRow,
+                    forceRightAlignColumn[i]
+            );
+
+            // Add fixed gap between columns (but not after the last one)
+            if (i < maxColumns - 1) {
+                writeFill(spaces, PADDING);
+            }
+        }
+        writeLineSeparator();
+
+        if (headerRow) {
+            writeHeaderSeparator();
+        }
+    }
+
+    /**
+     * Writes any buffered bytes to the target stream and flushes it.
+     *
+     * @throws IOException if the target stream fails
+     */
+    public void flush() throws IOException {
+        drain();
+        out.flush();
+    }
+
+    /**
+     * Returns the number of bytes rendered so far, including bytes still held in the buffer.
+     *
+     * @return the rendered size in bytes
+     */
+    public long bytesWritten() {
+        return drainedBytes + position;
+    }
+
+    /**
+     * Writes a single cell, including truncation and alignment.
+     */
+    private void writeCell(char[] chars,
+                           int offset,
+                           int length,
+                           boolean numericCell,
+                           int columnWidth,
+                           boolean headerRow,
+                           boolean forceRightAlign) throws IOException {
+
+        ensureCapacity(Math.max(columnWidth, 1) * MAX_BYTES_PER_CHAR);
+
+        // Truncate to column width
+        int visible;
+        boolean ellipsis = false;
+        if (columnWidth <= 1) {
+            visible = Math.min(length, 1);
+        } else if (length <= columnWidth) {
+            visible = length;
+        } else {
+            visible = columnWidth - 1;
+            ellipsis = true;
+        }
+        int displayed = ellipsis ? columnWidth : visible;
+        int pad = Math.max(columnWidth - displayed, 0);
+
+        // Header always left-aligned; an ellipsis is never part of a numeric value
+        boolean alignRight = !headerRow
+                && (forceRightAlign || (!ellipsis && (numericCell || XlsxToTextUtil.isNumeric(chars, offset, visible))));
+
+        if (alignRight) {
+            writeFill(spaces, pad);
+        }
+
+        encode(chars, offset, visible);
+        if (ellipsis) {
+            System.arraycopy(ELLIPSIS, 0, buffer, position, ELLIPSIS.length);
+            position += ELLIPSIS.length;
+        }
+
+        if (!alignRight) {
+            writeFill(spaces, pad);
+        }
+    }
+
+    /**
+     * Writes the separator line that appears after the header row.
+     */
+    private void writeHeaderSeparator() throws IOException {
+        for (int i = 0; i < maxColumns; i++) {
+            ensureCapacity(columnWidths[i] + PADDING);
+            writeFill(dashes, columnWidths[i]);
+            if (i < maxColumns - 1) {
+                writeFill(spaces, PADDING);
+            }
+        }
+        writeLineSeparator();
+    }
+
+    private void writeLineSeparator() throws IOException {
+        ensureCapacity(LINE_SEPARATOR.length);
+        System.arraycopy(LINE_SEPARATOR, 0, buffer, position, LINE_SEPARATOR.length);
+        position += LINE_SEPARATOR.length;
+    }
+
+    private void writeFill(byte[] fill, int count) throws IOException {
+        ensureCapacity(count);
+        System.arraycopy(fill, 0, buffer, position, count);
+        position += count;
+    }
+
+    /**
+     * UTF-8 encodes {@code length} characters into the buffer. The caller has ensured room
+     * for {@link #MAX_BYTES_PER_CHAR} bytes per character.
+     */
+    private void encode(char[] chars, int offset, int length) {
+        byte[] buf = buffer;
+        int pos = position;
+        int end = offset + length;
+        int i = offset;
+
+        // ASCII fast path
+        while (i < end && chars[i] < 0x80) {
+            buf[pos++] = (byte) chars[i++];
+        }
+
+        while (i < end) {
+            char c = chars[i++];
+            if (c < 0x80) {
+                buf[pos++] = (byte) c;
+            } else if (c < 0x800) {
+                buf[pos++] = (byte) (0xC0 | (c >> 6));
+                buf[pos++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i < end && Character.isLowSurrogate(chars[i])) {
+                int codePoint = Character.toCodePoint(c, chars[i++]);
+                buf[pos++] = (byte) (0xF0 | (codePoint >> 18));
+                buf[pos++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                buf[pos++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                buf[pos++] = (byte) (0x80 | (codePoint & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                buf[pos++] = REPLACEMENT;
+            } else {
+                buf[pos++] = (byte) (0xE0 | (c >> 12));
+                buf[pos++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                buf[pos++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+
+        position = pos;
+    }
+
+    private void ensureCapacity(int bytes) throws IOException {
+        if (position + bytes > buffer.length) {
+            drain();
+        }
+    }
+
+    private void drain() throws IOException {
+        if (position > 0) {
+            out.write(buffer, 0, position);
+            drainedBytes += position;
+            position = 0;
+        }
+    }
+
+}
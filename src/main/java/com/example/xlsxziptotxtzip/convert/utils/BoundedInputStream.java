@@ -0,0 +1,68 @@
+package com.example.xlsxziptotxtzip.convert.utils;
+
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Input stream that fails once more than a given number of bytes has been read from it.
+ * <p>
+ * Used for uploads that do not go through the multipart resolver, so that a raw request body gets the
+ * same size limit and the same {@code 413} response as a multipart upload. The limit is checked while
+ * reading, so it also holds for chunked requests without a {@code Content-Length}.
+ * </p>
+ */
+public final class BoundedInputStream extends FilterInputStream {
+
+    private final long maxBytes;
+    private long bytesRead;
+
+    public BoundedInputStream(InputStream inputStream, long maxBytes) {
+        super(inputStream);
+        this.maxBytes = maxBytes;
+    }
+
+    @Override
+    public int read() throws IOException {
+        int b = super.read();
+        if (b != -1) {
+            count(1);
+        }
+        return b;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+        int n = super.read(buffer, offset, length);
+        if (n > 0) {
+            count(n);
+        }
+        return n;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        long skipped = super.skip(n);
+        count(skipped);
+        return skipped;
+    }
+
+    /**
+     * Returns the number of bytes read so far.
+     *
+     * @return the byte count
+     */
+    public long bytesRead() {
+        return bytesRead;
+    }
+
+    private void count(long n) {
+        bytesRead += n;
+        if (bytesRead > maxBytes) {
+            throw new MaxUploadSizeExceededException(maxBytes);
+        }
+    }
+
+}
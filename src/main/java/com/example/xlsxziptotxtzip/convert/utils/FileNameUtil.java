@@ -4,6 +4,7 @@ import lombok.experimental.UtilityClass;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.regex.Pattern;
 
 /**
  * Utility for building file names used in responses.
@@ -16,6 +17,8 @@ public class FileNameUtil {
 
     private static final String BASE_CONVERTED_ZIP_NAME = "converted-txt-files.zip";
 
+    private static final Pattern XLSX_EXTENSION = Pattern.compile("(?i)\\.xlsx$");
+
     /**
      * Builds a file name like:
      *   yyyyMMddHHmmss_converted-txt-files.zip
@@ -27,4 +30,17 @@ public class FileNameUtil {
         return timestamp + "_" + BASE_CONVERTED_ZIP_NAME;
     }
 
+    /**
+     * Builds the TXT entry name for a converted XLSX entry by replacing
+     * a trailing {@code .xlsx} (case-insensitive) with {@code .txt}.
+     *
+     * @param originalFileName the name of the XLSX entry, may be {@code null}
+     * @return the TXT file name, or {@code unknown.txt} if no name is given
+     */
+    public String buildTxtFileName(String originalFileName) {
+        return originalFileName != null
+                ? XLSX_EXTENSION.matcher(originalFileName).replaceAll(".txt")
+                : "unknown.txt";
+    }
+
 }
@@ -0,0 +1,22 @@
+package com.example.xlsxziptotxtzip.convert.utils;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Callback receiving the formatted cell values of each sheet row, in sheet order,
+ * while a workbook is being streamed by {@link XlsxStreamingSheetReader}.
+ */
+@FunctionalInterface
+public interface SheetRowHandler {
+
+    /**
+     * Handles a single row.
+     *
+     * @param cells the formatted cell values of the row; missing cells before the
+     *              last present cell are filled with empty strings
+     * @throws IOException if writing the row downstream fails
+     */
+    void handleRow(List<String> cells) throws IOException;
+
+}
@@ -0,0 +1,243 @@
+package com.example.xlsxziptotxtzip.convert.utils;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFComment;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Streaming reader for the first sheet of an XLSX workbook, built on POI's event model
+ * ({@link XSSFReader} + {@link XSSFSheetXMLHandler}).
+ * <p>
+ * Unlike {@link org.apache.poi.xssf.usermodel.XSSFWorkbook}, the sheet XML is parsed with SAX
+ * and never turned into an object model: rows are handed to a {@link SheetRowHandler} as soon
+ * as they are parsed. Only the shared strings table and the (small) styles table are kept in memory.
+ * </p>
+ * <p>
+ * The package is always opened from a file, with {@link PackageAccess#READ}: POI then reads its parts
+ * lazily through a {@link java.util.zip.ZipFile}, and the sheet XML is inflated while it is parsed.
+ * Opened from a stream instead, POI inflates every part into the heap up front, so memory would grow
+ * with the row count again. Content given as a stream is therefore spooled to a temp file first.
+ * </p>
+ * <p>
+ * Cell values are formatted with the given {@link DataFormatter}, exactly like the DOM path does for
+ * string, numeric, date and boolean cells. Known differences to the DOM path:
+ * <ul>
+ *     <li>Formula cells yield their cached result instead of the formula text.</li>
+ *     <li>Error cells are prefixed with {@code ERROR:}.</li>
+ *     <li>Trailing blank (style-only) cells do not extend the row.</li>
+ * </ul>
+ * </p>
+ * The sheet can be read more than once through the same reader instance.
+ */
+@Slf4j
+public final class XlsxStreamingSheetReader implements AutoCloseable {
+
+    private static final String SPOOL_FILE_PREFIX = "xlsx-sheet-";
+    private static final String SPOOL_FILE_SUFFIX = ".xlsx";
+
+    private final OPCPackage opcPackage;
+    private final Path spoolFile;
+    private final XSSFReader xssfReader;
+    private final ReadOnlySharedStringsTable sharedStrings;
+    private final StylesTable styles;
+
+    private XlsxStreamingSheetReader(OPCPackage opcPackage, Path spoolFile)
+            throws IOException, OpenXML4JException, SAXException {
+        this.opcPackage = opcPackage;
+        this.spoolFile = spoolFile;
+        this.xssfReader = new XSSFReader(opcPackage);
+        this.sharedStrings = new ReadOnlySharedStringsTable(opcPackage);
+        this.styles = xssfReader.getStylesTable();
+    }
+
+    /**
+     * Opens the given XLSX content for streaming access. The content is spooled to a temp file,
+     * which is deleted when the reader is closed.
+     *
+     * @param inputStream the XLSX file content; read to the end but not closed
+     * @return a reader positioned on the workbook; must be closed by the caller
+     * @throws IOException        if the content cannot be spooled or the package cannot be read
+     * @throws OpenXML4JException if the content is not a valid OOXML package
+     * @throws SAXException       if the shared strings table cannot be parsed
+     */
+    public static XlsxStreamingSheetReader open(InputStream inputStream)
+            throws IOException, OpenXML4JException, SAXException {
+
+        Path spoolFile = Files.createTempFile(SPOOL_FILE_PREFIX, SPOOL_FILE_SUFFIX);
+        try {
+            Files.copy(inputStream, spoolFile, StandardCopyOption.REPLACE_EXISTING);
+            return open(spoolFile, spoolFile);
+        } catch (IOException | OpenXML4JException | SAXException | RuntimeException e) {
+            deleteSpoolFile(spoolFile);
+            throw e;
+        }
+    }
+
+    /**
+     * Opens the given XLSX file for streaming access, read-only. The file is left in place on close.
+     *
+     * @param xlsxFile the XLSX file
+     * @return a reader positioned on the workbook; must be closed by the caller
+     * @throws IOException        if the package cannot be read
+     * @throws OpenXML4JException if the file is not a valid OOXML package
+     * @throws SAXException       if the shared strings table cannot be parsed
+     */
+    public static XlsxStreamingSheetReader open(Path xlsxFile)
+            throws IOException, OpenXML4JException, SAXException {
+        return open(xlsxFile, null);
+    }
+
+    private static XlsxStreamingSheetReader open(Path xlsxFile, Path spoolFile)
+            throws IOException, OpenXML4JException, SAXException {
+
+        OPCPackage opcPackage = OPCPackage.open(xlsxFile.toFile(), PackageAccess.READ);
+        try {
+            return new XlsxStreamingSheetReader(opcPackage, spoolFile);
+        } catch (IOException | OpenXML4JException | SAXException | RuntimeException e) {
+            opcPackage.revert();
+            throw e;
+        }
+    }
+
+    /**
+     * Parses the first sheet and passes every row to the given handler, in sheet order.
+     *
+     * @param formatter the {@link DataFormatter} used to format cell values
+     * @param handler   the callback receiving each row
+     * @throws IOException                  if the sheet part cannot be read, the handler fails or the thread
+     *                                      is interrupted
+     * @throws OpenXML4JException           if the sheet part cannot be resolved
+     * @throws SAXException                 if the sheet XML is malformed
+     * @throws ParserConfigurationException if no SAX parser can be created
+     */
+    public void readFirstSheet(DataFormatter formatter, SheetRowHandler handler)
+            throws IOException, OpenXML4JException, SAXException, ParserConfigurationException {
+
+        Iterator<InputStream> sheets = xssfReader.getSheetsData();
+        if (!sheets.hasNext()) {
+            throw new IllegalStateException("Workbook contains no sheets");
+        }
+
+        try (InputStream sheetStream = sheets.next()) {
+            XMLReader parser = XMLHelper.newXMLReader();
+            parser.setContentHandler(new XSSFSheetXMLHandler(
+                    styles, null, sharedStrings, new RowCollector(handler), formatter, false
+            ));
+            parser.parse(new InputSource(sheetStream));
+        } catch (UncheckedIOException e) {
+            // Unwrap I/O failures raised by the handler through POI's callbacks
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Releases the underlying package without writing anything back, and deletes the spooled content, if any.
+     */
+    @Override
+    public void close() {
+        opcPackage.revert();
+        deleteSpoolFile(spoolFile);
+    }
+
+    private static void deleteSpoolFile(Path spoolFile) {
+        if (spoolFile == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(spoolFile);
+        } catch (IOException e) {
+            log.warn("Could not delete spooled workbook {}", spoolFile, e);
+        }
+    }
+
+    /**
+     * Converts a cell reference such as {@code "AB12"} into a zero-based column index.
+     *
+     * @param cellReference the A1-style cell reference
+     * @return the zero-based column index
+     */
+    static int columnIndex(String cellReference) {
+        int column = 0;
+        for (int i = 0; i < cellReference.length(); i++) {
+            char c = cellReference.charAt(i);
+            if (c < 'A' || c > 'Z') {
+                break;
+            }
+            column = column * 26 + (c - 'A' + 1);
+        }
+        return column - 1;
+    }
+
+    /**
+     * Adapts POI's per-cell callbacks into whole rows for a {@link SheetRowHandler}.
+     */
+    private static final class RowCollector implements XSSFSheetXMLHandler.SheetContentsHandler {
+
+        private final SheetRowHandler handler;
+        private List<String> currentRow;
+
+        private RowCollector(SheetRowHandler handler) {
+            this.handler = handler;
+        }
+
+        @Override
+        public void startRow(int rowNum) {
+            currentRow = new ArrayList<>();
+        }
+
+        @Override
+        public void endRow(int rowNum) {
+            try {
+                // Stops a cancelled conversion between rows, since parsing itself ignores interrupts
+                if (Thread.currentThread().isInterrupted()) {
+                    throw new InterruptedIOException("Conversion was cancelled");
+                }
+                handler.handleRow(currentRow);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public void cell(String cellReference, String formattedValue, XSSFComment comment) {
+            int column = (cellReference != null) ? columnIndex(cellReference) : currentRow.size();
+
+            // Fill gaps left by missing cells, like the DOM path does with blank cells
+            while (currentRow.size() < column) {
+                currentRow.add("");
+            }
+
+            String value = (formattedValue != null) ? formattedValue : "";
+            if (column < currentRow.size()) {
+                currentRow.set(column, value);
+            } else {
+                currentRow.add(value);
+            }
+        }
+
+    }
+
+}
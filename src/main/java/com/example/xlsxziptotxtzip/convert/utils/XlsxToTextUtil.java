@@ -1,13 +1,21 @@
 package com.example.xlsxziptotxtzip.convert.utils;
 
 import com.example.xlsxziptotxtzip.convert.exception.XlsxConversionException;
+import com.example.xlsxziptotxtzip.convert.model.dto.ConversionStats;
 import com.example.xlsxziptotxtzip.convert.model.dto.SheetContent;
+import com.example.xlsxziptotxtzip.convert.model.enums.ConversionEngine;
+import com.example.xlsxziptotxtzip.convert.model.enums.ConversionStage;
 import lombok.experimental.UtilityClass;
 import org.apache.poi.ss.usermodel.*;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.io.InputStream;
-import java.util.ArrayList;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -16,357 +24,540 @@ import java.util.List;
 @UtilityClass
 public class XlsxToTextUtil {
 
+    /**
+     * Version of the rendered text layout. Bump it whenever the output for the same workbook
+     * changes, so that cached conversions are not reused.
+     */
+    public static final String OUTPUT_VERSION = "1";
+
     private static final int MAX_COLUMN_WIDTH = 80;
-    private static final int PADDING = 2;
+
+    // Built-in data formats that always render as plain numbers (General, "0", "0.00")
+    private static final short GENERAL_FORMAT = 0;
+    private static final short PLAIN_INTEGER_FORMAT = 1;
+    private static final short PLAIN_DECIMAL_FORMAT = 2;
+    private static final double MIN_PLAIN_MAGNITUDE = 1e-9;
+    private static final double MAX_PLAIN_MAGNITUDE = 1e11;
+    private static final double NUMERIC_PROBE = -1234.5;
+
+    /**
+     * Converts an XLSX document (provided as an {@link InputStream}) into
+     * an aligned plain-text table, reading the workbook with {@link ConversionEngine#DOM}.
+     *
+     * @param inputStream the XLSX file content
+     * @return a plain-text representation of the first sheet
+     * @see #convertXlsxToAlignedText(InputStream, ConversionEngine)
+     */
+    public String convertXlsxToAlignedText(InputStream inputStream) {
+        return convertXlsxToAlignedText(inputStream, ConversionEngine.DOM);
+    }
+
+    /**
+     * Converts an XLSX document (provided as an {@link InputStream}) into
+     * an aligned plain-text table, reading the workbook with the given engine.
+     * <p>
+     * The table is rendered with
+     * {@link #convertXlsxToAlignedText(InputStream, OutputStream, ConversionEngine)} and decoded once.
+     * </p>
+     *
+     * @param inputStream the XLSX file content
+     * @param engine      the engine used to read the workbook
+     * @return a plain-text representation of the first sheet
+     */
+    public String convertXlsxToAlignedText(InputStream inputStream, ConversionEngine engine) {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        convertXlsxToAlignedText(inputStream, outputStream, engine);
+        return outputStream.toString(StandardCharsets.UTF_8);
+    }
 
     /**
      * Converts an XLSX document (provided as an {@link InputStream}) into
-     * an aligned plain-text table.
+     * an aligned plain-text table and writes it as UTF-8 to the given {@link OutputStream}.
      * <p>
      * The conversion process:
      * <ol>
-     *     <li>Reads all rows and cells from the first sheet.</li>
+     *     <li>Reads all rows and cells from the first sheet, either from the
+     *         {@link XSSFWorkbook} object model or via {@link XlsxStreamingSheetReader}.</li>
      *     <li>Computes the maximum width for each column.</li>
      *     <li>Detects columns that should be right-aligned (e.g. {@code postal_code}).</li>
-     *     <li>Renders a header row, header separator, and data rows into text.</li>
+     *     <li>Renders a header row, header separator, and data rows with an {@link AlignedTextRenderer},
+     *         which writes bytes straight to the stream.</li>
      * </ol>
-     * On any error, wraps the failure in {@link XlsxConversionException}.
+     * With {@link ConversionEngine#TWO_PASS_STREAMING} the sheet is never held in memory:
+     * see {@link #convertTwoPassStreaming(InputStream, DataFormatter, OutputStream, ConversionStats)}.
+     * All engines share the same width and render logic, so their output can be compared byte-for-byte.
+     * The stream is flushed but not closed. On any error, wraps the failure in {@link XlsxConversionException}.
      * </p>
      *
-     * @param inputStream the XLSX file content
-     * @return a plain-text representation of the first sheet
+     * @param inputStream  the XLSX file content
+     * @param outputStream the target of the rendered text
+     * @param engine       the engine used to read the workbook
+     * @see #convertXlsxToAlignedText(InputStream, OutputStream, ConversionEngine, ConversionStats)
      */
-    public String convertXlsxToAlignedText(InputStream inputStream) {
-        try (Workbook workbook = new XSSFWorkbook(inputStream)) {
-            Sheet sheet = workbook.getSheetAt(0); // first sheet only
-            DataFormatter formatter = new DataFormatter(); // uses default locale
-
-            // 1) Read all rows and detect max column count
-            SheetContent sheetContent = extractSheetContent(sheet, formatter);
-            List<List<String>> rows = sheetContent.rows();
-            int maxColumns = sheetContent.maxColumns();
-
-            // 2) Compute column widths
-            int[] columnWidths = computeColumnWidths(rows, maxColumns);
+    public void convertXlsxToAlignedText(InputStream inputStream, OutputStream outputStream, ConversionEngine engine) {
+        convertXlsxToAlignedText(inputStream, outputStream, engine, new ConversionStats());
+    }
 
-            // 3) Detect right-aligned columns (postal_code)
-            boolean[] forceRightAlignColumn = detectRightAlignedColumns(rows, maxColumns);
+    /**
+     * Same as {@link #convertXlsxToAlignedText(InputStream, OutputStream, ConversionEngine)}, and records
+     * the duration of each {@link ConversionStage}, the sheet size and the output size into {@code stats}.
+     *
+     * @param inputStream  the XLSX file content
+     * @param outputStream the target of the rendered text
+     * @param engine       the engine used to read the workbook
+     * @param stats        receives the timings and sizes of this conversion
+     */
+    public void convertXlsxToAlignedText(InputStream inputStream,
+                                         OutputStream outputStream,
+                                         ConversionEngine engine,
+                                         ConversionStats stats) {
+        try {
+            DataFormatter formatter = new DataFormatter(); // uses default locale
 
-            // 4) Render final text
-            return renderAlignedText(rows, maxColumns, columnWidths, forceRightAlignColumn);
+            switch (engine) {
+                case DOM -> renderSheetContent(readSheetContentWithDom(inputStream, formatter, stats), outputStream, stats);
+                case STREAMING -> renderSheetContent(readSheetContentStreaming(inputStream, formatter, stats), outputStream, stats);
+                case TWO_PASS_STREAMING -> convertTwoPassStreaming(inputStream, formatter, outputStream, stats);
+            }
         } catch (Exception e) {
             throw new XlsxConversionException("Failed to convert XLSX to text", e);
         }
     }
 
     /**
-     * Reads all rows and cells from the given {@link Sheet} and returns both
-     * the list of row values and the maximum number of columns found.
-     * <p>
-     * Each row is converted into a {@link List} of {@link String} values using
-     * the provided {@link DataFormatter}.
-     * </p>
+     * Renders sheet content that has been fully read into memory.
      *
-     * @param sheet     the POI {@link Sheet} to read from
-     * @param formatter the {@link DataFormatter} used to format cell values
-     * @return a {@link SheetContent} record containing rows and max column count
+     * @param sheetContent the rows and max column count of the sheet
+     * @param outputStream the target of the rendered text
+     * @param stats        receives the width computation and render timings
+     * @throws IOException if the target stream fails or the thread is interrupted
      */
-    private static SheetContent extractSheetContent(Sheet sheet, DataFormatter formatter) {
-        List<List<String>> rows = new ArrayList<>();
-        int maxColumns = 0;
+    private static void renderSheetContent(SheetContent sheetContent,
+                                           OutputStream outputStream,
+                                           ConversionStats stats) throws IOException {
 
-        for (Row row : sheet) {
-            List<String> rowData = new ArrayList<>();
-            short lastCellNum = row.getLastCellNum(); // -1 if empty row
-            int effectiveLastCellNum = Math.max(lastCellNum, (short) 0);
+        stats.setSheetSize(sheetContent.rowCount(), sheetContent.totalCellCount());
+        long start = System.nanoTime();
 
-            maxColumns = Math.max(maxColumns, effectiveLastCellNum);
+        // 1) Compute column widths
+        int[] columnWidths = computeColumnWidths(sheetContent);
 
-            for (int cn = 0; cn < effectiveLastCellNum; cn++) {
-                Cell cell = row.getCell(cn, Row.MissingCellPolicy.RETURN_BLANK_AS_NULL);
-                String value = (cell == null) ? "" : formatter.formatCellValue(cell);
-                rowData.add(value != null ? value : "");
-            }
+        // 2) Detect right-aligned columns (postal_code)
+        boolean[] forceRightAlignColumn = detectRightAlignedColumns(sheetContent);
 
-            rows.add(rowData);
+        long layoutDone = System.nanoTime();
+        stats.addStageNanos(ConversionStage.WIDTH_COMPUTATION, layoutDone - start);
+
+        // 3) Render final text
+        AlignedTextRenderer renderer = new AlignedTextRenderer(
+                outputStream, sheetContent.maxColumns(), columnWidths, forceRightAlignColumn
+        );
+        for (int rowIndex = 0; rowIndex < sheetContent.rowCount(); rowIndex++) {
+            if (Thread.currentThread().isInterrupted()) {
+                throw new InterruptedIOException("Conversion was cancelled");
+            }
+            renderer.writeRow(sheetContent, rowIndex, rowIndex == 0);
         }
+        renderer.flush();
 
-        return new SheetContent(rows, maxColumns);
+        stats.addStageNanos(ConversionStage.RENDER, System.nanoTime() - layoutDone);
+        stats.setOutputBytes(renderer.bytesWritten());
     }
 
     /**
-     * Computes the maximum width per column across all rows, then clamps each
-     * width to {@link #MAX_COLUMN_WIDTH}.
+     * Converts the first sheet in two streaming passes so that memory depends on the
+     * column count only, never on the row count.
+     * <p>
+     * <ol>
+     *     <li>Pass one streams the sheet through a {@link ColumnLayout}, which only keeps the
+     *         header row, the max column count and an {@code int[]} of column widths.</li>
+     *     <li>The right-align flags are derived from the header row.</li>
+     *     <li>Pass two re-streams the sheet and renders each row straight to the output,
+     *         through a single-row {@link SheetContent} buffer that is reused for every row.</li>
+     * </ol>
+     * </p>
      *
-     * @param rows       the list of rows with cell values
-     * @param maxColumns the maximum number of columns found in the sheet
-     * @return an array of column widths (length = {@code maxColumns})
+     * @param inputStream  the XLSX file content
+     * @param formatter    the {@link DataFormatter} used to format cell values
+     * @param outputStream the target of the rendered text
+     * @param stats        receives the timings and sizes of this conversion
+     * @throws Exception if the workbook cannot be opened or parsed
      */
-    private static int[] computeColumnWidths(List<List<String>> rows, int maxColumns) {
-        int[] columnWidths = new int[maxColumns];
-
-        for (List<String> row : rows) {
-            for (int i = 0; i < maxColumns; i++) {
-                String value = (i < row.size()) ? row.get(i) : "";
-                int len = (value != null) ? value.length() : 0;
-                columnWidths[i] = Math.max(columnWidths[i], len);
-            }
+    private static void convertTwoPassStreaming(InputStream inputStream,
+                                                DataFormatter formatter,
+                                                OutputStream outputStream,
+                                                ConversionStats stats) throws Exception {
+
+        long start = System.nanoTime();
+        try (XlsxStreamingSheetReader reader = XlsxStreamingSheetReader.open(inputStream)) {
+            long opened = System.nanoTime();
+            stats.addStageNanos(ConversionStage.WORKBOOK_OPEN, opened - start);
+
+            // 1) First pass: widths, max column count and header row
+            ColumnLayout layout = new ColumnLayout();
+            reader.readFirstSheet(formatter, layout);
+
+            long extracted = System.nanoTime();
+            stats.addStageNanos(ConversionStage.SHEET_EXTRACTION, extracted - opened);
+            stats.setSheetSize(layout.rowCount(), layout.cellCount());
+
+            int maxColumns = layout.maxColumns();
+            int[] columnWidths = layout.clampedColumnWidths();
+            boolean[] forceRightAlignColumn = detectRightAlignedColumnsFromHeader(layout.headerRow(), maxColumns);
+
+            long layoutDone = System.nanoTime();
+            stats.addStageNanos(ConversionStage.WIDTH_COMPUTATION, layoutDone - extracted);
+
+            // 2) Second pass: render each row as it is parsed
+            AlignedTextRenderer renderer = new AlignedTextRenderer(
+                    outputStream, maxColumns, columnWidths, forceRightAlignColumn
+            );
+            SheetContent rowBuffer = new SheetContent();
+            int[] rowIndex = {0};
+            reader.readFirstSheet(formatter, row -> {
+                rowBuffer.clear();
+                rowBuffer.addRow(row);
+                renderer.writeRow(rowBuffer, 0, rowIndex[0]++ == 0);
+            });
+            renderer.flush();
+
+            stats.addStageNanos(ConversionStage.RENDER, System.nanoTime() - layoutDone);
+            stats.setOutputBytes(renderer.bytesWritten());
         }
-
-        // Clamp each column’s width to MAX_COLUMN_WIDTH
-        for (int i = 0; i < columnWidths.length; i++) {
-            columnWidths[i] = Math.min(columnWidths[i], MAX_COLUMN_WIDTH);
-        }
-
-        return columnWidths;
     }
 
     /**
-     * Detects which columns should always be right-aligned, based on header names.
+     * Loads the workbook into an {@link XSSFWorkbook} and extracts the first sheet.
      * <p>
-     * Currently, columns whose header is {@code "postal_code"} or {@code "postal code"}
-     * (case-insensitive) are marked as right-aligned.
+     * Opening the workbook cannot be interrupted, so a cancellation is checked right after it and then
+     * on every row, before the extraction allocates any further.
      * </p>
      *
-     * @param rows       all sheet rows, with row {@code 0} assumed to be the header
-     * @param maxColumns the maximum number of columns
-     * @return a boolean array where each index represents whether the column is forced to be right-aligned
+     * @param inputStream the XLSX file content
+     * @param formatter   the {@link DataFormatter} used to format cell values
+     * @param stats       receives the open and extraction timings
+     * @return a {@link SheetContent} containing the rows of the first sheet
+     * @throws IOException if the workbook cannot be read
      */
-    private static boolean[] detectRightAlignedColumns(List<List<String>> rows, int maxColumns) {
-        boolean[] forceRightAlignColumn = new boolean[maxColumns];
+    private static SheetContent readSheetContentWithDom(InputStream inputStream,
+                                                        DataFormatter formatter,
+                                                        ConversionStats stats) throws IOException {
 
-        if (!rows.isEmpty()) {
-            List<String> headerRow = rows.get(0);
-            for (int i = 0; i < maxColumns; i++) {
-                String h = (i < headerRow.size() && headerRow.get(i) != null)
-                        ? headerRow.get(i).trim().toLowerCase()
-                        : "";
-                if ("postal_code".equals(h) || "postal code".equals(h)) {
-                    forceRightAlignColumn[i] = true;
-                }
+        long start = System.nanoTime();
+        try (Workbook workbook = new XSSFWorkbook(inputStream)) {
+            long opened = System.nanoTime();
+            stats.addStageNanos(ConversionStage.WORKBOOK_OPEN, opened - start);
+            if (Thread.currentThread().isInterrupted()) {
+                throw new InterruptedIOException("Conversion was cancelled");
             }
+
+            Sheet sheet = workbook.getSheetAt(0); // first sheet only
+            SheetContent sheetContent = extractSheetContent(sheet, formatter);
+
+            stats.addStageNanos(ConversionStage.SHEET_EXTRACTION, System.nanoTime() - opened);
+            return sheetContent;
         }
+    }
 
-        return forceRightAlignColumn;
+    /**
+     * Streams the first sheet with {@link XlsxStreamingSheetReader}, without building
+     * the workbook object model, and collects its rows.
+     *
+     * @param inputStream the XLSX file content
+     * @param formatter   the {@link DataFormatter} used to format cell values
+     * @param stats       receives the open and extraction timings
+     * @return a {@link SheetContent} containing the rows of the first sheet
+     * @throws Exception if the workbook cannot be opened or parsed
+     */
+    private static SheetContent readSheetContentStreaming(InputStream inputStream,
+                                                          DataFormatter formatter,
+                                                          ConversionStats stats) throws Exception {
+
+        long start = System.nanoTime();
+        try (XlsxStreamingSheetReader reader = XlsxStreamingSheetReader.open(inputStream)) {
+            long opened = System.nanoTime();
+            stats.addStageNanos(ConversionStage.WORKBOOK_OPEN, opened - start);
+
+            SheetContent sheetContent = new SheetContent();
+            reader.readFirstSheet(formatter, sheetContent::addRow);
+
+            stats.addStageNanos(ConversionStage.SHEET_EXTRACTION, System.nanoTime() - opened);
+            return sheetContent;
+        }
     }
 
     /**
-     * Renders the entire sheet content as aligned text.
+     * Reads all rows and cells from the given {@link Sheet} into a compact {@link SheetContent}.
+     * <p>
+     * Each cell is formatted with the provided {@link DataFormatter} and copied straight into
+     * the content's character arena; the max column count and column widths are tracked by
+     * the {@link SheetContent} itself. Cells that {@link #isPlainNumber(Cell)} are flagged as
+     * numeric, so the renderer does not inspect their text.
+     * </p>
      * <p>
-     * Renders the header row (first row), a separator line, then all data rows
-     * using {@link #renderRow(List, int, int[], boolean[], boolean)}.
+     * This raw-type shortcut only applies to {@link ConversionEngine#DOM}. The streaming engines get
+     * formatted strings from POI's event model, without the cell type, so their cells are always
+     * classified from the text by {@link #isNumeric(String)}.
      * </p>
      *
-     * @param rows                 all rows from the sheet
-     * @param maxColumns           max column count across rows
-     * @param columnWidths         calculated width of each column
-     * @param forceRightAlignColumn per-column flags indicating forced right alignment
-     * @return the full text table as a single string
+     * @param sheet     the POI {@link Sheet} to read from
+     * @param formatter the {@link DataFormatter} used to format cell values
+     * @return a {@link SheetContent} containing the rows of the sheet
+     * @throws InterruptedIOException if the thread is interrupted, checked before each row
      */
-    private static String renderAlignedText(List<List<String>> rows,
-                                            int maxColumns,
-                                            int[] columnWidths,
-                                            boolean[] forceRightAlignColumn) {
+    static SheetContent extractSheetContent(Sheet sheet, DataFormatter formatter) throws InterruptedIOException {
+        SheetContent sheetContent = new SheetContent();
 
-        StringBuilder sb = new StringBuilder();
+        // Only trust raw types if the formatter's locale renders plain numbers the way isNumeric expects
+        boolean rawTypeClassification = isNumeric(
+                formatter.formatRawCellContents(NUMERIC_PROBE, PLAIN_DECIMAL_FORMAT, "0.00")
+        );
 
-        for (int rowIndex = 0; rowIndex < rows.size(); rowIndex++) {
-            List<String> row = rows.get(rowIndex);
-            boolean headerRow = (rowIndex == 0);
-
-            // 1) Render the row itself
-            sb.append(renderRow(row, maxColumns, columnWidths, forceRightAlignColumn, headerRow))
-                    .append(System.lineSeparator());
+        for (Row row : sheet) {
+            if (Thread.currentThread().isInterrupted()) {
+                throw new InterruptedIOException("Conversion was cancelled");
+            }
+            short lastCellNum = row.getLastCellNum(); // -1 if empty row
+            int effectiveLastCellNum = Math.max(lastCellNum, (short) 0);
 
-            // 2) After header row, render separator line once
-            if (headerRow && !rows.isEmpty()) {
-                sb.append(renderHeaderSeparator(maxColumns, columnWidths))
-                        .append(System.lineSeparator());
+            sheetContent.startRow();
+            for (int cn = 0; cn < effectiveLastCellNum; cn++) {
+                Cell cell = row.getCell(cn, Row.MissingCellPolicy.RETURN_BLANK_AS_NULL);
+                String value = (cell == null) ? "" : formatter.formatCellValue(cell);
+                sheetContent.addCell(value, rawTypeClassification && cell != null && isPlainNumber(cell));
             }
+            sheetContent.endRow();
         }
 
-        return sb.toString();
+        return sheetContent;
     }
 
     /**
-     * Renders a single row (header or data) into a string, without trailing newline.
+     * Returns whether a cell is known to be formatted as a plain number from its raw type alone:
+     * a {@link CellType#NUMERIC} cell with the built-in {@code General}, {@code 0} or {@code 0.00}
+     * format, whose magnitude is small enough for {@code General} not to switch to scientific notation.
+     * Only used on the {@link ConversionEngine#DOM} path.
      *
-     * @param row                  list of cell values for the row
-     * @param maxColumns           max column count across all rows
-     * @param columnWidths         per-column width constraints
-     * @param forceRightAlignColumn flags for each column indicating forced right alignment
-     * @param headerRow            whether this row is the header row
-     * @return formatted line for the row
+     * @param cell the cell to inspect
+     * @return {@code true} if the formatted value is guaranteed to pass {@link #isNumeric(String)}
      */
-    private static String renderRow(List<String> row,
-                                    int maxColumns,
-                                    int[] columnWidths,
-                                    boolean[] forceRightAlignColumn,
-                                    boolean headerRow) {
+    private static boolean isPlainNumber(Cell cell) {
+        if (cell.getCellType() != CellType.NUMERIC) {
+            return false;
+        }
+        short dataFormat = cell.getCellStyle().getDataFormat();
+        if (dataFormat != GENERAL_FORMAT && dataFormat != PLAIN_INTEGER_FORMAT && dataFormat != PLAIN_DECIMAL_FORMAT) {
+            return false;
+        }
+        double magnitude = Math.abs(cell.getNumericCellValue());
+        return magnitude == 0 || (magnitude >= MIN_PLAIN_MAGNITUDE && magnitude < MAX_PLAIN_MAGNITUDE);
+    }
 
-        StringBuilder line = new StringBuilder();
+    /**
+     * Returns the maximum width per column across all rows, clamped to
+     * {@link #MAX_COLUMN_WIDTH}. The raw widths are cached by {@link SheetContent}
+     * while cells are appended, so no cell is re-scanned here.
+     *
+     * @param sheetContent the sheet content
+     * @return an array of column widths (length = {@code maxColumns})
+     */
+    static int[] computeColumnWidths(SheetContent sheetContent) {
+        int maxColumns = sheetContent.maxColumns();
+        int[] columnWidths = new int[maxColumns];
 
+        // Clamp each column’s width to MAX_COLUMN_WIDTH
         for (int i = 0; i < maxColumns; i++) {
-            String raw = (i < row.size()) ? row.get(i) : "";
-            String safe = raw != null ? raw : "";
-
-            // Truncate to column width
-            String truncated = truncate(safe, columnWidths[i]);
-
-            // Decide alignment & format
-            String formatted = formatCell(truncated, columnWidths[i], headerRow, forceRightAlignColumn[i]);
-
-            line.append(formatted);
-
-            // Add fixed gap between columns (but not after the last one)
-            if (i < maxColumns - 1) {
-                line.append(" ".repeat(PADDING));
-            }
+            columnWidths[i] = Math.min(sheetContent.columnWidth(i), MAX_COLUMN_WIDTH);
         }
 
-        return line.toString();
+        return columnWidths;
     }
 
     /**
-     * Formats a single cell value, including truncation and alignment.
+     * Detects which columns should always be right-aligned, based on header names.
      * <p>
-     * Header cells are always left-aligned. Data cells are right-aligned if
-     * {@code forceRightAlign} is {@code true} or if {@link #isNumeric(String)} returns true.
-     * Otherwise, they are left-aligned.
+     * Currently, columns whose header is {@code "postal_code"} or {@code "postal code"}
+     * (case-insensitive) are marked as right-aligned.
      * </p>
      *
-     * @param value            the cell value (already truncated)
-     * @param columnWidth      the target width of the column
-     * @param headerRow        whether the value belongs to the header row
-     * @param forceRightAlign  whether this column should always be right-aligned
-     * @return the padded cell string
+     * @param sheetContent the sheet content, with row {@code 0} assumed to be the header
+     * @return a boolean array where each index represents whether the column is forced to be right-aligned
      */
-    private static String formatCell(String value,
-                                     int columnWidth,
-                                     boolean headerRow,
-                                     boolean forceRightAlign) {
-
-        if (headerRow) {
-            // Header always left-aligned
-            return padRight(value, columnWidth);
-        }
-
-        boolean alignRight = forceRightAlign || isNumeric(value);
-
-        return alignRight
-                ? padLeft(value, columnWidth)
-                : padRight(value, columnWidth);
+    static boolean[] detectRightAlignedColumns(SheetContent sheetContent) {
+        List<String> headerRow = (sheetContent.rowCount() > 0) ? sheetContent.rowValues(0) : List.of();
+        return detectRightAlignedColumnsFromHeader(headerRow, sheetContent.maxColumns());
     }
 
     /**
-     * Renders the separator line that appears after the header row.
-     * <p>
-     * The separator consists of dashes for each column, with {@link #PADDING}
-     * spaces between columns.
-     * </p>
+     * Detects which columns should always be right-aligned from the header row alone.
      *
-     * @param maxColumns   max column count
-     * @param columnWidths per-column width constraints
-     * @return the formatted separator line as a string (no newline)
+     * @param headerRow  the header row values (may be shorter than {@code maxColumns})
+     * @param maxColumns the maximum number of columns
+     * @return a boolean array where each index represents whether the column is forced to be right-aligned
+     * @see #detectRightAlignedColumns(SheetContent)
      */
-    private static String renderHeaderSeparator(int maxColumns, int[] columnWidths) {
-        StringBuilder sep = new StringBuilder();
+    private static boolean[] detectRightAlignedColumnsFromHeader(List<String> headerRow, int maxColumns) {
+        boolean[] forceRightAlignColumn = new boolean[maxColumns];
 
         for (int i = 0; i < maxColumns; i++) {
-            sep.append("-".repeat(columnWidths[i]));
-            if (i < maxColumns - 1) {
-                sep.append(" ".repeat(PADDING));
+            String h = (i < headerRow.size() && headerRow.get(i) != null)
+                    ? headerRow.get(i).trim().toLowerCase()
+                    : "";
+            if ("postal_code".equals(h) || "postal code".equals(h)) {
+                forceRightAlignColumn[i] = true;
             }
         }
 
-        return sep.toString();
+        return forceRightAlignColumn;
     }
 
     /**
-     * Pads the given string on the right with spaces until it reaches the given width.
+     * Detects numeric-looking values, supporting:
+     * - plain integers              (e.g., "123", "007")
+     * - decimals with dot/comma     (e.g., "3.14", "3,14")
+     * - code-like values with digits, spaces, or hyphens only
+     *   (e.g., "14870-000", "4960-010", "91901")
      *
-     * @param s     input string (may be {@code null})
-     * @param width target width in characters
-     * @return right-padded string
+     * @see #isNumeric(char[], int, int)
      */
-    private static String padRight(String s, int width) {
-        if (s == null) {
-            s = "";
+    static boolean isNumeric(String value) {
+        if (value == null) {
+            return false;
         }
-        int pad = width - s.length();
-        if (pad <= 0) return s;
-        StringBuilder sb = new StringBuilder(width);
-        sb.append(s);
-        for (int i = 0; i < pad; i++) sb.append(' ');
-        return sb.toString();
+        return isNumeric(value.toCharArray(), 0, value.length());
     }
 
     /**
-     * Pads the given string on the left with spaces until it reaches the given width.
+     * Single-pass, allocation-free variant of {@link #isNumeric(String)} working on a range of characters.
+     * <p>
+     * After trimming (like {@link String#trim()}), the value is numeric if it matches either
+     * <ul>
+     *     <li>{@code [-+]?\d+([.,]\d+)?} — an integer or decimal with dot or comma, or</li>
+     *     <li>{@code \d[\d\s-]*} — a code starting with a digit, followed by digits, whitespace or hyphens.</li>
+     * </ul>
+     * Both rules are tracked while scanning the characters once; the scan stops as soon as neither can match.
+     * </p>
      *
-     * @param s     input string (may be {@code null})
-     * @param width target width in characters
-     * @return left-padded string
+     * @param chars  the characters holding the value
+     * @param offset the index of the first character of the value
+     * @param length the number of characters of the value
+     * @return {@code true} if the value looks numeric
      */
-    private static String padLeft(String s, int width) {
-        if (s == null) {
-            s = "";
+    static boolean isNumeric(char[] chars, int offset, int length) {
+        int start = offset;
+        int end = offset + length;
+
+        // Trim like String.trim()
+        while (start < end && chars[start] <= ' ') {
+            start++;
+        }
+        while (end > start && chars[end - 1] <= ' ') {
+            end--;
         }
-        int pad = width - s.length();
-        if (pad <= 0) return s;
-        StringBuilder sb = new StringBuilder(width);
-        for (int i = 0; i < pad; i++) sb.append(' ');
-        sb.append(s);
-        return sb.toString();
+
+        // A sign is only allowed by the decimal rule
+        int i = start;
+        if (i < end && (chars[i] == '-' || chars[i] == '+')) {
+            i++;
+        }
+        if (i == end || !isDigit(chars[i])) {
+            return false;
+        }
+
+        boolean decimal = true;
+        boolean codeLike = (i == start);
+        boolean separatorSeen = false;
+        boolean endsWithSeparator = false;
+
+        for (i++; i < end && (decimal || codeLike); i++) {
+            char c = chars[i];
+            if (isDigit(c)) {
+                endsWithSeparator = false;
+                continue;
+            }
+
+            codeLike &= (c == '-' || isRegexWhitespace(c));
+
+            if ((c == '.' || c == ',') && !separatorSeen) {
+                separatorSeen = true;
+                endsWithSeparator = true;
+            } else {
+                decimal = false;
+            }
+        }
+
+        return (decimal && !endsWithSeparator) || codeLike;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
     }
 
     /**
-     * Truncates a string to a maximum length and appends an ellipsis character
-     * ({@code …}) if truncation occurs.
-     *
-     * @param s   the input string (may be {@code null})
-     * @param max maximum allowed length
-     * @return the original string if shorter than or equal to {@code max},
-     * or a truncated version with ellipsis appended
+     * Matches the regex class {@code \s}: {@code [ \t\n\x0B\f\r]}.
      */
-    private static String truncate(String s, int max) {
-        if (s == null) {
-            return "";
-        }
-        if (max <= 1) {
-            return s.isEmpty() ? "" : s.substring(0, 1);
-        }
-        if (s.length() <= max) return s;
-        return s.substring(0, max - 1) + "…";
+    private static boolean isRegexWhitespace(char c) {
+        return c == ' ' || (c >= '\t' && c <= '\r');
     }
 
     /**
-     * Detects numeric-looking values, supporting:
-     * - plain integers              (e.g., "123", "007")
-     * - decimals with dot/comma     (e.g., "3.14", "3,14")
-     * - code-like values with digits, spaces, or hyphens only
-     *   (e.g., "14870-000", "4960-010", "91901")
+     * First-pass collector for {@link #convertTwoPassStreaming(InputStream, DataFormatter, OutputStream, ConversionStats)}.
+     * Keeps only the header row and per-column maximum widths, so its footprint grows
+     * with the column count and not with the row count.
      */
-    private static boolean isNumeric(String value) {
-        if (value == null) {
-            return false;
+    private static final class ColumnLayout implements SheetRowHandler {
+
+        private List<String> headerRow;
+        private int[] columnWidths = new int[16];
+        private int maxColumns;
+        private int rowCount;
+        private long cellCount;
+
+        @Override
+        public void handleRow(List<String> cells) {
+            if (headerRow == null) {
+                headerRow = cells;
+            }
+
+            int size = cells.size();
+            rowCount++;
+            cellCount += size;
+            if (size > columnWidths.length) {
+                columnWidths = Arrays.copyOf(columnWidths, Math.max(size, columnWidths.length * 2));
+            }
+            maxColumns = Math.max(maxColumns, size);
+
+            for (int i = 0; i < size; i++) {
+                String value = cells.get(i);
+                int len = (value != null) ? value.length() : 0;
+                columnWidths[i] = Math.max(columnWidths[i], len);
+            }
         }
-        String trimmed = value.trim();
-        if (trimmed.isEmpty()) {
-            return false;
+
+        private int maxColumns() {
+            return maxColumns;
         }
 
-        // Normalize comma to dot for decimal check
-        String normalized = trimmed.replace(',', '.');
+        private int rowCount() {
+            return rowCount;
+        }
 
-        // 1) Standard integer / decimal
-        if (normalized.matches("[-+]?\\d+(\\.\\d+)?")) {
-            return true;
+        private long cellCount() {
+            return cellCount;
         }
 
-        // 2) Code-like: starts with digit, then digits / spaces / hyphens only
-        return trimmed.matches("\\d[\\d\\s-]*");
+        private List<String> headerRow() {
+            return headerRow != null ? headerRow : List.of();
+        }
+
+        private int[] clampedColumnWidths() {
+            int[] clamped = new int[maxColumns];
+            for (int i = 0; i < maxColumns; i++) {
+                clamped[i] = Math.min(columnWidths[i], MAX_COLUMN_WIDTH);
+            }
+            return clamped;
+        }
 
     }
 
-}
\ No newline at end of file
+}
@@ -1,10 +1,18 @@
 package com.example.xlsxziptotxtzip.convert.utils;
 
 import lombok.experimental.UtilityClass;
+import org.springframework.web.multipart.MultipartFile;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+import java.util.zip.ZipFile;
 import java.util.zip.ZipInputStream;
 
 /**
@@ -14,6 +22,16 @@ import java.util.zip.ZipInputStream;
 public class ZipXlsxUtil {
 
     private static final int BUFFER_SIZE = 8192;
+    private static final int MAX_ENTRY_SIZE = Integer.MAX_VALUE - 8;
+
+    private static final int END_OF_CENTRAL_DIRECTORY_SIGNATURE = 0x06054b50;
+    private static final int END_OF_CENTRAL_DIRECTORY_SIZE = 22;
+    private static final int MAX_ZIP_COMMENT_SIZE = 0xFFFF;
+    private static final int CENTRAL_DIRECTORY_ENTRY_SIGNATURE = 0x02014b50;
+    private static final int CENTRAL_DIRECTORY_ENTRY_SIZE = 46;
+    private static final int MAX_CENTRAL_DIRECTORY_SIZE = 16 * 1024 * 1024;
+    private static final long ZIP64_MARKER = 0xFFFFFFFFL;
+    private static final int UTF8_NAME_FLAG = 1 << 11;
 
     /**
      * Checks if the given entry is a non-directory XLSX file.
@@ -47,4 +65,141 @@ public class ZipXlsxUtil {
         return baos.toByteArray();
     }
 
+    /**
+     * Reads the entire content of an entry of a {@link ZipFile} into a byte array.
+     * <p>
+     * The array is sized from the uncompressed size recorded in the central directory,
+     * so the content is read without intermediate buffers or copies. Content that does not
+     * match the recorded size is rejected.
+     * </p>
+     *
+     * @param zipFile the open ZIP file
+     * @param entry   an entry of {@code zipFile}
+     * @return the bytes of that entry
+     * @throws IOException if an IO error occurs, or the entry is larger than a byte array can hold
+     */
+    public byte[] readEntryBytes(final ZipFile zipFile, final ZipEntry entry) throws IOException {
+        long size = entry.getSize();
+
+        try (InputStream in = zipFile.getInputStream(entry)) {
+            if (size < 0) {
+                return in.readAllBytes();
+            }
+            if (size > MAX_ENTRY_SIZE) {
+                throw new IOException("ZIP entry too large: " + entry.getName() + " (" + size + " bytes)");
+            }
+
+            byte[] bytes = new byte[(int) size];
+            int read = in.readNBytes(bytes, 0, bytes.length);
+            if (read != bytes.length || in.read() != -1) {
+                throw new ZipException("Size mismatch for ZIP entry: " + entry.getName());
+            }
+            return bytes;
+        }
+    }
+
+    /**
+     * Sums the uncompressed sizes of the XLSX entries of an uploaded ZIP, as recorded in its central directory.
+     * <p>
+     * Only the end of the upload is read, nothing is inflated, so this is cheap enough to run before
+     * a request is admitted. ZIP64 archives, and uploads that are not ZIP archives or whose central
+     * directory is unusually large, are not sized.
+     * </p>
+     *
+     * @param zipFile the uploaded ZIP file
+     * @return the total uncompressed size of the XLSX entries, in bytes, or {@code -1} if it cannot be determined
+     * @throws IOException if the upload cannot be read
+     */
+    public long sumXlsxEntrySizes(final MultipartFile zipFile) throws IOException {
+        long size = zipFile.getSize();
+        int tailLength = (int) Math.min(size, END_OF_CENTRAL_DIRECTORY_SIZE + MAX_ZIP_COMMENT_SIZE);
+        long tailStart = size - tailLength;
+
+        ByteBuffer tail;
+        try (InputStream in = zipFile.getInputStream()) {
+            in.skipNBytes(tailStart);
+            tail = ByteBuffer.wrap(in.readNBytes(tailLength)).order(ByteOrder.LITTLE_ENDIAN);
+        }
+
+        int end = tail.limit() - END_OF_CENTRAL_DIRECTORY_SIZE;
+        while (end >= 0 && tail.getInt(end) != END_OF_CENTRAL_DIRECTORY_SIGNATURE) {
+            end--;
+        }
+        if (end < 0) {
+            return -1;
+        }
+
+        long directorySize = Integer.toUnsignedLong(tail.getInt(end + 12));
+        long directoryOffset = Integer.toUnsignedLong(tail.getInt(end + 16));
+        if (directorySize == ZIP64_MARKER || directoryOffset == ZIP64_MARKER
+                || directorySize > MAX_CENTRAL_DIRECTORY_SIZE || directoryOffset + directorySize > size) {
+            return -1;
+        }
+
+        ByteBuffer directory;
+        if (directoryOffset >= tailStart) {
+            // Usual case for uploads of a few workbooks: the central directory was read with the tail
+            directory = tail.slice((int) (directoryOffset - tailStart), (int) directorySize).order(ByteOrder.LITTLE_ENDIAN);
+        } else {
+            try (InputStream in = zipFile.getInputStream()) {
+                in.skipNBytes(directoryOffset);
+                directory = ByteBuffer.wrap(in.readNBytes((int) directorySize)).order(ByteOrder.LITTLE_ENDIAN);
+            }
+        }
+
+        return sumXlsxEntrySizes(directory);
+    }
+
+    /**
+     * Sums the uncompressed sizes of the XLSX entries of an open ZIP file, as recorded in its central directory.
+     *
+     * @param zipFile the open ZIP file
+     * @return the total uncompressed size of the XLSX entries, in bytes, or {@code -1} if an entry has no recorded size
+     */
+    public long sumXlsxEntrySizes(final ZipFile zipFile) {
+        long total = 0;
+        for (ZipEntry entry : zipFile.stream().filter(ZipXlsxUtil::isXlsxFile).toList()) {
+            if (entry.getSize() < 0) {
+                return -1;
+            }
+            total += entry.getSize();
+        }
+        return total;
+    }
+
+    private long sumXlsxEntrySizes(final ByteBuffer directory) {
+        long total = 0;
+        int position = 0;
+
+        while (position + CENTRAL_DIRECTORY_ENTRY_SIZE <= directory.limit()) {
+            if (directory.getInt(position) != CENTRAL_DIRECTORY_ENTRY_SIGNATURE) {
+                return -1;
+            }
+
+            int flags = Short.toUnsignedInt(directory.getShort(position + 8));
+            long uncompressedSize = Integer.toUnsignedLong(directory.getInt(position + 24));
+            int nameLength = Short.toUnsignedInt(directory.getShort(position + 28));
+            int extraLength = Short.toUnsignedInt(directory.getShort(position + 30));
+            int commentLength = Short.toUnsignedInt(directory.getShort(position + 32));
+            if (position + CENTRAL_DIRECTORY_ENTRY_SIZE + nameLength > directory.limit()) {
+                return -1;
+            }
+
+            byte[] name = new byte[nameLength];
+            directory.get(position + CENTRAL_DIRECTORY_ENTRY_SIZE, name);
+            Charset charset = (flags & UTF8_NAME_FLAG) != 0 ? StandardCharsets.UTF_8 : StandardCharsets.ISO_8859_1;
+
+            if (isXlsxFile(new ZipEntry(new String(name, charset)))) {
+                if (uncompressedSize == ZIP64_MARKER) {
+                    return -1;
+                }
+                total += uncompressedSize;
+            }
+
+            position += CENTRAL_DIRECTORY_ENTRY_SIZE + nameLength + extraLength + commentLength;
+        }
+
+        return total;
+    }
+
 }
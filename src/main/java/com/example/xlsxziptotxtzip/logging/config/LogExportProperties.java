@@ -0,0 +1,24 @@
+package com.example.xlsxziptotxtzip.logging.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration properties for the log export,
+ * bound from the {@code log-export.*} namespace.
+ */
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "log-export")
+public class LogExportProperties {
+
+    /**
+     * Number of rows fetched from the database cursor at a time. Logs are also written and
+     * their payloads loaded in chunks of this size.
+     */
+    private int fetchSize = 500;
+
+}
@@ -0,0 +1,28 @@
+package com.example.xlsxziptotxtzip.logging.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration properties for the deduplicated log payload storage,
+ * bound from the {@code log-payload.*} namespace.
+ */
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "log-payload")
+public class LogPayloadProperties {
+
+    /**
+     * Payloads of at least this many UTF-8 bytes are stored GZIP-compressed, if that makes them smaller.
+     */
+    private int compressionThreshold = 1024;
+
+    /**
+     * Max number of payload hashes remembered as already stored today; their writes are skipped.
+     */
+    private int recentCacheSize = 10_000;
+
+}
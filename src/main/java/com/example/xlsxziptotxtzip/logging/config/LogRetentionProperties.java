@@ -0,0 +1,45 @@
+package com.example.xlsxziptotxtzip.logging.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the log retention purge,
+ * bound from the {@code log-retention.*} namespace.
+ */
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "log-retention")
+public class LogRetentionProperties {
+
+    /**
+     * Whether logs older than {@link #retention} are deleted periodically.
+     */
+    private boolean enabled = false;
+
+    /**
+     * How long logs are kept, based on their {@code time}.
+     */
+    private Duration retention = Duration.ofDays(30);
+
+    /**
+     * Max number of logs deleted by one statement. Each batch is its own short transaction.
+     */
+    private int batchSize = 1000;
+
+    /**
+     * Pause between two batches, leaving room for concurrent inserts.
+     */
+    private Duration batchPause = Duration.ofMillis(50);
+
+    /**
+     * When the purge runs, as a Spring cron expression. Read by {@code @Scheduled}.
+     */
+    private String cron = "0 0 3 * * *";
+
+}
@@ -0,0 +1,58 @@
+package com.example.xlsxziptotxtzip.logging.config;
+
+import com.example.xlsxziptotxtzip.logging.model.enums.LogOverflowPolicy;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the asynchronous log writer,
+ * bound from the {@code log-writer.*} namespace.
+ */
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "log-writer")
+public class LogWriterProperties {
+
+    /**
+     * Whether logs are queued and written in batches by a background thread.
+     * When disabled, every log is saved synchronously by the calling request.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Max number of queued logs; rounded up to a power of two.
+     */
+    private int capacity = 8192;
+
+    /**
+     * Max number of logs inserted in one batch. Should match {@code hibernate.jdbc.batch_size}.
+     */
+    private int batchSize = 100;
+
+    /**
+     * Max time a log waits in the queue before a partial batch is written.
+     */
+    private Duration flushInterval = Duration.ofMillis(200);
+
+    /**
+     * What to do with a new log when the queue cannot take it.
+     */
+    private LogOverflowPolicy overflowPolicy = LogOverflowPolicy.DROP;
+
+    /**
+     * With {@link LogOverflowPolicy#SAMPLE}, one of every {@code sampleRate} successful logs is kept
+     * once the queue is more than half full.
+     */
+    private int sampleRate = 10;
+
+    /**
+     * With {@link LogOverflowPolicy#BLOCK}, how long a request waits for free space.
+     */
+    private Duration blockTimeout = Duration.ofMillis(100);
+
+}
@@ -1,21 +1,36 @@
 package com.example.xlsxziptotxtzip.logging.controller;
 
+import com.example.xlsxziptotxtzip.common.model.CustomCursorPage;
 import com.example.xlsxziptotxtzip.common.model.CustomPage;
+import com.example.xlsxziptotxtzip.common.model.dto.request.CustomCursorPagingRequest;
 import com.example.xlsxziptotxtzip.common.model.dto.request.CustomPagingRequest;
+import com.example.xlsxziptotxtzip.common.model.dto.response.CustomCursorPagingResponse;
 import com.example.xlsxziptotxtzip.common.model.dto.response.CustomPagingResponse;
 import com.example.xlsxziptotxtzip.common.model.dto.response.CustomResponse;
+import com.example.xlsxziptotxtzip.logging.model.LogDetailDto;
 import com.example.xlsxziptotxtzip.logging.model.LogDto;
+import com.example.xlsxziptotxtzip.logging.model.dto.request.LogExportRequest;
+import com.example.xlsxziptotxtzip.logging.model.dto.request.LogSearchRequest;
+import com.example.xlsxziptotxtzip.logging.model.dto.response.LogDetailResponse;
 import com.example.xlsxziptotxtzip.logging.model.dto.response.LogResponse;
+import com.example.xlsxziptotxtzip.logging.model.enums.LogExportFormat;
 import com.example.xlsxziptotxtzip.logging.model.mapper.CustomPageLogResponseToCustomPagingMapper;
+import com.example.xlsxziptotxtzip.logging.model.mapper.LogDetailDtoToLogDetailResponseMapper;
 import com.example.xlsxziptotxtzip.logging.service.LogService;
 import io.swagger.v3.oas.annotations.Operation;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 /**
  * REST controller exposing endpoints for querying application logs.
@@ -33,6 +48,17 @@ import org.springframework.web.bind.annotation.RestController;
  *     <li>Wraps the result in a {@link CustomResponse} and returns it as a {@link ResponseEntity}.</li>
  * </ol>
  * </p>
+ * <p>
+ * For large log tables, {@link #listLogsByCursor(CustomCursorPagingRequest)} pages with a cursor
+ * instead of an offset, so deep pages cost the same as the first one, and
+ * {@link #searchLogs(LogSearchRequest)} narrows the logs down by status, error type, endpoint,
+ * operation and time range.
+ * </p>
+ * <p>
+ * Listings return {@link LogResponse} summaries without the message and response payloads;
+ * {@link #getLog(String)} returns the payloads of a single log, and
+ * {@link #exportLogs(LogExportRequest)} streams all matching logs with their payloads as NDJSON or CSV.
+ * </p>
  */
 @RestController
 @RequestMapping("/api/logs")
@@ -44,6 +70,9 @@ public class LogController {
     private final CustomPageLogResponseToCustomPagingMapper logPageMapper =
             CustomPageLogResponseToCustomPagingMapper.initialize();
 
+    private final LogDetailDtoToLogDetailResponseMapper logDetailMapper =
+            LogDetailDtoToLogDetailResponseMapper.initialize();
+
     /**
      * Lists logs using pagination (and optional sorting) defined by the provided
      * {@link CustomPagingRequest}.
@@ -71,4 +100,103 @@ public class LogController {
 
     }
 
+    /**
+     * Lists logs, newest first, using keyset pagination.
+     * <p>
+     * The first page is requested without a cursor; each response carries the {@code nextCursor}
+     * to send for the following page, and {@code hasNext=false} on the last one.
+     * No total is computed unless {@code countMode} is {@code EXACT} or {@code ESTIMATE}.
+     * </p>
+     *
+     * @param cursorPagingRequest the page size, optional cursor and count mode
+     * @return a {@link ResponseEntity} wrapping a {@link CustomResponse} that contains a
+     * {@link CustomCursorPagingResponse} of {@link LogResponse} items
+     */
+    @PostMapping("/list/cursor")
+    @Operation(summary = "List logs with keyset (cursor) pagination")
+    public ResponseEntity<CustomResponse<CustomCursorPagingResponse<LogResponse>>> listLogsByCursor(
+            @Valid @RequestBody CustomCursorPagingRequest cursorPagingRequest
+    ) {
+
+        CustomCursorPage<LogDto> cursorPage = logService.listLogsByCursor(cursorPagingRequest);
+
+        CustomCursorPagingResponse<LogResponse> pagingResponse = logPageMapper.toCursorPagingResponse(cursorPage);
+
+        return ResponseEntity.ok(CustomResponse.successOf(pagingResponse));
+
+    }
+
+    /**
+     * Lists logs matching the given filter, using pagination (and optional sorting).
+     * <p>
+     * All filter criteria are optional and combined with AND; without sorting, the newest logs come first.
+     * </p>
+     *
+     * @param searchRequest the filter (status, error type, endpoint, operation, time range)
+     *                      and the paging and sorting parameters
+     * @return a {@link ResponseEntity} wrapping a {@link CustomResponse} that contains a
+     * {@link CustomPagingResponse} of the matching {@link LogResponse} items
+     */
+    @PostMapping("/search")
+    @Operation(summary = "Search logs by status, error type, endpoint, operation and time range")
+    public ResponseEntity<CustomResponse<CustomPagingResponse<LogResponse>>> searchLogs(
+            @Valid @RequestBody LogSearchRequest searchRequest
+    ) {
+
+        CustomPage<LogDto> customPage = logService.searchLogs(searchRequest);
+
+        CustomPagingResponse<LogResponse> pagingResponse = logPageMapper.toPagingResponse(customPage);
+
+        return ResponseEntity.ok(CustomResponse.successOf(pagingResponse));
+
+    }
+
+    /**
+     * Returns a single log, including its message and response payloads.
+     *
+     * @param id the log id, as returned by the listings
+     * @return a {@link ResponseEntity} wrapping a {@link CustomResponse} that contains the {@link LogDetailResponse}
+     */
+    @GetMapping("/{id}")
+    @Operation(summary = "Get a log with its message and response")
+    public ResponseEntity<CustomResponse<LogDetailResponse>> getLog(@PathVariable String id) {
+
+        LogDetailDto logDetail = logService.getLogDetail(id);
+
+        return ResponseEntity.ok(CustomResponse.successOf(logDetailMapper.map(logDetail)));
+
+    }
+
+    /**
+     * Exports all logs matching the given filter, oldest first, as NDJSON or CSV.
+     * <p>
+     * The response is streamed while the logs are read from the database, so exports of any size
+     * use the same amount of memory and the client receives the first rows right away. A failure after
+     * the first rows can no longer change the status and aborts the response.
+     * </p>
+     *
+     * @param exportRequest the format and the optional filter (status, error type, endpoint, operation, time range)
+     * @return a {@link ResponseEntity} with a {@link StreamingResponseBody} writing the logs as an attachment
+     */
+    @PostMapping("/export")
+    @Operation(
+            summary = "Export logs as NDJSON or CSV",
+            description = "Streams all logs matching the filter, oldest first, including their message and response."
+    )
+    public ResponseEntity<StreamingResponseBody> exportLogs(@Valid @RequestBody LogExportRequest exportRequest) {
+
+        LogExportFormat format = exportRequest.getFormat();
+
+        StreamingResponseBody body = outputStream -> logService.exportLogs(exportRequest, outputStream);
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.getMediaType()))
+                .header(
+                        HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename("logs." + format.getFileExtension()).build().toString()
+                )
+                .body(body);
+
+    }
+
 }
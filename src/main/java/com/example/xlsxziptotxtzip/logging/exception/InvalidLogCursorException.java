@@ -0,0 +1,28 @@
+package com.example.xlsxziptotxtzip.logging.exception;
+
+import com.example.xlsxziptotxtzip.common.exception.ApiException;
+import com.example.xlsxziptotxtzip.common.exception.error.CustomError;
+import org.springframework.http.HttpStatus;
+
+/**
+ * Exception thrown when a log listing cursor cannot be decoded
+ */
+public class InvalidLogCursorException extends ApiException {
+
+    public static final HttpStatus STATUS = HttpStatus.BAD_REQUEST;
+    public static final CustomError.Header HEADER = CustomError.Header.VALIDATION_ERROR;
+
+    public InvalidLogCursorException(String message) {
+        super(message);
+    }
+
+    @Override
+    public HttpStatus getStatus() {
+        return STATUS;
+    }
+
+    @Override
+    public CustomError.Header getHeader() {
+        return HEADER;
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.xlsxziptotxtzip.logging.exception;
+
+import com.example.xlsxziptotxtzip.common.exception.ApiException;
+import com.example.xlsxziptotxtzip.common.exception.error.CustomError;
+import org.springframework.http.HttpStatus;
+
+/**
+ * Exception thrown when no log exists with the requested id
+ */
+public class LogNotFoundException extends ApiException {
+
+    public static final HttpStatus STATUS = HttpStatus.NOT_FOUND;
+    public static final CustomError.Header HEADER = CustomError.Header.API_ERROR;
+
+    public LogNotFoundException(String id) {
+        super("Log not found: " + id);
+    }
+
+    @Override
+    public HttpStatus getStatus() {
+        return STATUS;
+    }
+
+    @Override
+    public CustomError.Header getHeader() {
+        return HEADER;
+    }
+}
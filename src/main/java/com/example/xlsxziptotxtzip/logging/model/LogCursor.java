@@ -0,0 +1,69 @@
+package com.example.xlsxziptotxtzip.logging.model;
+
+import com.example.xlsxziptotxtzip.logging.exception.InvalidLogCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Position of a log in the keyset ordering {@code (time DESC, id DESC)}.
+ * <p>
+ * The cursor is exchanged with clients as an opaque URL-safe Base64 token, so its format can change
+ * without affecting them. The id breaks ties between logs written at the same time, so every
+ * log has a unique position and no log is skipped or repeated between pages.
+ * </p>
+ *
+ * @param time the time of the last log on the previous page
+ * @param id   the id of the last log on the previous page
+ */
+public record LogCursor(LocalDateTime time, UUID id) {
+
+    private static final char SEPARATOR = '|';
+
+    /**
+     * Returns the cursor pointing at the given log.
+     *
+     * @param logSummary the last log of a page
+     * @return the cursor of the log
+     */
+    public static LogCursor of(final LogSummary logSummary) {
+        return new LogCursor(logSummary.time(), logSummary.id());
+    }
+
+    /**
+     * Encodes this cursor into the opaque token returned to clients.
+     *
+     * @return the URL-safe Base64 token
+     */
+    public String encode() {
+        String raw = time.toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a token created by {@link #encode()}.
+     *
+     * @param token the token sent by the client
+     * @return the decoded cursor
+     * @throws InvalidLogCursorException if the token is not a valid cursor
+     */
+    public static LogCursor decode(final String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separatorIndex = raw.indexOf(SEPARATOR);
+            if (separatorIndex <= 0 || separatorIndex == raw.length() - 1) {
+                throw new InvalidLogCursorException("Invalid cursor: " + token);
+            }
+            return new LogCursor(
+                    LocalDateTime.parse(raw.substring(0, separatorIndex)),
+                    UUID.fromString(raw.substring(separatorIndex + 1))
+            );
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new InvalidLogCursorException("Invalid cursor: " + token);
+        }
+    }
+
+}
@@ -0,0 +1,34 @@
+package com.example.xlsxziptotxtzip.logging.model;
+
+import lombok.Builder;
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Full DTO view of {@link com.example.xlsxziptotxtzip.logging.model.entity.LogEntity}, including its payloads.
+ */
+@Getter
+@Builder
+public class LogDetailDto {
+
+    private String id;
+
+    private String message;
+
+    private String endpoint;
+
+    private String method;
+
+    private HttpStatus status;
+
+    private String errorType;
+
+    private String response;
+
+    private String operation;
+
+    private LocalDateTime time;
+
+}
@@ -7,7 +7,8 @@ import org.springframework.http.HttpStatus;
 import java.time.LocalDateTime;
 
 /**
- * Lightweight DTO view of {@link com.example.xlsxziptotxtzip.logging.model.entity.LogEntity}.
+ * Lightweight DTO view of {@link com.example.xlsxziptotxtzip.logging.model.entity.LogEntity} used by the listings,
+ * without the message and response payloads (see {@link LogDetailDto}).
  */
 @Getter
 @Builder
@@ -15,8 +16,6 @@ public class LogDto {
 
     private String id;
 
-    private String message;
-
     private String endpoint;
 
     private String method;
@@ -0,0 +1,16 @@
+package com.example.xlsxziptotxtzip.logging.model;
+
+import com.example.xlsxziptotxtzip.logging.model.entity.LogPayloadEntity;
+
+import java.util.UUID;
+
+/**
+ * Read-only projection of a {@link LogPayloadEntity}.
+ * Loaded with a constructor expression, so payloads are never added to the persistence context.
+ *
+ * @param hash       the payload hash
+ * @param content    the stored content
+ * @param compressed whether {@code content} is GZIP-compressed
+ */
+public record LogPayload(UUID hash, byte[] content, boolean compressed) {
+}
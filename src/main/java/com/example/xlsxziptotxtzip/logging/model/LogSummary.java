@@ -0,0 +1,31 @@
+package com.example.xlsxziptotxtzip.logging.model;
+
+import org.springframework.http.HttpStatus;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Projection of {@link com.example.xlsxziptotxtzip.logging.model.entity.LogEntity} used by the log listings.
+ * <p>
+ * It leaves out the {@code message} and {@code response} TEXT columns, so listing queries only read
+ * the short columns of each row. The payloads are loaded one log at a time through the detail endpoint.
+ * </p>
+ *
+ * @param id        the log id
+ * @param time      when the log was written
+ * @param endpoint  the request URI
+ * @param method    the HTTP method
+ * @param status    the response status
+ * @param errorType the exception class name, for failed requests
+ * @param operation the controller method that handled the request
+ */
+public record LogSummary(UUID id,
+                         LocalDateTime time,
+                         String endpoint,
+                         String method,
+                         HttpStatus status,
+                         String errorType,
+                         String operation) {
+
+}
@@ -0,0 +1,28 @@
+package com.example.xlsxziptotxtzip.logging.model.dto.request;
+
+import com.example.xlsxziptotxtzip.logging.model.enums.LogExportFormat;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Request for exporting all logs matching an optional {@link LogFilter}, oldest first.
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LogExportRequest {
+
+    @NotNull
+    private LogExportFormat format;
+
+    @Valid
+    private LogFilter filter; // Optional
+
+}
@@ -0,0 +1,50 @@
+package com.example.xlsxziptotxtzip.logging.model.dto.request;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.validation.constraints.AssertTrue;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import lombok.Setter;
+import org.springframework.http.HttpStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Filter criteria for searching logs. Every criterion is optional; the given ones are combined with AND.
+ * <p>
+ * Text criteria match exactly. The time range is inclusive on {@code from} and exclusive on {@code to}.
+ * </p>
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LogFilter {
+
+    private HttpStatus status;
+
+    private String errorType;
+
+    private String endpoint;
+
+    private String operation;
+
+    private LocalDateTime from;
+
+    private LocalDateTime to;
+
+    /**
+     * Checks that the time range is not reversed.
+     *
+     * @return {@code true} if either bound is missing or {@code from} is not after {@code to}
+     */
+    @JsonIgnore
+    @AssertTrue(message = "Time range start must not be after its end")
+    public boolean isTimeRangeValid() {
+        return from == null || to == null || !from.isAfter(to);
+    }
+
+}
@@ -0,0 +1,23 @@
+package com.example.xlsxziptotxtzip.logging.model.dto.request;
+
+import com.example.xlsxziptotxtzip.common.model.dto.request.CustomPagingRequest;
+import jakarta.validation.Valid;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.SuperBuilder;
+
+/**
+ * Paging request for logs, narrowed down by an optional {@link LogFilter}.
+ * Results are sorted by {@code time} descending unless another sorting is given.
+ */
+@Getter
+@Setter
+@SuperBuilder
+@NoArgsConstructor
+public class LogSearchRequest extends CustomPagingRequest {
+
+    @Valid
+    private LogFilter filter; // Optional
+
+}
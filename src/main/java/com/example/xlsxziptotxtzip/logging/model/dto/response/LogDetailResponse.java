@@ -0,0 +1,34 @@
+package com.example.xlsxziptotxtzip.logging.model.dto.response;
+
+import lombok.Builder;
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * API response DTO for a single log entry, including its message and response payloads.
+ */
+@Getter
+@Builder
+public class LogDetailResponse {
+
+    private String id;
+
+    private String message;
+
+    private String endpoint;
+
+    private String method;
+
+    private HttpStatus status;
+
+    private String errorType;
+
+    private String response;
+
+    private String operation;
+
+    private LocalDateTime time;
+
+}
@@ -7,7 +7,7 @@ import org.springframework.http.HttpStatus;
 import java.time.LocalDateTime;
 
 /**
- * API response DTO for log entries.
+ * API response DTO for log entries in listings. The payloads are returned by {@link LogDetailResponse}.
  */
 @Getter
 @Builder
@@ -15,8 +15,6 @@ public class LogResponse {
 
     private String id;
 
-    private String message;
-
     private String endpoint;
 
     private String method;
@@ -1,17 +1,36 @@
 package com.example.xlsxziptotxtzip.logging.model.entity;
 
 import com.example.xlsxziptotxtzip.common.model.entity.BaseEntity;
+import com.example.xlsxziptotxtzip.common.model.entity.UuidV7;
 import jakarta.persistence.*;
 import lombok.*;
 import lombok.experimental.SuperBuilder;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 import org.springframework.http.HttpStatus;
 
 import java.time.LocalDateTime;
+import java.util.UUID;
 
 /**
  * Entity representing a log record in the system.
  * Logs are typically captured by AOP for auditing requests, responses, exceptions,
  * and user operations across the application.
+ * <p>
+ * The {@code (time, ID)} index backs the keyset pagination of the log listing, and one
+ * {@code (column, time)} index per search criterion backs the filtered search.
+ * </p>
+ * <p>
+ * Ids are time-ordered UUIDv7 values stored as {@code BINARY(16)}, so inserts append to the end of
+ * the clustered primary key and secondary indexes carry a 16-byte key. Tables created with the former
+ * {@code VARCHAR} UUID ids are converted by {@code db/migration/logs-uuidv7-ids.sql}.
+ * </p>
+ * <p>
+ * The message and response payloads are not stored in the row: they are kept once per distinct content
+ * in {@link LogPayloadEntity}, and the row only holds their hashes. {@code message} and {@code response}
+ * are transient and filled by {@link com.example.xlsxziptotxtzip.logging.service.LogPayloadStore}.
+ * Tables with the former {@code TEXT} columns are converted by {@code db/migration/logs-payload-dedup.sql}.
+ * </p>
  */
 @Entity
 @Getter
@@ -20,17 +39,28 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @EqualsAndHashCode(callSuper = true)
-@Table(name = "logs")
+@Table(name = "logs", indexes = {
+        @Index(name = "idx_logs_time_id", columnList = "time, ID"),
+        @Index(name = "idx_logs_status_time", columnList = "status, time"),
+        @Index(name = "idx_logs_error_type_time", columnList = "error_type, time"),
+        @Index(name = "idx_logs_endpoint_time", columnList = "endpoint, time"),
+        @Index(name = "idx_logs_operation_time", columnList = "operation, time")
+})
 public class LogEntity extends BaseEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
-    @Column(name = "ID")
-    private String id;
+    @UuidV7
+    @JdbcTypeCode(SqlTypes.BINARY)
+    @Column(name = "ID", length = 16)
+    private UUID id;
 
-    @Column(columnDefinition = "TEXT")
+    @Transient
     private String message;
 
+    @JdbcTypeCode(SqlTypes.BINARY)
+    @Column(name = "message_hash", length = 16)
+    private UUID messageHash;
+
     private String endpoint;
 
     private String method;
@@ -38,11 +68,16 @@ public class LogEntity extends BaseEntity {
     @Enumerated(EnumType.STRING)
     private HttpStatus status;
 
+    @Column(name = "error_type")
     private String errorType;
 
-    @Column(columnDefinition = "TEXT")
+    @Transient
     private String response;
 
+    @JdbcTypeCode(SqlTypes.BINARY)
+    @Column(name = "response_hash", length = 16)
+    private UUID responseHash;
+
     private String operation;
 
     private LocalDateTime time;
@@ -0,0 +1,50 @@
+package com.example.xlsxziptotxtzip.logging.model.entity;
+
+import com.example.xlsxziptotxtzip.common.model.entity.BaseEntity;
+import jakarta.persistence.*;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Entity representing a log payload (request message or response body), stored once per distinct content.
+ * <p>
+ * The key is the first 128 bits of the SHA-256 of the UTF-8 content, stored as {@code BINARY(16)} like
+ * the log ids. {@link LogEntity} rows only keep these keys, so identical messages and responses share
+ * a single row. Large payloads are stored GZIP-compressed.
+ * </p>
+ * <p>
+ * {@code last_used_on} is refreshed (at most once a day) whenever a log references the payload,
+ * so the retention purge can drop payloads no longer referenced by any kept log.
+ * </p>
+ */
+@Entity
+@Getter
+@Setter
+@SuperBuilder
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(callSuper = true)
+@Table(name = "log_payloads", indexes = {
+        @Index(name = "idx_log_payloads_last_used_on", columnList = "last_used_on")
+})
+public class LogPayloadEntity extends BaseEntity {
+
+    @Id
+    @JdbcTypeCode(SqlTypes.BINARY)
+    @Column(name = "HASH", length = 16)
+    private UUID hash;
+
+    @Column(columnDefinition = "MEDIUMBLOB")
+    private byte[] content;
+
+    private boolean compressed;
+
+    @Column(name = "last_used_on")
+    private LocalDate lastUsedOn;
+
+}
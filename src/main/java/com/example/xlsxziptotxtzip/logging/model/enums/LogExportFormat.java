@@ -0,0 +1,27 @@
+package com.example.xlsxziptotxtzip.logging.model.enums;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Output formats of the log export.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum LogExportFormat {
+
+    /**
+     * One JSON object per line ({@code application/x-ndjson}).
+     */
+    NDJSON("application/x-ndjson", "ndjson"),
+
+    /**
+     * Comma-separated values with a header row ({@code text/csv}), quoted as described in RFC 4180.
+     */
+    CSV("text/csv", "csv");
+
+    private final String mediaType;
+
+    private final String fileExtension;
+
+}
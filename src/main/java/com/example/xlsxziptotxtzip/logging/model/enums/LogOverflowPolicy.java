@@ -0,0 +1,24 @@
+package com.example.xlsxziptotxtzip.logging.model.enums;
+
+/**
+ * What the asynchronous log writer does with a new record when its queue cannot take it.
+ */
+public enum LogOverflowPolicy {
+
+    /**
+     * Drops the new record when the queue is full; the request never waits.
+     */
+    DROP,
+
+    /**
+     * Once the queue is more than half full, keeps only one of every {@code sample-rate} successful
+     * records, while error records are still queued; drops records when the queue is full.
+     */
+    SAMPLE,
+
+    /**
+     * Waits up to {@code block-timeout} for free space and drops the record if none frees up.
+     */
+    BLOCK
+
+}
@@ -1,6 +1,8 @@
 package com.example.xlsxziptotxtzip.logging.model.mapper;
 
+import com.example.xlsxziptotxtzip.common.model.CustomCursorPage;
 import com.example.xlsxziptotxtzip.common.model.CustomPage;
+import com.example.xlsxziptotxtzip.common.model.dto.response.CustomCursorPagingResponse;
 import com.example.xlsxziptotxtzip.common.model.dto.response.CustomPagingResponse;
 import com.example.xlsxziptotxtzip.logging.model.LogDto;
 import com.example.xlsxziptotxtzip.logging.model.dto.response.LogResponse;
@@ -47,6 +49,29 @@ public interface CustomPageLogResponseToCustomPagingMapper {
                 .build();
     }
 
+    /**
+     * Converts a {@link CustomCursorPage} of {@link LogDto} into a
+     * {@link CustomCursorPagingResponse} of {@link LogResponse}.
+     *
+     * @param page the cursor page of {@link LogDto} to transform; may be {@code null}
+     * @return a {@link CustomCursorPagingResponse} of {@link LogResponse}, or {@code null}
+     *         if {@code page} is {@code null}
+     */
+    default CustomCursorPagingResponse<LogResponse> toCursorPagingResponse(CustomCursorPage<LogDto> page) {
+        if (page == null) {
+            return null;
+        }
+
+        return CustomCursorPagingResponse.<LogResponse>builder()
+                .content(toResponseList(page.getContent()))
+                .pageSize(page.getPageSize())
+                .nextCursor(page.getNextCursor())
+                .hasNext(page.getHasNext())
+                .totalElementCount(page.getTotalElementCount())
+                .countMode(page.getCountMode())
+                .build();
+    }
+
     /**
      * Maps a list of {@link LogDto} objects to a list of {@link LogResponse} objects
      * using {@link LogDtoToLogResponseMapper}.
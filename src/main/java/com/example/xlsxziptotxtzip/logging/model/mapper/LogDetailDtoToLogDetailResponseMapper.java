@@ -0,0 +1,24 @@
+package com.example.xlsxziptotxtzip.logging.model.mapper;
+
+import com.example.xlsxziptotxtzip.common.model.mapper.BaseMapper;
+import com.example.xlsxziptotxtzip.logging.model.LogDetailDto;
+import com.example.xlsxziptotxtzip.logging.model.dto.response.LogDetailResponse;
+import org.mapstruct.Mapper;
+import org.mapstruct.factory.Mappers;
+
+/**
+ * Mapper for converting {@link LogDetailDto} to {@link LogDetailResponse}.
+ */
+@Mapper
+public interface LogDetailDtoToLogDetailResponseMapper extends BaseMapper<LogDetailDto, LogDetailResponse> {
+
+    /**
+     * Get singleton instance of the mapper.
+     *
+     * @return mapper instance
+     */
+    static LogDetailDtoToLogDetailResponseMapper initialize() {
+        return Mappers.getMapper(LogDetailDtoToLogDetailResponseMapper.class);
+    }
+
+}
@@ -0,0 +1,24 @@
+package com.example.xlsxziptotxtzip.logging.model.mapper;
+
+import com.example.xlsxziptotxtzip.common.model.mapper.BaseMapper;
+import com.example.xlsxziptotxtzip.logging.model.LogDto;
+import com.example.xlsxziptotxtzip.logging.model.LogSummary;
+import org.mapstruct.Mapper;
+import org.mapstruct.factory.Mappers;
+
+/**
+ * Mapper for converting {@link LogSummary} to {@link LogDto}.
+ */
+@Mapper
+public interface LogSummaryToLogDtoMapper extends BaseMapper<LogSummary, LogDto> {
+
+    /**
+     * Get singleton instance of the mapper.
+     *
+     * @return mapper instance
+     */
+    static LogSummaryToLogDtoMapper initialize() {
+        return Mappers.getMapper(LogSummaryToLogDtoMapper.class);
+    }
+
+}
@@ -0,0 +1,29 @@
+package com.example.xlsxziptotxtzip.logging.repository;
+
+import com.example.xlsxziptotxtzip.logging.model.entity.LogEntity;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.stream.Stream;
+
+/**
+ * Custom repository fragment streaming {@link LogEntity} records for the export.
+ */
+public interface LogExportRepository {
+
+    /**
+     * Streams all logs matching the given specification through a forward-only database cursor.
+     * <p>
+     * Rows are fetched {@code fetchSize} at a time and every log is detached as soon as it is read,
+     * so memory does not grow with the number of rows. Must be called in a transaction, and the
+     * stream must be closed.
+     * </p>
+     *
+     * @param specification the criteria; may be {@code null} to stream all logs
+     * @param sort          the ordering
+     * @param fetchSize     the number of rows fetched at a time
+     * @return the matching logs, detached
+     */
+    Stream<LogEntity> streamAll(Specification<LogEntity> specification, Sort sort, int fetchSize);
+
+}
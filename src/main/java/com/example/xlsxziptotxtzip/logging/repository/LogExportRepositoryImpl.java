@@ -0,0 +1,44 @@
+package com.example.xlsxziptotxtzip.logging.repository;
+
+import com.example.xlsxziptotxtzip.logging.model.entity.LogEntity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.util.stream.Stream;
+
+/**
+ * Criteria API implementation of {@link LogExportRepository}.
+ * <p>
+ * The query is read-only and uses a JDBC fetch size; with {@code useCursorFetch=true} on the MySQL
+ * connection, the driver reads the result through a server-side cursor instead of buffering it.
+ * </p>
+ */
+@RequiredArgsConstructor
+class LogExportRepositoryImpl implements LogExportRepository {
+
+    private final EntityManager entityManager;
+
+    @Override
+    public Stream<LogEntity> streamAll(Specification<LogEntity> specification, Sort sort, int fetchSize) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+
+        CriteriaQuery<LogEntity> query = cb.createQuery(LogEntity.class);
+        Root<LogEntity> root = query.from(LogEntity.class);
+        LogSummaryRepositoryImpl.applySpecification(specification, root, query, cb);
+        query.orderBy(QueryUtils.toOrders(sort, root, cb));
+
+        return entityManager.createQuery(query)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream()
+                .peek(entityManager::detach);
+    }
+
+}
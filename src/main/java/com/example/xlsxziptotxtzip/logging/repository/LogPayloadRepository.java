@@ -0,0 +1,50 @@
+package com.example.xlsxziptotxtzip.logging.repository;
+
+import com.example.xlsxziptotxtzip.logging.model.LogPayload;
+import com.example.xlsxziptotxtzip.logging.model.entity.LogPayloadEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Repository interface for {@link LogPayloadEntity} persistence operations.
+ */
+public interface LogPayloadRepository extends JpaRepository<LogPayloadEntity, UUID>, LogPayloadUpsertRepository {
+
+    /**
+     * Returns the payloads with the given hashes as read-only projections.
+     *
+     * @param hashes the payload hashes
+     * @return the payloads found; unknown hashes are skipped
+     */
+    @Query("""
+            select new com.example.xlsxziptotxtzip.logging.model.LogPayload(p.hash, p.content, p.compressed)
+            from LogPayloadEntity p
+            where p.hash in :hashes
+            """)
+    List<LogPayload> findPayloads(@Param("hashes") Collection<UUID> hashes);
+
+    /**
+     * Deletes up to {@code batchSize} payloads last referenced before the given date, in its own transaction.
+     *
+     * @param lastUsedBefore payloads with a {@code last_used_on} before this date are deleted
+     * @param batchSize      the max number of payloads to delete
+     * @return the number of deleted payloads; less than {@code batchSize} once no unused payload is left
+     */
+    @Modifying
+    @Transactional
+    @Query(value = """
+            DELETE FROM log_payloads
+            WHERE last_used_on < :lastUsedBefore
+            LIMIT :batchSize
+            """, nativeQuery = true)
+    int deleteUnusedBefore(@Param("lastUsedBefore") LocalDate lastUsedBefore, @Param("batchSize") int batchSize);
+
+}
@@ -0,0 +1,28 @@
+package com.example.xlsxziptotxtzip.logging.repository;
+
+import com.example.xlsxziptotxtzip.logging.model.LogPayload;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Custom repository fragment writing many log payloads with a single statement.
+ */
+public interface LogPayloadUpsertRepository {
+
+    /**
+     * Inserts the given payloads, or only refreshes {@code last_used_on} of those whose hash already exists,
+     * with one multi-row {@code INSERT ... ON DUPLICATE KEY UPDATE}.
+     * <p>
+     * MySQL does not write a row whose {@code last_used_on} is already up to date, so a known payload costs
+     * a single primary key lookup. Joins the current transaction, if any.
+     * </p>
+     *
+     * @param payloads  the payloads, with distinct hashes; nothing is written if empty
+     * @param usedOn    the current date
+     * @param createdAt the creation time of new rows
+     */
+    void upsertAll(List<LogPayload> payloads, LocalDate usedOn, LocalDateTime createdAt);
+
+}
@@ -0,0 +1,68 @@
+package com.example.xlsxziptotxtzip.logging.repository;
+
+import com.example.xlsxziptotxtzip.logging.model.LogPayload;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import lombok.RequiredArgsConstructor;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Native SQL implementation of {@link LogPayloadUpsertRepository}.
+ * <p>
+ * The statement has one {@code VALUES} tuple per payload, so a whole log batch costs one round trip
+ * however many distinct payloads it has. The hash is bound as the 16 bytes of the {@code BINARY(16)} key.
+ * </p>
+ */
+@RequiredArgsConstructor
+class LogPayloadUpsertRepositoryImpl implements LogPayloadUpsertRepository {
+
+    private static final String INSERT = "INSERT INTO log_payloads (HASH, content, compressed, last_used_on, CREATED_AT) VALUES ";
+    private static final String ON_DUPLICATE = " ON DUPLICATE KEY UPDATE last_used_on = :usedOn";
+
+    private final EntityManager entityManager;
+
+    @Override
+    @Transactional
+    public void upsertAll(List<LogPayload> payloads, LocalDate usedOn, LocalDateTime createdAt) {
+        if (payloads.isEmpty()) {
+            return;
+        }
+
+        StringBuilder sql = new StringBuilder(INSERT);
+        for (int i = 0; i < payloads.size(); i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append("(:hash").append(i)
+                    .append(", :content").append(i)
+                    .append(", :compressed").append(i)
+                    .append(", :usedOn, :createdAt)");
+        }
+        sql.append(ON_DUPLICATE);
+
+        Query query = entityManager.createNativeQuery(sql.toString());
+        for (int i = 0; i < payloads.size(); i++) {
+            LogPayload payload = payloads.get(i);
+            query.setParameter("hash" + i, toBytes(payload.hash()));
+            query.setParameter("content" + i, payload.content());
+            query.setParameter("compressed" + i, payload.compressed());
+        }
+        query.setParameter("usedOn", usedOn);
+        query.setParameter("createdAt", createdAt);
+        query.executeUpdate();
+    }
+
+    private static byte[] toBytes(UUID hash) {
+        return ByteBuffer.allocate(16)
+                .putLong(hash.getMostSignificantBits())
+                .putLong(hash.getLeastSignificantBits())
+                .array();
+    }
+
+}
@@ -1,12 +1,97 @@
 package com.example.xlsxziptotxtzip.logging.repository;
 
+import com.example.xlsxziptotxtzip.logging.model.LogSummary;
 import com.example.xlsxziptotxtzip.logging.model.entity.LogEntity;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
 
 /**
  * Repository interface for {@link LogEntity} persistence operations.
- * Extends Spring Data {@link JpaRepository} to provide CRUD support.
+ * Extends Spring Data {@link JpaRepository} to provide CRUD support, and
+ * {@link JpaSpecificationExecutor} for filtered searches built by {@link LogSpecifications}.
+ * Listing queries return {@link LogSummary} projections, see {@link LogSummaryRepository};
+ * the export streams entities through {@link LogExportRepository}.
  */
-public interface LogRepository extends JpaRepository<LogEntity,String> {
+public interface LogRepository extends JpaRepository<LogEntity, UUID>,
+        JpaSpecificationExecutor<LogEntity>,
+        LogSummaryRepository,
+        LogExportRepository {
+
+    /**
+     * Returns the newest logs, ordered by {@code (time DESC, id DESC)}.
+     * Served by the {@code idx_logs_time_id} index without sorting.
+     *
+     * @param limit the max number of logs to return
+     * @return the first page of the keyset ordering
+     */
+    @Query("""
+            select new com.example.xlsxziptotxtzip.logging.model.LogSummary(
+                l.id, l.time, l.endpoint, l.method, l.status, l.errorType, l.operation)
+            from LogEntity l
+            order by l.time desc, l.id desc
+            """)
+    List<LogSummary> findFirstPage(Limit limit);
+
+    /**
+     * Returns the logs strictly after the given position in the {@code (time DESC, id DESC)} ordering.
+     * <p>
+     * The {@code time <= :time} term gives the database a range bound on the index, the rest
+     * of the predicate skips the logs up to and including the cursor row.
+     * </p>
+     *
+     * @param time  the time of the last log of the previous page
+     * @param id    the id of the last log of the previous page
+     * @param limit the max number of logs to return
+     * @return the next page of the keyset ordering
+     */
+    @Query("""
+            select new com.example.xlsxziptotxtzip.logging.model.LogSummary(
+                l.id, l.time, l.endpoint, l.method, l.status, l.errorType, l.operation)
+            from LogEntity l
+            where l.time <= :time and (l.time < :time or l.id < :id)
+            order by l.time desc, l.id desc
+            """)
+    List<LogSummary> findPageAfter(@Param("time") LocalDateTime time, @Param("id") UUID id, Limit limit);
+
+    /**
+     * Returns the approximate number of logs from the MySQL table statistics, without scanning the table.
+     *
+     * @return the estimated row count, or {@code null} if no statistics are available
+     */
+    @Query(value = """
+            SELECT TABLE_ROWS FROM information_schema.TABLES
+            WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'logs'
+            """, nativeQuery = true)
+    Long estimateCount();
+
+    /**
+     * Deletes up to {@code batchSize} of the oldest logs written before the cutoff, in its own transaction.
+     * <p>
+     * The delete walks the {@code idx_logs_time_id} index from its oldest end, so it only locks old
+     * rows and never the end of the index that concurrent inserts append to.
+     * </p>
+     *
+     * @param cutoff    logs with a {@code time} before this are deleted
+     * @param batchSize the max number of logs to delete
+     * @return the number of deleted logs; less than {@code batchSize} once no expired log is left
+     */
+    @Modifying
+    @Transactional
+    @Query(value = """
+            DELETE FROM logs
+            WHERE `time` < :cutoff
+            ORDER BY `time`
+            LIMIT :batchSize
+            """, nativeQuery = true)
+    int deleteOldestBefore(@Param("cutoff") LocalDateTime cutoff, @Param("batchSize") int batchSize);
 
 }
@@ -0,0 +1,61 @@
+package com.example.xlsxziptotxtzip.logging.repository;
+
+import com.example.xlsxziptotxtzip.logging.model.dto.request.LogFilter;
+import com.example.xlsxziptotxtzip.logging.model.entity.LogEntity;
+import lombok.experimental.UtilityClass;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.HttpStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * {@link Specification} factories for searching {@link LogEntity} records.
+ * <p>
+ * Each criterion has a matching {@code (column, time)} index on {@code logs}, so an equality filter
+ * combined with the default {@code time} ordering or a time range is resolved by an index range scan
+ * without sorting.
+ * </p>
+ */
+@UtilityClass
+public class LogSpecifications {
+
+    private static final String TIME = "time";
+
+    /**
+     * Builds the specification matching all criteria set in the given filter.
+     *
+     * @param filter the filter; may be {@code null}
+     * @return the combined specification, matching all logs if no criterion is set
+     */
+    public Specification<LogEntity> matching(final LogFilter filter) {
+        Specification<LogEntity> specification = Specification.where(null);
+        if (filter == null) {
+            return specification;
+        }
+
+        return specification
+                .and(hasStatus(filter.getStatus()))
+                .and(equalTo("errorType", filter.getErrorType()))
+                .and(equalTo("endpoint", filter.getEndpoint()))
+                .and(equalTo("operation", filter.getOperation()))
+                .and(timeFrom(filter.getFrom()))
+                .and(timeBefore(filter.getTo()));
+    }
+
+    private Specification<LogEntity> hasStatus(final HttpStatus status) {
+        return status == null ? null : (root, query, cb) -> cb.equal(root.get("status"), status);
+    }
+
+    private Specification<LogEntity> equalTo(final String attribute, final String value) {
+        return (value == null || value.isBlank()) ? null : (root, query, cb) -> cb.equal(root.get(attribute), value);
+    }
+
+    private Specification<LogEntity> timeFrom(final LocalDateTime from) {
+        return from == null ? null : (root, query, cb) -> cb.greaterThanOrEqualTo(root.get(TIME), from);
+    }
+
+    private Specification<LogEntity> timeBefore(final LocalDateTime to) {
+        return to == null ? null : (root, query, cb) -> cb.lessThan(root.get(TIME), to);
+    }
+
+}
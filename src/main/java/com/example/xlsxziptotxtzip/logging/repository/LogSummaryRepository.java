@@ -0,0 +1,24 @@
+package com.example.xlsxziptotxtzip.logging.repository;
+
+import com.example.xlsxziptotxtzip.logging.model.LogSummary;
+import com.example.xlsxziptotxtzip.logging.model.entity.LogEntity;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Repository fragment reading pages of {@link LogSummary} projections, mixed into {@link LogRepository}.
+ */
+public interface LogSummaryRepository {
+
+    /**
+     * Returns a page of log summaries matching the given specification.
+     * Only the columns of {@link LogSummary} are selected.
+     *
+     * @param specification the filter; may be {@code null} to match all logs
+     * @param pageable      the page and sorting to read
+     * @return the page of summaries
+     */
+    Page<LogSummary> findSummaries(Specification<LogEntity> specification, Pageable pageable);
+
+}
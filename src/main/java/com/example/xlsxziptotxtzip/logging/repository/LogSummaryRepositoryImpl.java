@@ -0,0 +1,84 @@
+package com.example.xlsxziptotxtzip.logging.repository;
+
+import com.example.xlsxziptotxtzip.logging.model.LogSummary;
+import com.example.xlsxziptotxtzip.logging.model.entity.LogEntity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.util.List;
+
+/**
+ * Criteria API implementation of {@link LogSummaryRepository}.
+ * <p>
+ * The select list is a constructor expression over the {@link LogSummary} columns, so the
+ * {@code message} and {@code response} TEXT columns are never read. The count query only runs
+ * when the total cannot be derived from the page itself.
+ * </p>
+ */
+@RequiredArgsConstructor
+class LogSummaryRepositoryImpl implements LogSummaryRepository {
+
+    private final EntityManager entityManager;
+
+    @Override
+    public Page<LogSummary> findSummaries(Specification<LogEntity> specification, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+
+        CriteriaQuery<LogSummary> query = cb.createQuery(LogSummary.class);
+        Root<LogEntity> root = query.from(LogEntity.class);
+        query.select(cb.construct(LogSummary.class,
+                root.get("id"),
+                root.get("time"),
+                root.get("endpoint"),
+                root.get("method"),
+                root.get("status"),
+                root.get("errorType"),
+                root.get("operation")));
+        applySpecification(specification, root, query, cb);
+        query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+
+        TypedQuery<LogSummary> typedQuery = entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult(Math.toIntExact(pageable.getOffset()));
+            typedQuery.setMaxResults(pageable.getPageSize());
+        }
+        List<LogSummary> content = typedQuery.getResultList();
+
+        return PageableExecutionUtils.getPage(content, pageable, () -> count(specification));
+    }
+
+    private long count(Specification<LogEntity> specification) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<LogEntity> root = query.from(LogEntity.class);
+        query.select(cb.count(root));
+        applySpecification(specification, root, query, cb);
+
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    static void applySpecification(Specification<LogEntity> specification,
+                                           Root<LogEntity> root,
+                                           CriteriaQuery<?> query,
+                                           CriteriaBuilder cb) {
+        if (specification == null) {
+            return;
+        }
+        Predicate predicate = specification.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+    }
+
+}
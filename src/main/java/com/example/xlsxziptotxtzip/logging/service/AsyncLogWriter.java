@@ -0,0 +1,224 @@
+package com.example.xlsxziptotxtzip.logging.service;
+
+import com.example.xlsxziptotxtzip.logging.config.LogWriterProperties;
+import com.example.xlsxziptotxtzip.logging.model.entity.LogEntity;
+import com.example.xlsxziptotxtzip.logging.model.enums.LogOverflowPolicy;
+import com.example.xlsxziptotxtzip.logging.repository.LogRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Writes {@link LogEntity} records to the database from a background thread, in batches,
+ * so that requests never wait on the database for their audit log.
+ * <p>
+ * Records are queued in a bounded {@link MpscRingBuffer}. A single writer thread drains up to
+ * {@link LogWriterProperties#getBatchSize()} records at a time and writes them in one transaction: their distinct
+ * payloads with one {@link LogPayloadStore#storeAll(List)} upsert, then the records with one
+ * {@link LogRepository#saveAll(Iterable)} call, which Hibernate sends as a JDBC batch
+ * ({@code hibernate.jdbc.batch_size}, {@code hibernate.order_inserts}). The writer wakes up when a
+ * full batch is queued or after {@link LogWriterProperties#getFlushInterval()}, whichever comes first.
+ * When the queue cannot take a record, the {@link LogOverflowPolicy} decides what happens to it.
+ * </p>
+ * <p>
+ * Published metrics: {@code log.writer.queue.depth} (gauge), {@code log.writer.written},
+ * {@code log.writer.failed} and {@code log.writer.dropped} (tagged {@code reason}: {@code full},
+ * {@code sampled} or {@code timeout}). A failed batch is logged and not retried.
+ * On shutdown, the records still queued are written before the writer stops.
+ * </p>
+ */
+@Slf4j
+@Component
+public class AsyncLogWriter implements InitializingBean, DisposableBean {
+
+    private static final long SHUTDOWN_TIMEOUT_MILLIS = 10_000;
+    private static final long BLOCK_PARK_NANOS = 100_000;
+
+    private final LogRepository logRepository;
+    private final LogPayloadStore logPayloadStore;
+    private final LogWriterProperties properties;
+    private final TransactionTemplate transactionTemplate;
+    private final MpscRingBuffer<LogEntity> queue;
+
+    private final AtomicLong sampleCounter = new AtomicLong();
+    private final Counter written;
+    private final Counter failed;
+    private final Counter droppedFull;
+    private final Counter droppedSampled;
+    private final Counter droppedTimeout;
+
+    private volatile Thread writerThread;
+    private volatile boolean running;
+
+    public AsyncLogWriter(LogRepository logRepository,
+                          LogPayloadStore logPayloadStore,
+                          LogWriterProperties properties,
+                          PlatformTransactionManager transactionManager,
+                          MeterRegistry meterRegistry) {
+        this.logRepository = logRepository;
+        this.logPayloadStore = logPayloadStore;
+        this.properties = properties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.queue = new MpscRingBuffer<>(properties.getCapacity());
+
+        Gauge.builder("log.writer.queue.depth", queue, MpscRingBuffer::size)
+                .description("Logs waiting to be written")
+                .register(meterRegistry);
+        this.written = Counter.builder("log.writer.written")
+                .description("Logs written to the database")
+                .register(meterRegistry);
+        this.failed = Counter.builder("log.writer.failed")
+                .description("Logs lost because their batch insert failed")
+                .register(meterRegistry);
+        this.droppedFull = dropCounter(meterRegistry, "full");
+        this.droppedSampled = dropCounter(meterRegistry, "sampled");
+        this.droppedTimeout = dropCounter(meterRegistry, "timeout");
+    }
+
+    /**
+     * Starts the writer thread if asynchronous writing is enabled.
+     */
+    @Override
+    public void afterPropertiesSet() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        running = true;
+        writerThread = Thread.ofPlatform().name("log-writer").daemon(true).start(this::runWriter);
+    }
+
+    /**
+     * Returns whether logs are written asynchronously.
+     *
+     * @return {@code true} if {@link #submit(LogEntity)} should be used instead of a direct save
+     */
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    /**
+     * Queues a log record for writing, applying the configured {@link LogOverflowPolicy}.
+     *
+     * @param logEntity the record to write
+     * @return {@code true} if the record was queued, {@code false} if it was dropped
+     */
+    public boolean submit(LogEntity logEntity) {
+        boolean queued = switch (properties.getOverflowPolicy()) {
+            case DROP -> offerOrDrop(logEntity);
+            case SAMPLE -> offerSampled(logEntity);
+            case BLOCK -> offerBlocking(logEntity);
+        };
+
+        if (queued && queue.size() >= properties.getBatchSize()) {
+            LockSupport.unpark(writerThread);
+        }
+        return queued;
+    }
+
+    /**
+     * Stops the writer thread after it has written the records still queued.
+     */
+    @Override
+    public void destroy() throws InterruptedException {
+        Thread thread = writerThread;
+        if (thread == null) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(thread);
+        thread.join(SHUTDOWN_TIMEOUT_MILLIS);
+        if (thread.isAlive()) {
+            log.warn("Log writer did not finish within {} ms, {} logs are lost", SHUTDOWN_TIMEOUT_MILLIS, queue.size());
+        }
+    }
+
+    private boolean offerOrDrop(LogEntity logEntity) {
+        if (queue.offer(logEntity)) {
+            return true;
+        }
+        droppedFull.increment();
+        return false;
+    }
+
+    private boolean offerSampled(LogEntity logEntity) {
+        boolean isError = logEntity.getErrorType() != null;
+        if (!isError
+                && queue.size() > queue.capacity() / 2
+                && sampleCounter.getAndIncrement() % Math.max(properties.getSampleRate(), 1) != 0) {
+            droppedSampled.increment();
+            return false;
+        }
+        return offerOrDrop(logEntity);
+    }
+
+    private boolean offerBlocking(LogEntity logEntity) {
+        long deadline = System.nanoTime() + properties.getBlockTimeout().toNanos();
+        while (!queue.offer(logEntity)) {
+            if (System.nanoTime() - deadline >= 0) {
+                droppedTimeout.increment();
+                return false;
+            }
+            LockSupport.unpark(writerThread);
+            LockSupport.parkNanos(BLOCK_PARK_NANOS);
+        }
+        return true;
+    }
+
+    private void runWriter() {
+        int batchSize = properties.getBatchSize();
+        long flushIntervalNanos = properties.getFlushInterval().toNanos();
+        List<LogEntity> batch = new ArrayList<>(batchSize);
+
+        while (running) {
+            if (queue.size() < batchSize) {
+                LockSupport.parkNanos(this, flushIntervalNanos);
+            }
+            drainAndWrite(batch, batchSize);
+        }
+
+        // Flush what is left after shutdown was requested
+        drainAndWrite(batch, batchSize);
+    }
+
+    /**
+     * Writes all queued records, one batch at a time.
+     */
+    private void drainAndWrite(List<LogEntity> batch, int batchSize) {
+        while (queue.drainTo(batch, batchSize) > 0) {
+            writeBatch(batch);
+            batch.clear();
+        }
+    }
+
+    private void writeBatch(List<LogEntity> batch) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                logPayloadStore.storeAll(batch);
+                logRepository.saveAll(batch);
+            });
+            written.increment(batch.size());
+        } catch (RuntimeException e) {
+            failed.increment(batch.size());
+            log.error("Failed to write {} logs", batch.size(), e);
+        }
+    }
+
+    private static Counter dropCounter(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("log.writer.dropped")
+                .tag("reason", reason)
+                .description("Logs dropped by the overflow policy")
+                .register(meterRegistry);
+    }
+
+}
@@ -0,0 +1,245 @@
+package com.example.xlsxziptotxtzip.logging.service;
+
+import com.example.xlsxziptotxtzip.logging.config.LogPayloadProperties;
+import com.example.xlsxziptotxtzip.logging.model.LogPayload;
+import com.example.xlsxziptotxtzip.logging.model.entity.LogEntity;
+import com.example.xlsxziptotxtzip.logging.model.entity.LogPayloadEntity;
+import com.example.xlsxziptotxtzip.logging.repository.LogPayloadRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Stores the message and response payloads of {@link LogEntity} records in the content-addressed
+ * {@link LogPayloadEntity} table, and resolves them back.
+ * <p>
+ * Each payload is keyed by the first 128 bits of the SHA-256 of its UTF-8 bytes, so a payload used by
+ * many logs (e.g. a response that is also the message, or a recurring error) is stored once. Payloads of
+ * at least {@link LogPayloadProperties#getCompressionThreshold()} bytes are GZIP-compressed.
+ * Hashes already stored today are remembered in a small in-memory cache and not written again.
+ * The other distinct payloads of a batch of logs are written with a single multi-row upsert
+ * ({@link LogPayloadRepository#upsertAll}), in the caller's transaction.
+ * </p>
+ * <p>
+ * Published metrics: {@code log.payload.writes} (tagged {@code result}: {@code stored} or {@code cached}).
+ * </p>
+ */
+@Component
+public class LogPayloadStore {
+
+    private static final String METRIC_WRITES = "log.payload.writes";
+
+    private final LogPayloadRepository logPayloadRepository;
+    private final LogPayloadProperties properties;
+    private final Cache<UUID, LocalDate> recentlyStored;
+
+    private final Counter stored;
+    private final Counter cached;
+
+    public LogPayloadStore(LogPayloadRepository logPayloadRepository,
+                           LogPayloadProperties properties,
+                           MeterRegistry meterRegistry) {
+        this.logPayloadRepository = logPayloadRepository;
+        this.properties = properties;
+        this.recentlyStored = Caffeine.newBuilder()
+                .maximumSize(properties.getRecentCacheSize())
+                .build();
+
+        this.stored = Counter.builder(METRIC_WRITES)
+                .tag("result", "stored")
+                .description("Log payloads written to the payload table")
+                .register(meterRegistry);
+        this.cached = Counter.builder(METRIC_WRITES)
+                .tag("result", "cached")
+                .description("Log payloads written to the payload table")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Stores the message and response of the given log and sets their hashes on it.
+     * Must be called before the log itself is saved.
+     *
+     * @param logEntity the log whose payloads are stored
+     */
+    public void store(LogEntity logEntity) {
+        storeAll(List.of(logEntity));
+    }
+
+    /**
+     * Stores the messages and responses of the given logs and sets their hashes on them, see {@link #store(LogEntity)}.
+     * <p>
+     * Each distinct payload that was not stored today is written once, and all of them with one statement.
+     * If a transaction is active, the hashes are only remembered as stored once it commits, so a rolled back
+     * batch does not leave payloads behind that are believed to exist.
+     * </p>
+     *
+     * @param logEntities the logs whose payloads are stored
+     */
+    public void storeAll(List<LogEntity> logEntities) {
+        LocalDate today = LocalDate.now();
+        Map<UUID, byte[]> pending = new LinkedHashMap<>();
+
+        for (LogEntity logEntity : logEntities) {
+            UUID messageHash = prepare(logEntity.getMessage(), today, pending);
+            UUID responseHash = Objects.equals(logEntity.getResponse(), logEntity.getMessage())
+                    ? messageHash
+                    : prepare(logEntity.getResponse(), today, pending);
+
+            logEntity.setMessageHash(messageHash);
+            logEntity.setResponseHash(responseHash);
+        }
+
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        List<LogPayload> payloads = new ArrayList<>(pending.size());
+        pending.forEach((hash, content) -> payloads.add(encode(hash, content)));
+        logPayloadRepository.upsertAll(payloads, today, LocalDateTime.now());
+        stored.increment(payloads.size());
+
+        afterCommit(() -> pending.keySet().forEach(hash -> recentlyStored.put(hash, today)));
+    }
+
+    /**
+     * Loads the payloads referenced by the given log into its {@code message} and {@code response} fields.
+     * A payload that cannot be found is left {@code null}.
+     *
+     * @param logEntity the log whose payloads are resolved
+     */
+    public void resolve(LogEntity logEntity) {
+        resolveAll(List.of(logEntity));
+    }
+
+    /**
+     * Loads the payloads referenced by the given logs with a single query, see {@link #resolve(LogEntity)}.
+     *
+     * @param logEntities the logs whose payloads are resolved
+     */
+    public void resolveAll(List<LogEntity> logEntities) {
+        Set<UUID> hashes = new HashSet<>();
+        for (LogEntity logEntity : logEntities) {
+            if (logEntity.getMessageHash() != null) {
+                hashes.add(logEntity.getMessageHash());
+            }
+            if (logEntity.getResponseHash() != null) {
+                hashes.add(logEntity.getResponseHash());
+            }
+        }
+        if (hashes.isEmpty()) {
+            return;
+        }
+
+        Map<UUID, String> payloads = logPayloadRepository.findPayloads(hashes).stream()
+                .collect(Collectors.toMap(LogPayload::hash, LogPayloadStore::decode));
+
+        for (LogEntity logEntity : logEntities) {
+            logEntity.setMessage(payloads.get(logEntity.getMessageHash()));
+            logEntity.setResponse(payloads.get(logEntity.getResponseHash()));
+        }
+    }
+
+    /**
+     * Computes the key of a payload: the first 128 bits of the SHA-256 of its content.
+     *
+     * @param content the UTF-8 payload content
+     * @return the payload hash
+     */
+    static UUID hash(byte[] content) {
+        try {
+            ByteBuffer digest = ByteBuffer.wrap(MessageDigest.getInstance("SHA-256").digest(content));
+            return new UUID(digest.getLong(), digest.getLong());
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform is required to support SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Hashes a payload and adds it to {@code pending} unless it was stored today or is already pending.
+     */
+    private UUID prepare(String payload, LocalDate today, Map<UUID, byte[]> pending) {
+        if (payload == null) {
+            return null;
+        }
+
+        byte[] content = payload.getBytes(StandardCharsets.UTF_8);
+        UUID hash = hash(content);
+
+        if (today.equals(recentlyStored.getIfPresent(hash)) || pending.putIfAbsent(hash, content) != null) {
+            cached.increment();
+        }
+        return hash;
+    }
+
+    private LogPayload encode(UUID hash, byte[] content) {
+        byte[] compressedContent = (content.length >= properties.getCompressionThreshold()) ? gzip(content) : null;
+        boolean compressed = compressedContent != null && compressedContent.length < content.length;
+        return new LogPayload(hash, compressed ? compressedContent : content, compressed);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private static String decode(LogPayload payload) {
+        byte[] content = payload.compressed() ? gunzip(payload.content()) : payload.content();
+        return new String(content, StandardCharsets.UTF_8);
+    }
+
+    private static byte[] gzip(byte[] content) {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream(content.length / 4);
+        try (GZIPOutputStream gzipOutputStream = new GZIPOutputStream(outputStream)) {
+            gzipOutputStream.write(content);
+        } catch (IOException e) {
+            // Not reachable: writing to memory does not fail
+            throw new UncheckedIOException(e);
+        }
+        return outputStream.toByteArray();
+    }
+
+    private static byte[] gunzip(byte[] content) {
+        try (InputStream inputStream = new GZIPInputStream(new ByteArrayInputStream(content))) {
+            return inputStream.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Corrupt compressed log payload", e);
+        }
+    }
+
+}
@@ -0,0 +1,148 @@
+package com.example.xlsxziptotxtzip.logging.service;
+
+import com.example.xlsxziptotxtzip.logging.config.LogRetentionProperties;
+import com.example.xlsxziptotxtzip.logging.repository.LogPayloadRepository;
+import com.example.xlsxziptotxtzip.logging.repository.LogRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Periodically deletes logs older than {@link LogRetentionProperties#getRetention()}.
+ * <p>
+ * Expired logs are deleted oldest first in batches of {@link LogRetentionProperties#getBatchSize()},
+ * each in its own short transaction, with {@link LogRetentionProperties#getBatchPause()} between batches.
+ * Row locks are therefore held only briefly and only on old rows, so the purge never blocks the
+ * inserts of {@link com.example.xlsxziptotxtzip.logging.aop.LoggerAspectJ}.
+ * </p>
+ * <p>
+ * Once all expired logs are gone, the payloads no kept log refers to are deleted the same way.
+ * These are the payloads last used before the cutoff date, since storing a log refreshes the
+ * {@code last_used_on} of its payloads.
+ * </p>
+ * <p>
+ * Published metrics: {@code log.retention.deleted}, {@code log.retention.payloads.deleted} (counters)
+ * and {@code log.retention.run} (timer, tagged {@code result}: {@code success} or {@code failure}).
+ * </p>
+ */
+@Slf4j
+@Component
+public class LogRetentionJob {
+
+    private static final String METRIC_RUN = "log.retention.run";
+
+    private final LogRepository logRepository;
+    private final LogPayloadRepository logPayloadRepository;
+    private final LogRetentionProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Counter deleted;
+    private final Counter deletedPayloads;
+
+    public LogRetentionJob(LogRepository logRepository,
+                           LogPayloadRepository logPayloadRepository,
+                           LogRetentionProperties properties,
+                           MeterRegistry meterRegistry) {
+        this.logRepository = logRepository;
+        this.logPayloadRepository = logPayloadRepository;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.deleted = Counter.builder("log.retention.deleted")
+                .description("Logs deleted by the retention purge")
+                .register(meterRegistry);
+        this.deletedPayloads = Counter.builder("log.retention.payloads.deleted")
+                .description("Log payloads deleted by the retention purge")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Runs the purge on the configured schedule, if retention is enabled.
+     */
+    @Scheduled(cron = "${log-retention.cron:0 0 3 * * *}")
+    public void scheduledPurge() {
+        if (properties.isEnabled()) {
+            purgeExpiredLogs();
+        }
+    }
+
+    /**
+     * Deletes all logs older than the retention period, batch by batch, then their unused payloads.
+     * <p>
+     * A failing batch stops the run; the remaining logs are deleted by the next run.
+     * If the thread is interrupted during a pause, the run stops after the current batch.
+     * Payloads are only deleted by a run that deleted all expired logs.
+     * </p>
+     *
+     * @return the number of deleted logs
+     */
+    public long purgeExpiredLogs() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(properties.getRetention());
+        int batchSize = properties.getBatchSize();
+        long total = 0;
+        String result = "success";
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            int batchDeleted;
+            do {
+                batchDeleted = logRepository.deleteOldestBefore(cutoff, batchSize);
+                total += batchDeleted;
+                deleted.increment(batchDeleted);
+            } while (batchDeleted == batchSize && pauseBetweenBatches());
+
+            log.info("Log retention purge deleted {} logs older than {}", total, cutoff);
+
+            if (batchDeleted < batchSize) {
+                long payloads = purgeUnusedPayloads(cutoff.toLocalDate(), batchSize);
+                log.info("Log retention purge deleted {} payloads unused since {}", payloads, cutoff.toLocalDate());
+            }
+        } catch (RuntimeException e) {
+            result = "failure";
+            log.error("Log retention purge failed after deleting {} logs older than {}", total, cutoff, e);
+        } finally {
+            sample.stop(Timer.builder(METRIC_RUN)
+                    .tag("result", result)
+                    .description("Duration of the log retention purge")
+                    .register(meterRegistry));
+        }
+
+        return total;
+    }
+
+    private long purgeUnusedPayloads(LocalDate lastUsedBefore, int batchSize) {
+        long total = 0;
+        int batchDeleted;
+        do {
+            batchDeleted = logPayloadRepository.deleteUnusedBefore(lastUsedBefore, batchSize);
+            total += batchDeleted;
+            deletedPayloads.increment(batchDeleted);
+        } while (batchDeleted == batchSize && pauseBetweenBatches());
+        return total;
+    }
+
+    /**
+     * Sleeps for the configured pause between two batches.
+     *
+     * @return {@code false} if the thread was interrupted and the run should stop
+     */
+    private boolean pauseBetweenBatches() {
+        long pauseMillis = properties.getBatchPause().toMillis();
+        if (pauseMillis <= 0) {
+            return true;
+        }
+
+        try {
+            Thread.sleep(pauseMillis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+}
@@ -1,10 +1,18 @@
 package com.example.xlsxziptotxtzip.logging.service;
 
+import com.example.xlsxziptotxtzip.common.model.CustomCursorPage;
 import com.example.xlsxziptotxtzip.common.model.CustomPage;
+import com.example.xlsxziptotxtzip.common.model.dto.request.CustomCursorPagingRequest;
 import com.example.xlsxziptotxtzip.common.model.dto.request.CustomPagingRequest;
+import com.example.xlsxziptotxtzip.logging.model.LogDetailDto;
 import com.example.xlsxziptotxtzip.logging.model.LogDto;
+import com.example.xlsxziptotxtzip.logging.model.dto.request.LogExportRequest;
+import com.example.xlsxziptotxtzip.logging.model.dto.request.LogSearchRequest;
 import com.example.xlsxziptotxtzip.logging.model.entity.LogEntity;
 
+import java.io.IOException;
+import java.io.OutputStream;
+
 /**
  * Service interface for handling log-related operations.
  */
@@ -36,5 +44,53 @@ public interface LogService {
      */
     CustomPage<LogDto> listLogs(CustomPagingRequest pagingRequest);
 
+    /**
+     * Returns a page of logs, newest first, using keyset pagination on {@code (time, id)}.
+     * <p>
+     * Unlike {@link #listLogs(CustomPagingRequest)}, the cost of a page does not grow with its depth:
+     * the next page starts right after the position encoded in the request cursor. A total is only
+     * computed if requested through {@link CustomCursorPagingRequest#getCountMode()}.
+     * </p>
+     *
+     * @param cursorPagingRequest the page size, the cursor returned with the previous page (or
+     *                            {@code null} for the first page) and the count mode
+     * @return a {@link CustomCursorPage} containing {@link LogDto} entries and the cursor of the next page
+     * @throws com.example.xlsxziptotxtzip.logging.exception.InvalidLogCursorException if the cursor is invalid
+     */
+    CustomCursorPage<LogDto> listLogsByCursor(CustomCursorPagingRequest cursorPagingRequest);
+
+    /**
+     * Returns a paged list of logs matching the filter of the given {@link LogSearchRequest}.
+     * <p>
+     * Logs are sorted by {@code time} descending unless the request specifies another sorting.
+     * </p>
+     *
+     * @param searchRequest the filter, paging and optional sorting configuration
+     * @return a {@link CustomPage} containing the matching {@link LogDto} entries and paging metadata
+     */
+    CustomPage<LogDto> searchLogs(LogSearchRequest searchRequest);
+
+    /**
+     * Returns a single log with its message and response payloads.
+     *
+     * @param id the log id
+     * @return the {@link LogDetailDto} of the log
+     * @throws com.example.xlsxziptotxtzip.logging.exception.LogNotFoundException if no log has the given id
+     */
+    LogDetailDto getLogDetail(String id);
+
+    /**
+     * Writes all logs matching the filter of the given {@link LogExportRequest} to the output stream,
+     * oldest first, in the requested format, including their message and response payloads.
+     * <p>
+     * Logs are read through a database cursor and written as they are read, so memory does not
+     * depend on the number of exported logs.
+     * </p>
+     *
+     * @param exportRequest the format and optional filter
+     * @param outputStream  the stream the logs are written to; not closed
+     * @throws IOException if writing to the stream fails
+     */
+    void exportLogs(LogExportRequest exportRequest, OutputStream outputStream) throws IOException;
 
 }
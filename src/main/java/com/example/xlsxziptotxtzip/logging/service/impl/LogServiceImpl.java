@@ -1,21 +1,45 @@
 package com.example.xlsxziptotxtzip.logging.service.impl;
 
+import com.example.xlsxziptotxtzip.common.model.CustomCursorPage;
 import com.example.xlsxziptotxtzip.common.model.CustomPage;
+import com.example.xlsxziptotxtzip.common.model.dto.request.CustomCursorPagingRequest;
 import com.example.xlsxziptotxtzip.common.model.dto.request.CustomPagingRequest;
+import com.example.xlsxziptotxtzip.common.model.enums.CountMode;
+import com.example.xlsxziptotxtzip.logging.config.LogExportProperties;
+import com.example.xlsxziptotxtzip.logging.exception.LogNotFoundException;
+import com.example.xlsxziptotxtzip.logging.model.LogCursor;
+import com.example.xlsxziptotxtzip.logging.model.LogDetailDto;
 import com.example.xlsxziptotxtzip.logging.model.LogDto;
+import com.example.xlsxziptotxtzip.logging.model.LogSummary;
+import com.example.xlsxziptotxtzip.logging.model.dto.request.LogExportRequest;
+import com.example.xlsxziptotxtzip.logging.model.dto.request.LogSearchRequest;
 import com.example.xlsxziptotxtzip.logging.model.entity.LogEntity;
-import com.example.xlsxziptotxtzip.logging.model.mapper.LogEntityToLogDtoMapper;
+import com.example.xlsxziptotxtzip.logging.model.mapper.LogEntityToLogDetailDtoMapper;
+import com.example.xlsxziptotxtzip.logging.model.mapper.LogSummaryToLogDtoMapper;
 import com.example.xlsxziptotxtzip.logging.repository.LogRepository;
+import com.example.xlsxziptotxtzip.logging.repository.LogSpecifications;
+import com.example.xlsxziptotxtzip.logging.service.AsyncLogWriter;
+import com.example.xlsxziptotxtzip.logging.service.LogPayloadStore;
 import com.example.xlsxziptotxtzip.logging.service.LogService;
+import com.example.xlsxziptotxtzip.logging.utils.LogExportWriter;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Stream;
 
 /**
  * Implementation of the {@link LogService} interface.
@@ -27,16 +51,36 @@ public class LogServiceImpl implements LogService {
 
     private final LogRepository logRepository;
 
-    private final LogEntityToLogDtoMapper logEntityToLogDtoMapper = LogEntityToLogDtoMapper.initialize();
+    private final AsyncLogWriter asyncLogWriter;
+
+    private final LogPayloadStore logPayloadStore;
+
+    private final LogExportProperties logExportProperties;
+
+    private final LogSummaryToLogDtoMapper logSummaryToLogDtoMapper = LogSummaryToLogDtoMapper.initialize();
+
+    private final LogEntityToLogDetailDtoMapper logEntityToLogDetailDtoMapper = LogEntityToLogDetailDtoMapper.initialize();
 
     /**
      * Saves the given {@link LogEntity} to the database with a current timestamp.
+     * <p>
+     * When the {@link AsyncLogWriter} is enabled, the log is only queued and written later in a batch,
+     * so the caller does not wait for the database; otherwise its payloads are stored through the
+     * {@link LogPayloadStore} and it is saved right away.
+     * </p>
      *
      * @param logEntity the log to persist
      */
     @Override
     public void saveLogToDatabase(final LogEntity logEntity) {
         logEntity.setTime(LocalDateTime.now());
+
+        if (asyncLogWriter.isEnabled()) {
+            asyncLogWriter.submit(logEntity);
+            return;
+        }
+
+        logPayloadStore.store(logEntity);
         logRepository.save(logEntity);
     }
 
@@ -48,8 +92,9 @@ public class LogServiceImpl implements LogService {
      *     <li>Builds a {@link Pageable} from the given {@link CustomPagingRequest}
      *         using {@link CustomPagingRequest#toPageable()}, or falls back to
      *         {@code PageRequest.of(0, 20)} if the request is {@code null}.</li>
-     *     <li>Executes {@link LogRepository#findAll(Pageable)} to fetch a {@link Page} of {@link LogEntity}.</li>
-     *     <li>Maps each {@link LogEntity} to {@link LogDto} using {@link LogEntityToLogDtoMapper}.</li>
+     *     <li>Executes {@link LogRepository#findSummaries} to fetch a {@link Page} of {@link LogSummary},
+     *         without the message and response payloads.</li>
+     *     <li>Maps each {@link LogSummary} to {@link LogDto} using {@link LogSummaryToLogDtoMapper}.</li>
      *     <li>Wraps the results and paging metadata into a {@link CustomPage} of {@link LogDto}.</li>
      * </ol>
      * </p>
@@ -64,11 +109,9 @@ public class LogServiceImpl implements LogService {
                 .map(CustomPagingRequest::toPageable)
                 .orElse(PageRequest.of(0, 20));
 
-        final Page<LogEntity> page = logRepository.findAll(pageable);
+        final Page<LogSummary> page = logRepository.findSummaries(null, pageable);
 
-        final List<LogDto> content = page.getContent().stream()
-                .map(logEntityToLogDtoMapper::map)
-                .toList();
+        final List<LogDto> content = logSummaryToLogDtoMapper.map(page.getContent());
 
         return CustomPage.<LogDto>builder()
                 .content(content)
@@ -79,4 +122,171 @@ public class LogServiceImpl implements LogService {
                 .build();
     }
 
+    /**
+     * Returns a paged list of logs matching the filter of the given {@link LogSearchRequest}.
+     * <p>
+     * The filter is translated into a specification by {@link LogSpecifications#matching} and run
+     * through {@link LogRepository#findSummaries}.
+     * Without an explicit sorting, logs are sorted by {@code time} descending, which the
+     * {@code (column, time)} indexes serve without a sort step.
+     * </p>
+     *
+     * @param searchRequest the filter, paging and optional sorting configuration
+     * @return a {@link CustomPage} of the matching {@link LogDto} entries
+     */
+    @Override
+    public CustomPage<LogDto> searchLogs(final LogSearchRequest searchRequest) {
+
+        Pageable pageable = searchRequest.toPageable();
+        if (pageable.getSort().isUnsorted()) {
+            pageable = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(),
+                    Sort.by(Sort.Direction.DESC, "time"));
+        }
+
+        final Page<LogSummary> page = logRepository.findSummaries(
+                LogSpecifications.matching(searchRequest.getFilter()), pageable);
+
+        final List<LogDto> content = logSummaryToLogDtoMapper.map(page.getContent());
+
+        return CustomPage.of(content, page);
+    }
+
+    /**
+     * Returns a single log with its message and response payloads, resolved by the {@link LogPayloadStore}.
+     * Ids that are not valid UUIDs cannot exist and are reported as not found.
+     *
+     * @param id the log id
+     * @return the {@link LogDetailDto} of the log
+     */
+    @Override
+    public LogDetailDto getLogDetail(final String id) {
+
+        final UUID logId;
+        try {
+            logId = UUID.fromString(id);
+        } catch (IllegalArgumentException e) {
+            throw new LogNotFoundException(id);
+        }
+
+        final LogEntity logEntity = logRepository.findById(logId)
+                .orElseThrow(() -> new LogNotFoundException(id));
+
+        logPayloadStore.resolve(logEntity);
+
+        return logEntityToLogDetailDtoMapper.map(logEntity);
+    }
+
+    /**
+     * Returns a page of logs, newest first, using keyset pagination on {@code (time, id)}.
+     * <p>
+     * The method:
+     * <ol>
+     *     <li>Fetches {@code pageSize + 1} logs, either from the start of the ordering or right after the
+     *         position decoded from the cursor, so the extra row tells whether a next page exists.</li>
+     *     <li>Maps the page to {@link LogDto} and encodes the position of its last log as {@code nextCursor}.</li>
+     *     <li>Adds an exact or estimated total only if the request asks for one.</li>
+     * </ol>
+     * </p>
+     *
+     * @param cursorPagingRequest the page size, optional cursor and count mode
+     * @return a {@link CustomCursorPage} of {@link LogDto}
+     */
+    @Override
+    public CustomCursorPage<LogDto> listLogsByCursor(final CustomCursorPagingRequest cursorPagingRequest) {
+
+        final int pageSize = cursorPagingRequest.getPageSize();
+        final Limit limit = Limit.of(pageSize + 1);
+
+        final List<LogSummary> logs;
+        if (cursorPagingRequest.getCursor() == null || cursorPagingRequest.getCursor().isBlank()) {
+            logs = logRepository.findFirstPage(limit);
+        } else {
+            final LogCursor cursor = LogCursor.decode(cursorPagingRequest.getCursor());
+            logs = logRepository.findPageAfter(cursor.time(), cursor.id(), limit);
+        }
+
+        final boolean hasNext = logs.size() > pageSize;
+        final List<LogSummary> pageLogs = hasNext ? logs.subList(0, pageSize) : logs;
+
+        final List<LogDto> content = logSummaryToLogDtoMapper.map(pageLogs);
+
+        final CountMode countMode = Optional.ofNullable(cursorPagingRequest.getCountMode())
+                .orElse(CountMode.NONE);
+
+        return CustomCursorPage.<LogDto>builder()
+                .content(content)
+                .pageSize(pageSize)
+                .hasNext(hasNext)
+                .nextCursor(hasNext ? LogCursor.of(pageLogs.getLast()).encode() : null)
+                .totalElementCount(count(countMode))
+                .countMode(countMode)
+                .build();
+    }
+
+    /**
+     * Writes all logs matching the filter to the output stream, oldest first.
+     * <p>
+     * The method:
+     * <ol>
+     *     <li>Streams the matching {@link LogEntity} records through {@link LogRepository#streamAll},
+     *         which reads {@link LogExportProperties#getFetchSize()} rows at a time and detaches
+     *         every log once read.</li>
+     *     <li>Collects the logs in chunks of the same size, loads the payloads of each chunk with a
+     *         single query through the {@link LogPayloadStore}, and writes the chunk.</li>
+     *     <li>Flushes the output after every chunk, so the client receives rows while the export runs.</li>
+     * </ol>
+     * </p>
+     * The transaction keeps the database cursor open for the whole export.
+     *
+     * @param exportRequest the format and optional filter
+     * @param outputStream  the stream the logs are written to; not closed
+     * @throws IOException if writing to the stream fails
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void exportLogs(final LogExportRequest exportRequest, final OutputStream outputStream) throws IOException {
+
+        final int fetchSize = logExportProperties.getFetchSize();
+        final LogExportWriter writer = new LogExportWriter(exportRequest.getFormat(), outputStream);
+        writer.writeHeader();
+
+        try (Stream<LogEntity> logs = logRepository.streamAll(
+                LogSpecifications.matching(exportRequest.getFilter()),
+                Sort.by(Sort.Direction.ASC, "time", "id"),
+                fetchSize)) {
+
+            final List<LogEntity> chunk = new ArrayList<>(fetchSize);
+            final Iterator<LogEntity> iterator = logs.iterator();
+            while (iterator.hasNext()) {
+                chunk.add(iterator.next());
+                if (chunk.size() >= fetchSize) {
+                    writeChunk(chunk, writer);
+                }
+            }
+            writeChunk(chunk, writer);
+        }
+    }
+
+    private void writeChunk(final List<LogEntity> chunk, final LogExportWriter writer) throws IOException {
+        if (chunk.isEmpty()) {
+            writer.flush();
+            return;
+        }
+
+        logPayloadStore.resolveAll(chunk);
+        for (LogEntity logEntity : chunk) {
+            writer.write(logEntityToLogDetailDtoMapper.map(logEntity));
+        }
+        writer.flush();
+        chunk.clear();
+    }
+
+    private Long count(final CountMode countMode) {
+        return switch (countMode) {
+            case NONE -> null;
+            case EXACT -> logRepository.count();
+            case ESTIMATE -> logRepository.estimateCount();
+        };
+    }
+
 }
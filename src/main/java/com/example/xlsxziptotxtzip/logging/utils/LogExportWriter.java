@@ -0,0 +1,124 @@
+package com.example.xlsxziptotxtzip.logging.utils;
+
+import com.example.xlsxziptotxtzip.logging.model.LogDetailDto;
+import com.example.xlsxziptotxtzip.logging.model.enums.LogExportFormat;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+/**
+ * Writes exported logs to an output stream as UTF-8 NDJSON or CSV, one log per line.
+ * <p>
+ * Output is buffered; {@link #flush()} pushes it to the underlying stream. The stream is never closed.
+ * </p>
+ */
+public final class LogExportWriter {
+
+    private static final ObjectMapper OBJECT_MAPPER = JsonMapper.builder()
+            .addModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+    private static final String[] CSV_HEADER = {
+            "id", "time", "endpoint", "method", "status", "errorType", "operation", "message", "response"
+    };
+
+    private final LogExportFormat format;
+    private final Writer writer;
+
+    public LogExportWriter(LogExportFormat format, OutputStream outputStream) {
+        this.format = format;
+        this.writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Writes the CSV header row; does nothing for NDJSON.
+     *
+     * @throws IOException if writing fails
+     */
+    public void writeHeader() throws IOException {
+        if (format == LogExportFormat.CSV) {
+            writeCsvRow(CSV_HEADER);
+        }
+    }
+
+    /**
+     * Writes a single log.
+     *
+     * @param log the log to write
+     * @throws IOException if writing fails
+     */
+    public void write(LogDetailDto log) throws IOException {
+        switch (format) {
+            case NDJSON -> {
+                writer.write(OBJECT_MAPPER.writeValueAsString(log));
+                writer.write('\n');
+            }
+            case CSV -> writeCsvRow(new String[]{
+                    log.getId(),
+                    Objects.toString(log.getTime(), null),
+                    log.getEndpoint(),
+                    log.getMethod(),
+                    log.getStatus() != null ? log.getStatus().name() : null,
+                    log.getErrorType(),
+                    log.getOperation(),
+                    log.getMessage(),
+                    log.getResponse()
+            });
+        }
+    }
+
+    /**
+     * Writes the buffered output to the underlying stream and flushes it.
+     *
+     * @throws IOException if writing fails
+     */
+    public void flush() throws IOException {
+        writer.flush();
+    }
+
+    private void writeCsvRow(String[] values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writeCsvValue(values[i]);
+        }
+        writer.write("\r\n");
+    }
+
+    /**
+     * Writes a CSV field, quoted as described in RFC 4180 if it contains a separator, a quote or a line break.
+     * {@code null} is written as an empty field.
+     */
+    private void writeCsvValue(String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+
+        boolean needsQuotes = false;
+        for (int i = 0; i < value.length() && !needsQuotes; i++) {
+            char c = value.charAt(i);
+            needsQuotes = c == ',' || c == '"' || c == '\r' || c == '\n';
+        }
+
+        if (!needsQuotes) {
+            writer.write(value);
+            return;
+        }
+
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+}
@@ -0,0 +1,50 @@
+-- Moves logs.message and logs.response into the deduplicated log_payloads table.
+--
+-- Run it once against a database created before the payloads were moved out of LogEntity, with the
+-- application stopped. New databases do not need it: Hibernate creates log_payloads and the hash columns.
+--
+-- Each distinct payload is stored once, keyed by the first 16 bytes of the SHA-256 of its UTF-8 content,
+-- which is the key the application computes. Migrated payloads are stored uncompressed; only payloads
+-- written by the application afterwards are compressed. last_used_on is the date of the newest log
+-- using the payload, so the retention purge deletes migrated payloads together with their logs.
+--
+-- MySQL commits each ALTER TABLE implicitly and rebuilds the table when dropping the TEXT columns,
+-- so try it on a copy of the table first and plan for the table being locked while it runs.
+
+CREATE TABLE IF NOT EXISTS log_payloads (
+    HASH         BINARY(16) NOT NULL,
+    content      MEDIUMBLOB,
+    compressed   BIT        NOT NULL,
+    last_used_on DATE,
+    CREATED_AT   DATETIME(6),
+    PRIMARY KEY (HASH),
+    INDEX idx_log_payloads_last_used_on (last_used_on)
+);
+
+ALTER TABLE logs
+    ADD COLUMN message_hash  BINARY(16) NULL,
+    ADD COLUMN response_hash BINARY(16) NULL;
+
+INSERT INTO log_payloads (HASH, content, compressed, last_used_on, CREATED_AT)
+SELECT UNHEX(LEFT(SHA2(p.payload, 256), 32)),
+       CAST(ANY_VALUE(p.payload) AS BINARY),
+       FALSE,
+       DATE(MAX(p.used_at)),
+       NOW(6)
+FROM (SELECT CONVERT(message USING utf8mb4) AS payload, COALESCE(`time`, CREATED_AT) AS used_at
+      FROM logs
+      WHERE message IS NOT NULL
+      UNION ALL
+      SELECT CONVERT(response USING utf8mb4), COALESCE(`time`, CREATED_AT)
+      FROM logs
+      WHERE response IS NOT NULL) p
+GROUP BY UNHEX(LEFT(SHA2(p.payload, 256), 32))
+ON DUPLICATE KEY UPDATE last_used_on = GREATEST(last_used_on, VALUES(last_used_on));
+
+UPDATE logs
+SET message_hash  = IF(message IS NULL, NULL, UNHEX(LEFT(SHA2(CONVERT(message USING utf8mb4), 256), 32))),
+    response_hash = IF(response IS NULL, NULL, UNHEX(LEFT(SHA2(CONVERT(response USING utf8mb4), 256), 32)));
+
+ALTER TABLE logs
+    DROP COLUMN message,
+    DROP COLUMN response;
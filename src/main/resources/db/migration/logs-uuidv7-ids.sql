@@ -0,0 +1,41 @@
+-- Converts logs.ID from random UUID strings (VARCHAR) to time-ordered UUIDv7 keys stored as BINARY(16).
+--
+-- Run it once against a database created before LogEntity.id became a UUIDv7, with the application
+-- stopped. New databases do not need it: Hibernate creates the table with BINARY(16) ids.
+--
+-- Existing ids keep their random bits, but their first 48 bits are replaced with the log time in
+-- milliseconds and the version nibble with 7, so migrated rows are ordered by time and sort before
+-- every row inserted afterwards. UNIX_TIMESTAMP() reads `time` in the session time zone, so set it
+-- to the time zone of the application first, e.g. SET time_zone = '+00:00';
+--
+-- MySQL commits each ALTER TABLE implicitly and rebuilds the table for the primary key change,
+-- so try it on a copy of the table first and plan for the table being locked while it runs.
+
+ALTER TABLE logs ADD COLUMN ID_BIN BINARY(16) NULL;
+
+UPDATE logs
+SET ID_BIN = UNHEX(CONCAT(
+        LPAD(HEX(FLOOR(UNIX_TIMESTAMP(COALESCE(`time`, CREATED_AT)) * 1000)), 12, '0'),
+        '7',
+        SUBSTRING(REPLACE(ID, '-', ''), 14)
+    ));
+
+-- The keyset index contains the old ID column; drop it if the application already created it
+SET @drop_keyset_index = IF(
+        (SELECT COUNT(*)
+         FROM information_schema.STATISTICS
+         WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'logs' AND INDEX_NAME = 'idx_logs_time_id') > 0,
+        'ALTER TABLE logs DROP INDEX idx_logs_time_id',
+        'DO 0');
+PREPARE drop_keyset_index FROM @drop_keyset_index;
+EXECUTE drop_keyset_index;
+DEALLOCATE PREPARE drop_keyset_index;
+
+ALTER TABLE logs
+    DROP PRIMARY KEY,
+    DROP COLUMN ID;
+
+ALTER TABLE logs
+    CHANGE COLUMN ID_BIN ID BINARY(16) NOT NULL FIRST,
+    ADD PRIMARY KEY (ID),
+    ADD INDEX idx_logs_time_id (`time`, ID);
@@ -6,6 +6,7 @@ import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ConstraintViolationException;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpInputMessage;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -247,6 +248,22 @@ class GlobalExceptionHandlerTest extends AbstractBaseServiceTest {
         checkCustomError(expected, (CustomError) resp.getBody());
     }
 
+    @Test
+    void handleApiException_sendsTheHeadersOfTheException() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, "5");
+
+        ApiException ex = mock(ApiException.class);
+        when(ex.getStatus()).thenReturn(HttpStatus.TOO_MANY_REQUESTS);
+        when(ex.getHeader()).thenReturn(CustomError.Header.API_ERROR);
+        when(ex.getMessage()).thenReturn("Busy");
+        when(ex.getHttpHeaders()).thenReturn(headers);
+
+        ResponseEntity<Object> resp = globalExceptionHandler.handleApiException(ex);
+        assertThat(resp.getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        assertThat(resp.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("5");
+    }
+
     private void checkCustomError(CustomError expectedError, CustomError actualError) {
 
         assertThat(actualError).isNotNull();
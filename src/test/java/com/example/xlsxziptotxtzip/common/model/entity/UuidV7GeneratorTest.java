@@ -0,0 +1,55 @@
+package com.example.xlsxziptotxtzip.common.model.entity;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UuidV7GeneratorTest {
+
+    @Test
+    void next_returnsVersion7WithRfcVariant_andCurrentTimestamp() {
+
+        // given
+        long before = System.currentTimeMillis();
+
+        // when
+        UUID uuid = UuidV7Generator.next();
+
+        // then (a counter overflow in an earlier burst may run a few milliseconds ahead of the clock)
+        long timestamp = uuid.getMostSignificantBits() >>> 16;
+        assertThat(uuid.version()).isEqualTo(7);
+        assertThat(uuid.variant()).isEqualTo(2);
+        assertThat(timestamp).isBetween(before, System.currentTimeMillis() + 100);
+
+    }
+
+    @Test
+    void next_whenCalledRepeatedly_returnsStrictlyIncreasingBinaryValues() {
+
+        // given
+        UUID previous = UuidV7Generator.next();
+
+        for (int i = 0; i < 10_000; i++) {
+
+            // when
+            UUID current = UuidV7Generator.next();
+
+            // then (BINARY(16) columns compare byte by byte, unsigned)
+            assertThat(Arrays.compareUnsigned(toBytes(previous), toBytes(current))).isNegative();
+            previous = current;
+        }
+
+    }
+
+    private static byte[] toBytes(UUID uuid) {
+        return ByteBuffer.allocate(16)
+                .putLong(uuid.getMostSignificantBits())
+                .putLong(uuid.getLeastSignificantBits())
+                .array();
+    }
+
+}
@@ -0,0 +1,41 @@
+package com.example.xlsxziptotxtzip.convert.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CapturingOutputStreamTest {
+
+    @Test
+    void write_withinLimit_passesThroughAndCapturesCopy() throws Exception {
+        // given
+        ByteArrayOutputStream target = new ByteArrayOutputStream();
+        CapturingOutputStream stream = new CapturingOutputStream(target, 4);
+
+        // when
+        stream.write(new byte[]{1, 2, 3}, 0, 3);
+        stream.write(4);
+
+        // then
+        assertThat(target.toByteArray()).containsExactly(1, 2, 3, 4);
+        assertThat(stream.captured()).containsExactly(1, 2, 3, 4);
+    }
+
+    @Test
+    void write_beyondLimit_passesThroughAndDropsCopy() throws Exception {
+        // given
+        ByteArrayOutputStream target = new ByteArrayOutputStream();
+        CapturingOutputStream stream = new CapturingOutputStream(target, 2);
+
+        // when
+        stream.write(new byte[]{1, 2, 3}, 0, 3);
+        stream.write(4);
+
+        // then
+        assertThat(target.toByteArray()).containsExactly(1, 2, 3, 4);
+        assertThat(stream.captured()).isNull();
+    }
+
+}
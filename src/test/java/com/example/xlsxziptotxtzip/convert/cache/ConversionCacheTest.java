@@ -0,0 +1,101 @@
+package com.example.xlsxziptotxtzip.convert.cache;
+
+import com.example.xlsxziptotxtzip.convert.config.ConversionProperties;
+import com.example.xlsxziptotxtzip.convert.model.enums.ConversionEngine;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConversionCacheTest {
+
+    @TempDir
+    Path cacheDirectory;
+
+    @Test
+    void key_dependsOnContentAndEngine() {
+        // given
+        ConversionCache cache = new ConversionCache(properties(0), new SimpleMeterRegistry());
+        byte[] content = "workbook".getBytes(StandardCharsets.UTF_8);
+
+        // when
+        String domKey = cache.key(content, ConversionEngine.DOM);
+        String streamingKey = cache.key(content, ConversionEngine.STREAMING);
+        String otherContentKey = cache.key("other".getBytes(StandardCharsets.UTF_8), ConversionEngine.DOM);
+
+        // then
+        assertThat(domKey).hasSize(64).isEqualTo(cache.key(content, ConversionEngine.DOM));
+        assertThat(domKey).isNotEqualTo(streamingKey).isNotEqualTo(otherContentKey);
+    }
+
+    @Test
+    void get_afterPut_returnsValueFromMemory_andCountsHitsAndMisses() {
+        // given
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ConversionCache cache = new ConversionCache(properties(0), meterRegistry);
+        String key = cache.key(new byte[]{1, 2, 3}, ConversionEngine.DOM);
+        byte[] value = "text".getBytes(StandardCharsets.UTF_8);
+
+        // when
+        byte[] beforePut = cache.get(key);
+        cache.put(key, value);
+        byte[] afterPut = cache.get(key);
+
+        // then
+        assertThat(beforePut).isNull();
+        assertThat(afterPut).isEqualTo(value);
+        assertThat(meterRegistry.get("conversion.cache.gets").tag("result", "miss").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("conversion.cache.gets").tag("tier", "memory").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.find("conversion.cache.size").tag("tier", "memory").gauge()).isNotNull();
+    }
+
+    @Test
+    void get_afterRestart_returnsValueFromDisk() {
+        // given
+        byte[] value = "text".getBytes(StandardCharsets.UTF_8);
+        ConversionCache firstRun = new ConversionCache(properties(1024), new SimpleMeterRegistry());
+        String key = firstRun.key(new byte[]{1, 2, 3}, ConversionEngine.STREAMING);
+        firstRun.put(key, value);
+
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ConversionCache secondRun = new ConversionCache(properties(1024), meterRegistry);
+
+        // when
+        byte[] fromDisk = secondRun.get(key);
+        byte[] fromMemory = secondRun.get(key);
+
+        // then
+        assertThat(fromDisk).isEqualTo(value);
+        assertThat(fromMemory).isEqualTo(value);
+        assertThat(meterRegistry.get("conversion.cache.gets").tag("tier", "disk").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("conversion.cache.gets").tag("tier", "memory").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void put_whenValueExceedsMaxEntryBytes_doesNotStoreIt() {
+        // given
+        ConversionProperties properties = properties(1024);
+        properties.getCache().setMaxEntryBytes(4);
+        ConversionCache cache = new ConversionCache(properties, new SimpleMeterRegistry());
+        String key = cache.key(new byte[]{1}, ConversionEngine.DOM);
+
+        // when
+        cache.put(key, "too long".getBytes(StandardCharsets.UTF_8));
+
+        // then
+        assertThat(cache.get(key)).isNull();
+    }
+
+    private ConversionProperties properties(long diskMaxBytes) {
+        ConversionProperties properties = new ConversionProperties();
+        properties.getCache().setEnabled(true);
+        properties.getCache().setDiskMaxBytes(diskMaxBytes);
+        properties.getCache().setDirectory(cacheDirectory.toString());
+        return properties;
+    }
+
+}
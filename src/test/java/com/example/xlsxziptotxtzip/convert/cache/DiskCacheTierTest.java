@@ -0,0 +1,79 @@
+package com.example.xlsxziptotxtzip.convert.cache;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DiskCacheTierTest {
+
+    private static final String KEY_A = "a".repeat(64);
+    private static final String KEY_B = "b".repeat(64);
+    private static final String KEY_C = "c".repeat(64);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void put_whenOverBudget_evictsLeastRecentlyUsedEntry() throws Exception {
+        // given
+        DiskCacheTier tier = new DiskCacheTier(directory, 10);
+        tier.put(KEY_A, new byte[4]);
+        tier.put(KEY_B, new byte[4]);
+        backdate(KEY_A, 2_000);
+        backdate(KEY_B, 1_000);
+        tier = new DiskCacheTier(directory, 10);
+
+        // when: A is read, so B becomes the least recently used entry
+        tier.get(KEY_A);
+        tier.put(KEY_C, new byte[4]);
+
+        // then
+        assertThat(tier.get(KEY_B)).isNull();
+        assertThat(tier.get(KEY_A)).hasSize(4);
+        assertThat(tier.get(KEY_C)).hasSize(4);
+        assertThat(tier.totalBytes()).isEqualTo(8);
+        assertThat(tier.evictionCount()).isEqualTo(1);
+        assertThat(directory.resolve(KEY_B + ".txt")).doesNotExist();
+    }
+
+    @Test
+    void constructor_indexesExistingEntries_andDeletesLeftoverTempFiles() throws Exception {
+        // given
+        Files.write(directory.resolve(KEY_A + ".txt"), new byte[]{1, 2, 3});
+        Files.write(directory.resolve(KEY_B + ".tmp"), new byte[]{1});
+        Files.write(directory.resolve("unrelated.bin"), new byte[]{1});
+
+        // when
+        DiskCacheTier tier = new DiskCacheTier(directory, 100);
+
+        // then
+        assertThat(tier.totalBytes()).isEqualTo(3);
+        assertThat(tier.get(KEY_A)).containsExactly(1, 2, 3);
+        assertThat(directory.resolve(KEY_B + ".tmp")).doesNotExist();
+        assertThat(directory.resolve("unrelated.bin")).exists();
+    }
+
+    @Test
+    void put_whenValueExceedsBudget_doesNotStoreIt() {
+        // given
+        DiskCacheTier tier = new DiskCacheTier(directory, 2);
+
+        // when
+        tier.put(KEY_A, new byte[3]);
+
+        // then
+        assertThat(tier.get(KEY_A)).isNull();
+        assertThat(tier.totalBytes()).isZero();
+    }
+
+    private void backdate(String key, long millis) throws Exception {
+        Path file = directory.resolve(key + ".txt");
+        Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis() - millis));
+    }
+
+}
@@ -0,0 +1,156 @@
+package com.example.xlsxziptotxtzip.convert.controller;
+
+import com.example.xlsxziptotxtzip.base.AbstractRestControllerTest;
+import com.example.xlsxziptotxtzip.convert.exception.ConversionJobNotFinishedException;
+import com.example.xlsxziptotxtzip.convert.exception.ConversionJobNotFoundException;
+import com.example.xlsxziptotxtzip.convert.exception.ConversionJobQuotaExceededException;
+import com.example.xlsxziptotxtzip.convert.model.ConversionJob;
+import com.example.xlsxziptotxtzip.convert.service.ConversionJobService;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.ByteArrayInputStream;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+class ConversionJobControllerTest extends AbstractRestControllerTest {
+
+    private static final String URL = "/api/jobs";
+
+    @MockitoBean
+    private ConversionJobService conversionJobService;
+
+    @Test
+    void submitJob_whenValidFile_returnsAccepted_withJobLocation() throws Exception {
+
+        // given
+        MockMultipartFile file = new MockMultipartFile(
+                "file", "upload.zip", "application/zip", new byte[]{1, 2, 3});
+        ConversionJob job = new ConversionJob(UUID.randomUUID(), 3, LocalDateTime.now());
+
+        when(conversionJobService.submit(any(MultipartFile.class))).thenReturn(job);
+
+        // when / then
+        mockMvc.perform(multipart(URL).file(file))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string(HttpHeaders.LOCATION, "/api/jobs/" + job.getId()))
+                .andExpect(jsonPath("$.httpStatus").value("ACCEPTED"))
+                .andExpect(jsonPath("$.isSuccess").value(true))
+                .andExpect(jsonPath("$.response.id").value(job.getId().toString()))
+                .andExpect(jsonPath("$.response.status").value("QUEUED"))
+                .andExpect(jsonPath("$.response.bytesTotal").value(3));
+
+        // Verify
+        verify(conversionJobService, times(1)).submit(any(MultipartFile.class));
+
+    }
+
+    @Test
+    void submitJob_whenQuotaIsExceeded_returnsInsufficientStorage() throws Exception {
+
+        // given
+        MockMultipartFile file = new MockMultipartFile(
+                "file", "upload.zip", "application/zip", new byte[]{1, 2, 3});
+
+        when(conversionJobService.submit(any(MultipartFile.class)))
+                .thenThrow(new ConversionJobQuotaExceededException("Not enough space"));
+
+        // when / then
+        mockMvc.perform(multipart(URL).file(file))
+                .andExpect(status().isInsufficientStorage())
+                .andExpect(jsonPath("$.message").value("Not enough space"));
+
+    }
+
+    @Test
+    void getJob_whenJobExists_returnsProgress() throws Exception {
+
+        // given
+        ConversionJob job = new ConversionJob(UUID.randomUUID(), 100, LocalDateTime.now());
+        job.start();
+        job.setEntriesTotal(4);
+        job.entryDone();
+        job.addBytesRead(40);
+        String id = job.getId().toString();
+
+        when(conversionJobService.getJob(id)).thenReturn(job);
+
+        // when / then
+        mockMvc.perform(get(URL + "/{id}", id))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.response.status").value("RUNNING"))
+                .andExpect(jsonPath("$.response.entriesDone").value(1))
+                .andExpect(jsonPath("$.response.entriesTotal").value(4))
+                .andExpect(jsonPath("$.response.bytesRead").value(40))
+                .andExpect(jsonPath("$.response.bytesTotal").value(100));
+
+    }
+
+    @Test
+    void getJob_whenJobIsMissing_returnsNotFound() throws Exception {
+
+        // given
+        String id = "0190a6f2-8c3e-7a10-8b2d-4c5e6f708192";
+
+        when(conversionJobService.getJob(id)).thenThrow(new ConversionJobNotFoundException(id));
+
+        // when / then
+        mockMvc.perform(get(URL + "/{id}", id))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.header").value("API ERROR"))
+                .andExpect(jsonPath("$.message").value("Conversion job not found: " + id));
+
+    }
+
+    @Test
+    void getJobResult_whenJobSucceeded_returnsTheZipAsAttachment() throws Exception {
+
+        // given
+        String id = "0190a6f2-8c3e-7a10-8b2d-4c5e6f708192";
+        AtomicBoolean released = new AtomicBoolean();
+        ConversionJobService.ResultDownload result = new ConversionJobService.ResultDownload(
+                new ByteArrayInputStream(new byte[]{1, 2, 3, 4}), 4, () -> released.set(true));
+
+        when(conversionJobService.openResult(id)).thenReturn(result);
+
+        // when / then
+        mockMvc.perform(get(URL + "/{id}/result", id))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/zip"))
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, containsString("attachment")))
+                .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, 4))
+                .andExpect(content().bytes(new byte[]{1, 2, 3, 4}));
+
+        assertTrue(released.get());
+
+    }
+
+    @Test
+    void getJobResult_whenJobIsNotFinished_returnsConflict() throws Exception {
+
+        // given
+        String id = "0190a6f2-8c3e-7a10-8b2d-4c5e6f708192";
+
+        when(conversionJobService.openResult(id))
+                .thenThrow(new ConversionJobNotFinishedException("Conversion job is running; retry once it has succeeded."));
+
+        // when / then
+        mockMvc.perform(get(URL + "/{id}/result", id))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.message").value("Conversion job is running; retry once it has succeeded."));
+
+    }
+
+}
@@ -1,21 +1,35 @@
 package com.example.xlsxziptotxtzip.convert.controller;
 
 import com.example.xlsxziptotxtzip.base.AbstractRestControllerTest;
+import com.example.xlsxziptotxtzip.convert.config.ConversionProperties;
+import com.example.xlsxziptotxtzip.convert.exception.ConversionOverloadedException;
+import com.example.xlsxziptotxtzip.convert.exception.ZipProcessingException;
 import com.example.xlsxziptotxtzip.convert.model.dto.ConvertedFile;
+import com.example.xlsxziptotxtzip.convert.service.ConversionAdmission;
+import com.example.xlsxziptotxtzip.convert.service.ConvertedEntryHandler;
 import com.example.xlsxziptotxtzip.convert.service.ZipProcessingService;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
 import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.multipart.MultipartFile;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipInputStream;
 
@@ -23,16 +37,29 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.containsString;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 class XlsxZipToTxtZipControllerTest extends AbstractRestControllerTest {
 
     private static final String URL = "/api/upload-zip";
+    private static final String STREAM_URL = "/api/upload-zip/stream";
+    private static final String RAW_URL = "/api/upload-zip/raw";
 
     @MockitoBean
     private ZipProcessingService zipProcessingService;
 
+    @MockitoSpyBean
+    private ConversionAdmission conversionAdmission;
+
+    @Autowired
+    private ConversionProperties conversionProperties;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     @Test
     void uploadZip_whenValidZipAndServiceReturnsFiles_returnsZipAndCallsServiceOnce() throws Exception {
 
@@ -173,6 +200,361 @@ class XlsxZipToTxtZipControllerTest extends AbstractRestControllerTest {
 
     }
 
+    @Test
+    void uploadZipStreaming_whenServiceHandsOverEntries_streamsZipInEntryOrder() throws Exception {
+
+        // Given
+        MockMultipartFile inputZip = new MockMultipartFile(
+                "file",
+                "input.zip",
+                "application/zip",
+                "dummy-zip-content".getBytes(StandardCharsets.UTF_8)
+        );
+
+        doAnswer(invocation -> {
+            ConvertedEntryHandler handler = invocation.getArgument(1);
+            handler.handleEntry("first.xlsx", out -> out.write("FIRST_CONTENT".getBytes(StandardCharsets.UTF_8)));
+            handler.handleEntry("second.XLSX", out -> out.write("SECOND_CONTENT".getBytes(StandardCharsets.UTF_8)));
+            return null;
+        }).when(zipProcessingService).processZip(any(MultipartFile.class), any(ConvertedEntryHandler.class));
+
+        // When
+        MvcResult asyncResult = mockMvc.perform(
+                        multipart(STREAM_URL)
+                                .file(inputZip)
+                                .contentType(MediaType.MULTIPART_FORM_DATA)
+                )
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        MvcResult result = mockMvc.perform(asyncDispatch(asyncResult))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/zip"))
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, containsString("attachment")))
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_LENGTH))
+                .andReturn();
+
+        // Verify
+        verify(zipProcessingService).processZip(any(MultipartFile.class), any(ConvertedEntryHandler.class));
+        verify(zipProcessingService, never()).processZip(any());
+
+        byte[] responseBytes = result.getResponse().getContentAsByteArray();
+        assertThat(extractZipEntryNames(responseBytes)).containsExactly("first.txt", "second.txt");
+        assertThat(extractZipEntries(responseBytes))
+                .containsEntry("first.txt", "FIRST_CONTENT")
+                .containsEntry("second.txt", "SECOND_CONTENT");
+    }
+
+    @Test
+    void uploadZipStreaming_whenFileIsEmpty_returnsBadRequest_andDoesNotCallService() throws Exception {
+
+        // given
+        MockMultipartFile emptyZip = new MockMultipartFile(
+                "file",
+                "empty.zip",
+                "application/zip",
+                new byte[0]
+        );
+
+        // when
+        mockMvc.perform(
+                        multipart(STREAM_URL)
+                                .file(emptyZip)
+                                .contentType(MediaType.MULTIPART_FORM_DATA)
+                )
+                // then
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Uploaded file is empty."));
+
+        // Verify
+        verify(zipProcessingService, never()).processZip(any(MultipartFile.class), any(ConvertedEntryHandler.class));
+
+    }
+
+    @Test
+    void uploadZipStreaming_whenNoEntryIsConverted_returnsBadRequest() throws Exception {
+
+        // Given
+        MockMultipartFile inputZip = new MockMultipartFile(
+                "file",
+                "input.zip",
+                "application/zip",
+                "dummy-zip-content".getBytes(StandardCharsets.UTF_8)
+        );
+
+        doNothing().when(zipProcessingService).processZip(any(MultipartFile.class), any(ConvertedEntryHandler.class));
+
+        // When
+        MvcResult asyncResult = mockMvc.perform(
+                        multipart(STREAM_URL)
+                                .file(inputZip)
+                                .contentType(MediaType.MULTIPART_FORM_DATA)
+                )
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(asyncResult))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("No XLSX files were found in the uploaded ZIP."));
+
+        // Verify
+        verify(zipProcessingService).processZip(any(MultipartFile.class), any(ConvertedEntryHandler.class));
+
+    }
+
+    @Test
+    void uploadZipRaw_whenServiceHandsOverEntries_streamsZipInEntryOrder() throws Exception {
+
+        // Given
+        byte[] body = "dummy-zip-content".getBytes(StandardCharsets.UTF_8);
+
+        doAnswer(invocation -> {
+            InputStream zipStream = invocation.getArgument(0);
+            assertThat(zipStream.readAllBytes()).isEqualTo(body);
+
+            ConvertedEntryHandler handler = invocation.getArgument(1);
+            handler.handleEntry("first.xlsx", out -> out.write("FIRST_CONTENT".getBytes(StandardCharsets.UTF_8)));
+            handler.handleEntry("second.xlsx", out -> out.write("SECOND_CONTENT".getBytes(StandardCharsets.UTF_8)));
+            return null;
+        }).when(zipProcessingService).processZip(any(InputStream.class), any(ConvertedEntryHandler.class));
+
+        // When
+        MvcResult asyncResult = mockMvc.perform(
+                        post(RAW_URL)
+                                .contentType("application/zip")
+                                .content(body)
+                )
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        MvcResult result = mockMvc.perform(asyncDispatch(asyncResult))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/zip"))
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, containsString("attachment")))
+                .andReturn();
+
+        // Verify
+        verify(zipProcessingService).processZip(any(InputStream.class), any(ConvertedEntryHandler.class));
+        verify(zipProcessingService, never()).processZip(any(MultipartFile.class), any(ConvertedEntryHandler.class));
+
+        byte[] responseBytes = result.getResponse().getContentAsByteArray();
+        assertThat(extractZipEntryNames(responseBytes)).containsExactly("first.txt", "second.txt");
+        assertThat(extractZipEntries(responseBytes))
+                .containsEntry("first.txt", "FIRST_CONTENT")
+                .containsEntry("second.txt", "SECOND_CONTENT");
+    }
+
+    @Test
+    void uploadZipRaw_whenContentLengthExceedsLimit_returnsPayloadTooLarge_andDoesNotCallService() throws Exception {
+
+        // Given
+        long maxRawUploadBytes = conversionProperties.getMaxRawUploadBytes();
+        conversionProperties.setMaxRawUploadBytes(4);
+
+        try {
+            // When
+            mockMvc.perform(
+                            post(RAW_URL)
+                                    .contentType("application/zip")
+                                    .content("dummy-zip-content".getBytes(StandardCharsets.UTF_8))
+                    )
+                    // Then
+                    .andExpect(status().isPayloadTooLarge());
+        } finally {
+            conversionProperties.setMaxRawUploadBytes(maxRawUploadBytes);
+        }
+
+        // Verify
+        verify(zipProcessingService, never()).processZip(any(InputStream.class), any(ConvertedEntryHandler.class));
+
+    }
+
+    @Test
+    void uploadZip_whenNotAdmitted_returnsTooManyRequests_withRetryAfter_andDoesNotCallService() throws Exception {
+
+        // Given
+        MockMultipartFile inputZip = new MockMultipartFile(
+                "file",
+                "input.zip",
+                "application/zip",
+                "dummy-zip-content".getBytes(StandardCharsets.UTF_8)
+        );
+
+        doThrow(new ConversionOverloadedException("Too many conversions in progress; retry later.", Duration.ofSeconds(7)))
+                .when(conversionAdmission).admit(any(MultipartFile.class));
+
+        // When
+        mockMvc.perform(
+                        multipart(URL)
+                                .file(inputZip)
+                                .contentType(MediaType.MULTIPART_FORM_DATA)
+                )
+                // Then
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "7"))
+                .andExpect(jsonPath("$.message").value("Too many conversions in progress; retry later."));
+
+        // Verify
+        verify(zipProcessingService, never()).processZip(any(MultipartFile.class));
+
+    }
+
+    @Test
+    void uploadZipStreaming_whenNotAdmitted_returnsTooManyRequests_beforeStartingTheResponse() throws Exception {
+
+        // Given
+        MockMultipartFile inputZip = new MockMultipartFile(
+                "file",
+                "input.zip",
+                "application/zip",
+                "dummy-zip-content".getBytes(StandardCharsets.UTF_8)
+        );
+
+        doThrow(new ConversionOverloadedException("Too many conversions in progress; retry later.", Duration.ofSeconds(3)))
+                .when(conversionAdmission).admitDeferred(any(MultipartFile.class));
+
+        // When
+        mockMvc.perform(
+                        multipart(STREAM_URL)
+                                .file(inputZip)
+                                .contentType(MediaType.MULTIPART_FORM_DATA)
+                )
+                // Then
+                .andExpect(request().asyncNotStarted())
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "3"));
+
+        // Verify
+        verify(zipProcessingService, never()).processZip(any(MultipartFile.class), any(ConvertedEntryHandler.class));
+
+    }
+
+    @Test
+    void uploadZipRaw_admitsTheContentLength_andReleasesTheAdmissionOnceStreamed() throws Exception {
+
+        // Given
+        byte[] body = "dummy-zip-content".getBytes(StandardCharsets.UTF_8);
+
+        doAnswer(invocation -> {
+            ConvertedEntryHandler handler = invocation.getArgument(1);
+            handler.handleEntry("first.xlsx", out -> out.write("FIRST_CONTENT".getBytes(StandardCharsets.UTF_8)));
+            return null;
+        }).when(zipProcessingService).processZip(any(InputStream.class), any(ConvertedEntryHandler.class));
+
+        // When
+        MvcResult asyncResult = mockMvc.perform(
+                        post(RAW_URL)
+                                .contentType("application/zip")
+                                .content(body)
+                )
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(asyncResult))
+                .andExpect(status().isOk());
+
+        // Then
+        verify(conversionAdmission).admitDeferred(body.length);
+        assertThat(meterRegistry.get("conversion.admission.in.flight.bytes").gauge().value()).isZero();
+
+    }
+
+    @Test
+    void uploadZipStreaming_whenTheAsyncRequestEndsBeforeTheBody_releasesTheAdmission() throws Exception {
+
+        // Given
+        MockMultipartFile inputZip = new MockMultipartFile(
+                "file",
+                "input.zip",
+                "application/zip",
+                "dummy-zip-content".getBytes(StandardCharsets.UTF_8)
+        );
+
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            started.countDown();
+            release.await();
+            return null;
+        }).when(zipProcessingService).processZip(any(MultipartFile.class), any(ConvertedEntryHandler.class));
+
+        MvcResult asyncResult = mockMvc.perform(
+                        multipart(STREAM_URL)
+                                .file(inputZip)
+                                .contentType(MediaType.MULTIPART_FORM_DATA)
+                )
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        try {
+            assertThat(started.await(10, TimeUnit.SECONDS)).isTrue();
+            assertThat(meterRegistry.get("conversion.admission.in.flight.bytes").gauge().value()).isPositive();
+
+            // When: the request ends, e.g. on timeout, while the body is still converting
+            asyncResult.getRequest().getAsyncContext().complete();
+
+            // Then
+            assertThat(meterRegistry.get("conversion.admission.in.flight.bytes").gauge().value()).isZero();
+        } finally {
+            release.countDown();
+        }
+
+    }
+
+    @Test
+    void uploadZip_whenCancelledByHeapWatchdog_returnsServiceUnavailable_andClearsTheInterrupt() throws Exception {
+
+        // Given
+        MockMultipartFile inputZip = new MockMultipartFile(
+                "file",
+                "input.zip",
+                "application/zip",
+                "dummy-zip-content".getBytes(StandardCharsets.UTF_8)
+        );
+
+        // The watchdog cancels the conversion, which then fails as an interrupted conversion does
+        when(zipProcessingService.processZip(any(MultipartFile.class))).thenAnswer(invocation -> {
+            assertThat(conversionAdmission.cancelLargest()).isPresent();
+            assertThat(Thread.currentThread().isInterrupted()).isTrue();
+            throw new ZipProcessingException("interrupted while converting entries", new InterruptedException());
+        });
+
+        // When
+        mockMvc.perform(
+                        multipart(URL)
+                                .file(inputZip)
+                                .contentType(MediaType.MULTIPART_FORM_DATA)
+                )
+                // Then
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(jsonPath("$.header").value("PROCESS ERROR"))
+                .andExpect(jsonPath("$.message").value(containsString("low on memory")));
+
+        assertThat(Thread.currentThread().isInterrupted()).isFalse();
+
+    }
+
+    /**
+     * Helper: read back the entry names of a ZIP, in archive order.
+     */
+    private List<String> extractZipEntryNames(byte[] zipBytes) throws Exception {
+
+        List<String> names = new ArrayList<>();
+
+        try (ZipInputStream zis = new ZipInputStream(new ByteArrayInputStream(zipBytes), StandardCharsets.UTF_8)) {
+            ZipEntry entry;
+            while ((entry = zis.getNextEntry()) != null) {
+                names.add(entry.getName());
+            }
+        }
+
+        return names;
+
+    }
+
     /**
      * Helper: read back the ZIP returned by the controller and map fileName -> content.
      */
@@ -0,0 +1,142 @@
+package com.example.xlsxziptotxtzip.convert.model.dto;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SheetContentTest {
+
+    @Test
+    void addRow_storesCellsAndTracksRowCountMaxColumnsAndColumnWidths() {
+        // given
+        SheetContent sheetContent = new SheetContent();
+
+        // when
+        sheetContent.addRow(List.of("id", "name"));
+        sheetContent.addRow(List.of("1", "Alice", "extra"));
+        sheetContent.addRow(List.of());
+
+        // then
+        assertThat(sheetContent.rowCount()).isEqualTo(3);
+        assertThat(sheetContent.maxColumns()).isEqualTo(3);
+        assertThat(sheetContent.rowValues(0)).containsExactly("id", "name");
+        assertThat(sheetContent.rowValues(1)).containsExactly("1", "Alice", "extra");
+        assertThat(sheetContent.rowValues(2)).isEmpty();
+        assertThat(sheetContent.columnWidth(0)).isEqualTo(2);
+        assertThat(sheetContent.columnWidth(1)).isEqualTo(5);
+        assertThat(sheetContent.columnWidth(2)).isEqualTo(5);
+        assertThat(sheetContent.columnWidth(3)).isZero();
+    }
+
+    @Test
+    void cellAccessors_whenColumnIsMissing_returnEmptyCell() {
+        // given
+        SheetContent sheetContent = new SheetContent();
+        sheetContent.addRow(List.of("only"));
+
+        // when / then
+        assertThat(sheetContent.cellValue(0, 5)).isEmpty();
+        assertThat(sheetContent.cellLength(0, 5)).isZero();
+        assertThat(sheetContent.cellLength(0, 0)).isEqualTo(4);
+        assertThat(new String(sheetContent.chars(), sheetContent.cellOffset(0, 0), sheetContent.cellLength(0, 0)))
+                .isEqualTo("only");
+    }
+
+    @Test
+    void addCell_whenValueIsNull_storesEmptyCell() {
+        // given
+        SheetContent sheetContent = new SheetContent();
+
+        // when
+        sheetContent.startRow();
+        sheetContent.addCell(null);
+        sheetContent.addCell("x");
+        sheetContent.endRow();
+
+        // then
+        assertThat(sheetContent.rowValues(0)).containsExactly("", "x");
+    }
+
+    @Test
+    void addRow_whenContentExceedsInitialCapacity_growsArenaAndIndexes() {
+        // given
+        SheetContent sheetContent = new SheetContent();
+        char[] longValue = new char[100];
+        Arrays.fill(longValue, 'a');
+        List<String> row = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            row.add(new String(longValue));
+        }
+
+        // when
+        for (int i = 0; i < 200; i++) {
+            sheetContent.addRow(row);
+        }
+
+        // then
+        assertThat(sheetContent.rowCount()).isEqualTo(200);
+        assertThat(sheetContent.maxColumns()).isEqualTo(50);
+        assertThat(sheetContent.cellValue(199, 49)).isEqualTo(new String(longValue));
+        assertThat(sheetContent.columnWidth(49)).isEqualTo(100);
+    }
+
+    @Test
+    void clear_removesRowsAndResetsWidths() {
+        // given
+        SheetContent sheetContent = new SheetContent();
+        sheetContent.addRow(List.of("wide value"));
+
+        // when
+        sheetContent.clear();
+        sheetContent.addRow(List.of("x"));
+
+        // then
+        assertThat(sheetContent.rowCount()).isEqualTo(1);
+        assertThat(sheetContent.columnWidth(0)).isEqualTo(1);
+    }
+
+    @Test
+    void addCell_withNumericFlag_isReportedPerCell_andResetByClear() {
+        // given
+        SheetContent sheetContent = new SheetContent();
+        sheetContent.startRow();
+        sheetContent.addCell("42", true);
+        sheetContent.addCell("42");
+        sheetContent.endRow();
+
+        // when / then
+        assertThat(sheetContent.isNumericCell(0, 0)).isTrue();
+        assertThat(sheetContent.isNumericCell(0, 1)).isFalse();
+        assertThat(sheetContent.isNumericCell(0, 5)).isFalse();
+
+        sheetContent.clear();
+        sheetContent.addRow(List.of("42"));
+        assertThat(sheetContent.isNumericCell(0, 0)).isFalse();
+    }
+
+    @Test
+    void addCell_withoutStartedRow_throwsIllegalStateException() {
+        // given
+        SheetContent sheetContent = new SheetContent();
+
+        // when / then
+        assertThatThrownBy(() -> sheetContent.addCell("x"))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void cellValue_whenRowIsOutOfBounds_throwsIndexOutOfBoundsException() {
+        // given
+        SheetContent sheetContent = new SheetContent();
+
+        // when / then
+        assertThatThrownBy(() -> sheetContent.cellValue(0, 0))
+                .isInstanceOf(IndexOutOfBoundsException.class);
+    }
+
+}
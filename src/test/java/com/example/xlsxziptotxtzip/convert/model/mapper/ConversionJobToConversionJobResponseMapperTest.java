@@ -0,0 +1,77 @@
+package com.example.xlsxziptotxtzip.convert.model.mapper;
+
+import com.example.xlsxziptotxtzip.convert.model.ConversionJob;
+import com.example.xlsxziptotxtzip.convert.model.dto.response.ConversionJobResponse;
+import com.example.xlsxziptotxtzip.convert.model.enums.ConversionJobStatus;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConversionJobToConversionJobResponseMapperTest {
+
+    private final ConversionJobToConversionJobResponseMapper mapper =
+            ConversionJobToConversionJobResponseMapper.initialize();
+
+    @Test
+    void map_whenSourceIsNull_returnsNull() {
+        // given
+        ConversionJob source = null;
+
+        // when
+        ConversionJobResponse result = mapper.map(source);
+
+        // then
+        assertNull(result);
+    }
+
+    @Test
+    void map_whenJobIsRunning_copiesProgress_andLeavesResultEmpty() {
+        // given
+        UUID id = UUID.randomUUID();
+        LocalDateTime createdAt = LocalDateTime.of(2025, 1, 1, 10, 0);
+        ConversionJob source = new ConversionJob(id, 2_048, createdAt);
+        source.start();
+        source.setEntriesTotal(3);
+        source.entryDone();
+        source.addBytesRead(1_024);
+
+        // when
+        ConversionJobResponse result = mapper.map(source);
+
+        // then
+        assertNotNull(result);
+        assertEquals(id.toString(), result.getId());
+        assertEquals(ConversionJobStatus.RUNNING, result.getStatus());
+        assertEquals(1, result.getEntriesDone());
+        assertEquals(3, result.getEntriesTotal());
+        assertEquals(1_024, result.getBytesRead());
+        assertEquals(2_048, result.getBytesTotal());
+        assertEquals(createdAt, result.getCreatedAt());
+        assertNull(result.getResultBytes());
+        assertNull(result.getFinishedAt());
+    }
+
+    @Test
+    void map_whenJobSucceeded_copiesResultAndRetention() {
+        // given
+        LocalDateTime finishedAt = LocalDateTime.of(2025, 1, 1, 10, 5);
+        LocalDateTime expiresAt = finishedAt.plusHours(1);
+        ConversionJob source = new ConversionJob(UUID.randomUUID(), 2_048, finishedAt.minusMinutes(5));
+        source.start();
+        source.succeed(512, finishedAt, expiresAt);
+
+        // when
+        ConversionJobResponse result = mapper.map(source);
+
+        // then
+        assertEquals(ConversionJobStatus.SUCCEEDED, result.getStatus());
+        assertEquals(512L, result.getResultBytes());
+        assertEquals(finishedAt, result.getFinishedAt());
+        assertEquals(expiresAt, result.getExpiresAt());
+        assertNull(result.getError());
+    }
+
+}
@@ -0,0 +1,266 @@
+package com.example.xlsxziptotxtzip.convert.service;
+
+import com.example.xlsxziptotxtzip.convert.config.ConversionProperties;
+import com.example.xlsxziptotxtzip.convert.exception.ConversionCancelledException;
+import com.example.xlsxziptotxtzip.convert.exception.ConversionOverloadedException;
+import com.example.xlsxziptotxtzip.convert.exception.ZipProcessingException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.OptionalLong;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ConversionAdmissionTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private ConversionProperties conversionProperties;
+
+    @BeforeEach
+    void setUp() {
+        conversionProperties = new ConversionProperties();
+        conversionProperties.getAdmission().setMaxInFlightBytes(4 * 1024);
+        conversionProperties.getAdmission().setMaxQueued(1);
+        conversionProperties.getAdmission().setMaxQueueWait(Duration.ofSeconds(5));
+    }
+
+    @Test
+    void admit_whenWithinBudget_admitsAtOnce_andReleasesOnClose() {
+        // given
+        ConversionAdmission admission = new ConversionAdmission(conversionProperties, meterRegistry);
+
+        // when
+        ConversionAdmission.Permit first = admission.admit(2 * 1024);
+        ConversionAdmission.Permit second = admission.admit(2 * 1024);
+
+        // then
+        assertThat(inFlightBytes()).isEqualTo(4 * 1024);
+        assertThat(requests("admitted")).isEqualTo(2);
+
+        first.close();
+        first.close();
+        second.close();
+        assertThat(inFlightBytes()).isZero();
+        admission.admit(4 * 1024).close();
+    }
+
+    @Test
+    void admit_whenBudgetIsUsedUp_waitsUntilItIsReleased() throws Exception {
+        // given
+        ConversionAdmission admission = new ConversionAdmission(conversionProperties, meterRegistry);
+        ConversionAdmission.Permit running = admission.admit(4 * 1024);
+
+        // when
+        CompletableFuture<ConversionAdmission.Permit> waiting = CompletableFuture.supplyAsync(() -> admission.admit(1024));
+        awaitQueueSize(1);
+        assertThat(waiting).isNotDone();
+        running.close();
+
+        // then
+        waiting.get(5, TimeUnit.SECONDS).close();
+        assertThat(requests("admitted")).isEqualTo(1);
+        assertThat(requests("queued")).isEqualTo(1);
+        assertThat(queueSize()).isZero();
+    }
+
+    @Test
+    void admit_whenStillWaitingAfterMaxQueueWait_rejectsWithRetryAfter() {
+        // given
+        conversionProperties.getAdmission().setMaxQueueWait(Duration.ofMillis(50));
+        ConversionAdmission admission = new ConversionAdmission(conversionProperties, meterRegistry);
+        admission.admit(4 * 1024);
+
+        // when / then
+        assertThatThrownBy(() -> admission.admit(1024))
+                .isInstanceOfSatisfying(ConversionOverloadedException.class, e -> {
+                    assertThat(e.getRetryAfter()).isBetween(Duration.ofSeconds(1), Duration.ofSeconds(60));
+                    assertThat(e.getHttpHeaders().getFirst("Retry-After")).isEqualTo(String.valueOf(e.getRetryAfter().toSeconds()));
+                });
+        assertThat(requests("rejected")).isEqualTo(1);
+        assertThat(queueSize()).isZero();
+    }
+
+    @Test
+    void admit_whenQueueIsFull_rejectsAtOnce() throws Exception {
+        // given
+        ConversionAdmission admission = new ConversionAdmission(conversionProperties, meterRegistry);
+        ConversionAdmission.Permit running = admission.admit(4 * 1024);
+        CompletableFuture<ConversionAdmission.Permit> waiting = CompletableFuture.supplyAsync(() -> admission.admit(1024));
+        awaitQueueSize(1);
+
+        // when / then
+        assertThatThrownBy(() -> admission.admit(1024))
+                .isInstanceOf(ConversionOverloadedException.class);
+        assertThat(requests("rejected")).isEqualTo(1);
+
+        running.close();
+        waiting.get(5, TimeUnit.SECONDS).close();
+    }
+
+    @Test
+    void admit_whenLargerThanTheBudget_runsAlone() {
+        // given
+        conversionProperties.getAdmission().setMaxQueued(0);
+        ConversionAdmission admission = new ConversionAdmission(conversionProperties, meterRegistry);
+
+        // when
+        ConversionAdmission.Permit large = admission.admit(1024 * 1024);
+
+        // then
+        assertThat(inFlightBytes()).isEqualTo(1024 * 1024);
+        assertThatThrownBy(() -> admission.admit(1))
+                .isInstanceOf(ConversionOverloadedException.class);
+        large.close();
+        admission.admit(1).close();
+    }
+
+    @Test
+    void admit_whenDisabled_admitsEverything_withoutTracking() {
+        // given
+        conversionProperties.getAdmission().setEnabled(false);
+        ConversionAdmission admission = new ConversionAdmission(conversionProperties, meterRegistry);
+
+        // when
+        admission.admit(1024 * 1024);
+        admission.admit(1024 * 1024);
+
+        // then
+        assertThat(inFlightBytes()).isZero();
+        assertThat(requests("admitted")).isZero();
+    }
+
+    @Test
+    void cancelLargest_interruptsTheThreadOfTheMostExpensiveRequest_only() throws Exception {
+        // given
+        ConversionAdmission admission = new ConversionAdmission(conversionProperties, meterRegistry);
+        ConversionAdmission.Permit small = admission.admit(1024);
+        CountDownLatch attached = new CountDownLatch(1);
+        CompletableFuture<Boolean> largeInterrupted = new CompletableFuture<>();
+        ConversionAdmission.Permit large = admission.admitDeferred(2 * 1024);
+        Thread worker = Thread.ofPlatform().start(() -> {
+            large.attach();
+            attached.countDown();
+            try {
+                TimeUnit.SECONDS.sleep(30);
+                largeInterrupted.complete(false);
+            } catch (InterruptedException e) {
+                largeInterrupted.complete(true);
+            } finally {
+                large.close();
+            }
+        });
+        attached.await();
+
+        // when
+        OptionalLong cancelled = admission.cancelLargest();
+
+        // then
+        assertThat(cancelled).hasValue(2 * 1024);
+        assertThat(largeInterrupted.get(5, TimeUnit.SECONDS)).isTrue();
+        worker.join();
+        assertThat(large.isCancelled()).isTrue();
+        assertThat(small.isCancelled()).isFalse();
+        assertThat(Thread.currentThread().isInterrupted()).isFalse();
+        small.close();
+    }
+
+    @Test
+    void cancelLargest_whenDeferredRequestIsNotAttachedYet_interruptsOnlyTheThreadThatAttachesIt() throws Exception {
+        // given
+        ConversionAdmission admission = new ConversionAdmission(conversionProperties, meterRegistry);
+        ConversionAdmission.Permit deferred = admission.admitDeferred(1024);
+
+        // when
+        OptionalLong cancelled = admission.cancelLargest();
+
+        // then: the admitting thread goes on serving other requests, uninterrupted
+        assertThat(cancelled).hasValue(1024);
+        assertThat(deferred.isCancelled()).isTrue();
+        assertThat(Thread.currentThread().isInterrupted()).isFalse();
+
+        // when
+        CompletableFuture<Boolean> attachedInterrupted = new CompletableFuture<>();
+        Thread worker = Thread.ofPlatform().start(() -> {
+            deferred.attach();
+            attachedInterrupted.complete(Thread.currentThread().isInterrupted());
+            deferred.close();
+        });
+        worker.join();
+
+        // then
+        assertThat(attachedInterrupted.get(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(Thread.currentThread().isInterrupted()).isFalse();
+        assertThat(admission.cancelLargest()).isEmpty();
+    }
+
+    @Test
+    void cancelLargest_whenCancelledRequestIsStillUnwinding_cancelsNothingMore() {
+        // given
+        ConversionAdmission admission = new ConversionAdmission(conversionProperties, meterRegistry);
+        ConversionAdmission.Permit first = admission.admit(1024);
+        ConversionAdmission.Permit second = admission.admit(1024);
+        assertThat(admission.cancelLargest()).isPresent();
+
+        // when
+        OptionalLong cancelled = admission.cancelLargest();
+
+        // then
+        assertThat(cancelled).isEmpty();
+        assertThat(first.isCancelled() ^ second.isCancelled()).isTrue();
+
+        // closing on the owner thread clears the interrupt of the cancellation
+        first.close();
+        second.close();
+        assertThat(Thread.currentThread().isInterrupted()).isFalse();
+        assertThat(admission.cancelLargest()).isEmpty();
+    }
+
+    @Test
+    void failure_whenCancelled_returnsConversionCancelledException() {
+        // given
+        conversionProperties.getAdmission().setEnabled(false);
+        ConversionAdmission admission = new ConversionAdmission(conversionProperties, meterRegistry);
+        ZipProcessingException failure = new ZipProcessingException("interrupted while converting entries", null);
+
+        try (ConversionAdmission.Permit permit = admission.admit(1024)) {
+            assertThat(permit.failure(failure)).isSameAs(failure);
+
+            // when
+            admission.cancelLargest();
+
+            // then
+            assertThat(permit.failure(failure))
+                    .isInstanceOf(ConversionCancelledException.class)
+                    .hasCause(failure);
+        }
+        assertThat(Thread.currentThread().isInterrupted()).isFalse();
+    }
+
+    private void awaitQueueSize(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (queueSize() != expected) {
+            assertThat(System.nanoTime()).as("queue size reached in time").isLessThan(deadline);
+            TimeUnit.MILLISECONDS.sleep(5);
+        }
+    }
+
+    private double inFlightBytes() {
+        return meterRegistry.get("conversion.admission.in.flight.bytes").gauge().value();
+    }
+
+    private double queueSize() {
+        return meterRegistry.get("conversion.admission.queue.size").gauge().value();
+    }
+
+    private double requests(String outcome) {
+        return meterRegistry.get("conversion.admission.requests").tag("outcome", outcome).counter().count();
+    }
+
+}
@@ -0,0 +1,141 @@
+package com.example.xlsxziptotxtzip.convert.service;
+
+import com.example.xlsxziptotxtzip.convert.config.ConversionProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ConversionExecutorTest {
+
+    private ConversionExecutor conversionExecutor;
+
+    @BeforeEach
+    void setUp() {
+        ConversionProperties conversionProperties = new ConversionProperties();
+        conversionProperties.setParallelism(1);
+        conversionExecutor = new ConversionExecutor(conversionProperties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        conversionExecutor.destroy();
+    }
+
+    @Test
+    void invokeAllLargestFirst_runsHeaviestTasksFirst_andReturnsResultsInTaskOrder() throws Exception {
+        // given: a single worker, so execution order equals submission order
+        List<String> executionOrder = new CopyOnWriteArrayList<>();
+        List<Callable<String>> tasks = List.of(
+                recording("small", executionOrder),
+                recording("large", executionOrder),
+                recording("medium", executionOrder),
+                recording("small-too", executionOrder)
+        );
+        long[] weights = {10, 1_000, 100, 10};
+
+        // when
+        List<String> results = conversionExecutor.invokeAllLargestFirst(tasks, weights);
+
+        // then
+        assertThat(results).containsExactly("small", "large", "medium", "small-too");
+        assertThat(executionOrder).containsExactly("large", "medium", "small", "small-too");
+    }
+
+    @Test
+    void invokeAllLargestFirst_whenTaskFails_throwsExecutionException_andCancelsRemainingTasks() throws Exception {
+        // given
+        AtomicBoolean lastTaskRan = new AtomicBoolean(false);
+        List<Callable<String>> tasks = List.of(
+                () -> {
+                    throw new IllegalStateException("boom");
+                },
+                () -> {
+                    // Blocks the single worker until it is interrupted by the cancellation
+                    TimeUnit.SECONDS.sleep(30);
+                    return "slow";
+                },
+                () -> {
+                    lastTaskRan.set(true);
+                    return "never";
+                }
+        );
+        long[] weights = {3, 2, 1};
+
+        // when / then
+        assertThatThrownBy(() -> conversionExecutor.invokeAllLargestFirst(tasks, weights))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(IllegalStateException.class);
+
+        assertThat(lastTaskRan).isFalse();
+    }
+
+    @Test
+    void forEachLargestFirst_handsResultsOverInTaskOrder_andStopsWhenHandlerFails() throws Exception {
+        // given
+        List<String> handled = new ArrayList<>();
+        List<Callable<String>> tasks = List.of(() -> "first", () -> "second", () -> "third");
+        long[] weights = {1, 2, 3};
+
+        // when / then
+        assertThatThrownBy(() -> conversionExecutor.forEachLargestFirst(tasks, weights, result -> {
+            handled.add(result);
+            if ("second".equals(result)) {
+                throw new IOException("downstream closed");
+            }
+        }))
+                .isInstanceOf(IOException.class)
+                .hasMessage("downstream closed");
+
+        assertThat(handled).containsExactly("first", "second");
+    }
+
+    @Test
+    void submit_runsTaskOnThePool_andReturnsItsResult() throws Exception {
+        // when
+        Future<String> future = conversionExecutor.submit(() -> Thread.currentThread().getName());
+
+        // then
+        assertThat(future.get(5, TimeUnit.SECONDS)).isNotEqualTo(Thread.currentThread().getName());
+    }
+
+    @Test
+    void invokeAllLargestFirst_whenNoTasks_returnsEmptyList() throws Exception {
+        // when
+        List<String> results = conversionExecutor.invokeAllLargestFirst(Collections.<Callable<String>>emptyList(), new long[0]);
+
+        // then
+        assertThat(results).isEmpty();
+    }
+
+    @Test
+    void invokeAllLargestFirst_whenWeightsDoNotMatchTasks_throwsIllegalArgumentException() {
+        // given
+        List<Callable<String>> tasks = List.of(() -> "a");
+
+        // when / then
+        assertThatThrownBy(() -> conversionExecutor.invokeAllLargestFirst(tasks, new long[2]))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private Callable<String> recording(String name, List<String> executionOrder) {
+        return () -> {
+            executionOrder.add(name);
+            return name;
+        };
+    }
+
+}
@@ -0,0 +1,339 @@
+package com.example.xlsxziptotxtzip.convert.service;
+
+import com.example.xlsxziptotxtzip.base.AbstractBaseServiceTest;
+import com.example.xlsxziptotxtzip.convert.config.ConversionProperties;
+import com.example.xlsxziptotxtzip.convert.exception.ConversionJobNotFinishedException;
+import com.example.xlsxziptotxtzip.convert.exception.ConversionJobNotFoundException;
+import com.example.xlsxziptotxtzip.convert.exception.ConversionJobQuotaExceededException;
+import com.example.xlsxziptotxtzip.convert.exception.InvalidZipContentException;
+import com.example.xlsxziptotxtzip.convert.exception.ZipProcessingException;
+import com.example.xlsxziptotxtzip.convert.model.ConversionJob;
+import com.example.xlsxziptotxtzip.convert.model.enums.ConversionJobStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+
+class ConversionJobServiceTest extends AbstractBaseServiceTest {
+
+    @TempDir
+    Path directory;
+
+    @Mock
+    private ZipProcessingService zipProcessingService;
+
+    @Mock
+    private ConversionMetrics conversionMetrics;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private ConversionProperties conversionProperties;
+
+    private ConversionJobStore conversionJobStore;
+
+    private ConversionAdmission conversionAdmission;
+
+    private ConversionJobService conversionJobService;
+
+    @BeforeEach
+    void setUp() {
+        conversionProperties = new ConversionProperties();
+        conversionProperties.getJobs().setWorkers(1);
+        conversionProperties.getJobs().setDirectory(directory.toString());
+        conversionProperties.getJobs().setResultTtl(Duration.ofMinutes(10));
+        conversionJobStore = new ConversionJobStore(conversionProperties, meterRegistry);
+        conversionAdmission = new ConversionAdmission(conversionProperties, meterRegistry);
+        conversionJobService = new ConversionJobService(zipProcessingService, conversionJobStore, conversionMetrics,
+                conversionAdmission, conversionProperties, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        conversionJobService.destroy();
+    }
+
+    @Test
+    void submit_whenConversionSucceeds_reportsProgress_andStoresTheResult() throws Exception {
+        // given
+        byte[] upload = zipOf("a.xlsx", "b.xlsx", "notes.txt");
+        doAnswer(invocation -> {
+            InputStream inputStream = invocation.getArgument(0);
+            inputStream.readAllBytes();
+            ConvertedEntryHandler handler = invocation.getArgument(1);
+            handler.handleEntry("a.xlsx", out -> out.write("A".getBytes(StandardCharsets.UTF_8)));
+            handler.handleEntry("b.xlsx", out -> out.write("B".getBytes(StandardCharsets.UTF_8)));
+            return null;
+        }).when(zipProcessingService).processZip(any(InputStream.class), any(ConvertedEntryHandler.class));
+
+        // when
+        ConversionJob job = conversionJobService.submit(multipart(upload));
+        awaitFinished(job);
+
+        // then
+        assertThat(job.getStatus()).isEqualTo(ConversionJobStatus.SUCCEEDED);
+        assertThat(job.getEntriesTotal()).isEqualTo(2);
+        assertThat(job.getEntriesDone()).isEqualTo(2);
+        assertThat(job.getBytesRead()).isEqualTo(upload.length);
+        assertThat(job.getBytesTotal()).isEqualTo(upload.length);
+        assertThat(job.getExpiresAt()).isEqualTo(job.getFinishedAt().plusMinutes(10));
+
+        try (ConversionJobService.ResultDownload result = conversionJobService.openResult(job.getId().toString())) {
+            assertThat(entryNames(result.readAllBytes())).containsExactly("a.txt", "b.txt");
+            assertThat(result.size()).isEqualTo(job.getResultBytes());
+        }
+        Path resultPath = conversionJobStore.resultPath(job.getId());
+        assertThat(job.getResultBytes()).isEqualTo(Files.size(resultPath));
+        assertThat(conversionJobStore.uploadPath(job.getId())).doesNotExist();
+        assertThat(conversionJobStore.usedBytes()).isEqualTo(Files.size(resultPath));
+        assertThat(meterRegistry.get("conversion.jobs.finished").tag("result", "succeeded").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void submit_admitsTheConversion_andFailsTheJobAsCancelled_whenTheHeapRunsLow() throws Exception {
+        // given
+        CountDownLatch converting = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            converting.countDown();
+            try {
+                TimeUnit.SECONDS.sleep(30);
+            } catch (InterruptedException e) {
+                throw new ZipProcessingException("interrupted while converting entries", e);
+            }
+            return null;
+        }).when(zipProcessingService).processZip(any(InputStream.class), any(ConvertedEntryHandler.class));
+        ConversionJob job = conversionJobService.submit(multipart(zipOf("a.xlsx")));
+        assertThat(converting.await(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(meterRegistry.get("conversion.admission.in.flight.bytes").gauge().value()).isEqualTo(1);
+
+        // when
+        OptionalLong cancelled = conversionAdmission.cancelLargest();
+        awaitFinished(job);
+
+        // then
+        assertThat(cancelled).hasValue(1);
+        assertThat(job.getStatus()).isEqualTo(ConversionJobStatus.FAILED);
+        assertThat(job.getError()).contains("low on memory");
+        assertThat(meterRegistry.get("conversion.admission.in.flight.bytes").gauge().value()).isZero();
+    }
+
+    @Test
+    void submit_whenUploadIsNotAZip_failsTheJob_andReleasesItsSpace() throws Exception {
+        // given
+        byte[] upload = "not a zip".getBytes(StandardCharsets.UTF_8);
+
+        // when
+        ConversionJob job = conversionJobService.submit(multipart(upload));
+        awaitFinished(job);
+
+        // then
+        assertThat(job.getStatus()).isEqualTo(ConversionJobStatus.FAILED);
+        assertThat(job.getError()).isEqualTo("Uploaded file is not a valid ZIP archive.");
+        assertThat(conversionJobStore.uploadPath(job.getId())).doesNotExist();
+        assertThat(conversionJobStore.usedBytes()).isZero();
+        assertThatThrownBy(() -> conversionJobService.openResult(job.getId().toString()))
+                .isInstanceOf(ConversionJobNotFinishedException.class)
+                .hasMessage("Conversion job failed: Uploaded file is not a valid ZIP archive.");
+    }
+
+    @Test
+    void submit_whenNoEntryIsConverted_failsTheJob_andDeletesThePartialResult() throws Exception {
+        // given: processZip finds nothing to convert
+
+        // when
+        ConversionJob job = conversionJobService.submit(multipart(zipOf("notes.txt")));
+        awaitFinished(job);
+
+        // then
+        assertThat(job.getStatus()).isEqualTo(ConversionJobStatus.FAILED);
+        assertThat(job.getError()).isEqualTo("No XLSX files were found in the uploaded ZIP.");
+        assertThat(conversionJobStore.tempResultPath(job.getId())).doesNotExist();
+        assertThat(conversionJobStore.usedBytes()).isZero();
+        assertThat(meterRegistry.get("conversion.jobs.finished").tag("result", "failed").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void submit_whenFileIsEmpty_throwsInvalidZipContentException() {
+        // given
+        MockMultipartFile file = multipart(new byte[0]);
+
+        // when / then
+        assertThatThrownBy(() -> conversionJobService.submit(file))
+                .isInstanceOf(InvalidZipContentException.class)
+                .hasMessage("Uploaded file is empty.");
+    }
+
+    @Test
+    void submit_whenUploadExceedsDiskQuota_throwsConversionJobQuotaExceededException() {
+        // given
+        conversionProperties.getJobs().setMaxDiskBytes(4);
+        ConversionJobService service = new ConversionJobService(
+                zipProcessingService,
+                new ConversionJobStore(conversionProperties, new SimpleMeterRegistry()),
+                conversionMetrics,
+                conversionAdmission,
+                conversionProperties,
+                new SimpleMeterRegistry());
+
+        // when / then
+        try {
+            assertThatThrownBy(() -> service.submit(multipart(new byte[5])))
+                    .isInstanceOf(ConversionJobQuotaExceededException.class);
+        } finally {
+            service.destroy();
+        }
+    }
+
+    @Test
+    void openResult_whenJobIsRunning_throwsConversionJobNotFinishedException() throws Exception {
+        // given
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            release.await();
+            return null;
+        }).when(zipProcessingService).processZip(any(InputStream.class), any(ConvertedEntryHandler.class));
+        ConversionJob job = conversionJobService.submit(multipart(zipOf("a.xlsx")));
+
+        // when / then
+        try {
+            assertThatThrownBy(() -> conversionJobService.openResult(job.getId().toString()))
+                    .isInstanceOf(ConversionJobNotFinishedException.class)
+                    .hasMessageStartingWith("Conversion job is ");
+        } finally {
+            release.countDown();
+        }
+        awaitFinished(job);
+    }
+
+    @Test
+    void getJob_whenIdIsUnknownOrMalformed_throwsConversionJobNotFoundException() {
+        // when / then
+        assertThatThrownBy(() -> conversionJobService.getJob("0190a6f2-8c3e-7a10-8b2d-4c5e6f708192"))
+                .isInstanceOf(ConversionJobNotFoundException.class);
+        assertThatThrownBy(() -> conversionJobService.getJob("not-a-uuid"))
+                .isInstanceOf(ConversionJobNotFoundException.class)
+                .hasMessage("Conversion job not found: not-a-uuid");
+    }
+
+    @Test
+    void evictExpiredJobs_removesExpiredJobs_andDeletesTheirResults() throws Exception {
+        // given
+        doAnswer(invocation -> {
+            ConvertedEntryHandler handler = invocation.getArgument(1);
+            handler.handleEntry("a.xlsx", out -> out.write('A'));
+            return null;
+        }).when(zipProcessingService).processZip(any(InputStream.class), any(ConvertedEntryHandler.class));
+        ConversionJob job = conversionJobService.submit(multipart(zipOf("a.xlsx")));
+        awaitFinished(job);
+        String id = job.getId().toString();
+
+        // when: not expired yet
+        conversionJobService.evictExpiredJobs(job.getExpiresAt().minusSeconds(1));
+
+        // then
+        assertThat(conversionJobService.getJob(id)).isSameAs(job);
+
+        // when: expired
+        conversionJobService.evictExpiredJobs(job.getExpiresAt());
+
+        // then
+        assertThatThrownBy(() -> conversionJobService.getJob(id))
+                .isInstanceOf(ConversionJobNotFoundException.class);
+        assertThat(conversionJobStore.resultPath(job.getId())).doesNotExist();
+        assertThat(conversionJobStore.usedBytes()).isZero();
+    }
+
+    @Test
+    void evictExpiredJobs_whileTheResultIsBeingDownloaded_deletesItOnceTheDownloadIsClosed() throws Exception {
+        // given
+        doAnswer(invocation -> {
+            ConvertedEntryHandler handler = invocation.getArgument(1);
+            handler.handleEntry("a.xlsx", out -> out.write('A'));
+            return null;
+        }).when(zipProcessingService).processZip(any(InputStream.class), any(ConvertedEntryHandler.class));
+        ConversionJob job = conversionJobService.submit(multipart(zipOf("a.xlsx")));
+        awaitFinished(job);
+        String id = job.getId().toString();
+        Path resultPath = conversionJobStore.resultPath(job.getId());
+        ConversionJobService.ResultDownload download = conversionJobService.openResult(id);
+
+        // when
+        conversionJobService.evictExpiredJobs(job.getExpiresAt());
+
+        // then: the job is gone, but the download can still be completed
+        assertThatThrownBy(() -> conversionJobService.openResult(id))
+                .isInstanceOf(ConversionJobNotFoundException.class);
+        assertThat(resultPath).exists();
+        assertThat(entryNames(download.readAllBytes())).containsExactly("a.txt");
+
+        // when
+        download.close();
+        download.close();
+
+        // then
+        assertThat(resultPath).doesNotExist();
+        assertThat(conversionJobStore.usedBytes()).isZero();
+    }
+
+    private static void awaitFinished(ConversionJob job) throws InterruptedException {
+        LocalDateTime deadline = LocalDateTime.now().plusSeconds(10);
+        while (job.getStatus() == ConversionJobStatus.QUEUED || job.getStatus() == ConversionJobStatus.RUNNING) {
+            assertThat(LocalDateTime.now()).as("job finished in time").isBefore(deadline);
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+    }
+
+    private static MockMultipartFile multipart(byte[] content) {
+        return new MockMultipartFile("file", "upload.zip", "application/zip", content);
+    }
+
+    private static byte[] zipOf(String... entryNames) throws Exception {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (ZipOutputStream zos = new ZipOutputStream(baos)) {
+            for (String entryName : entryNames) {
+                zos.putNextEntry(new ZipEntry(entryName));
+                zos.write(1);
+                zos.closeEntry();
+            }
+        }
+        return baos.toByteArray();
+    }
+
+    private static List<String> entryNames(byte[] zip) throws Exception {
+        List<String> names = new ArrayList<>();
+        try (ZipInputStream zis = new ZipInputStream(new ByteArrayInputStream(zip))) {
+            ZipEntry entry;
+            while ((entry = zis.getNextEntry()) != null) {
+                names.add(entry.getName());
+            }
+        }
+        return names;
+    }
+
+}
@@ -0,0 +1,135 @@
+package com.example.xlsxziptotxtzip.convert.service;
+
+import com.example.xlsxziptotxtzip.convert.config.ConversionProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ConversionJobStoreTest {
+
+    @TempDir
+    Path directory;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void reserve_whenQuotaWouldBeExceeded_returnsFalse_untilSpaceIsReleased() {
+        // given
+        ConversionJobStore store = store(10);
+
+        // when / then
+        assertThat(store.reserve(6)).isTrue();
+        assertThat(store.reserve(5)).isFalse();
+        store.release(6);
+        assertThat(store.reserve(10)).isTrue();
+        assertThat(store.usedBytes()).isEqualTo(10);
+        assertThat(meterRegistry.get("conversion.jobs.disk.usage").gauge().value()).isEqualTo(10);
+    }
+
+    @Test
+    void openResult_thenCommitResult_movesTheWrittenResultIntoPlace() throws Exception {
+        // given
+        ConversionJobStore store = store(100);
+        UUID jobId = UUID.randomUUID();
+
+        // when
+        try (ConversionJobStore.ResultOutputStream result = store.openResult(jobId)) {
+            result.write(new byte[]{1, 2, 3});
+            assertThat(result.bytesWritten()).isEqualTo(3);
+        }
+        store.commitResult(jobId);
+
+        // then
+        assertThat(store.resultPath(jobId)).exists();
+        assertThat(Files.readAllBytes(store.resultPath(jobId))).containsExactly(1, 2, 3);
+        assertThat(store.tempResultPath(jobId)).doesNotExist();
+        assertThat(store.usedBytes()).isEqualTo(3);
+    }
+
+    @Test
+    void resultOutputStream_whenQuotaIsExhausted_failsTheWrite() throws Exception {
+        // given
+        ConversionJobStore store = store(4);
+        UUID jobId = UUID.randomUUID();
+
+        // when / then
+        try (ConversionJobStore.ResultOutputStream result = store.openResult(jobId)) {
+            result.write(new byte[3]);
+            assertThatThrownBy(() -> result.write(new byte[2]))
+                    .isInstanceOf(IOException.class)
+                    .hasMessage("Disk quota for conversion jobs exceeded");
+            assertThat(result.bytesWritten()).isEqualTo(3);
+        }
+        assertThat(store.usedBytes()).isEqualTo(3);
+    }
+
+    @Test
+    void delete_removesTheFile_andReleasesItsSpace() throws Exception {
+        // given
+        ConversionJobStore store = store(100);
+        Path upload = store.uploadPath(UUID.randomUUID());
+        store.reserve(5);
+        Files.write(upload, new byte[5]);
+
+        // when
+        store.delete(upload, 5);
+
+        // then
+        assertThat(upload).doesNotExist();
+        assertThat(store.usedBytes()).isZero();
+    }
+
+    @Test
+    void constructor_deletesJobFilesOfPreviousRun_only() throws Exception {
+        // given
+        UUID jobId = UUID.randomUUID();
+        Files.write(directory.resolve(jobId + ".upload.zip"), new byte[]{1});
+        Files.write(directory.resolve(jobId + ".zip"), new byte[]{1});
+        Files.write(directory.resolve(jobId + ".zip.tmp"), new byte[]{1});
+        Files.write(directory.resolve("unrelated.bin"), new byte[]{1});
+
+        // when
+        ConversionJobStore store = store(100);
+
+        // then
+        assertThat(store.uploadPath(jobId)).doesNotExist();
+        assertThat(store.resultPath(jobId)).doesNotExist();
+        assertThat(store.tempResultPath(jobId)).doesNotExist();
+        assertThat(directory.resolve("unrelated.bin")).exists();
+        assertThat(store.usedBytes()).isZero();
+    }
+
+    @Test
+    void constructor_keepsZipFilesNotNamedAfterAJob() throws Exception {
+        // given
+        Files.write(directory.resolve("other.zip"), new byte[]{1});
+        Files.write(directory.resolve("other.upload.zip"), new byte[]{1});
+        Files.write(directory.resolve("other.zip.tmp"), new byte[]{1});
+        Files.write(directory.resolve("1-2-3-4-5.zip"), new byte[]{1});
+
+        // when
+        store(100);
+
+        // then
+        assertThat(directory.resolve("other.zip")).exists();
+        assertThat(directory.resolve("other.upload.zip")).exists();
+        assertThat(directory.resolve("other.zip.tmp")).exists();
+        assertThat(directory.resolve("1-2-3-4-5.zip")).exists();
+    }
+
+    private ConversionJobStore store(long maxDiskBytes) {
+        ConversionProperties conversionProperties = new ConversionProperties();
+        conversionProperties.getJobs().setDirectory(directory.toString());
+        conversionProperties.getJobs().setMaxDiskBytes(maxDiskBytes);
+        return new ConversionJobStore(conversionProperties, meterRegistry);
+    }
+
+}
@@ -0,0 +1,63 @@
+package com.example.xlsxziptotxtzip.convert.service;
+
+import com.example.xlsxziptotxtzip.convert.config.ConversionProperties;
+import com.example.xlsxziptotxtzip.convert.model.dto.ConversionStats;
+import com.example.xlsxziptotxtzip.convert.model.enums.ConversionEngine;
+import com.example.xlsxziptotxtzip.convert.model.enums.ConversionStage;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConversionMetricsTest {
+
+    @Test
+    void recordConversion_recordsStagesThatRan_taggedWithStageAndEngine() {
+        // given
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ConversionProperties properties = new ConversionProperties();
+        properties.setEngine(ConversionEngine.STREAMING);
+        ConversionMetrics metrics = new ConversionMetrics(properties, meterRegistry);
+
+        ConversionStats stats = new ConversionStats();
+        stats.addStageNanos(ConversionStage.WORKBOOK_OPEN, 2_000_000);
+        stats.addStageNanos(ConversionStage.RENDER, 5_000_000);
+        stats.setSheetSize(10, 40);
+
+        // when
+        metrics.recordConversion(stats);
+
+        // then
+        Timer render = meterRegistry.get("conversion.stage")
+                .tag("stage", "render").tag("engine", "streaming").timer();
+        assertThat(render.count()).isEqualTo(1);
+        assertThat(render.totalTime(TimeUnit.MILLISECONDS)).isEqualTo(5.0);
+        assertThat(meterRegistry.get("conversion.stage").tag("stage", "workbook_open").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("conversion.stage").tag("stage", "sheet_extraction").timer().count()).isZero();
+        assertThat(meterRegistry.get("conversion.sheet.rows").summary().totalAmount()).isEqualTo(10);
+        assertThat(meterRegistry.get("conversion.sheet.cells").summary().totalAmount()).isEqualTo(40);
+    }
+
+    @Test
+    void recordEntrySizeAndEntriesPerUpload_recordSummaries() {
+        // given
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ConversionMetrics metrics = new ConversionMetrics(new ConversionProperties(), meterRegistry);
+
+        // when
+        metrics.recordEntriesPerUpload(3);
+        metrics.recordEntrySize(1_000, 250);
+        metrics.recordStage(ConversionStage.OUTPUT_ZIP_WRITE, 1_000);
+
+        // then
+        assertThat(meterRegistry.get("conversion.upload.entries").summary().totalAmount()).isEqualTo(3);
+        assertThat(meterRegistry.get("conversion.entry.input.size").summary().totalAmount()).isEqualTo(1_000);
+        assertThat(meterRegistry.get("conversion.entry.output.size").summary().totalAmount()).isEqualTo(250);
+        assertThat(meterRegistry.get("conversion.stage")
+                .tag("stage", "output_zip_write").tag("engine", "dom").timer().count()).isEqualTo(1);
+    }
+
+}
@@ -0,0 +1,90 @@
+package com.example.xlsxziptotxtzip.convert.service;
+
+import com.example.xlsxziptotxtzip.base.AbstractBaseServiceTest;
+import com.example.xlsxziptotxtzip.convert.config.ConversionProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.util.List;
+import java.util.OptionalLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class HeapPressureWatchdogTest extends AbstractBaseServiceTest {
+
+    @Mock
+    private ConversionAdmission conversionAdmission;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void onHeapPressure_cancelsTheLargestConversion_andCountsIt() {
+        // given
+        HeapPressureWatchdog watchdog = new HeapPressureWatchdog(disabled(), conversionAdmission, meterRegistry);
+        when(conversionAdmission.cancelLargest()).thenReturn(OptionalLong.of(1024));
+
+        // when
+        watchdog.onHeapPressure("Old Gen", new MemoryUsage(0, 950, 1000, 1000));
+
+        // then
+        verify(conversionAdmission).cancelLargest();
+        assertThat(cancellations()).isEqualTo(1);
+    }
+
+    @Test
+    void onHeapPressure_whenNothingIsCancelled_doesNotCount() {
+        // given
+        HeapPressureWatchdog watchdog = new HeapPressureWatchdog(disabled(), conversionAdmission, meterRegistry);
+        when(conversionAdmission.cancelLargest()).thenReturn(OptionalLong.empty());
+
+        // when
+        watchdog.onHeapPressure("Old Gen", new MemoryUsage(0, 950, 1000, 1000));
+
+        // then
+        assertThat(cancellations()).isZero();
+    }
+
+    @Test
+    void constructor_setsThresholdsOnHeapPools_andDestroyClearsThem() {
+        // given
+        ConversionProperties conversionProperties = new ConversionProperties();
+        conversionProperties.getHeapWatchdog().setCriticalUsage(0.95);
+        List<MemoryPoolMXBean> watched = ManagementFactory.getMemoryPoolMXBeans().stream()
+                .filter(pool -> pool.getType() == MemoryType.HEAP)
+                .filter(MemoryPoolMXBean::isUsageThresholdSupported)
+                .filter(pool -> pool.getUsage().getMax() > 0)
+                .toList();
+
+        // when
+        HeapPressureWatchdog watchdog = new HeapPressureWatchdog(conversionProperties, conversionAdmission, meterRegistry);
+
+        // then
+        try {
+            for (MemoryPoolMXBean pool : watched) {
+                assertThat(pool.getUsageThreshold()).isEqualTo((long) (pool.getUsage().getMax() * 0.95));
+            }
+        } finally {
+            watchdog.destroy();
+        }
+        for (MemoryPoolMXBean pool : watched) {
+            assertThat(pool.getUsageThreshold()).isZero();
+        }
+    }
+
+    private static ConversionProperties disabled() {
+        ConversionProperties conversionProperties = new ConversionProperties();
+        conversionProperties.getHeapWatchdog().setEnabled(false);
+        return conversionProperties;
+    }
+
+    private double cancellations() {
+        return meterRegistry.get("conversion.heap.watchdog.cancellations").counter().count();
+    }
+
+}
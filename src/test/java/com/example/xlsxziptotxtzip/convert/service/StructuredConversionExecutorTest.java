@@ -0,0 +1,192 @@
+package com.example.xlsxziptotxtzip.convert.service;
+
+import com.example.xlsxziptotxtzip.convert.config.ConversionProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class StructuredConversionExecutorTest {
+
+    private StructuredConversionExecutor structuredConversionExecutor;
+
+    @BeforeEach
+    void setUp() {
+        ConversionProperties conversionProperties = new ConversionProperties();
+        conversionProperties.setParallelism(2);
+        structuredConversionExecutor = new StructuredConversionExecutor(conversionProperties);
+    }
+
+    @Test
+    void forEachLargestFirst_handsResultsOverInTaskOrder_onCallingThread_fromVirtualThreads() throws Exception {
+        // given
+        List<String> handled = new ArrayList<>();
+        List<Boolean> virtual = new CopyOnWriteArrayList<>();
+        List<Callable<String>> tasks = List.of(
+                recording("small", virtual),
+                recording("large", virtual),
+                recording("medium", virtual)
+        );
+        long[] weights = {10, 1_000, 100};
+
+        // when
+        structuredConversionExecutor.forEachLargestFirst(tasks, weights, result -> {
+            handled.add(result);
+            assertThat(Thread.currentThread().isVirtual()).isFalse();
+        });
+
+        // then
+        assertThat(handled).containsExactly("small", "large", "medium");
+        assertThat(virtual).containsOnly(true);
+    }
+
+    @Test
+    void forEachLargestFirst_whenTaskFails_reportsItsFailure_andInterruptsSiblings() throws Exception {
+        // given
+        CountDownLatch slowTaskStarted = new CountDownLatch(1);
+        AtomicBoolean slowTaskInterrupted = new AtomicBoolean(false);
+        List<Callable<String>> tasks = List.of(
+                () -> {
+                    slowTaskStarted.countDown();
+                    try {
+                        TimeUnit.SECONDS.sleep(30);
+                    } catch (InterruptedException e) {
+                        slowTaskInterrupted.set(true);
+                        throw e;
+                    }
+                    return "slow";
+                },
+                () -> {
+                    slowTaskStarted.await();
+                    throw new IllegalStateException("boom");
+                }
+        );
+        long[] weights = {2, 1};
+
+        // when / then: the failure of the second task is reported although the first one is awaited
+        assertThatThrownBy(() -> structuredConversionExecutor.forEachLargestFirst(tasks, weights, result -> {
+        }))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(IllegalStateException.class)
+                .hasRootCauseMessage("boom");
+
+        assertThat(slowTaskInterrupted).isTrue();
+    }
+
+    @Test
+    void forEachLargestFirst_whenHandlerFails_interruptsRunningTasks_andRethrows() throws Exception {
+        // given
+        CountDownLatch slowTaskStarted = new CountDownLatch(1);
+        AtomicBoolean slowTaskInterrupted = new AtomicBoolean(false);
+        List<Callable<String>> tasks = List.of(
+                () -> "first",
+                () -> {
+                    slowTaskStarted.countDown();
+                    try {
+                        TimeUnit.SECONDS.sleep(30);
+                    } catch (InterruptedException e) {
+                        slowTaskInterrupted.set(true);
+                        throw e;
+                    }
+                    return "slow";
+                }
+        );
+        long[] weights = {1, 2};
+
+        // when / then
+        assertThatThrownBy(() -> structuredConversionExecutor.forEachLargestFirst(tasks, weights, result -> {
+            await(slowTaskStarted);
+            throw new IOException("downstream closed");
+        }))
+                .isInstanceOf(IOException.class)
+                .hasMessage("downstream closed")
+                .satisfies(e -> assertThat(e.getSuppressed()).isEmpty());
+
+        assertThat(slowTaskInterrupted).isTrue();
+    }
+
+    @Test
+    void openBatch_whenClosedBeforeAllResultsAreTaken_interruptsRunningTasks() throws Exception {
+        // given
+        CountDownLatch slowTaskStarted = new CountDownLatch(1);
+        AtomicBoolean slowTaskInterrupted = new AtomicBoolean(false);
+
+        // when
+        try (StructuredConversionExecutor.Batch<String> batch = structuredConversionExecutor.openBatch()) {
+            assertThat(batch.submit(() -> "first").get()).isEqualTo("first");
+            batch.submit(() -> {
+                slowTaskStarted.countDown();
+                try {
+                    TimeUnit.SECONDS.sleep(30);
+                } catch (InterruptedException e) {
+                    slowTaskInterrupted.set(true);
+                    throw e;
+                }
+                return "slow";
+            });
+            slowTaskStarted.await();
+        }
+
+        // then
+        assertThat(slowTaskInterrupted).isTrue();
+        assertThat(Thread.currentThread().isInterrupted()).isFalse();
+    }
+
+    @Test
+    void openBatch_whenATaskFailed_failsLaterSubmissionsWithTheSameFailure() throws Exception {
+        // given
+        try (StructuredConversionExecutor.Batch<String> batch = structuredConversionExecutor.openBatch()) {
+            Future<String> failed = batch.submit(() -> {
+                throw new IllegalStateException("boom");
+            });
+            assertThatThrownBy(failed::get).hasRootCauseMessage("boom");
+
+            // when
+            Future<String> late = batch.submit(() -> "late");
+
+            // then
+            assertThatThrownBy(late::get)
+                    .isInstanceOf(ExecutionException.class)
+                    .hasRootCauseMessage("boom");
+        }
+    }
+
+    @Test
+    void forEachLargestFirst_whenWeightsDoNotMatchTasks_throwsIllegalArgumentException() {
+        // given
+        List<Callable<String>> tasks = List.of(() -> "a");
+
+        // when / then
+        assertThatThrownBy(() -> structuredConversionExecutor.forEachLargestFirst(tasks, new long[2], result -> {
+        }))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static void await(CountDownLatch latch) throws IOException {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            throw new IOException(e);
+        }
+    }
+
+    private Callable<String> recording(String name, List<Boolean> virtual) {
+        return () -> {
+            virtual.add(Thread.currentThread().isVirtual());
+            return name;
+        };
+    }
+
+}
@@ -0,0 +1,73 @@
+package com.example.xlsxziptotxtzip.convert.service;
+
+import com.example.xlsxziptotxtzip.convert.config.ConversionProperties;
+import com.example.xlsxziptotxtzip.convert.exception.InvalidZipContentException;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TxtZipWriterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final ConversionMetrics conversionMetrics = new ConversionMetrics(new ConversionProperties(), meterRegistry);
+
+    @Test
+    void handleEntry_recordsTheZipWork_withoutTheTimeTheContentSpendsRendering() throws Exception {
+        // given: content that renders for 200 ms between its writes
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        TxtZipWriter writer = new TxtZipWriter(outputStream, conversionMetrics);
+
+        // when
+        writer.handleEntry("a.xlsx", out -> {
+            out.write("first".getBytes(StandardCharsets.UTF_8));
+            render(Duration.ofMillis(200));
+            out.write("second".getBytes(StandardCharsets.UTF_8));
+        });
+        writer.finish();
+
+        // then
+        Timer zipWrite = meterRegistry.get("conversion.stage")
+                .tag("stage", "output_zip_write").timer();
+        assertThat(zipWrite.count()).isEqualTo(1);
+        assertThat(zipWrite.totalTime(TimeUnit.MILLISECONDS)).isLessThan(200);
+
+        try (ZipInputStream zis = new ZipInputStream(new ByteArrayInputStream(outputStream.toByteArray()))) {
+            ZipEntry entry = zis.getNextEntry();
+            assertThat(entry).isNotNull();
+            assertThat(entry.getName()).isEqualTo("a.txt");
+            assertThat(new String(zis.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo("firstsecond");
+        }
+    }
+
+    @Test
+    void finish_whenNoEntryWasWritten_throwsInvalidZipContentException() {
+        // given
+        TxtZipWriter writer = new TxtZipWriter(new ByteArrayOutputStream(), conversionMetrics);
+
+        // when / then
+        assertThatThrownBy(writer::finish)
+                .isInstanceOf(InvalidZipContentException.class)
+                .hasMessage("No XLSX files were found in the uploaded ZIP.");
+    }
+
+    private static void render(Duration duration) {
+        try {
+            Thread.sleep(duration);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
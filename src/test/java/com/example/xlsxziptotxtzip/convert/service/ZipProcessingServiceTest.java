@@ -1,8 +1,16 @@
 package com.example.xlsxziptotxtzip.convert.service;
 
+import com.example.xlsxziptotxtzip.convert.cache.ConversionCache;
+import com.example.xlsxziptotxtzip.convert.config.ConversionProperties;
+import com.example.xlsxziptotxtzip.convert.exception.InvalidZipContentException;
+import com.example.xlsxziptotxtzip.convert.exception.XlsxConversionException;
 import com.example.xlsxziptotxtzip.convert.exception.ZipProcessingException;
 import com.example.xlsxziptotxtzip.convert.model.dto.ConvertedFile;
+import com.example.xlsxziptotxtzip.convert.model.dto.ConversionStats;
 import com.example.xlsxziptotxtzip.convert.model.dto.ConvertedFileSource;
+import com.example.xlsxziptotxtzip.convert.model.enums.ConversionStage;
+import com.example.xlsxziptotxtzip.convert.model.enums.ZipInputMode;
+import com.example.xlsxziptotxtzip.convert.model.enums.ZipProcessingMode;
 import com.example.xlsxziptotxtzip.convert.model.mapper.ConvertedFileSourceToConvertedFileMapper;
 import com.example.xlsxziptotxtzip.convert.service.ZipProcessingService;
 import com.example.xlsxziptotxtzip.base.AbstractBaseServiceTest;
@@ -14,19 +22,28 @@ import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
+import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipOutputStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -39,6 +56,15 @@ class ZipProcessingServiceTest extends AbstractBaseServiceTest {
     @Mock
     private ConvertedFileSourceToConvertedFileMapper mapper;
 
+    @Mock
+    private ConversionCache conversionCache;
+
+    @Mock
+    private ConversionMetrics conversionMetrics;
+
+    @Spy
+    private ConversionProperties conversionProperties = new ConversionProperties();
+
     @BeforeEach
     void setUp() {
         // ZipProcessingService has its own initialize(); we override it with our @Mock
@@ -110,6 +136,454 @@ class ZipProcessingServiceTest extends AbstractBaseServiceTest {
         verify(mapper, never()).mapFromSource(any());
     }
 
+    @Test
+    void processZip_inParallelMode_convertsAllEntries_andKeepsEntryOrder() throws Exception {
+        // given: three workbooks of different sizes, so the largest is scheduled first
+        byte[] zipBytes = createZipWithWorkbooks(List.of("small.xlsx", "large.xlsx", "medium.xlsx"), new int[]{1, 500, 50});
+
+        MultipartFile zipFile = mock(MultipartFile.class);
+        when(zipFile.getInputStream()).thenReturn(new ByteArrayInputStream(zipBytes));
+
+        when(mapper.mapFromSource(any(ConvertedFileSource.class))).thenAnswer(invocation -> {
+            ConvertedFileSource source = invocation.getArgument(0);
+            return ConvertedFile.builder()
+                    .originalFileName(source.originalFileName())
+                    .content(source.txtContent())
+                    .build();
+        });
+
+        ConversionProperties parallelProperties = new ConversionProperties();
+        parallelProperties.setMode(ZipProcessingMode.PARALLEL);
+        parallelProperties.setParallelism(2);
+        ConversionExecutor conversionExecutor = new ConversionExecutor(parallelProperties);
+        ReflectionTestUtils.setField(zipProcessingService, "conversionProperties", parallelProperties);
+        ReflectionTestUtils.setField(zipProcessingService, "conversionExecutor", conversionExecutor);
+
+        try {
+            // when
+            List<ConvertedFile> result = zipProcessingService.processZip(zipFile);
+
+            // then
+            assertThat(result).extracting(ConvertedFile::getOriginalFileName)
+                    .containsExactly("small.xlsx", "large.xlsx", "medium.xlsx");
+            assertThat(result.get(1).getContent()).contains("row-499");
+            verify(mapper, times(3)).mapFromSource(any(ConvertedFileSource.class));
+        } finally {
+            conversionExecutor.destroy();
+        }
+    }
+
+    @Test
+    void processZip_inParallelMode_whenEntryIsNotAWorkbook_propagatesConversionException() throws Exception {
+        // given
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (ZipOutputStream zos = new ZipOutputStream(baos)) {
+            zos.putNextEntry(new ZipEntry("broken.xlsx"));
+            zos.write("not a workbook".getBytes());
+            zos.closeEntry();
+        }
+
+        MultipartFile zipFile = mock(MultipartFile.class);
+        when(zipFile.getInputStream()).thenReturn(new ByteArrayInputStream(baos.toByteArray()));
+
+        ConversionProperties parallelProperties = new ConversionProperties();
+        parallelProperties.setMode(ZipProcessingMode.PARALLEL);
+        ConversionExecutor conversionExecutor = new ConversionExecutor(parallelProperties);
+        ReflectionTestUtils.setField(zipProcessingService, "conversionProperties", parallelProperties);
+        ReflectionTestUtils.setField(zipProcessingService, "conversionExecutor", conversionExecutor);
+
+        try {
+            // when / then
+            assertThatThrownBy(() -> zipProcessingService.processZip(zipFile))
+                    .isInstanceOf(XlsxConversionException.class)
+                    .hasMessage("Failed to convert XLSX to text");
+
+            verify(mapper, never()).mapFromSource(any());
+        } finally {
+            conversionExecutor.destroy();
+        }
+    }
+
+    @Test
+    void processZipWithHandler_inSequentialMode_rendersEachEntryIntoHandlerStream_andSkipsNonXlsx() throws Exception {
+        // given
+        byte[] zipBytes = createZipWithTxtAndXlsx();
+
+        MultipartFile zipFile = mock(MultipartFile.class);
+        when(zipFile.getInputStream()).thenReturn(new ByteArrayInputStream(zipBytes));
+
+        Map<String, String> handled = new LinkedHashMap<>();
+
+        // when
+        zipProcessingService.processZip(zipFile, (originalFileName, content) -> {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            content.writeTo(out);
+            handled.put(originalFileName, out.toString(StandardCharsets.UTF_8));
+        });
+
+        // then
+        assertThat(handled).containsOnlyKeys("data.xlsx");
+        assertThat(handled.get("data.xlsx")).contains("Alice").contains("Bob");
+        verify(mapper, never()).mapFromSource(any());
+    }
+
+    @Test
+    void processZipWithHandler_inParallelMode_handsEntriesOverInEntryOrder() throws Exception {
+        // given
+        byte[] zipBytes = createZipWithWorkbooks(List.of("a.xlsx", "b.xlsx", "c.xlsx"), new int[]{300, 1, 30});
+
+        MultipartFile zipFile = mock(MultipartFile.class);
+        when(zipFile.getInputStream()).thenReturn(new ByteArrayInputStream(zipBytes));
+
+        ConversionProperties parallelProperties = new ConversionProperties();
+        parallelProperties.setMode(ZipProcessingMode.PARALLEL);
+        parallelProperties.setParallelism(3);
+        ConversionExecutor conversionExecutor = new ConversionExecutor(parallelProperties);
+        ReflectionTestUtils.setField(zipProcessingService, "conversionProperties", parallelProperties);
+        ReflectionTestUtils.setField(zipProcessingService, "conversionExecutor", conversionExecutor);
+
+        List<String> handledNames = new ArrayList<>();
+        List<String> handledThreads = new ArrayList<>();
+
+        try {
+            // when
+            zipProcessingService.processZip(zipFile, (originalFileName, content) -> {
+                content.writeTo(OutputStream.nullOutputStream());
+                handledNames.add(originalFileName);
+                handledThreads.add(Thread.currentThread().getName());
+            });
+
+            // then
+            assertThat(handledNames).containsExactly("a.xlsx", "b.xlsx", "c.xlsx");
+            assertThat(handledThreads).containsOnly(Thread.currentThread().getName());
+        } finally {
+            conversionExecutor.destroy();
+        }
+    }
+
+    @Test
+    void processZipWithHandler_inStructuredMode_handsEntriesOverInEntryOrderOnCallingThread() throws Exception {
+        // given
+        byte[] zipBytes = createZipWithWorkbooks(List.of("a.xlsx", "b.xlsx", "c.xlsx"), new int[]{300, 1, 30});
+
+        MultipartFile zipFile = mock(MultipartFile.class);
+        when(zipFile.getInputStream()).thenReturn(new ByteArrayInputStream(zipBytes));
+
+        ConversionProperties structuredProperties = new ConversionProperties();
+        structuredProperties.setMode(ZipProcessingMode.STRUCTURED);
+        structuredProperties.setParallelism(2);
+        ReflectionTestUtils.setField(zipProcessingService, "conversionProperties", structuredProperties);
+        ReflectionTestUtils.setField(zipProcessingService, "structuredConversionExecutor",
+                new StructuredConversionExecutor(structuredProperties));
+
+        List<String> handledNames = new ArrayList<>();
+        List<String> handledThreads = new ArrayList<>();
+
+        // when
+        zipProcessingService.processZip(zipFile, (originalFileName, content) -> {
+            content.writeTo(OutputStream.nullOutputStream());
+            handledNames.add(originalFileName);
+            handledThreads.add(Thread.currentThread().getName());
+        });
+
+        // then
+        assertThat(handledNames).containsExactly("a.xlsx", "b.xlsx", "c.xlsx");
+        assertThat(handledThreads).containsOnly(Thread.currentThread().getName());
+    }
+
+    @Test
+    void processZipWithHandler_inStructuredMode_whenEntryIsNotAWorkbook_propagatesConversionException() throws Exception {
+        // given
+        byte[] zipBytes = createZipWithEntry("broken.xlsx", "not a workbook".getBytes(StandardCharsets.UTF_8));
+
+        MultipartFile zipFile = mock(MultipartFile.class);
+        when(zipFile.getInputStream()).thenReturn(new ByteArrayInputStream(zipBytes));
+
+        ConversionProperties structuredProperties = new ConversionProperties();
+        structuredProperties.setMode(ZipProcessingMode.STRUCTURED);
+        ReflectionTestUtils.setField(zipProcessingService, "conversionProperties", structuredProperties);
+        ReflectionTestUtils.setField(zipProcessingService, "structuredConversionExecutor",
+                new StructuredConversionExecutor(structuredProperties));
+
+        ConvertedEntryHandler handler = mock(ConvertedEntryHandler.class);
+
+        // when / then
+        assertThatThrownBy(() -> zipProcessingService.processZip(zipFile, handler))
+                .isInstanceOf(XlsxConversionException.class)
+                .hasMessage("Failed to convert XLSX to text");
+
+        verifyNoInteractions(handler);
+    }
+
+    @Test
+    void processZipWithHandler_whenHandlerFails_wrapsInZipProcessingException() throws Exception {
+        // given
+        byte[] zipBytes = createZipWithTxtAndXlsx();
+
+        MultipartFile zipFile = mock(MultipartFile.class);
+        when(zipFile.getInputStream()).thenReturn(new ByteArrayInputStream(zipBytes));
+
+        // when / then
+        assertThatThrownBy(() -> zipProcessingService.processZip(zipFile, (originalFileName, content) -> {
+            throw new IOException("client went away");
+        }))
+                .isInstanceOf(ZipProcessingException.class)
+                .hasMessage("Failed to process ZIP: I/O error while writing converted entry")
+                .hasCauseInstanceOf(IOException.class);
+    }
+
+    @Test
+    void processZipFromStream_inSequentialMode_convertsXlsxEntries_andSkipsNonXlsx() throws Exception {
+        // given
+        byte[] zipBytes = createZipWithTxtAndXlsx();
+        ByteArrayInputStream zipStream = new ByteArrayInputStream(zipBytes);
+
+        Map<String, String> handled = new LinkedHashMap<>();
+
+        // when
+        zipProcessingService.processZip(zipStream, (originalFileName, content) -> {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            content.writeTo(out);
+            handled.put(originalFileName, out.toString(StandardCharsets.UTF_8));
+        });
+
+        // then
+        assertThat(handled).containsOnlyKeys("data.xlsx");
+        assertThat(handled.get("data.xlsx")).contains("Alice").contains("Bob");
+        verify(conversionMetrics).recordEntriesPerUpload(1);
+    }
+
+    @Test
+    void processZipFromStream_inParallelMode_handsEntriesOverInEntryOrderOnCallingThread() throws Exception {
+        // given: more entries than may be in flight at once
+        List<String> names = List.of("a.xlsx", "b.xlsx", "c.xlsx", "d.xlsx", "e.xlsx");
+        byte[] zipBytes = createZipWithWorkbooks(names, new int[]{300, 1, 30, 1, 100});
+
+        ConversionProperties parallelProperties = new ConversionProperties();
+        parallelProperties.setMode(ZipProcessingMode.PARALLEL);
+        parallelProperties.setParallelism(2);
+        ConversionExecutor conversionExecutor = new ConversionExecutor(parallelProperties);
+        ReflectionTestUtils.setField(zipProcessingService, "conversionProperties", parallelProperties);
+        ReflectionTestUtils.setField(zipProcessingService, "conversionExecutor", conversionExecutor);
+
+        List<String> handledNames = new ArrayList<>();
+        List<String> handledThreads = new ArrayList<>();
+
+        try {
+            // when
+            zipProcessingService.processZip(new ByteArrayInputStream(zipBytes), (originalFileName, content) -> {
+                content.writeTo(OutputStream.nullOutputStream());
+                handledNames.add(originalFileName);
+                handledThreads.add(Thread.currentThread().getName());
+            });
+
+            // then
+            assertThat(handledNames).containsExactlyElementsOf(names);
+            assertThat(handledThreads).containsOnly(Thread.currentThread().getName());
+            verify(conversionMetrics).recordEntriesPerUpload(5);
+        } finally {
+            conversionExecutor.destroy();
+        }
+    }
+
+    @Test
+    void processZipFromStream_inStructuredMode_convertsOnVirtualThreads_notOnTheConversionExecutor() throws Exception {
+        // given
+        List<String> names = List.of("a.xlsx", "b.xlsx", "c.xlsx", "d.xlsx", "e.xlsx");
+        byte[] zipBytes = createZipWithWorkbooks(names, new int[]{300, 1, 30, 1, 100});
+
+        ConversionProperties structuredProperties = new ConversionProperties();
+        structuredProperties.setMode(ZipProcessingMode.STRUCTURED);
+        structuredProperties.setParallelism(2);
+        ConversionExecutor conversionExecutor = mock(ConversionExecutor.class);
+        ReflectionTestUtils.setField(zipProcessingService, "conversionProperties", structuredProperties);
+        ReflectionTestUtils.setField(zipProcessingService, "conversionExecutor", conversionExecutor);
+        ReflectionTestUtils.setField(zipProcessingService, "structuredConversionExecutor",
+                new StructuredConversionExecutor(structuredProperties));
+
+        List<String> handledNames = new ArrayList<>();
+
+        // when
+        zipProcessingService.processZip(new ByteArrayInputStream(zipBytes), (originalFileName, content) -> {
+            content.writeTo(OutputStream.nullOutputStream());
+            handledNames.add(originalFileName);
+        });
+
+        // then
+        assertThat(handledNames).containsExactlyElementsOf(names);
+        verifyNoInteractions(conversionExecutor);
+    }
+
+    @Test
+    void processZipFromStream_inParallelMode_whenEntryIsNotAWorkbook_propagatesConversionException() throws Exception {
+        // given
+        byte[] zipBytes = createZipWithEntry("broken.xlsx", "not a workbook".getBytes(StandardCharsets.UTF_8));
+
+        ConversionProperties parallelProperties = new ConversionProperties();
+        parallelProperties.setMode(ZipProcessingMode.PARALLEL);
+        ConversionExecutor conversionExecutor = new ConversionExecutor(parallelProperties);
+        ReflectionTestUtils.setField(zipProcessingService, "conversionProperties", parallelProperties);
+        ReflectionTestUtils.setField(zipProcessingService, "conversionExecutor", conversionExecutor);
+
+        ConvertedEntryHandler handler = mock(ConvertedEntryHandler.class);
+
+        try {
+            // when / then
+            assertThatThrownBy(() -> zipProcessingService.processZip(new ByteArrayInputStream(zipBytes), handler))
+                    .isInstanceOf(XlsxConversionException.class)
+                    .hasMessage("Failed to convert XLSX to text");
+
+            verifyNoInteractions(handler);
+        } finally {
+            conversionExecutor.destroy();
+        }
+    }
+
+    @Test
+    void processZip_withRandomAccessInput_skipsNonXlsxEntries_andMapsXlsxEntries() throws Exception {
+        // given
+        MockMultipartFile zipFile = new MockMultipartFile("file", "input.zip", "application/zip", createZipWithTxtAndXlsx());
+        conversionProperties.setInput(ZipInputMode.RANDOM_ACCESS);
+
+        when(mapper.mapFromSource(any(ConvertedFileSource.class))).thenAnswer(invocation -> {
+            ConvertedFileSource source = invocation.getArgument(0);
+            return ConvertedFile.builder()
+                    .originalFileName(source.originalFileName())
+                    .content(source.txtContent())
+                    .build();
+        });
+
+        // when
+        List<ConvertedFile> result = zipProcessingService.processZip(zipFile);
+
+        // then
+        assertThat(result).extracting(ConvertedFile::getOriginalFileName).containsExactly("data.xlsx");
+        assertThat(result.get(0).getContent()).contains("Alice").contains("Bob");
+    }
+
+    @Test
+    void processZipWithHandler_withRandomAccessInputInParallelMode_handsEntriesOverInEntryOrder() throws Exception {
+        // given
+        byte[] zipBytes = createZipWithWorkbooks(List.of("a.xlsx", "b.xlsx", "c.xlsx"), new int[]{1, 200, 20});
+        MockMultipartFile zipFile = new MockMultipartFile("file", "input.zip", "application/zip", zipBytes);
+
+        ConversionProperties parallelProperties = new ConversionProperties();
+        parallelProperties.setInput(ZipInputMode.RANDOM_ACCESS);
+        parallelProperties.setMode(ZipProcessingMode.PARALLEL);
+        parallelProperties.setParallelism(2);
+        ConversionExecutor conversionExecutor = new ConversionExecutor(parallelProperties);
+        ReflectionTestUtils.setField(zipProcessingService, "conversionProperties", parallelProperties);
+        ReflectionTestUtils.setField(zipProcessingService, "conversionExecutor", conversionExecutor);
+
+        Map<String, String> handled = new LinkedHashMap<>();
+
+        try {
+            // when
+            zipProcessingService.processZip(zipFile, (originalFileName, content) -> {
+                ByteArrayOutputStream out = new ByteArrayOutputStream();
+                content.writeTo(out);
+                handled.put(originalFileName, out.toString(StandardCharsets.UTF_8));
+            });
+
+            // then
+            assertThat(handled.keySet()).containsExactly("a.xlsx", "b.xlsx", "c.xlsx");
+            assertThat(handled.get("b.xlsx")).contains("row-199");
+        } finally {
+            conversionExecutor.destroy();
+        }
+    }
+
+    @Test
+    void processZip_withRandomAccessInput_whenUploadIsNotAZip_throwsInvalidZipContentException() {
+        // given
+        MockMultipartFile zipFile = new MockMultipartFile(
+                "file", "input.zip", "application/zip", "definitely not a zip".getBytes(StandardCharsets.UTF_8));
+        conversionProperties.setInput(ZipInputMode.RANDOM_ACCESS);
+
+        // when / then
+        assertThatThrownBy(() -> zipProcessingService.processZip(zipFile))
+                .isInstanceOf(InvalidZipContentException.class)
+                .hasMessage("Uploaded file is not a valid ZIP archive.");
+
+        verify(mapper, never()).mapFromSource(any());
+    }
+
+    @Test
+    void processZipWithHandler_whenCacheHit_writesCachedTextWithoutConverting() throws Exception {
+        // given: bytes that are not a workbook, so any conversion attempt would fail
+        byte[] zipBytes = createZipWithEntry("cached.xlsx", "not really a workbook".getBytes(StandardCharsets.UTF_8));
+
+        MultipartFile zipFile = mock(MultipartFile.class);
+        when(zipFile.getInputStream()).thenReturn(new ByteArrayInputStream(zipBytes));
+
+        when(conversionCache.isEnabled()).thenReturn(true);
+        when(conversionCache.key(any(byte[].class), any())).thenReturn("key");
+        when(conversionCache.get("key")).thenReturn("cached text".getBytes(StandardCharsets.UTF_8));
+
+        Map<String, String> handled = new LinkedHashMap<>();
+
+        // when
+        zipProcessingService.processZip(zipFile, (originalFileName, content) -> {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            content.writeTo(out);
+            handled.put(originalFileName, out.toString(StandardCharsets.UTF_8));
+        });
+
+        // then
+        assertThat(handled).containsExactly(Map.entry("cached.xlsx", "cached text"));
+        verify(conversionCache, never()).put(any(), any());
+    }
+
+    @Test
+    void processZipWithHandler_whenCacheMiss_convertsAndStoresTheText() throws Exception {
+        // given
+        byte[] zipBytes = createZipWithTxtAndXlsx();
+
+        MultipartFile zipFile = mock(MultipartFile.class);
+        when(zipFile.getInputStream()).thenReturn(new ByteArrayInputStream(zipBytes));
+
+        when(conversionCache.isEnabled()).thenReturn(true);
+        when(conversionCache.maxEntryBytes()).thenReturn(1024L * 1024L);
+        when(conversionCache.key(any(byte[].class), eq(conversionProperties.getEngine()))).thenReturn("key");
+        when(conversionCache.get("key")).thenReturn(null);
+
+        ByteArrayOutputStream written = new ByteArrayOutputStream();
+
+        // when
+        zipProcessingService.processZip(zipFile, (originalFileName, content) -> content.writeTo(written));
+
+        // then
+        ArgumentCaptor<byte[]> storedCaptor = ArgumentCaptor.forClass(byte[].class);
+        verify(conversionCache).put(eq("key"), storedCaptor.capture());
+        assertThat(storedCaptor.getValue()).isEqualTo(written.toByteArray());
+        assertThat(written.toString(StandardCharsets.UTF_8)).contains("Alice").contains("Bob");
+    }
+
+    @Test
+    void processZipWithHandler_recordsEntryCountZipReadConversionAndSizes() throws Exception {
+        // given
+        byte[] zipBytes = createZipWithTxtAndXlsx();
+
+        MultipartFile zipFile = mock(MultipartFile.class);
+        when(zipFile.getInputStream()).thenReturn(new ByteArrayInputStream(zipBytes));
+
+        ByteArrayOutputStream written = new ByteArrayOutputStream();
+
+        // when
+        zipProcessingService.processZip(zipFile, (originalFileName, content) -> content.writeTo(written));
+
+        // then
+        verify(conversionMetrics).recordEntriesPerUpload(1);
+        verify(conversionMetrics).recordStage(eq(ConversionStage.ZIP_READ), anyLong());
+
+        ArgumentCaptor<ConversionStats> statsCaptor = ArgumentCaptor.forClass(ConversionStats.class);
+        verify(conversionMetrics).recordConversion(statsCaptor.capture());
+        assertThat(statsCaptor.getValue().rows()).isEqualTo(3);
+        assertThat(statsCaptor.getValue().outputBytes()).isEqualTo(written.size());
+
+        verify(conversionMetrics).recordEntrySize(anyLong(), eq((long) written.size()));
+    }
+
     // --- Helpers -------------------------------------------------------------------------
 
     private byte[] createZipWithTxtAndXlsx() throws Exception {
@@ -132,6 +606,42 @@ class ZipProcessingServiceTest extends AbstractBaseServiceTest {
         return baos.toByteArray();
     }
 
+    private byte[] createZipWithWorkbooks(List<String> names, int[] dataRows) throws Exception {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (ZipOutputStream zos = new ZipOutputStream(baos)) {
+            for (int i = 0; i < names.size(); i++) {
+                zos.putNextEntry(new ZipEntry(names.get(i)));
+                zos.write(createWorkbookBytes(dataRows[i]));
+                zos.closeEntry();
+            }
+        }
+        return baos.toByteArray();
+    }
+
+    private byte[] createWorkbookBytes(int dataRows) throws Exception {
+        try (XSSFWorkbook wb = new XSSFWorkbook()) {
+            Sheet sheet = wb.createSheet("Sheet1");
+            sheet.createRow(0).createCell(0).setCellValue("name");
+            for (int i = 0; i < dataRows; i++) {
+                sheet.createRow(i + 1).createCell(0).setCellValue("row-" + i);
+            }
+
+            ByteArrayOutputStream baos = new ByteArrayOutputStream();
+            wb.write(baos);
+            return baos.toByteArray();
+        }
+    }
+
+    private byte[] createZipWithEntry(String name, byte[] content) throws Exception {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (ZipOutputStream zos = new ZipOutputStream(baos)) {
+            zos.putNextEntry(new ZipEntry(name));
+            zos.write(content);
+            zos.closeEntry();
+        }
+        return baos.toByteArray();
+    }
+
     private byte[] createZipWithOnlyTxt() throws Exception {
         ByteArrayOutputStream baos = new ByteArrayOutputStream();
         try (ZipOutputStream zos = new ZipOutputStream(baos)) {
@@ -0,0 +1,194 @@
+package com.example.xlsxziptotxtzip.convert.utils;
+
+import com.example.xlsxziptotxtzip.convert.model.dto.SheetContent;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AlignedTextRendererTest {
+
+    private static final String NL = System.lineSeparator();
+
+    @Test
+    void writeRow_whenShorterThanWidth_keepsOriginalAndPadsRight() throws Exception {
+        // given / when
+        String result = renderSingleCell("hello", 10);
+
+        // then
+        assertThat(result).isEqualTo("hello     ");
+    }
+
+    @Test
+    void writeRow_whenLongerThanWidth_addsEllipsis() throws Exception {
+        // given / when
+        String result = renderSingleCell("abcdefghijkl", 5);
+
+        // then (width=5 → first 4 chars + '…')
+        assertThat(result).isEqualTo("abcd…");
+    }
+
+    @Test
+    void writeRow_whenWidthLessOrEqualOne_keepsFirstCharacter() throws Exception {
+        // given / when
+        String width1 = renderSingleCell("hello", 1);
+        String width0 = renderSingleCell("hello", 0);
+        String emptyForWidth0 = renderSingleCell("", 0);
+
+        // then
+        assertThat(width1).isEqualTo("h");
+        assertThat(width0).isEqualTo("h");
+        assertThat(emptyForWidth0).isEqualTo("");
+    }
+
+    @Test
+    void writeRow_whenCellIsNull_writesPaddingOnly() throws Exception {
+        // given
+        SheetContent sheetContent = new SheetContent();
+        sheetContent.addRow(Arrays.asList("x", null));
+        sheetContent.addRow(Arrays.asList("y", null));
+
+        // when
+        String result = render(sheetContent, new int[]{1, 3}, new boolean[2]);
+
+        // then
+        assertThat(result).isEqualTo(
+                "x     " + NL +
+                "-  ---" + NL +
+                "y     " + NL
+        );
+    }
+
+    @Test
+    void writeRow_alignsNumericAndForcedColumnsRight_andHeaderLeft() throws Exception {
+        // given
+        SheetContent sheetContent = new SheetContent();
+        sheetContent.addRow(List.of("name", "age", "zip"));
+        sheetContent.addRow(List.of("Al", "7", "ab"));
+
+        // when
+        String result = render(sheetContent, new int[]{4, 3, 3}, new boolean[]{false, false, true});
+
+        // then
+        assertThat(result).isEqualTo(
+                "name  age  zip" + NL +
+                "----  ---  ---" + NL +
+                "Al      7   ab" + NL
+        );
+    }
+
+    @Test
+    void writeRow_whenCellIsFlaggedNumeric_alignsRightWithoutInspectingText() throws Exception {
+        // given
+        SheetContent sheetContent = new SheetContent();
+        sheetContent.addRow(List.of("h"));
+        sheetContent.startRow();
+        sheetContent.addCell("n/a", true);
+        sheetContent.endRow();
+
+        // when
+        String result = render(sheetContent, new int[]{5}, new boolean[1]);
+
+        // then
+        assertThat(result).endsWith(NL + "  n/a" + NL);
+    }
+
+    @Test
+    void writeRow_whenNumericValueIsTruncated_keepsItLeftAligned() throws Exception {
+        // given
+        SheetContent sheetContent = new SheetContent();
+        sheetContent.addRow(List.of("h"));
+        sheetContent.addRow(List.of("123456"));
+
+        // when
+        String result = render(sheetContent, new int[]{5}, new boolean[1]);
+
+        // then (width=5 leaves no padding after the ellipsis)
+        assertThat(result).endsWith(NL + "1234…" + NL);
+    }
+
+    @Test
+    void writeRow_encodesMultiByteCharactersLikeStringGetBytes() throws Exception {
+        // given
+        SheetContent sheetContent = new SheetContent();
+        sheetContent.addRow(List.of("şehir", "emoji"));
+        sheetContent.addRow(List.of("İstanbul", "😀 ok"));
+        int[] widths = {8, 5};
+
+        // when
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        AlignedTextRenderer renderer = new AlignedTextRenderer(outputStream, 2, widths, new boolean[2]);
+        renderer.writeRow(sheetContent, 0, true);
+        renderer.writeRow(sheetContent, 1, false);
+        renderer.flush();
+
+        // then
+        String expected =
+                "şehir     emoji" + NL +
+                "--------  -----" + NL +
+                "İstanbul  😀 ok" + NL;
+        assertThat(outputStream.toByteArray()).isEqualTo(expected.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void writeRow_whenOutputExceedsBuffer_writesEverything() throws Exception {
+        // given
+        SheetContent sheetContent = new SheetContent();
+        sheetContent.addRow(List.of("value"));
+        for (int i = 0; i < 5_000; i++) {
+            sheetContent.addRow(List.of("row" + i));
+        }
+
+        // when
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        AlignedTextRenderer renderer = new AlignedTextRenderer(outputStream, 1, new int[]{8}, new boolean[1]);
+        for (int rowIndex = 0; rowIndex < sheetContent.rowCount(); rowIndex++) {
+            renderer.writeRow(sheetContent, rowIndex, rowIndex == 0);
+        }
+        long bytesBeforeFlush = renderer.bytesWritten();
+        renderer.flush();
+
+        // then
+        String[] lines = outputStream.toString(StandardCharsets.UTF_8).split(NL);
+        assertThat(lines).hasSize(5_002);
+        assertThat(lines[5_001]).isEqualTo("row4999 ");
+        assertThat(bytesBeforeFlush).isEqualTo(outputStream.size());
+    }
+
+    // --- Helpers --------------------------------------------------------------------------
+
+    /**
+     * Renders a header row and a single data row, and returns the rendered data cell.
+     */
+    private String renderSingleCell(String value, int width) throws IOException {
+        SheetContent sheetContent = new SheetContent();
+        sheetContent.addRow(List.of("h"));
+        sheetContent.addRow(Arrays.asList(value));
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        AlignedTextRenderer renderer = new AlignedTextRenderer(
+                outputStream, 1, new int[]{width}, new boolean[1]);
+        renderer.writeRow(sheetContent, 1, false);
+        renderer.flush();
+
+        String line = outputStream.toString(StandardCharsets.UTF_8);
+        return line.substring(0, line.length() - NL.length());
+    }
+
+    private String render(SheetContent sheetContent, int[] widths, boolean[] forceRightAlign) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        AlignedTextRenderer renderer = new AlignedTextRenderer(
+                outputStream, sheetContent.maxColumns(), widths, forceRightAlign);
+        for (int rowIndex = 0; rowIndex < sheetContent.rowCount(); rowIndex++) {
+            renderer.writeRow(sheetContent, rowIndex, rowIndex == 0);
+        }
+        renderer.flush();
+        return outputStream.toString(StandardCharsets.UTF_8);
+    }
+
+}
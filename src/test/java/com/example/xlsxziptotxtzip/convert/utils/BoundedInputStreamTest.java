@@ -0,0 +1,51 @@
+package com.example.xlsxziptotxtzip.convert.utils;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BoundedInputStreamTest {
+
+    @Test
+    void read_whenContentFitsTheLimit_returnsAllBytes() throws Exception {
+        // given
+        BoundedInputStream inputStream = new BoundedInputStream(new ByteArrayInputStream(new byte[10]), 10);
+
+        // when
+        byte[] content = inputStream.readAllBytes();
+
+        // then
+        assertThat(content).hasSize(10);
+        assertThat(inputStream.bytesRead()).isEqualTo(10);
+    }
+
+    @Test
+    void read_whenContentExceedsTheLimit_throwsMaxUploadSizeExceededException() {
+        // given
+        InputStream inputStream = new BoundedInputStream(new ByteArrayInputStream(new byte[11]), 10);
+
+        // when / then
+        assertThatThrownBy(inputStream::readAllBytes)
+                .isInstanceOf(MaxUploadSizeExceededException.class)
+                .satisfies(e -> assertThat(((MaxUploadSizeExceededException) e).getMaxUploadSize()).isEqualTo(10));
+    }
+
+    @Test
+    void readSingleByte_countsTowardsTheLimit() throws Exception {
+        // given
+        InputStream inputStream = new BoundedInputStream(new ByteArrayInputStream(new byte[]{1, 2}), 1);
+
+        // when
+        int first = inputStream.read();
+
+        // then
+        assertThat(first).isEqualTo(1);
+        assertThatThrownBy(inputStream::read).isInstanceOf(MaxUploadSizeExceededException.class);
+    }
+
+}
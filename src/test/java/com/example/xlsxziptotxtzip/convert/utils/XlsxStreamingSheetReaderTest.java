@@ -0,0 +1,125 @@
+package com.example.xlsxziptotxtzip.convert.utils;
+
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InterruptedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class XlsxStreamingSheetReaderTest {
+
+    @Test
+    void readFirstSheet_emitsRowsInOrder_andFillsMissingCellsWithEmptyStrings() throws Exception {
+        // given
+        byte[] workbookBytes = createWorkbookWithGapBytes();
+        List<List<String>> rows = new ArrayList<>();
+
+        // when
+        try (XlsxStreamingSheetReader reader = XlsxStreamingSheetReader.open(new ByteArrayInputStream(workbookBytes))) {
+            reader.readFirstSheet(new DataFormatter(), rows::add);
+        }
+
+        // then
+        assertThat(rows).hasSize(2);
+        assertThat(rows.get(0)).containsExactly("id", "name", "city");
+        assertThat(rows.get(1)).containsExactly("1", "", "Paris");
+    }
+
+    @Test
+    void open_fromFile_readsTheSheet_andLeavesTheFileInPlace(@TempDir Path directory) throws Exception {
+        // given
+        Path xlsxFile = Files.write(directory.resolve("workbook.xlsx"), createWorkbookWithGapBytes());
+        List<List<String>> rows = new ArrayList<>();
+
+        // when
+        try (XlsxStreamingSheetReader reader = XlsxStreamingSheetReader.open(xlsxFile)) {
+            reader.readFirstSheet(new DataFormatter(), rows::add);
+        }
+
+        // then
+        assertThat(rows).hasSize(2);
+        assertThat(rows.get(1)).containsExactly("1", "", "Paris");
+        assertThat(xlsxFile).exists();
+    }
+
+    @Test
+    void readFirstSheet_canBeCalledTwiceOnSameReader() throws Exception {
+        // given
+        byte[] workbookBytes = createWorkbookWithGapBytes();
+        List<List<String>> firstPass = new ArrayList<>();
+        List<List<String>> secondPass = new ArrayList<>();
+
+        // when
+        try (XlsxStreamingSheetReader reader = XlsxStreamingSheetReader.open(new ByteArrayInputStream(workbookBytes))) {
+            reader.readFirstSheet(new DataFormatter(), firstPass::add);
+            reader.readFirstSheet(new DataFormatter(), secondPass::add);
+        }
+
+        // then
+        assertThat(secondPass).isEqualTo(firstPass);
+    }
+
+    @Test
+    void readFirstSheet_whenThreadIsInterrupted_stopsWithInterruptedIOException() throws Exception {
+        // given
+        byte[] workbookBytes = createWorkbookWithGapBytes();
+        List<List<String>> rows = new ArrayList<>();
+
+        try (XlsxStreamingSheetReader reader = XlsxStreamingSheetReader.open(new ByteArrayInputStream(workbookBytes))) {
+            Thread.currentThread().interrupt();
+            try {
+                // when / then
+                assertThatThrownBy(() -> reader.readFirstSheet(new DataFormatter(), rows::add))
+                        .isInstanceOf(InterruptedIOException.class);
+            } finally {
+                // Clears the flag for the following tests
+                Thread.interrupted();
+            }
+        }
+
+        assertThat(rows).isEmpty();
+    }
+
+    @Test
+    void columnIndex_convertsCellReferenceToZeroBasedColumn() {
+        // given / when / then
+        assertThat(XlsxStreamingSheetReader.columnIndex("A1")).isZero();
+        assertThat(XlsxStreamingSheetReader.columnIndex("C7")).isEqualTo(2);
+        assertThat(XlsxStreamingSheetReader.columnIndex("Z10")).isEqualTo(25);
+        assertThat(XlsxStreamingSheetReader.columnIndex("AB3")).isEqualTo(27);
+    }
+
+    // --- Helper: create a workbook with a missing cell in the middle of a row -------------
+
+    private byte[] createWorkbookWithGapBytes() throws Exception {
+        try (XSSFWorkbook wb = new XSSFWorkbook()) {
+            Sheet sheet = wb.createSheet("Sheet1");
+
+            Row header = sheet.createRow(0);
+            header.createCell(0).setCellValue("id");
+            header.createCell(1).setCellValue("name");
+            header.createCell(2).setCellValue("city");
+
+            Row r1 = sheet.createRow(1);
+            r1.createCell(0).setCellValue(1);
+            r1.createCell(2).setCellValue("Paris");
+
+            ByteArrayOutputStream baos = new ByteArrayOutputStream();
+            wb.write(baos);
+            return baos.toByteArray();
+        }
+    }
+
+}
@@ -1,7 +1,12 @@
 package com.example.xlsxziptotxtzip.convert.utils;
 
 import com.example.xlsxziptotxtzip.convert.exception.XlsxConversionException;
+import com.example.xlsxziptotxtzip.convert.model.dto.ConversionStats;
+import com.example.xlsxziptotxtzip.convert.model.dto.SheetContent;
+import com.example.xlsxziptotxtzip.convert.model.enums.ConversionEngine;
+import com.example.xlsxziptotxtzip.convert.model.enums.ConversionStage;
 import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
 import org.apache.poi.ss.usermodel.DataFormatter;
 import org.apache.poi.ss.usermodel.Row;
 import org.apache.poi.ss.usermodel.Sheet;
@@ -12,6 +17,8 @@ import org.springframework.test.util.ReflectionTestUtils;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -56,6 +63,104 @@ class XlsxToTextUtilTest {
         assertThat(row2Cols[2].trim()).isEqualTo("4960-010");
     }
 
+    @Test
+    void convertXlsxToAlignedText_streamingEngine_producesSameOutputAsDomEngine() throws Exception {
+        // given
+        byte[] workbookBytes = createSampleWorkbookBytes();
+
+        // when
+        String dom = XlsxToTextUtil.convertXlsxToAlignedText(
+                new ByteArrayInputStream(workbookBytes), ConversionEngine.DOM);
+        String streaming = XlsxToTextUtil.convertXlsxToAlignedText(
+                new ByteArrayInputStream(workbookBytes), ConversionEngine.STREAMING);
+
+        // then
+        assertThat(streaming).isEqualTo(dom);
+    }
+
+    @Test
+    void convertXlsxToAlignedText_toOutputStream_writesSameTextAsStringVariant() throws Exception {
+        // given
+        byte[] xlsxBytes = createSampleWorkbookBytes();
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        // when
+        XlsxToTextUtil.convertXlsxToAlignedText(
+                new ByteArrayInputStream(xlsxBytes), outputStream, ConversionEngine.STREAMING);
+        String expected = XlsxToTextUtil.convertXlsxToAlignedText(new ByteArrayInputStream(xlsxBytes));
+
+        // then
+        assertThat(outputStream.toByteArray()).isEqualTo(expected.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void convertXlsxToAlignedText_withStats_recordsConversionStagesAndSizesForEveryEngine() throws Exception {
+        // given
+        byte[] xlsxBytes = createSampleWorkbookBytes();
+
+        for (ConversionEngine engine : ConversionEngine.values()) {
+            ConversionStats stats = new ConversionStats();
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+            // when
+            XlsxToTextUtil.convertXlsxToAlignedText(new ByteArrayInputStream(xlsxBytes), outputStream, engine, stats);
+
+            // then
+            assertThat(stats.rows()).as(engine.name()).isEqualTo(3);
+            assertThat(stats.cells()).as(engine.name()).isEqualTo(9);
+            assertThat(stats.outputBytes()).as(engine.name()).isEqualTo(outputStream.size());
+            assertThat(stats.stageNanos(ConversionStage.WORKBOOK_OPEN)).as(engine.name()).isNotNegative();
+            assertThat(stats.stageNanos(ConversionStage.SHEET_EXTRACTION)).as(engine.name()).isNotNegative();
+            assertThat(stats.stageNanos(ConversionStage.WIDTH_COMPUTATION)).as(engine.name()).isNotNegative();
+            assertThat(stats.stageNanos(ConversionStage.RENDER)).as(engine.name()).isNotNegative();
+            assertThat(stats.stageNanos(ConversionStage.ZIP_READ)).as(engine.name()).isEqualTo(-1);
+        }
+    }
+
+    @Test
+    void convertXlsxToAlignedText_twoPassStreamingEngine_producesSameOutputAsDomEngine() throws Exception {
+        // given
+        byte[] workbookBytes = createSampleWorkbookBytes();
+
+        // when
+        String dom = XlsxToTextUtil.convertXlsxToAlignedText(
+                new ByteArrayInputStream(workbookBytes), ConversionEngine.DOM);
+        String twoPass = XlsxToTextUtil.convertXlsxToAlignedText(
+                new ByteArrayInputStream(workbookBytes), ConversionEngine.TWO_PASS_STREAMING);
+
+        // then
+        assertThat(twoPass).isEqualTo(dom);
+    }
+
+    @Test
+    void detectRightAlignedColumnsFromHeader_whenHeaderShorterThanMaxColumns_marksOnlyPostalColumns() {
+        // given
+        List<String> headerRow = List.of("Postal Code", "name");
+        int maxColumns = 3;
+
+        // when
+        boolean[] flags = (boolean[]) ReflectionTestUtils.invokeMethod(
+                XlsxToTextUtil.class,
+                "detectRightAlignedColumnsFromHeader",
+                headerRow,
+                maxColumns
+        );
+
+        // then
+        assertThat(flags).containsExactly(true, false, false);
+    }
+
+    @Test
+    void convertXlsxToAlignedText_streamingEngine_whenContentIsNotXlsx_wrapsInXlsxConversionException() {
+        // given
+        ByteArrayInputStream notXlsx = new ByteArrayInputStream("not a workbook".getBytes());
+
+        // when / then
+        assertThatThrownBy(() -> XlsxToTextUtil.convertXlsxToAlignedText(notXlsx, ConversionEngine.STREAMING))
+                .isInstanceOf(XlsxConversionException.class)
+                .hasMessage("Failed to convert XLSX to text");
+    }
+
     @Test
     void convertXlsxToAlignedText_whenPoiThrows_wrapsInXlsxConversionException() throws Exception {
         // given
@@ -93,21 +198,18 @@ class XlsxToTextUtilTest {
         when(formatter.formatCellValue(cell1)).thenReturn("30");
 
         // when
-        Object sheetContent = ReflectionTestUtils.invokeMethod(
+        SheetContent sheetContent = ReflectionTestUtils.invokeMethod(
                 XlsxToTextUtil.class,
                 "extractSheetContent",
                 sheet,
                 formatter
         );
 
-        @SuppressWarnings("unchecked")
-        List<List<String>> rows = (List<List<String>>) ReflectionTestUtils.getField(sheetContent, "rows");
-        Integer maxColumns = (Integer) ReflectionTestUtils.getField(sheetContent, "maxColumns");
-
         // then
-        assertThat(rows).hasSize(1);
-        assertThat(rows.get(0)).containsExactly("Alice", "30");
-        assertThat(maxColumns).isEqualTo(2);
+        assertThat(sheetContent).isNotNull();
+        assertThat(sheetContent.rowCount()).isEqualTo(1);
+        assertThat(sheetContent.rowValues(0)).containsExactly("Alice", "30");
+        assertThat(sheetContent.maxColumns()).isEqualTo(2);
 
         verify(sheet).iterator();
         verify(row1).getLastCellNum();
@@ -116,6 +218,36 @@ class XlsxToTextUtilTest {
         verify(formatter).formatCellValue(cell1);
     }
 
+    @Test
+    void extractSheetContent_whenThreadIsInterrupted_stopsBeforeTheNextRow() {
+        // given: three rows, and the thread is interrupted while the first one is formatted
+        Sheet sheet = mock(Sheet.class);
+        Row row1 = mock(Row.class);
+        Row row2 = mock(Row.class);
+        Row row3 = mock(Row.class);
+        Cell cell = mock(Cell.class);
+
+        when(sheet.iterator()).thenReturn(List.of(row1, row2, row3).iterator());
+        when(row1.getLastCellNum()).thenReturn((short) 1);
+        when(row1.getCell(eq(0), any(Row.MissingCellPolicy.class))).thenReturn(cell);
+
+        DataFormatter formatter = mock(DataFormatter.class);
+        when(formatter.formatCellValue(cell)).thenAnswer(invocation -> {
+            Thread.currentThread().interrupt();
+            return "Alice";
+        });
+
+        // when / then
+        try {
+            assertThatThrownBy(() -> XlsxToTextUtil.extractSheetContent(sheet, formatter))
+                    .isInstanceOf(InterruptedIOException.class)
+                    .hasMessage("Conversion was cancelled");
+        } finally {
+            Thread.interrupted();
+        }
+        verifyNoInteractions(row2, row3);
+    }
+
     @Test
     void isNumeric_acceptsIntegerDecimalAndCodeLike() {
         // given / when
@@ -152,51 +284,86 @@ class XlsxToTextUtilTest {
         assertThat(nullValue).isFalse();
     }
 
-
     @Test
-    void truncate_whenShorterThanMax_returnsOriginal() {
-        // given / when
-        String result = invokeTruncate("hello", 10);
+    void isNumeric_charRange_matchesBothRegexRulesOnEdgeCases() {
+        // given
+        Map<String, Boolean> expectations = new LinkedHashMap<>();
+        expectations.put(" 42 ", true);
+        expectations.put("-3,5", true);
+        expectations.put("+7", true);
+        expectations.put("12 34-5", true);
+        expectations.put("12\t34", true);
+        expectations.put("1.", false);
+        expectations.put(".5", false);
+        expectations.put("1.2.3", false);
+        expectations.put("1,234,567", false);
+        expectations.put("-12-3", false);
+        expectations.put("+-1", false);
+        expectations.put("1.2-3", false);
+        expectations.put("1E+11", false);
+        expectations.put("١٢٣", false); // non-ASCII digits are not matched by \d
+
+        char[] arena = ("xx" + String.join("", expectations.keySet()) + "yy").toCharArray();
 
-        // then
-        assertThat(result).isEqualTo("hello");
+        // when / then
+        int offset = 2;
+        for (Map.Entry<String, Boolean> entry : expectations.entrySet()) {
+            int length = entry.getKey().length();
+            assertThat(XlsxToTextUtil.isNumeric(arena, offset, length))
+                    .as("isNumeric(\"%s\")", entry.getKey())
+                    .isEqualTo(entry.getValue())
+                    .isEqualTo(invokeIsNumeric(entry.getKey()));
+            offset += length;
+        }
     }
 
     @Test
-    void truncate_whenLongerThanMax_addsEllipsis() {
-        // given / when
-        String result = invokeTruncate("abcdefghijkl", 5);
-
-        // then (max=5 → first 4 chars + '…')
-        assertThat(result).isEqualTo("abcd…");
+    void extractSheetContent_flagsPlainNumericCellsFromTheirRawType() throws Exception {
+        // given
+        try (XSSFWorkbook wb = new XSSFWorkbook()) {
+            Sheet sheet = wb.createSheet("Sheet1");
+            CellStyle dateStyle = wb.createCellStyle();
+            dateStyle.setDataFormat(wb.getCreationHelper().createDataFormat().getFormat("yyyy-mm-dd"));
+
+            Row row = sheet.createRow(0);
+            row.createCell(0).setCellValue(42);
+            row.createCell(1).setCellValue("42");
+            row.createCell(2).setCellValue(1e12);
+            Cell dateCell = row.createCell(3);
+            dateCell.setCellValue(45000);
+            dateCell.setCellStyle(dateStyle);
+            row.createCell(4).setCellValue(-3.5);
+
+            // when
+            SheetContent sheetContent = ReflectionTestUtils.invokeMethod(
+                    XlsxToTextUtil.class,
+                    "extractSheetContent",
+                    sheet,
+                    new DataFormatter()
+            );
+
+            // then
+            assertThat(sheetContent).isNotNull();
+            assertThat(sheetContent.isNumericCell(0, 0)).isTrue();
+            assertThat(sheetContent.isNumericCell(0, 1)).isFalse(); // string cell, classified by its text
+            assertThat(sheetContent.isNumericCell(0, 2)).isFalse(); // General switches to scientific notation
+            assertThat(sheetContent.isNumericCell(0, 3)).isFalse(); // date format
+            assertThat(sheetContent.isNumericCell(0, 4)).isTrue();
+        }
     }
 
-    @Test
-    void truncate_whenMaxLessOrEqualOne_behavesSafely() {
-        // given / when
-        String max1 = invokeTruncate("hello", 1);
-        String max0 = invokeTruncate("hello", 0);
-        String emptyForMax0 = invokeTruncate("", 0);
-
-        // then
-        assertThat(max1).hasSize(1);
-        assertThat(max0).isEqualTo("h");      // from your current implementation
-        assertThat(emptyForMax0).isEqualTo("");
-    }
 
     @Test
     void detectRightAlignedColumns_marksPostalColumns() {
         // given
-        List<List<String>> rows = new ArrayList<>();
-        rows.add(List.of("name", "postal_code", "city"));
-        int maxColumns = 3;
+        SheetContent sheetContent = new SheetContent();
+        sheetContent.addRow(List.of("name", "postal_code", "city"));
 
         // when
         boolean[] flags = (boolean[]) ReflectionTestUtils.invokeMethod(
                 XlsxToTextUtil.class,
                 "detectRightAlignedColumns",
-                rows,
-                maxColumns
+                sheetContent
         );
 
         // then
@@ -208,18 +375,15 @@ class XlsxToTextUtilTest {
     @Test
     void computeColumnWidths_calculatesMaxPerColumn_andClampsToMaxWidth() {
         // given
-        List<List<String>> rows = new ArrayList<>();
-        rows.add(List.of("id", "name"));
-        rows.add(List.of("1", "Very long name that might be truncated at some point if wider than 80 chars"));
-
-        int maxColumns = 2;
+        SheetContent sheetContent = new SheetContent();
+        sheetContent.addRow(List.of("id", "name"));
+        sheetContent.addRow(List.of("1", "Very long name that might be truncated at some point if wider than 80 chars"));
 
         // when
         int[] widths = (int[]) ReflectionTestUtils.invokeMethod(
                 XlsxToTextUtil.class,
                 "computeColumnWidths",
-                rows,
-                maxColumns
+                sheetContent
         );
 
         // then
@@ -229,19 +393,6 @@ class XlsxToTextUtilTest {
         assertThat(widths[1]).isLessThanOrEqualTo(80); // clamped to MAX_COLUMN_WIDTH
     }
 
-    @Test
-    void truncate_whenInputIsNull_returnsEmptyString() {
-        // given
-        String value = null;
-        int max = 10;
-
-        // when
-        String result = invokeTruncate(value,max);
-
-        // then
-        assertThat(result).isEmpty();
-    }
-
     // --- Helper: create a minimal XLSX workbook -------------------------------------------
 
     private byte[] createSampleWorkbookBytes() throws Exception {
@@ -279,13 +430,4 @@ class XlsxToTextUtilTest {
         );
     }
 
-    private String invokeTruncate(String value, int max) {
-        return (String) ReflectionTestUtils.invokeMethod(
-                XlsxToTextUtil.class,
-                "truncate",
-                value,
-                max
-        );
-    }
-
-}
\ No newline at end of file
+}
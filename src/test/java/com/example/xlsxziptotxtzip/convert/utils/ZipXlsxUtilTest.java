@@ -1,11 +1,16 @@
 package com.example.xlsxziptotxtzip.convert.utils;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockMultipartFile;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
 import java.util.zip.ZipInputStream;
 import java.util.zip.ZipOutputStream;
 
@@ -108,7 +113,85 @@ class ZipXlsxUtilTest {
         }
     }
 
+    @Test
+    void readEntryBytes_fromZipFile_readsWholeEntryContentSizedFromCentralDirectory(@TempDir Path tempDir) throws Exception {
+        // given
+        String content = "Hello XLSX ZIP!";
+        Path zipPath = tempDir.resolve("input.zip");
+        Files.write(zipPath, createZipWithSingleEntry("file.xlsx", content.getBytes(StandardCharsets.UTF_8)));
+
+        try (ZipFile zipFile = new ZipFile(zipPath.toFile())) {
+            ZipEntry entry = zipFile.getEntry("file.xlsx");
+            assertThat(entry.getSize()).isEqualTo(content.length());
+
+            // when
+            byte[] resultBytes = ZipXlsxUtil.readEntryBytes(zipFile, entry);
+
+            // then
+            assertThat(resultBytes).hasSize(content.length());
+            assertThat(new String(resultBytes, StandardCharsets.UTF_8)).isEqualTo(content);
+        }
+    }
+
     // helper: creates a ZIP with a single entry in-memory
+    @Test
+    void sumXlsxEntrySizes_sumsUncompressedSizesOfXlsxEntries_only() throws Exception {
+        // given
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (ZipOutputStream zos = new ZipOutputStream(baos)) {
+            zos.putNextEntry(new ZipEntry("a.xlsx"));
+            zos.write(new byte[1_000]);
+            zos.closeEntry();
+            zos.putNextEntry(new ZipEntry("dir/B.XLSX"));
+            zos.write(new byte[500]);
+            zos.closeEntry();
+            zos.putNextEntry(new ZipEntry("notes.txt"));
+            zos.write(new byte[300]);
+            zos.closeEntry();
+            zos.setComment("uploaded");
+        }
+        MockMultipartFile file = new MockMultipartFile("file", "upload.zip", "application/zip", baos.toByteArray());
+
+        // when
+        long result = ZipXlsxUtil.sumXlsxEntrySizes(file);
+
+        // then
+        assertThat(result).isEqualTo(1_500);
+    }
+
+    @Test
+    void sumXlsxEntrySizes_whenCentralDirectoryIsLargerThanTheTail_readsItSeparately() throws Exception {
+        // given: enough entries for the central directory to start before the last 64 KB
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (ZipOutputStream zos = new ZipOutputStream(baos)) {
+            for (int i = 0; i < 2_000; i++) {
+                zos.putNextEntry(new ZipEntry("sheets/workbook-with-a-long-name-" + i + ".xlsx"));
+                zos.write(new byte[3]);
+                zos.closeEntry();
+            }
+        }
+        MockMultipartFile file = new MockMultipartFile("file", "upload.zip", "application/zip", baos.toByteArray());
+
+        // when
+        long result = ZipXlsxUtil.sumXlsxEntrySizes(file);
+
+        // then
+        assertThat(result).isEqualTo(6_000);
+    }
+
+    @Test
+    void sumXlsxEntrySizes_whenUploadIsNotAZip_returnsMinusOne() throws Exception {
+        // given
+        MockMultipartFile file = new MockMultipartFile(
+                "file", "upload.zip", "application/zip", "not a zip".getBytes(StandardCharsets.UTF_8));
+
+        // when
+        long result = ZipXlsxUtil.sumXlsxEntrySizes(file);
+
+        // then
+        assertThat(result).isEqualTo(-1);
+    }
+
     private byte[] createZipWithSingleEntry(String entryName, byte[] content) throws Exception {
         ByteArrayOutputStream baos = new ByteArrayOutputStream();
         try (ZipOutputStream zos = new ZipOutputStream(baos, StandardCharsets.UTF_8)) {
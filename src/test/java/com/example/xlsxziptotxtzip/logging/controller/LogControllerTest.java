@@ -1,30 +1,54 @@
 package com.example.xlsxziptotxtzip.logging.controller;
 
 import com.example.xlsxziptotxtzip.base.AbstractRestControllerTest;
+import com.example.xlsxziptotxtzip.common.model.CustomCursorPage;
 import com.example.xlsxziptotxtzip.common.model.CustomPage;
 import com.example.xlsxziptotxtzip.common.model.CustomPaging;
 import com.example.xlsxziptotxtzip.common.model.CustomSorting;
+import com.example.xlsxziptotxtzip.common.model.dto.request.CustomCursorPagingRequest;
 import com.example.xlsxziptotxtzip.common.model.dto.request.CustomPagingRequest;
+import com.example.xlsxziptotxtzip.common.model.dto.response.CustomCursorPagingResponse;
 import com.example.xlsxziptotxtzip.common.model.dto.response.CustomPagingResponse;
+import com.example.xlsxziptotxtzip.logging.exception.InvalidLogCursorException;
+import com.example.xlsxziptotxtzip.logging.exception.LogNotFoundException;
+import com.example.xlsxziptotxtzip.logging.model.LogDetailDto;
 import com.example.xlsxziptotxtzip.logging.model.LogDto;
+import com.example.xlsxziptotxtzip.logging.model.dto.request.LogExportRequest;
+import com.example.xlsxziptotxtzip.logging.model.dto.request.LogFilter;
+import com.example.xlsxziptotxtzip.logging.model.dto.request.LogSearchRequest;
 import com.example.xlsxziptotxtzip.logging.model.dto.response.LogResponse;
+import com.example.xlsxziptotxtzip.logging.model.enums.LogExportFormat;
 import com.example.xlsxziptotxtzip.logging.model.mapper.CustomPageLogResponseToCustomPagingMapper;
 import com.example.xlsxziptotxtzip.logging.service.LogService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.hamcrest.Matchers.containsString;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 class LogControllerTest extends AbstractRestControllerTest {
 
     private static final String URL = "/api/logs/list";
+    private static final String CURSOR_URL = "/api/logs/list/cursor";
+    private static final String SEARCH_URL = "/api/logs/search";
+    private static final String EXPORT_URL = "/api/logs/export";
 
     @MockitoBean
     private LogService logService;
@@ -112,4 +136,271 @@ class LogControllerTest extends AbstractRestControllerTest {
 
     }
 
+    @Test
+    void listLogsByCursor_whenValidRequest_returnsOk_andUsesServiceAndMapper() throws Exception {
+
+        // given
+        CustomCursorPagingRequest cursorPagingRequest = CustomCursorPagingRequest.builder()
+                .pageSize(50)
+                .build();
+
+        String body = objectMapper.writeValueAsString(cursorPagingRequest);
+
+        CustomCursorPage<LogDto> cursorPage = CustomCursorPage.<LogDto>builder()
+                .content(List.of())
+                .pageSize(50)
+                .hasNext(false)
+                .build();
+
+        CustomCursorPagingResponse<LogResponse> pagingResponse = CustomCursorPagingResponse.<LogResponse>builder()
+                .content(List.of())
+                .pageSize(50)
+                .hasNext(false)
+                .build();
+
+        when(logService.listLogsByCursor(any(CustomCursorPagingRequest.class))).thenReturn(cursorPage);
+        when(logPageMapper.toCursorPagingResponse(cursorPage)).thenReturn(pagingResponse);
+
+        // when / then
+        mockMvc.perform(
+                        post(CURSOR_URL)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(body)
+                )
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.isSuccess").value(true))
+                .andExpect(jsonPath("$.response.pageSize").value(50))
+                .andExpect(jsonPath("$.response.hasNext").value(false))
+                .andExpect(jsonPath("$.response.totalElementCount").doesNotExist());
+
+        // Verify
+        verify(logService, times(1)).listLogsByCursor(any(CustomCursorPagingRequest.class));
+        verify(logPageMapper, times(1)).toCursorPagingResponse(cursorPage);
+
+    }
+
+    @Test
+    void listLogsByCursor_whenPageSizeTooLarge_returnsBadRequest_andDoesNotCallService() throws Exception {
+
+        // given
+        CustomCursorPagingRequest invalidRequest = CustomCursorPagingRequest.builder()
+                .pageSize(5_000)
+                .build();
+
+        String body = objectMapper.writeValueAsString(invalidRequest);
+
+        // when / then
+        mockMvc.perform(
+                        post(CURSOR_URL)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(body)
+                )
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.header").value("VALIDATION ERROR"));
+
+        // Verify
+        verify(logService, never()).listLogsByCursor(any());
+
+    }
+
+    @Test
+    void listLogsByCursor_whenCursorIsInvalid_returnsBadRequest() throws Exception {
+
+        // given
+        CustomCursorPagingRequest request = CustomCursorPagingRequest.builder()
+                .pageSize(10)
+                .cursor("broken")
+                .build();
+
+        String body = objectMapper.writeValueAsString(request);
+
+        when(logService.listLogsByCursor(any(CustomCursorPagingRequest.class)))
+                .thenThrow(new InvalidLogCursorException("Invalid cursor: broken"));
+
+        // when / then
+        mockMvc.perform(
+                        post(CURSOR_URL)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(body)
+                )
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Invalid cursor: broken"));
+
+        // Verify
+        verify(logPageMapper, never()).toCursorPagingResponse(any());
+
+    }
+
+    @Test
+    void searchLogs_whenValidRequest_returnsOk_andUsesServiceAndMapper() throws Exception {
+
+        // given
+        LogSearchRequest searchRequest = LogSearchRequest.builder()
+                .pagination(CustomPaging.builder()
+                        .pageNumber(1)
+                        .pageSize(20)
+                        .build())
+                .filter(LogFilter.builder()
+                        .status(HttpStatus.INTERNAL_SERVER_ERROR)
+                        .endpoint("/api/upload-zip")
+                        .from(LocalDateTime.of(2025, 1, 1, 0, 0))
+                        .to(LocalDateTime.of(2025, 2, 1, 0, 0))
+                        .build())
+                .build();
+
+        String body = objectMapper.writeValueAsString(searchRequest);
+
+        @SuppressWarnings("unchecked")
+        CustomPage<LogDto> customPage = mock(CustomPage.class);
+
+        @SuppressWarnings("unchecked")
+        CustomPagingResponse<LogResponse> pagingResponse = mock(CustomPagingResponse.class);
+
+        when(logService.searchLogs(any(LogSearchRequest.class))).thenReturn(customPage);
+        when(logPageMapper.toPagingResponse(customPage)).thenReturn(pagingResponse);
+
+        // when / then
+        mockMvc.perform(
+                        post(SEARCH_URL)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(body)
+                )
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.isSuccess").value(true));
+
+        // Verify
+        verify(logService, times(1)).searchLogs(argThat(request ->
+                request.getFilter().getStatus() == HttpStatus.INTERNAL_SERVER_ERROR
+                        && "/api/upload-zip".equals(request.getFilter().getEndpoint())));
+        verify(logPageMapper, times(1)).toPagingResponse(customPage);
+
+    }
+
+    @Test
+    void searchLogs_whenTimeRangeIsReversed_returnsBadRequest_andDoesNotCallService() throws Exception {
+
+        // given
+        LogSearchRequest invalidRequest = LogSearchRequest.builder()
+                .pagination(CustomPaging.builder()
+                        .pageNumber(1)
+                        .pageSize(20)
+                        .build())
+                .filter(LogFilter.builder()
+                        .from(LocalDateTime.of(2025, 2, 1, 0, 0))
+                        .to(LocalDateTime.of(2025, 1, 1, 0, 0))
+                        .build())
+                .build();
+
+        String body = objectMapper.writeValueAsString(invalidRequest);
+
+        // when / then
+        mockMvc.perform(
+                        post(SEARCH_URL)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(body)
+                )
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.header").value("VALIDATION ERROR"));
+
+        // Verify
+        verify(logService, never()).searchLogs(any());
+
+    }
+
+    @Test
+    void getLog_whenLogExists_returnsOk_withPayloads() throws Exception {
+
+        // given
+        String id = "0190a6f2-8c3e-7a10-8b2d-4c5e6f708192";
+
+        LogDetailDto logDetail = LogDetailDto.builder()
+                .id(id)
+                .message("payload")
+                .response("payload")
+                .status(HttpStatus.OK)
+                .operation("uploadZip")
+                .build();
+
+        when(logService.getLogDetail(id)).thenReturn(logDetail);
+
+        // when / then
+        mockMvc.perform(get("/api/logs/{id}", id))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.isSuccess").value(true))
+                .andExpect(jsonPath("$.response.id").value(id))
+                .andExpect(jsonPath("$.response.message").value("payload"))
+                .andExpect(jsonPath("$.response.response").value("payload"));
+
+        // Verify
+        verify(logService, times(1)).getLogDetail(id);
+
+    }
+
+    @Test
+    void getLog_whenLogIsMissing_returnsNotFound() throws Exception {
+
+        // given
+        String id = "0190a6f2-8c3e-7a10-8b2d-4c5e6f708192";
+
+        when(logService.getLogDetail(id)).thenThrow(new LogNotFoundException(id));
+
+        // when / then
+        mockMvc.perform(get("/api/logs/{id}", id))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.header").value("API ERROR"))
+                .andExpect(jsonPath("$.message").value("Log not found: " + id));
+
+    }
+
+    @Test
+    void exportLogs_whenValidRequest_streamsTheExportAsAttachment() throws Exception {
+
+        // given
+        LogExportRequest exportRequest = LogExportRequest.builder()
+                .format(LogExportFormat.CSV)
+                .filter(LogFilter.builder().status(HttpStatus.BAD_REQUEST).build())
+                .build();
+
+        doAnswer(invocation -> {
+            OutputStream outputStream = invocation.getArgument(1);
+            outputStream.write("id\r\n1\r\n".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(logService).exportLogs(any(LogExportRequest.class), any(OutputStream.class));
+
+        // when
+        MvcResult asyncResult = mockMvc.perform(post(EXPORT_URL)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(exportRequest)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // then
+        mockMvc.perform(asyncDispatch(asyncResult))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("text/csv"))
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, containsString("logs.csv")))
+                .andExpect(content().string("id\r\n1\r\n"));
+
+        // Verify
+        verify(logService, times(1)).exportLogs(any(LogExportRequest.class), any(OutputStream.class));
+
+    }
+
+    @Test
+    void exportLogs_whenFormatIsMissing_returnsBadRequest() throws Exception {
+
+        // given
+        LogExportRequest exportRequest = LogExportRequest.builder().build();
+
+        // when / then
+        mockMvc.perform(post(EXPORT_URL)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(exportRequest)))
+                .andExpect(status().isBadRequest());
+
+        // Verify
+        verify(logService, never()).exportLogs(any(), any());
+
+    }
+
 }
@@ -0,0 +1,90 @@
+package com.example.xlsxziptotxtzip.logging.model;
+
+import com.example.xlsxziptotxtzip.logging.exception.InvalidLogCursorException;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LogCursorTest {
+
+    @Test
+    void encode_thenDecode_returnsSamePosition() {
+
+        // given
+        LogSummary logSummary = new LogSummary(
+                UUID.fromString("0195954c-1b3f-7e2a-9c1a-5f2e8d7b6a41"),
+                LocalDateTime.of(2025, 3, 14, 15, 9, 26, 535_897_000),
+                "/api/logs/list", "POST", HttpStatus.OK, null, "listLogs");
+
+        // when
+        String token = LogCursor.of(logSummary).encode();
+        LogCursor result = LogCursor.decode(token);
+
+        // then
+        assertThat(token).doesNotContain("=", "+", "/");
+        assertThat(result.time()).isEqualTo(logSummary.time());
+        assertThat(result.id()).isEqualTo(logSummary.id());
+
+    }
+
+    @Test
+    void decode_whenTokenIsNotBase64_throwsInvalidLogCursorException() {
+
+        // when / then
+        assertThatThrownBy(() -> LogCursor.decode("%%%"))
+                .isInstanceOf(InvalidLogCursorException.class)
+                .hasMessageContaining("Invalid cursor");
+
+    }
+
+    @Test
+    void decode_whenSeparatorOrIdIsMissing_throwsInvalidLogCursorException() {
+
+        // given
+        String withoutSeparator = encodeRaw("2025-01-01T10:00");
+        String withoutId = encodeRaw("2025-01-01T10:00|");
+
+        // when / then
+        assertThatThrownBy(() -> LogCursor.decode(withoutSeparator))
+                .isInstanceOf(InvalidLogCursorException.class);
+        assertThatThrownBy(() -> LogCursor.decode(withoutId))
+                .isInstanceOf(InvalidLogCursorException.class);
+
+    }
+
+    @Test
+    void decode_whenIdIsNotUuid_throwsInvalidLogCursorException() {
+
+        // given
+        String token = encodeRaw("2025-01-01T10:00|42");
+
+        // when / then
+        assertThatThrownBy(() -> LogCursor.decode(token))
+                .isInstanceOf(InvalidLogCursorException.class);
+
+    }
+
+    @Test
+    void decode_whenTimeIsInvalid_throwsInvalidLogCursorException() {
+
+        // given
+        String token = encodeRaw("yesterday|0195954c-1b3f-7e2a-9c1a-5f2e8d7b6a41");
+
+        // when / then
+        assertThatThrownBy(() -> LogCursor.decode(token))
+                .isInstanceOf(InvalidLogCursorException.class);
+
+    }
+
+    private static String encodeRaw(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+}
@@ -1,7 +1,10 @@
 package com.example.xlsxziptotxtzip.logging.model.mapper;
 
+import com.example.xlsxziptotxtzip.common.model.CustomCursorPage;
 import com.example.xlsxziptotxtzip.common.model.CustomPage;
+import com.example.xlsxziptotxtzip.common.model.dto.response.CustomCursorPagingResponse;
 import com.example.xlsxziptotxtzip.common.model.dto.response.CustomPagingResponse;
+import com.example.xlsxziptotxtzip.common.model.enums.CountMode;
 import com.example.xlsxziptotxtzip.logging.model.LogDto;
 import com.example.xlsxziptotxtzip.logging.model.dto.response.LogResponse;
 import org.junit.jupiter.api.Test;
@@ -38,7 +41,6 @@ class CustomPageLogResponseToCustomPagingMapperTest {
         // Given
         LogDto dto1 = LogDto.builder()
                 .id("1")
-                .message("first")
                 .endpoint("/api/test1")
                 .method("GET")
                 .status(HttpStatus.OK)
@@ -49,7 +51,6 @@ class CustomPageLogResponseToCustomPagingMapperTest {
 
         LogDto dto2 = LogDto.builder()
                 .id("2")
-                .message("second")
                 .endpoint("/api/test2")
                 .method("POST")
                 .status(HttpStatus.BAD_REQUEST)
@@ -84,13 +85,11 @@ class CustomPageLogResponseToCustomPagingMapperTest {
         LogResponse resp2 = content.get(1);
 
         assertEquals("1", resp1.getId());
-        assertEquals("first", resp1.getMessage());
         assertEquals("/api/test1", resp1.getEndpoint());
         assertEquals("GET", resp1.getMethod());
         assertEquals(HttpStatus.OK, resp1.getStatus());
 
         assertEquals("2", resp2.getId());
-        assertEquals("second", resp2.getMessage());
         assertEquals("/api/test2", resp2.getEndpoint());
         assertEquals("POST", resp2.getMethod());
         assertEquals(HttpStatus.BAD_REQUEST, resp2.getStatus());
@@ -98,6 +97,56 @@ class CustomPageLogResponseToCustomPagingMapperTest {
 
     }
 
+    @Test
+    void toCursorPagingResponse_whenPageIsNull_returnsNull() {
+
+        // given
+        CustomCursorPage<LogDto> page = null;
+
+        // when
+        CustomCursorPagingResponse<LogResponse> result = mapper.toCursorPagingResponse(page);
+
+        // then
+        assertNull(result);
+
+    }
+
+    @Test
+    void toCursorPagingResponse_whenPageIsNotNull_mapsCursorMetadataAndContent() {
+
+        // Given
+        LogDto dto = LogDto.builder()
+                .id("7")
+                .endpoint("/api/logs/list/cursor")
+                .method("POST")
+                .status(HttpStatus.OK)
+                .time(LocalDateTime.now())
+                .build();
+
+        CustomCursorPage<LogDto> page = CustomCursorPage.<LogDto>builder()
+                .content(List.of(dto))
+                .pageSize(1)
+                .nextCursor("next")
+                .hasNext(true)
+                .totalElementCount(1_000L)
+                .countMode(CountMode.ESTIMATE)
+                .build();
+
+        // When
+        CustomCursorPagingResponse<LogResponse> result = mapper.toCursorPagingResponse(page);
+
+        // Then
+        assertNotNull(result);
+        assertEquals(1, result.getPageSize());
+        assertEquals("next", result.getNextCursor());
+        assertTrue(result.getHasNext());
+        assertEquals(1_000L, result.getTotalElementCount());
+        assertEquals(CountMode.ESTIMATE, result.getCountMode());
+        assertEquals(1, result.getContent().size());
+        assertEquals("7", result.getContent().getFirst().getId());
+
+    }
+
     @Test
     void toResponseList_whenListIsNull_returnsEmptyList() {
 
@@ -119,7 +168,6 @@ class CustomPageLogResponseToCustomPagingMapperTest {
         // Given
         LogDto dto = LogDto.builder()
                 .id("99")
-                .message("mapped")
                 .endpoint("/api/logs")
                 .method("GET")
                 .status(HttpStatus.OK)
@@ -139,7 +187,6 @@ class CustomPageLogResponseToCustomPagingMapperTest {
 
         LogResponse resp = result.getFirst();
         assertEquals("99", resp.getId());
-        assertEquals("mapped", resp.getMessage());
         assertEquals("/api/logs", resp.getEndpoint());
         assertEquals("GET", resp.getMethod());
         assertEquals(HttpStatus.OK, resp.getStatus());
@@ -0,0 +1,67 @@
+package com.example.xlsxziptotxtzip.logging.model.mapper;
+
+import com.example.xlsxziptotxtzip.logging.model.LogDetailDto;
+import com.example.xlsxziptotxtzip.logging.model.dto.response.LogDetailResponse;
+import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
+import org.springframework.http.HttpStatus;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LogDetailDtoToLogDetailResponseMapperTest {
+
+    private final LogDetailDtoToLogDetailResponseMapper mapper =
+            Mappers.getMapper(LogDetailDtoToLogDetailResponseMapper.class);
+
+    @Test
+    void map_whenSourceIsNull_returnsNull() {
+
+        // given
+        LogDetailDto source = null;
+
+        // when
+        LogDetailResponse result = mapper.map(source);
+
+        // then
+        assertNull(result);
+
+    }
+
+    @Test
+    void map_whenSourceIsNotNull_mapsAllFieldsIncludingPayloads() {
+
+        // Given
+        LocalDateTime now = LocalDateTime.now();
+
+        LogDetailDto dto = LogDetailDto.builder()
+                .id("0190a6f2-8c3e-7a10-8b2d-4c5e6f708192")
+                .message("Test message")
+                .endpoint("/api/upload-zip")
+                .method("POST")
+                .status(HttpStatus.BAD_REQUEST)
+                .errorType("InvalidZipContentException")
+                .response("Uploaded ZIP is empty")
+                .operation("uploadZip")
+                .time(now)
+                .build();
+
+        // When
+        LogDetailResponse result = mapper.map(dto);
+
+        // Then
+        assertNotNull(result);
+        assertEquals("0190a6f2-8c3e-7a10-8b2d-4c5e6f708192", result.getId());
+        assertEquals("Test message", result.getMessage());
+        assertEquals("/api/upload-zip", result.getEndpoint());
+        assertEquals("POST", result.getMethod());
+        assertEquals(HttpStatus.BAD_REQUEST, result.getStatus());
+        assertEquals("InvalidZipContentException", result.getErrorType());
+        assertEquals("Uploaded ZIP is empty", result.getResponse());
+        assertEquals("uploadZip", result.getOperation());
+        assertEquals(now, result.getTime());
+
+    }
+
+}
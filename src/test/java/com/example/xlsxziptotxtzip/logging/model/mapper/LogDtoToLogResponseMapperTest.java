@@ -52,7 +52,6 @@ class LogDtoToLogResponseMapperTest {
 
         LogDto dto = LogDto.builder()
                 .id("42")
-                .message("Test message")
                 .endpoint("/api/logs")
                 .method("GET")
                 .status(HttpStatus.OK)
@@ -67,7 +66,6 @@ class LogDtoToLogResponseMapperTest {
         // Then
         assertNotNull(result);
         assertEquals("42", result.getId());
-        assertEquals("Test message", result.getMessage());
         assertEquals("/api/logs", result.getEndpoint());
         assertEquals("GET", result.getMethod());
         assertEquals(HttpStatus.OK, result.getStatus());
@@ -85,7 +83,6 @@ class LogDtoToLogResponseMapperTest {
 
         LogDto dto1 = LogDto.builder()
                 .id("1")
-                .message("First")
                 .endpoint("/api/first")
                 .method("POST")
                 .status(HttpStatus.CREATED)
@@ -96,7 +93,6 @@ class LogDtoToLogResponseMapperTest {
 
         LogDto dto2 = LogDto.builder()
                 .id("2")
-                .message("Second")
                 .endpoint("/api/second")
                 .method("DELETE")
                 .status(HttpStatus.NO_CONTENT)
@@ -118,7 +114,6 @@ class LogDtoToLogResponseMapperTest {
         LogResponse r2 = result.get(1);
 
         assertEquals("1", r1.getId());
-        assertEquals("First", r1.getMessage());
         assertEquals("/api/first", r1.getEndpoint());
         assertEquals("POST", r1.getMethod());
         assertEquals(HttpStatus.CREATED, r1.getStatus());
@@ -126,7 +121,6 @@ class LogDtoToLogResponseMapperTest {
         assertEquals(now, r1.getTime());
 
         assertEquals("2", r2.getId());
-        assertEquals("Second", r2.getMessage());
         assertEquals("/api/second", r2.getEndpoint());
         assertEquals("DELETE", r2.getMethod());
         assertEquals(HttpStatus.NO_CONTENT, r2.getStatus());
@@ -0,0 +1,69 @@
+package com.example.xlsxziptotxtzip.logging.model.mapper;
+
+import com.example.xlsxziptotxtzip.logging.model.LogDetailDto;
+import com.example.xlsxziptotxtzip.logging.model.entity.LogEntity;
+import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
+import org.springframework.http.HttpStatus;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LogEntityToLogDetailDtoMapperTest {
+
+    private final LogEntityToLogDetailDtoMapper mapper =
+            Mappers.getMapper(LogEntityToLogDetailDtoMapper.class);
+
+    @Test
+    void map_whenSourceIsNull_returnsNull() {
+
+        // given
+        LogEntity source = null;
+
+        // when
+        LogDetailDto result = mapper.map(source);
+
+        // then
+        assertNull(result);
+
+    }
+
+    @Test
+    void map_whenSourceIsNotNull_mapsAllFieldsIncludingPayloads() {
+
+        // Given
+        UUID id = UUID.fromString("0190a6f2-8c3e-7a10-8b2d-4c5e6f708192");
+        LocalDateTime now = LocalDateTime.now();
+
+        LogEntity entity = LogEntity.builder()
+                .id(id)
+                .message("Test log")
+                .endpoint("/api/logs")
+                .method("GET")
+                .status(HttpStatus.OK)
+                .errorType("SomeException")
+                .response("{\"ok\":true}")
+                .operation("listLogs")
+                .time(now)
+                .build();
+
+        // When
+        LogDetailDto result = mapper.map(entity);
+
+        // Then
+        assertNotNull(result);
+        assertEquals(id.toString(), result.getId());
+        assertEquals("Test log", result.getMessage());
+        assertEquals("/api/logs", result.getEndpoint());
+        assertEquals("GET", result.getMethod());
+        assertEquals(HttpStatus.OK, result.getStatus());
+        assertEquals("SomeException", result.getErrorType());
+        assertEquals("{\"ok\":true}", result.getResponse());
+        assertEquals("listLogs", result.getOperation());
+        assertEquals(now, result.getTime());
+
+    }
+
+}
@@ -0,0 +1,81 @@
+package com.example.xlsxziptotxtzip.logging.model.mapper;
+
+import com.example.xlsxziptotxtzip.logging.model.LogDto;
+import com.example.xlsxziptotxtzip.logging.model.LogSummary;
+import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
+import org.springframework.http.HttpStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LogSummaryToLogDtoMapperTest {
+
+    private final LogSummaryToLogDtoMapper mapper =
+            Mappers.getMapper(LogSummaryToLogDtoMapper.class);
+
+    @Test
+    void map_whenSourceIsNull_returnsNull() {
+
+        // given
+        LogSummary source = null;
+
+        // when
+        LogDto result = mapper.map(source);
+
+        // then
+        assertNull(result);
+
+    }
+
+    @Test
+    void map_whenSourceIsNotNull_mapsAllFields() {
+
+        // Given
+        UUID id = UUID.fromString("0190a6f2-8c3e-7a10-8b2d-4c5e6f708192");
+        LocalDateTime now = LocalDateTime.now();
+
+        LogSummary summary = new LogSummary(id, now, "/api/logs", "GET",
+                HttpStatus.NOT_FOUND, "LogNotFoundException", "getLog");
+
+        // When
+        LogDto result = mapper.map(summary);
+
+        // Then
+        assertNotNull(result);
+        assertEquals(id.toString(), result.getId());
+        assertEquals(now, result.getTime());
+        assertEquals("/api/logs", result.getEndpoint());
+        assertEquals("GET", result.getMethod());
+        assertEquals(HttpStatus.NOT_FOUND, result.getStatus());
+        assertEquals("LogNotFoundException", result.getErrorType());
+        assertEquals("getLog", result.getOperation());
+
+    }
+
+    @Test
+    void mapCollection_whenListHasItems_mapsEachItem() {
+
+        // Given
+        LocalDateTime now = LocalDateTime.now();
+        LogSummary s1 = new LogSummary(UUID.fromString("0190a6f2-8c3e-7a11-9b2d-4c5e6f708193"), now,
+                "/api/first", "POST", HttpStatus.CREATED, null, "create");
+        LogSummary s2 = new LogSummary(UUID.fromString("0190a6f2-8c3e-7a12-ab2d-4c5e6f708194"), now,
+                "/api/second", "DELETE", HttpStatus.NO_CONTENT, null, "delete");
+
+        // When
+        List<LogDto> result = mapper.map(List.of(s1, s2));
+
+        // Then
+        assertEquals(2, result.size());
+        assertEquals("0190a6f2-8c3e-7a11-9b2d-4c5e6f708193", result.get(0).getId());
+        assertEquals("create", result.get(0).getOperation());
+        assertEquals("0190a6f2-8c3e-7a12-ab2d-4c5e6f708194", result.get(1).getId());
+        assertEquals("delete", result.get(1).getOperation());
+
+    }
+
+}
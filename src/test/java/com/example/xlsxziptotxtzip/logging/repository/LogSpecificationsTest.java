@@ -0,0 +1,87 @@
+package com.example.xlsxziptotxtzip.logging.repository;
+
+import com.example.xlsxziptotxtzip.base.AbstractBaseServiceTest;
+import com.example.xlsxziptotxtzip.logging.model.dto.request.LogFilter;
+import com.example.xlsxziptotxtzip.logging.model.entity.LogEntity;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.HttpStatus;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class LogSpecificationsTest extends AbstractBaseServiceTest {
+
+    @Mock
+    private Root<LogEntity> root;
+
+    @Mock
+    private CriteriaQuery<?> query;
+
+    @Mock
+    private CriteriaBuilder criteriaBuilder;
+
+    @Mock
+    private Path<Object> path;
+
+    @Mock
+    private Predicate predicate;
+
+    @Test
+    void matching_whenFilterIsNull_matchesAllLogs() {
+
+        // when
+        Specification<LogEntity> specification = LogSpecifications.matching(null);
+        Predicate result = specification.toPredicate(root, query, criteriaBuilder);
+
+        // then
+        assertThat(result).isNull();
+        verifyNoInteractions(root);
+
+    }
+
+    @Test
+    void matching_whenOnlySomeCriteriaAreSet_addsPredicatesForThoseOnly() {
+
+        // given
+        LocalDateTime from = LocalDateTime.of(2025, 1, 1, 0, 0);
+        LogFilter filter = LogFilter.builder()
+                .status(HttpStatus.BAD_REQUEST)
+                .endpoint("/api/upload-zip")
+                .operation("  ")
+                .from(from)
+                .build();
+
+        doReturn(path).when(root).get(anyString());
+        when(criteriaBuilder.equal(any(), any(Object.class))).thenReturn(predicate);
+        when(criteriaBuilder.greaterThanOrEqualTo(any(), any(LocalDateTime.class))).thenReturn(predicate);
+        when(criteriaBuilder.and(any(Predicate.class), any(Predicate.class))).thenReturn(predicate);
+
+        // when
+        Predicate result = LogSpecifications.matching(filter).toPredicate(root, query, criteriaBuilder);
+
+        // then
+        assertThat(result).isNotNull();
+        verify(root).get("status");
+        verify(root).get("endpoint");
+        verify(root).get("time");
+        verify(root, never()).get("errorType");
+        verify(root, never()).get("operation");
+        verify(criteriaBuilder).equal(path, HttpStatus.BAD_REQUEST);
+        verify(criteriaBuilder).equal(path, "/api/upload-zip");
+        verify(criteriaBuilder).greaterThanOrEqualTo(any(), eq(from));
+        verify(criteriaBuilder, never()).lessThan(any(), any(LocalDateTime.class));
+
+    }
+
+}
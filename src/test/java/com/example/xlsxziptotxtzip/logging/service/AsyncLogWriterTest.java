@@ -0,0 +1,157 @@
+package com.example.xlsxziptotxtzip.logging.service;
+
+import com.example.xlsxziptotxtzip.base.AbstractBaseServiceTest;
+import com.example.xlsxziptotxtzip.logging.config.LogWriterProperties;
+import com.example.xlsxziptotxtzip.logging.model.entity.LogEntity;
+import com.example.xlsxziptotxtzip.logging.model.enums.LogOverflowPolicy;
+import com.example.xlsxziptotxtzip.logging.repository.LogRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class AsyncLogWriterTest extends AbstractBaseServiceTest {
+
+    @Mock
+    private LogRepository logRepository;
+
+    @Mock
+    private LogPayloadStore logPayloadStore;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void submit_writesQueuedLogsInBatches_andFlushesTheRestOnShutdown() throws Exception {
+        // given
+        LogWriterProperties properties = properties(LogOverflowPolicy.DROP, 64);
+        properties.setBatchSize(10);
+        AsyncLogWriter writer = new AsyncLogWriter(logRepository, logPayloadStore, properties, transactionManager, meterRegistry);
+        List<Integer> batchSizes = new ArrayList<>();
+        doAnswer(invocation -> {
+            batchSizes.add(((List<LogEntity>) invocation.getArgument(0)).size());
+            return invocation.getArgument(0);
+        }).when(logRepository).saveAll(anyList());
+
+        // when
+        writer.afterPropertiesSet();
+        for (int i = 0; i < 25; i++) {
+            assertThat(writer.submit(logEntity("ok-" + i, null))).isTrue();
+        }
+        writer.destroy();
+
+        // then
+        assertThat(batchSizes).allSatisfy(size -> assertThat(size).isBetween(1, 10));
+        assertThat(batchSizes.stream().mapToInt(Integer::intValue).sum()).isEqualTo(25);
+        assertThat(meterRegistry.get("log.writer.written").counter().count()).isEqualTo(25);
+        verify(logPayloadStore, times(batchSizes.size())).storeAll(anyList());
+        verify(transactionManager, times(batchSizes.size())).commit(any());
+    }
+
+    @Test
+    void submit_withDropPolicy_dropsWhenQueueIsFull_andCountsIt() {
+        // given: the writer thread is not started, so nothing is drained
+        AsyncLogWriter writer = new AsyncLogWriter(logRepository, logPayloadStore, properties(LogOverflowPolicy.DROP, 2), transactionManager, meterRegistry);
+
+        // when
+        boolean first = writer.submit(logEntity("a", null));
+        boolean second = writer.submit(logEntity("b", null));
+        boolean third = writer.submit(logEntity("c", null));
+
+        // then
+        assertThat(first).isTrue();
+        assertThat(second).isTrue();
+        assertThat(third).isFalse();
+        assertThat(meterRegistry.get("log.writer.dropped").tag("reason", "full").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("log.writer.queue.depth").gauge().value()).isEqualTo(2);
+    }
+
+    @Test
+    void submit_withSamplePolicy_keepsErrorsAndSamplesSuccessesOnceHalfFull() {
+        // given
+        LogWriterProperties properties = properties(LogOverflowPolicy.SAMPLE, 8);
+        properties.setSampleRate(2);
+        AsyncLogWriter writer = new AsyncLogWriter(logRepository, logPayloadStore, properties, transactionManager, meterRegistry);
+        for (int i = 0; i < 5; i++) {
+            writer.submit(logEntity("fill-" + i, null));
+        }
+
+        // when
+        boolean sampledIn = writer.submit(logEntity("kept", null));
+        boolean sampledOut = writer.submit(logEntity("dropped", null));
+        boolean error = writer.submit(logEntity("error", "java.lang.IllegalStateException"));
+
+        // then
+        assertThat(sampledIn).isTrue();
+        assertThat(sampledOut).isFalse();
+        assertThat(error).isTrue();
+        assertThat(meterRegistry.get("log.writer.dropped").tag("reason", "sampled").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void submit_withBlockPolicy_waitsForTimeout_thenDrops() {
+        // given
+        LogWriterProperties properties = properties(LogOverflowPolicy.BLOCK, 1);
+        properties.setBlockTimeout(Duration.ofMillis(20));
+        AsyncLogWriter writer = new AsyncLogWriter(logRepository, logPayloadStore, properties, transactionManager, meterRegistry);
+        writer.submit(logEntity("a", null));
+
+        // when
+        long start = System.nanoTime();
+        boolean queued = writer.submit(logEntity("b", null));
+        long waitedMillis = Duration.ofNanos(System.nanoTime() - start).toMillis();
+
+        // then
+        assertThat(queued).isFalse();
+        assertThat(waitedMillis).isGreaterThanOrEqualTo(20);
+        assertThat(meterRegistry.get("log.writer.dropped").tag("reason", "timeout").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void writer_whenBatchInsertFails_countsFailedLogs_andKeepsRunning() throws Exception {
+        // given
+        LogWriterProperties properties = properties(LogOverflowPolicy.DROP, 16);
+        AsyncLogWriter writer = new AsyncLogWriter(logRepository, logPayloadStore, properties, transactionManager, meterRegistry);
+        when(logRepository.saveAll(anyList())).thenThrow(new IllegalStateException("db down"));
+
+        // when
+        writer.afterPropertiesSet();
+        writer.submit(logEntity("a", null));
+        writer.submit(logEntity("b", null));
+        writer.destroy();
+
+        // then
+        assertThat(meterRegistry.get("log.writer.failed").counter().count()).isEqualTo(2);
+        verify(logRepository, atLeastOnce()).saveAll(anyList());
+        verify(transactionManager, atLeastOnce()).rollback(any());
+    }
+
+    private LogWriterProperties properties(LogOverflowPolicy overflowPolicy, int capacity) {
+        LogWriterProperties properties = new LogWriterProperties();
+        properties.setEnabled(true);
+        properties.setCapacity(capacity);
+        properties.setOverflowPolicy(overflowPolicy);
+        properties.setFlushInterval(Duration.ofMillis(10));
+        return properties;
+    }
+
+    private LogEntity logEntity(String message, String errorType) {
+        return LogEntity.builder()
+                .message(message)
+                .errorType(errorType)
+                .build();
+    }
+
+}
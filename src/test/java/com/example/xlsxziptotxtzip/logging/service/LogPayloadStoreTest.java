@@ -0,0 +1,235 @@
+package com.example.xlsxziptotxtzip.logging.service;
+
+import com.example.xlsxziptotxtzip.base.AbstractBaseServiceTest;
+import com.example.xlsxziptotxtzip.logging.config.LogPayloadProperties;
+import com.example.xlsxziptotxtzip.logging.model.LogPayload;
+import com.example.xlsxziptotxtzip.logging.model.entity.LogEntity;
+import com.example.xlsxziptotxtzip.logging.repository.LogPayloadRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class LogPayloadStoreTest extends AbstractBaseServiceTest {
+
+    @Mock
+    private LogPayloadRepository logPayloadRepository;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void store_whenMessageEqualsResponse_storesThePayloadOnce_andSetsBothHashes() {
+
+        // given
+        LogPayloadStore store = new LogPayloadStore(logPayloadRepository, properties(1024), meterRegistry);
+        LogEntity logEntity = LogEntity.builder()
+                .message("CustomResponse(isSuccess=true)")
+                .response("CustomResponse(isSuccess=true)")
+                .build();
+
+        // when
+        store.store(logEntity);
+
+        // then
+        UUID expectedHash = LogPayloadStore.hash("CustomResponse(isSuccess=true)".getBytes(StandardCharsets.UTF_8));
+        assertThat(logEntity.getMessageHash()).isEqualTo(expectedHash);
+        assertThat(logEntity.getResponseHash()).isEqualTo(expectedHash);
+
+        List<LogPayload> payloads = captureUpserts(1).getFirst();
+        assertThat(payloads).hasSize(1);
+        assertThat(payloads.getFirst().hash()).isEqualTo(expectedHash);
+        assertThat(payloads.getFirst().compressed()).isFalse();
+        assertThat(new String(payloads.getFirst().content(), StandardCharsets.UTF_8)).isEqualTo("CustomResponse(isSuccess=true)");
+
+    }
+
+    @Test
+    void store_whenPayloadWasStoredToday_skipsTheWrite_andCountsIt() {
+
+        // given
+        LogPayloadStore store = new LogPayloadStore(logPayloadRepository, properties(1024), meterRegistry);
+
+        // when
+        store.store(LogEntity.builder().message("Uploaded ZIP is empty").build());
+        store.store(LogEntity.builder().message("Uploaded ZIP is empty").build());
+
+        // then
+        verify(logPayloadRepository, times(1)).upsertAll(anyList(), any(LocalDate.class), any(LocalDateTime.class));
+        assertThat(meterRegistry.get("log.payload.writes").tag("result", "stored").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("log.payload.writes").tag("result", "cached").counter().count()).isEqualTo(1);
+
+    }
+
+    @Test
+    void store_whenPayloadsAreNull_storesNothing() {
+
+        // given
+        LogPayloadStore store = new LogPayloadStore(logPayloadRepository, properties(1024), meterRegistry);
+        LogEntity logEntity = LogEntity.builder().build();
+
+        // when
+        store.store(logEntity);
+
+        // then
+        assertThat(logEntity.getMessageHash()).isNull();
+        assertThat(logEntity.getResponseHash()).isNull();
+        verifyNoInteractions(logPayloadRepository);
+
+    }
+
+    @Test
+    void store_thenResolve_roundTripsCompressedAndPlainPayloads() {
+
+        // given
+        LogPayloadStore store = new LogPayloadStore(logPayloadRepository, properties(16), meterRegistry);
+        String largeResponse = "row;value\n".repeat(500);
+        LogEntity written = LogEntity.builder()
+                .message("short")
+                .response(largeResponse)
+                .build();
+
+        // when
+        store.store(written);
+
+        // then
+        List<LogPayload> rows = captureUpserts(1).getFirst();
+        assertThat(rows).extracting(LogPayload::compressed).containsExactly(false, true);
+        assertThat(rows.get(1).content().length).isLessThan(largeResponse.length());
+
+        // given: the stored rows are read back
+        when(logPayloadRepository.findPayloads(anyCollection())).thenReturn(rows);
+        LogEntity read = LogEntity.builder()
+                .messageHash(written.getMessageHash())
+                .responseHash(written.getResponseHash())
+                .build();
+
+        // when
+        store.resolve(read);
+
+        // then
+        assertThat(read.getMessage()).isEqualTo("short");
+        assertThat(read.getResponse()).isEqualTo(largeResponse);
+
+    }
+
+    @Test
+    void storeAll_writesTheDistinctPayloadsOfABatchWithOneUpsert() {
+
+        // given
+        LogPayloadStore store = new LogPayloadStore(logPayloadRepository, properties(1024), meterRegistry);
+        store.store(LogEntity.builder().message("Uploaded ZIP is empty").build());
+        List<LogEntity> batch = List.of(
+                LogEntity.builder().message("Uploaded ZIP is empty").response("error").build(),
+                LogEntity.builder().message("ok").response("error").build(),
+                LogEntity.builder().message("ok").build()
+        );
+
+        // when
+        store.storeAll(batch);
+
+        // then
+        List<LogPayload> payloads = captureUpserts(2).get(1);
+        assertThat(payloads)
+                .extracting(payload -> new String(payload.content(), StandardCharsets.UTF_8))
+                .containsExactly("error", "ok");
+        assertThat(batch.get(1).getResponseHash()).isEqualTo(batch.get(0).getResponseHash());
+        assertThat(meterRegistry.get("log.payload.writes").tag("result", "stored").counter().count()).isEqualTo(3);
+        assertThat(meterRegistry.get("log.payload.writes").tag("result", "cached").counter().count()).isEqualTo(3);
+
+    }
+
+    @Test
+    void storeAll_inATransaction_remembersThePayloadsOnlyOnceItCommits() {
+
+        // given
+        LogPayloadStore store = new LogPayloadStore(logPayloadRepository, properties(1024), meterRegistry);
+        TransactionSynchronizationManager.initSynchronization();
+
+        try {
+            // when
+            store.store(LogEntity.builder().message("Uploaded ZIP is empty").build());
+            store.store(LogEntity.builder().message("Uploaded ZIP is empty").build());
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            store.store(LogEntity.builder().message("Uploaded ZIP is empty").build());
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        // then: written again while uncommitted, skipped once committed
+        verify(logPayloadRepository, times(2)).upsertAll(anyList(), any(LocalDate.class), any(LocalDateTime.class));
+
+    }
+
+    @Test
+    void resolveAll_loadsTheSharedPayloadsOfAllLogsWithOneQuery() {
+
+        // given
+        LogPayloadStore store = new LogPayloadStore(logPayloadRepository, properties(1024), meterRegistry);
+        UUID hash = LogPayloadStore.hash("Uploaded ZIP is empty".getBytes(StandardCharsets.UTF_8));
+        when(logPayloadRepository.findPayloads(anyCollection())).thenReturn(List.of(
+                new LogPayload(hash, "Uploaded ZIP is empty".getBytes(StandardCharsets.UTF_8), false)));
+        LogEntity first = LogEntity.builder().messageHash(hash).responseHash(hash).build();
+        LogEntity second = LogEntity.builder().messageHash(hash).build();
+
+        // when
+        store.resolveAll(List.of(first, second));
+
+        // then
+        assertThat(first.getMessage()).isEqualTo("Uploaded ZIP is empty");
+        assertThat(first.getResponse()).isEqualTo("Uploaded ZIP is empty");
+        assertThat(second.getMessage()).isEqualTo("Uploaded ZIP is empty");
+        assertThat(second.getResponse()).isNull();
+        verify(logPayloadRepository, times(1)).findPayloads(Set.of(hash));
+
+    }
+
+    @Test
+    void resolve_whenPayloadIsMissing_leavesItNull() {
+
+        // given
+        LogPayloadStore store = new LogPayloadStore(logPayloadRepository, properties(1024), meterRegistry);
+        when(logPayloadRepository.findPayloads(anyCollection())).thenReturn(List.of());
+        LogEntity logEntity = LogEntity.builder()
+                .messageHash(UUID.fromString("0190a6f2-8c3e-7a10-8b2d-4c5e6f708192"))
+                .build();
+
+        // when
+        store.resolve(logEntity);
+
+        // then
+        assertThat(logEntity.getMessage()).isNull();
+        assertThat(logEntity.getResponse()).isNull();
+
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<List<LogPayload>> captureUpserts(int times) {
+        ArgumentCaptor<List<LogPayload>> payloads = ArgumentCaptor.forClass(List.class);
+        verify(logPayloadRepository, times(times)).upsertAll(payloads.capture(), eq(LocalDate.now()), any(LocalDateTime.class));
+        return payloads.getAllValues();
+    }
+
+    private static LogPayloadProperties properties(int compressionThreshold) {
+        LogPayloadProperties properties = new LogPayloadProperties();
+        properties.setCompressionThreshold(compressionThreshold);
+        properties.setRecentCacheSize(100);
+        return properties;
+    }
+
+}
@@ -0,0 +1,102 @@
+package com.example.xlsxziptotxtzip.logging.service;
+
+import com.example.xlsxziptotxtzip.base.AbstractBaseServiceTest;
+import com.example.xlsxziptotxtzip.logging.config.LogRetentionProperties;
+import com.example.xlsxziptotxtzip.logging.repository.LogPayloadRepository;
+import com.example.xlsxziptotxtzip.logging.repository.LogRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class LogRetentionJobTest extends AbstractBaseServiceTest {
+
+    @Mock
+    private LogRepository logRepository;
+
+    @Mock
+    private LogPayloadRepository logPayloadRepository;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void purgeExpiredLogs_deletesInBatchesUntilAPartialBatch_andRecordsMetrics() {
+
+        // given
+        LogRetentionJob job = new LogRetentionJob(logRepository, logPayloadRepository, properties(true), meterRegistry);
+        when(logRepository.deleteOldestBefore(any(LocalDateTime.class), eq(100)))
+                .thenReturn(100, 100, 42);
+        when(logPayloadRepository.deleteUnusedBefore(any(LocalDate.class), eq(100)))
+                .thenReturn(100, 7);
+        LocalDateTime before = LocalDateTime.now().minusDays(7);
+
+        // when
+        long deleted = job.purgeExpiredLogs();
+
+        // then
+        ArgumentCaptor<LocalDateTime> cutoff = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(logRepository, times(3)).deleteOldestBefore(cutoff.capture(), eq(100));
+        assertThat(cutoff.getValue()).isBetween(before, LocalDateTime.now().minusDays(7));
+        assertThat(deleted).isEqualTo(242);
+        assertThat(meterRegistry.get("log.retention.deleted").counter().count()).isEqualTo(242.0);
+        verify(logPayloadRepository, times(2)).deleteUnusedBefore(cutoff.getValue().toLocalDate(), 100);
+        assertThat(meterRegistry.get("log.retention.payloads.deleted").counter().count()).isEqualTo(107.0);
+        assertThat(meterRegistry.get("log.retention.run").tag("result", "success").timer().count()).isEqualTo(1);
+
+    }
+
+    @Test
+    void purgeExpiredLogs_whenBatchFails_stopsAndRecordsFailure() {
+
+        // given
+        LogRetentionJob job = new LogRetentionJob(logRepository, logPayloadRepository, properties(true), meterRegistry);
+        when(logRepository.deleteOldestBefore(any(LocalDateTime.class), anyInt()))
+                .thenReturn(100)
+                .thenThrow(new QueryTimeoutException("lock wait timeout"));
+
+        // when
+        long deleted = job.purgeExpiredLogs();
+
+        // then
+        assertThat(deleted).isEqualTo(100);
+        verify(logRepository, times(2)).deleteOldestBefore(any(LocalDateTime.class), anyInt());
+        verifyNoInteractions(logPayloadRepository);
+        assertThat(meterRegistry.get("log.retention.run").tag("result", "failure").timer().count()).isEqualTo(1);
+
+    }
+
+    @Test
+    void scheduledPurge_whenDisabled_doesNotDelete() {
+
+        // given
+        LogRetentionJob job = new LogRetentionJob(logRepository, logPayloadRepository, properties(false), meterRegistry);
+
+        // when
+        job.scheduledPurge();
+
+        // then
+        verifyNoInteractions(logRepository, logPayloadRepository);
+
+    }
+
+    private static LogRetentionProperties properties(boolean enabled) {
+        LogRetentionProperties properties = new LogRetentionProperties();
+        properties.setEnabled(enabled);
+        properties.setRetention(Duration.ofDays(7));
+        properties.setBatchSize(100);
+        properties.setBatchPause(Duration.ZERO);
+        return properties;
+    }
+
+}
@@ -1,39 +1,80 @@
 package com.example.xlsxziptotxtzip.logging.service.impl;
 
 import com.example.xlsxziptotxtzip.base.AbstractBaseServiceTest;
+import com.example.xlsxziptotxtzip.common.model.CustomCursorPage;
 import com.example.xlsxziptotxtzip.common.model.CustomPage;
 import com.example.xlsxziptotxtzip.common.model.CustomPaging;
 import com.example.xlsxziptotxtzip.common.model.CustomSorting;
+import com.example.xlsxziptotxtzip.common.model.dto.request.CustomCursorPagingRequest;
 import com.example.xlsxziptotxtzip.common.model.dto.request.CustomPagingRequest;
+import com.example.xlsxziptotxtzip.common.model.enums.CountMode;
+import com.example.xlsxziptotxtzip.logging.config.LogExportProperties;
+import com.example.xlsxziptotxtzip.logging.exception.InvalidLogCursorException;
+import com.example.xlsxziptotxtzip.logging.exception.LogNotFoundException;
+import com.example.xlsxziptotxtzip.logging.model.LogCursor;
+import com.example.xlsxziptotxtzip.logging.model.LogDetailDto;
 import com.example.xlsxziptotxtzip.logging.model.LogDto;
+import com.example.xlsxziptotxtzip.logging.model.LogSummary;
+import com.example.xlsxziptotxtzip.logging.model.dto.request.LogExportRequest;
+import com.example.xlsxziptotxtzip.logging.model.dto.request.LogFilter;
+import com.example.xlsxziptotxtzip.logging.model.dto.request.LogSearchRequest;
 import com.example.xlsxziptotxtzip.logging.model.entity.LogEntity;
+import com.example.xlsxziptotxtzip.logging.model.enums.LogExportFormat;
 import com.example.xlsxziptotxtzip.logging.repository.LogRepository;
+import com.example.xlsxziptotxtzip.logging.service.AsyncLogWriter;
+import com.example.xlsxziptotxtzip.logging.service.LogPayloadStore;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.springframework.data.domain.*;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.HttpStatus;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 class LogServiceImplTest extends AbstractBaseServiceTest{
 
+    private static final UUID ID_1 = UUID.fromString("0190a6f2-8c3e-7a11-9b2d-4c5e6f708193");
+    private static final UUID ID_2 = UUID.fromString("0190a6f2-8c3e-7a12-ab2d-4c5e6f708194");
+    private static final UUID ID_3 = UUID.fromString("0190a6f2-8c3e-7a13-bb2d-4c5e6f708195");
+    private static final UUID ID_123 = UUID.fromString("0190a6f2-8c3e-7a14-8b2d-4c5e6f708196");
+
     @InjectMocks
     private LogServiceImpl logService;
 
     @Mock
     private LogRepository logRepository;
 
+    @Mock
+    private AsyncLogWriter asyncLogWriter;
+
+    @Mock
+    private LogPayloadStore logPayloadStore;
+
+    @Mock
+    private LogExportProperties logExportProperties;
+
     @Test
     void saveLogToDatabase_setsCurrentTime_andCallsRepositorySave() {
 
         // Given
         LogEntity entity = LogEntity.builder()
-                .id("123")
+                .id(ID_123)
                 .message("test log")
                 .build();
 
@@ -50,10 +91,35 @@ class LogServiceImplTest extends AbstractBaseServiceTest{
         assertThat(entity.getTime()).isBeforeOrEqualTo(LocalDateTime.now());
 
         // Verify
+        verify(logPayloadStore, times(1)).store(entity);
         verify(logRepository, times(1)).save(entity);
 
     }
 
+    @Test
+    void saveLogToDatabase_whenAsyncWriterEnabled_setsCurrentTime_andSubmitsInsteadOfSaving() {
+
+        // Given
+        LogEntity entity = LogEntity.builder()
+                .message("test log")
+                .build();
+
+        when(asyncLogWriter.isEnabled()).thenReturn(true);
+        when(asyncLogWriter.submit(entity)).thenReturn(true);
+
+        // When
+        logService.saveLogToDatabase(entity);
+
+        // Then
+        assertThat(entity.getTime()).isNotNull();
+
+        // Verify
+        verify(asyncLogWriter, times(1)).submit(entity);
+        verify(logPayloadStore, never()).store(any(LogEntity.class));
+        verify(logRepository, never()).save(any(LogEntity.class));
+
+    }
+
     @Test
     void listLogs_whenPagingRequestIsProvided_usesRequestPageable_andMapsToCustomPage() {
 
@@ -71,22 +137,13 @@ class LogServiceImplTest extends AbstractBaseServiceTest{
 
         Pageable pageable = PageRequest.of(0, 5, Sort.by(Sort.Direction.DESC, "time"));
 
-        LogEntity e1 = LogEntity.builder()
-                .id("1")
-                .message("log-1")
-                .time(LocalDateTime.now())
-                .build();
+        LogSummary s1 = summary(ID_1, LocalDateTime.now());
+        LogSummary s2 = summary(ID_2, LocalDateTime.now());
 
-        LogEntity e2 = LogEntity.builder()
-                .id("2")
-                .message("log-2")
-                .time(LocalDateTime.now())
-                .build();
-
-        Page<LogEntity> page = new PageImpl<>(List.of(e1, e2), pageable, 10);
+        Page<LogSummary> page = new PageImpl<>(List.of(s1, s2), pageable, 10);
 
         // When
-        when(logRepository.findAll(any(Pageable.class))).thenReturn(page);
+        when(logRepository.findSummaries(isNull(), any(Pageable.class))).thenReturn(page);
 
         // Then
         CustomPage<LogDto> result = logService.listLogs(pagingRequest);
@@ -99,7 +156,7 @@ class LogServiceImplTest extends AbstractBaseServiceTest{
         assertThat(result.getTotalPageCount()).isEqualTo(page.getTotalPages());
 
         // then
-        verify(logRepository, times(1)).findAll(any(Pageable.class));
+        verify(logRepository, times(1)).findSummaries(isNull(), eq(pageable));
 
     }
 
@@ -109,16 +166,12 @@ class LogServiceImplTest extends AbstractBaseServiceTest{
         // Given
         Pageable defaultPageable = PageRequest.of(0, 20);
 
-        LogEntity e1 = LogEntity.builder()
-                .id("1")
-                .message("log-default")
-                .time(LocalDateTime.now())
-                .build();
+        LogSummary s1 = summary(ID_1, LocalDateTime.now());
 
-        Page<LogEntity> page = new PageImpl<>(List.of(e1), defaultPageable, 1);
+        Page<LogSummary> page = new PageImpl<>(List.of(s1), defaultPageable, 1);
 
         // when
-        when(logRepository.findAll(any(Pageable.class))).thenReturn(page);
+        when(logRepository.findSummaries(isNull(), any(Pageable.class))).thenReturn(page);
 
         // Then
         CustomPage<LogDto> result = logService.listLogs(null);
@@ -131,8 +184,290 @@ class LogServiceImplTest extends AbstractBaseServiceTest{
         assertThat(result.getTotalPageCount()).isEqualTo(1);
 
         // Verify
-        verify(logRepository, times(1)).findAll(any(Pageable.class));
+        verify(logRepository, times(1)).findSummaries(isNull(), eq(defaultPageable));
+
+    }
+
+    @Test
+    void listLogsByCursor_whenNoCursor_readsFirstPage_andReturnsCursorOfLastLog() {
+
+        // Given
+        LocalDateTime now = LocalDateTime.now();
+        LogSummary e1 = summary(ID_3, now);
+        LogSummary e2 = summary(ID_2, now.minusSeconds(1));
+        LogSummary e3 = summary(ID_1, now.minusSeconds(2));
+
+        CustomCursorPagingRequest request = CustomCursorPagingRequest.builder()
+                .pageSize(2)
+                .build();
+
+        when(logRepository.findFirstPage(Limit.of(3))).thenReturn(List.of(e1, e2, e3));
+
+        // When
+        CustomCursorPage<LogDto> result = logService.listLogsByCursor(request);
+
+        // Then
+        assertThat(result.getContent()).extracting(LogDto::getId).containsExactly(ID_3.toString(), ID_2.toString());
+        assertThat(result.getPageSize()).isEqualTo(2);
+        assertThat(result.getHasNext()).isTrue();
+        assertThat(LogCursor.decode(result.getNextCursor())).isEqualTo(new LogCursor(e2.time(), ID_2));
+        assertThat(result.getTotalElementCount()).isNull();
+        assertThat(result.getCountMode()).isEqualTo(CountMode.NONE);
+
+        // Verify
+        verify(logRepository, never()).findPageAfter(any(), any(), any(Limit.class));
+        verify(logRepository, never()).count();
+
+    }
+
+    @Test
+    void listLogsByCursor_whenCursorIsGiven_seeksAfterCursor_andReportsLastPage() {
+
+        // Given
+        LocalDateTime cursorTime = LocalDateTime.of(2025, 1, 1, 10, 0, 0, 123_000);
+        LogSummary e1 = summary(ID_1, cursorTime.minusSeconds(1));
+
+        CustomCursorPagingRequest request = CustomCursorPagingRequest.builder()
+                .pageSize(2)
+                .cursor(new LogCursor(cursorTime, ID_2).encode())
+                .countMode(CountMode.EXACT)
+                .build();
+
+        when(logRepository.findPageAfter(cursorTime, ID_2, Limit.of(3))).thenReturn(List.of(e1));
+        when(logRepository.count()).thenReturn(3L);
+
+        // When
+        CustomCursorPage<LogDto> result = logService.listLogsByCursor(request);
+
+        // Then
+        assertThat(result.getContent()).extracting(LogDto::getId).containsExactly(ID_1.toString());
+        assertThat(result.getHasNext()).isFalse();
+        assertThat(result.getNextCursor()).isNull();
+        assertThat(result.getTotalElementCount()).isEqualTo(3L);
+        assertThat(result.getCountMode()).isEqualTo(CountMode.EXACT);
+
+        // Verify
+        verify(logRepository, never()).findFirstPage(any(Limit.class));
+
+    }
+
+    @Test
+    void listLogsByCursor_whenEstimateRequested_usesTableStatisticsInsteadOfCount() {
+
+        // Given
+        CustomCursorPagingRequest request = CustomCursorPagingRequest.builder()
+                .pageSize(10)
+                .countMode(CountMode.ESTIMATE)
+                .build();
+
+        when(logRepository.findFirstPage(any(Limit.class))).thenReturn(List.of());
+        when(logRepository.estimateCount()).thenReturn(1_000_000L);
+
+        // When
+        CustomCursorPage<LogDto> result = logService.listLogsByCursor(request);
+
+        // Then
+        assertThat(result.getContent()).isEmpty();
+        assertThat(result.getHasNext()).isFalse();
+        assertThat(result.getTotalElementCount()).isEqualTo(1_000_000L);
+
+        // Verify
+        verify(logRepository, never()).count();
+
+    }
+
+    @Test
+    void listLogsByCursor_whenCursorIsInvalid_throwsInvalidLogCursorException() {
+
+        // Given
+        CustomCursorPagingRequest request = CustomCursorPagingRequest.builder()
+                .pageSize(10)
+                .cursor("not-a-cursor")
+                .build();
+
+        // When / Then
+        assertThatThrownBy(() -> logService.listLogsByCursor(request))
+                .isInstanceOf(InvalidLogCursorException.class);
+
+        // Verify
+        verifyNoInteractions(logRepository);
+
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void searchLogs_whenNoSortingGiven_sortsByTimeDescending_andMapsToCustomPage() {
+
+        // Given
+        LogSearchRequest searchRequest = LogSearchRequest.builder()
+                .pagination(CustomPaging.builder()
+                        .pageNumber(2)
+                        .pageSize(10)
+                        .build())
+                .filter(LogFilter.builder()
+                        .status(HttpStatus.INTERNAL_SERVER_ERROR)
+                        .errorType("XlsxConversionException")
+                        .build())
+                .build();
+
+        LogSummary e1 = new LogSummary(ID_1, LocalDateTime.now(), "/api/upload-zip", "POST",
+                HttpStatus.INTERNAL_SERVER_ERROR, "XlsxConversionException", "uploadZip");
+
+        when(logRepository.findSummaries(any(Specification.class), any(Pageable.class)))
+                .thenAnswer(invocation -> new PageImpl<>(List.of(e1), invocation.getArgument(1), 11));
+
+        // When
+        CustomPage<LogDto> result = logService.searchLogs(searchRequest);
+
+        // Then
+        assertThat(result.getContent()).extracting(LogDto::getErrorType).containsExactly("XlsxConversionException");
+        assertThat(result.getPageNumber()).isEqualTo(2);
+        assertThat(result.getPageSize()).isEqualTo(10);
+        assertThat(result.getTotalElementCount()).isEqualTo(11);
+        assertThat(result.getTotalPageCount()).isEqualTo(2);
+
+        // Verify
+        ArgumentCaptor<Pageable> pageable = ArgumentCaptor.forClass(Pageable.class);
+        verify(logRepository, times(1)).findSummaries(any(Specification.class), pageable.capture());
+        assertThat(pageable.getValue().getPageNumber()).isEqualTo(1);
+        assertThat(pageable.getValue().getSort()).isEqualTo(Sort.by(Sort.Direction.DESC, "time"));
+
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void searchLogs_whenSortingGiven_keepsRequestedSorting() {
+
+        // Given
+        LogSearchRequest searchRequest = LogSearchRequest.builder()
+                .pagination(CustomPaging.builder()
+                        .pageNumber(1)
+                        .pageSize(5)
+                        .build())
+                .sorting(CustomSorting.builder()
+                        .sortBy("endpoint")
+                        .sortDirection("ASC")
+                        .build())
+                .build();
+
+        when(logRepository.findSummaries(any(Specification.class), any(Pageable.class)))
+                .thenAnswer(invocation -> new PageImpl<>(List.of(), invocation.getArgument(1), 0));
+
+        // When
+        CustomPage<LogDto> result = logService.searchLogs(searchRequest);
+
+        // Then
+        assertThat(result.getContent()).isEmpty();
+        assertThat(result.getTotalElementCount()).isZero();
+
+        // Verify
+        ArgumentCaptor<Pageable> pageable = ArgumentCaptor.forClass(Pageable.class);
+        verify(logRepository, times(1)).findSummaries(any(Specification.class), pageable.capture());
+        assertThat(pageable.getValue().getSort()).isEqualTo(Sort.by(Sort.Direction.ASC, "endpoint"));
+
+    }
+
+    @Test
+    void getLogDetail_whenLogExists_returnsPayloads() {
+
+        // Given
+        LogEntity entity = LogEntity.builder()
+                .id(ID_1)
+                .messageHash(ID_3)
+                .responseHash(ID_3)
+                .status(HttpStatus.OK)
+                .time(LocalDateTime.now())
+                .build();
+
+        when(logRepository.findById(ID_1)).thenReturn(Optional.of(entity));
+        doAnswer(invocation -> {
+            LogEntity resolved = invocation.getArgument(0);
+            resolved.setMessage("payload");
+            resolved.setResponse("payload");
+            return null;
+        }).when(logPayloadStore).resolve(entity);
+
+        // When
+        LogDetailDto result = logService.getLogDetail(ID_1.toString());
+
+        // Then
+        assertThat(result.getId()).isEqualTo(ID_1.toString());
+        assertThat(result.getMessage()).isEqualTo("payload");
+        assertThat(result.getResponse()).isEqualTo("payload");
+        assertThat(result.getStatus()).isEqualTo(HttpStatus.OK);
+
+        // Verify
+        verify(logPayloadStore, times(1)).resolve(entity);
+
+    }
+
+    @Test
+    void getLogDetail_whenLogIsMissingOrIdIsInvalid_throwsLogNotFoundException() {
+
+        // Given
+        when(logRepository.findById(ID_2)).thenReturn(Optional.empty());
+
+        // When / Then
+        assertThatThrownBy(() -> logService.getLogDetail(ID_2.toString()))
+                .isInstanceOf(LogNotFoundException.class)
+                .hasMessageContaining(ID_2.toString());
+        assertThatThrownBy(() -> logService.getLogDetail("42"))
+                .isInstanceOf(LogNotFoundException.class);
+
+        // Verify
+        verify(logRepository, times(1)).findById(any(UUID.class));
+
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void exportLogs_streamsOldestFirst_resolvesPayloadsPerChunk_andWritesEveryLog() throws Exception {
+
+        // Given
+        LogExportRequest exportRequest = LogExportRequest.builder()
+                .format(LogExportFormat.NDJSON)
+                .filter(LogFilter.builder().operation("uploadZip").build())
+                .build();
+
+        List<LogEntity> entities = List.of(
+                LogEntity.builder().id(ID_1).operation("uploadZip").build(),
+                LogEntity.builder().id(ID_2).operation("uploadZip").build(),
+                LogEntity.builder().id(ID_3).operation("uploadZip").build()
+        );
+
+        when(logExportProperties.getFetchSize()).thenReturn(2);
+        when(logRepository.streamAll(any(Specification.class), any(Sort.class), eq(2)))
+                .thenReturn(entities.stream());
+
+        List<Integer> chunkSizes = new ArrayList<>();
+        doAnswer(invocation -> {
+            List<LogEntity> chunk = invocation.getArgument(0);
+            chunkSizes.add(chunk.size());
+            chunk.forEach(logEntity -> logEntity.setMessage("payload"));
+            return null;
+        }).when(logPayloadStore).resolveAll(anyList());
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        // When
+        logService.exportLogs(exportRequest, outputStream);
+
+        // Then
+        String[] lines = outputStream.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines).hasSize(3);
+        assertThat(lines[0]).contains(ID_1.toString()).contains("\"message\":\"payload\"");
+        assertThat(lines[2]).contains(ID_3.toString());
+        assertThat(chunkSizes).containsExactly(2, 1);
+
+        // Verify
+        ArgumentCaptor<Sort> sort = ArgumentCaptor.forClass(Sort.class);
+        verify(logRepository, times(1)).streamAll(any(Specification.class), sort.capture(), eq(2));
+        assertThat(sort.getValue()).isEqualTo(Sort.by(Sort.Direction.ASC, "time", "id"));
+
+    }
 
+    private static LogSummary summary(UUID id, LocalDateTime time) {
+        return new LogSummary(id, time, "/api/logs/list", "POST", HttpStatus.OK, null, "listLogs");
     }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,77 @@
+package com.example.xlsxziptotxtzip.logging.utils;
+
+import com.example.xlsxziptotxtzip.logging.model.LogDetailDto;
+import com.example.xlsxziptotxtzip.logging.model.enums.LogExportFormat;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LogExportWriterTest {
+
+    private static final LocalDateTime TIME = LocalDateTime.of(2025, 3, 1, 10, 15, 30);
+
+    @Test
+    void write_asNdjson_writesOneJsonObjectPerLine() throws Exception {
+        // given
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        LogExportWriter writer = new LogExportWriter(LogExportFormat.NDJSON, outputStream);
+
+        // when
+        writer.writeHeader();
+        writer.write(log("first", "line 1\nline 2"));
+        writer.write(log("second", null));
+        writer.flush();
+
+        // then
+        String[] lines = outputStream.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines).hasSize(2);
+        assertThat(lines[0])
+                .startsWith("{")
+                .contains("\"id\":\"first\"")
+                .contains("\"time\":\"2025-03-01T10:15:30\"")
+                .contains("\"status\":\"BAD_REQUEST\"")
+                .contains("\"message\":\"line 1\\nline 2\"");
+        assertThat(lines[1]).contains("\"id\":\"second\"").contains("\"message\":null");
+    }
+
+    @Test
+    void write_asCsv_writesHeaderAndQuotesSpecialCharacters() throws Exception {
+        // given
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        LogExportWriter writer = new LogExportWriter(LogExportFormat.CSV, outputStream);
+
+        // when
+        writer.writeHeader();
+        writer.write(log("first", "say \"hi\", then\nleave"));
+        writer.write(log("second", null));
+        writer.flush();
+
+        // then
+        assertThat(outputStream.toString(StandardCharsets.UTF_8)).isEqualTo(
+                "id,time,endpoint,method,status,errorType,operation,message,response\r\n" +
+                "first,2025-03-01T10:15:30,/api/upload-zip,POST,BAD_REQUEST,InvalidZipContentException,uploadZip," +
+                "\"say \"\"hi\"\", then\nleave\",ok\r\n" +
+                "second,2025-03-01T10:15:30,/api/upload-zip,POST,BAD_REQUEST,InvalidZipContentException,uploadZip,,ok\r\n"
+        );
+    }
+
+    private static LogDetailDto log(String id, String message) {
+        return LogDetailDto.builder()
+                .id(id)
+                .time(TIME)
+                .endpoint("/api/upload-zip")
+                .method("POST")
+                .status(HttpStatus.BAD_REQUEST)
+                .errorType("InvalidZipContentException")
+                .operation("uploadZip")
+                .message(message)
+                .response("ok")
+                .build();
+    }
+
+}